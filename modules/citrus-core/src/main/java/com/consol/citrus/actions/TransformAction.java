@@ -19,13 +19,18 @@ package com.consol.citrus.actions;
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.util.FileUtils;
+import com.consol.citrus.xml.TransformerCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.util.StringUtils;
 import org.springframework.xml.transform.StringResult;
 import org.springframework.xml.transform.StringSource;
 
 import javax.xml.transform.*;
-import java.io.IOException;
+import javax.xml.transform.stream.StreamResult;
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 
 /**
@@ -33,6 +38,10 @@ import java.io.IOException;
  * with a XSLT document(specified inline or from external file resource)
  * and puts the result in the specified variable.
  *
+ * Compiled stylesheets are cached as thread safe templates so repeated executions do not compile the same
+ * stylesheet again. Optional XSLT parameters are resolved with test variables and passed to the transformer. When a
+ * result file is set the transformation result is streamed to that file and the variable holds the file path.
+ *
  * @author Philipp Komninos
  * @since 2010
  */
@@ -52,6 +61,15 @@ public class TransformAction extends AbstractTestAction {
 	
 	/** Target variable for the result */
 	private String targetVariable = "transform-result";
+
+	/** XSLT parameters passed to the transformer */
+	private Map<String, String> xsltParameters = new LinkedHashMap<String, String>();
+
+	/** Optional result file path the transformation result is streamed to */
+	private String resultFilePath;
+
+	/** Stylesheet content of external resources by resolved resource path */
+	private final Map<String, String> xsltResources = new ConcurrentHashMap<String, String>();
 	
 	/** Logger */
     private static Logger log = LoggerFactory.getLogger(TransformAction.class);
@@ -80,28 +98,41 @@ public class TransformAction extends AbstractTestAction {
         				"Cannot transform XML document.");
 			}
 			
-			//parse XSLT document and define  XSLT source for transformation
-			Source xsltSource = null;
+			//get compiled XSLT templates and create transformer
+			String xslt;
 			if (xsltResourcePath != null) {
-				xsltSource = new StringSource(context.replaceDynamicContentInString(FileUtils.readToString(FileUtils.getFileResource(xsltResourcePath, context))));
+				xslt = context.replaceDynamicContentInString(getXsltResource(context));
 			} else if (xsltData != null) {
-				xsltSource = new StringSource(context.replaceDynamicContentInString(xsltData));
+				xslt = context.replaceDynamicContentInString(xsltData);
 			} else {
 				throw new CitrusRuntimeException("Neither inline XSLT nor " +
                 		"external file resource is defined for bean. " +
         				"Cannot transform XSLT document.");
 			}
-			
-			//create transformer
-			TransformerFactory transformerFactory = TransformerFactory.newInstance();
-			Transformer transformer = transformerFactory.newTransformer(xsltSource);
-			
-			//transform
-			StringResult result = new StringResult();
-			transformer.transform(xmlSource, result);
-			
-			//save result to specified variable
-			context.setVariable(targetVariable, result.toString());
+
+			Transformer transformer = TransformerCache.newTransformer(xslt);
+			for (Map.Entry<String, String> parameter : xsltParameters.entrySet()) {
+				transformer.setParameter(parameter.getKey(), context.replaceDynamicContentInString(parameter.getValue()));
+			}
+
+			//transform and save result to specified variable
+			if (StringUtils.hasText(resultFilePath)) {
+				File resultFile = new File(context.replaceDynamicContentInString(resultFilePath));
+				if (resultFile.getParentFile() != null && !resultFile.getParentFile().exists() && !resultFile.getParentFile().mkdirs()) {
+					throw new CitrusRuntimeException("Failed to create directory for transformation result: " + resultFile.getParentFile());
+				}
+
+				try (OutputStream out = new BufferedOutputStream(new FileOutputStream(resultFile))) {
+					transformer.transform(xmlSource, new StreamResult(out));
+				}
+
+				context.setVariable(targetVariable, resultFile.getAbsolutePath());
+			} else {
+				StringResult result = new StringResult();
+				transformer.transform(xmlSource, result);
+
+				context.setVariable(targetVariable, result.toString());
+			}
 			
 			log.info("Transformation finished successfully");
 		} catch (IOException e) {
@@ -113,6 +144,24 @@ public class TransformAction extends AbstractTestAction {
 		}
 	}
 
+	/**
+	 * Reads stylesheet content of external resource. Content is read once per resolved resource path.
+	 * @param context
+	 * @return
+	 * @throws IOException
+	 */
+	private String getXsltResource(TestContext context) throws IOException {
+		String resourcePath = context.replaceDynamicContentInString(xsltResourcePath);
+
+		String xslt = xsltResources.get(resourcePath);
+		if (xslt == null) {
+			xslt = FileUtils.readToString(FileUtils.getFileResource(resourcePath, context));
+			xsltResources.put(resourcePath, xslt);
+		}
+
+		return xslt;
+	}
+
 	/**
 	 * Set the XML document
 	 * @param xmlData the xmlData to set
@@ -198,4 +247,38 @@ public class TransformAction extends AbstractTestAction {
         return targetVariable;
     }
 
+	/**
+	 * Set the XSLT parameters
+	 * @param xsltParameters the xsltParameters to set
+	 */
+	public TransformAction setXsltParameters(Map<String, String> xsltParameters) {
+		this.xsltParameters = xsltParameters;
+		return this;
+	}
+
+	/**
+	 * Set the result file path
+	 * @param resultFilePath the resultFilePath to set
+	 */
+	public TransformAction setResultFilePath(String resultFilePath) {
+		this.resultFilePath = resultFilePath;
+		return this;
+	}
+
+    /**
+     * Gets the xsltParameters.
+     * @return the xsltParameters
+     */
+    public Map<String, String> getXsltParameters() {
+        return xsltParameters;
+    }
+
+    /**
+     * Gets the resultFilePath.
+     * @return the resultFilePath
+     */
+    public String getResultFilePath() {
+        return resultFilePath;
+    }
+
 }
@@ -0,0 +1,479 @@
+/*
+ * Copyright 2006-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.channel;
+
+import com.consol.citrus.channel.selector.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.integration.core.MessageSelector;
+import org.springframework.messaging.Message;
+import org.springframework.util.Assert;
+
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Message selecting queue channel that does not poll the queue for selective receive operations. Receivers
+ * waiting for a message register their message selector on the channel. Each arriving message is tested once against
+ * the registered selectors and is handed over directly to the first waiting receiver that accepts the message. Only
+ * messages that are not accepted by any waiting receiver are added to the queue.
+ *
+ * In addition to that the channel optionally maintains an index on message header values. Receive operations with
+ * header matching message selectors use this index for looking up candidate messages instead of scanning the whole queue.
+ *
+ * @author Christoph Deppisch
+ * @since 2.3
+ */
+public class BlockingMessageSelectingQueueChannel extends MessageSelectingQueueChannel {
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(BlockingMessageSelectingQueueChannel.class);
+
+    /** Selector accepting all messages used for plain receive operations */
+    private static final MessageSelector ACCEPT_ALL = new MessageSelector() {
+        @Override
+        public boolean accept(Message<?> message) {
+            return true;
+        }
+    };
+
+    /** Queued messages - only accessed while holding the lock */
+    private final BlockingQueue<Message<?>> queue;
+
+    /** Lock guarding queue, waiting receivers and header index */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** Signalled when queued messages get removed */
+    private final Condition notFull = lock.newCondition();
+
+    /** Receivers waiting for a message in registration order */
+    private final List<Waiter> waiters = new LinkedList<Waiter>();
+
+    /** Index entries of queued messages */
+    private final Map<Message<?>, IndexEntry> indexEntries = new IdentityHashMap<Message<?>, IndexEntry>();
+
+    /** Header index - maps header name to header value to queued messages in arrival order */
+    private final Map<String, Map<String, SortedMap<Long, Message<?>>>> headerIndex = new HashMap<String, Map<String, SortedMap<Long, Message<?>>>>();
+
+    /** Arrival sequence of queued messages */
+    private long sequence = 0L;
+
+    /** Enables header index for header matching message selectors */
+    private boolean headerIndexEnabled = true;
+
+    /**
+     * Create a channel with the specified queue.
+     */
+    public BlockingMessageSelectingQueueChannel(BlockingQueue<Message<?>> queue) {
+        super(queue);
+
+        this.queue = queue;
+    }
+
+    /**
+     * Create a channel with the specified queue capacity.
+     */
+    public BlockingMessageSelectingQueueChannel(int capacity) {
+        this(new LinkedBlockingQueue<Message<?>>(capacity));
+
+        Assert.isTrue(capacity > 0, "The capacity must be a positive integer. " +
+                "For a zero-capacity alternative, consider using a 'RendezvousChannel'.");
+    }
+
+    /**
+     * Default constructor.
+     */
+    public BlockingMessageSelectingQueueChannel() {
+        this(new LinkedBlockingQueue<Message<?>>());
+    }
+
+    @Override
+    protected boolean doSend(Message<?> message, long timeout) {
+        long nanos = TimeUnit.MILLISECONDS.toNanos(timeout);
+
+        try {
+            lock.lockInterruptibly();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+
+        try {
+            while (true) {
+                if (handOver(message)) {
+                    return true;
+                }
+
+                if (queue.offer(message)) {
+                    addIndexEntry(message);
+                    return true;
+                }
+
+                if (timeout == 0) {
+                    return false;
+                } else if (timeout < 0) {
+                    notFull.await();
+                } else if (nanos <= 0) {
+                    return false;
+                } else {
+                    nanos = notFull.awaitNanos(nanos);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    protected Message<?> doReceive(long timeout) {
+        return receive(ACCEPT_ALL, timeout);
+    }
+
+    @Override
+    public Message<?> receive(MessageSelector selector) {
+        return receive(selector, 0L);
+    }
+
+    /**
+     * Consume messages on the channel via message selector. In case no matching message is present the
+     * receiver is registered as waiting receiver and blocks until a matching message arrives or the timeout is exceeded.
+     * Negative timeout values block until a matching message arrives.
+     *
+     * @param selector
+     * @param timeout
+     * @return
+     */
+    @Override
+    public Message<?> receive(MessageSelector selector, long timeout) {
+        lock.lock();
+        try {
+            Message<?> message = removeFirstMatch(selector);
+            if (message != null || timeout == 0) {
+                return message;
+            }
+
+            Waiter waiter = new Waiter(selector, lock.newCondition());
+            waiters.add(waiter);
+
+            try {
+                long nanos = TimeUnit.MILLISECONDS.toNanos(timeout);
+                while (waiter.message == null) {
+                    if (timeout < 0) {
+                        waiter.condition.await();
+                    } else if (nanos <= 0) {
+                        break;
+                    } else {
+                        nanos = waiter.condition.awaitNanos(nanos);
+                    }
+                }
+            } catch (InterruptedException e) {
+                log.warn("Thread interrupted while waiting for message on channel", e);
+                Thread.currentThread().interrupt();
+            } finally {
+                if (waiter.message == null) {
+                    waiters.remove(waiter);
+                }
+            }
+
+            return waiter.message;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<Message<?>> clear() {
+        lock.lock();
+        try {
+            List<Message<?>> removed = super.clear();
+            indexEntries.clear();
+            headerIndex.clear();
+            notFull.signalAll();
+            return removed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<Message<?>> purge(MessageSelector selector) {
+        lock.lock();
+        try {
+            List<Message<?>> purged = super.purge(selector);
+            for (Message<?> message : purged) {
+                removeIndexEntry(message);
+            }
+            notFull.signalAll();
+            return purged;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of receivers currently waiting for a message.
+     * @return
+     */
+    public int getWaitingReceivers() {
+        lock.lock();
+        try {
+            return waiters.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Tests message against waiting receivers and hands over message to first receiver accepting the message.
+     * Must be called while holding the lock.
+     * @param message
+     * @return true if message was handed over to a waiting receiver.
+     */
+    private boolean handOver(Message<?> message) {
+        for (Iterator<Waiter> it = waiters.iterator(); it.hasNext();) {
+            Waiter waiter = it.next();
+            if (waiter.selector.accept(message)) {
+                it.remove();
+                waiter.message = message;
+                waiter.condition.signal();
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Removes first queued message accepted by message selector. Uses header index for header matching
+     * message selectors if enabled. Otherwise scans the queue in arrival order. Must be called while holding the lock.
+     * @param selector
+     * @return
+     */
+    private Message<?> removeFirstMatch(MessageSelector selector) {
+        Map<String, String> indexableHeaders = getIndexableHeaders(selector);
+
+        if (headerIndexEnabled && !indexableHeaders.isEmpty()) {
+            SortedMap<Long, Message<?>> candidates = null;
+            for (Map.Entry<String, String> header : indexableHeaders.entrySet()) {
+                SortedMap<Long, Message<?>> indexed = getIndexedMessages(header.getKey(), header.getValue());
+                if (candidates == null || indexed.size() < candidates.size()) {
+                    candidates = indexed;
+                }
+            }
+
+            for (Message<?> candidate : candidates.values()) {
+                if (selector.accept(candidate)) {
+                    queue.remove(candidate);
+                    removeIndexEntry(candidate);
+                    notFull.signal();
+                    return candidate;
+                }
+            }
+        } else {
+            for (Iterator<Message<?>> it = queue.iterator(); it.hasNext();) {
+                Message<?> message = it.next();
+                if (selector.accept(message)) {
+                    it.remove();
+                    removeIndexEntry(message);
+                    notFull.signal();
+                    return message;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Gets queued messages for header value. Creates index for header name on first access by indexing all
+     * currently queued messages. Must be called while holding the lock.
+     * @param headerName
+     * @param headerValue
+     * @return
+     */
+    private SortedMap<Long, Message<?>> getIndexedMessages(String headerName, String headerValue) {
+        Map<String, SortedMap<Long, Message<?>>> valueIndex = headerIndex.get(headerName);
+
+        if (valueIndex == null) {
+            valueIndex = new HashMap<String, SortedMap<Long, Message<?>>>();
+            headerIndex.put(headerName, valueIndex);
+
+            for (Message<?> message : queue) {
+                IndexEntry entry = indexEntries.get(message);
+                if (entry == null) {
+                    entry = new IndexEntry(sequence++);
+                    indexEntries.put(message, entry);
+                }
+
+                String value = getHeaderValue(message, headerName);
+                entry.headerValues.put(headerName, value);
+                addToIndex(valueIndex, value, entry.sequence, message);
+            }
+        }
+
+        SortedMap<Long, Message<?>> indexed = valueIndex.get(headerValue);
+        if (indexed == null) {
+            return new TreeMap<Long, Message<?>>();
+        }
+
+        return indexed;
+    }
+
+    /**
+     * Adds index entry for newly queued message. Must be called while holding the lock.
+     * @param message
+     */
+    private void addIndexEntry(Message<?> message) {
+        IndexEntry entry = new IndexEntry(sequence++);
+        indexEntries.put(message, entry);
+
+        for (Map.Entry<String, Map<String, SortedMap<Long, Message<?>>>> index : headerIndex.entrySet()) {
+            String value = getHeaderValue(message, index.getKey());
+            entry.headerValues.put(index.getKey(), value);
+            addToIndex(index.getValue(), value, entry.sequence, message);
+        }
+    }
+
+    /**
+     * Removes index entry of message that is no longer queued. Must be called while holding the lock.
+     * @param message
+     */
+    private void removeIndexEntry(Message<?> message) {
+        IndexEntry entry = indexEntries.remove(message);
+        if (entry == null) {
+            return;
+        }
+
+        for (Map.Entry<String, String> headerValue : entry.headerValues.entrySet()) {
+            Map<String, SortedMap<Long, Message<?>>> valueIndex = headerIndex.get(headerValue.getKey());
+            SortedMap<Long, Message<?>> indexed = valueIndex != null ? valueIndex.get(headerValue.getValue()) : null;
+
+            if (indexed != null) {
+                indexed.remove(entry.sequence);
+                if (indexed.isEmpty()) {
+                    valueIndex.remove(headerValue.getValue());
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds message to value index.
+     * @param valueIndex
+     * @param value
+     * @param sequence
+     * @param message
+     */
+    private void addToIndex(Map<String, SortedMap<Long, Message<?>>> valueIndex, String value, long sequence, Message<?> message) {
+        SortedMap<Long, Message<?>> indexed = valueIndex.get(value);
+        if (indexed == null) {
+            indexed = new TreeMap<Long, Message<?>>();
+            valueIndex.put(value, indexed);
+        }
+
+        indexed.put(sequence, message);
+    }
+
+    /**
+     * Gets header value the same way as {@link HeaderMatchingMessageSelector} does. Citrus message headers
+     * take precedence over message channel headers.
+     * @param message
+     * @param headerName
+     * @return
+     */
+    private String getHeaderValue(Message<?> message, String headerName) {
+        if (message.getPayload() instanceof com.consol.citrus.message.Message) {
+            Object value = ((com.consol.citrus.message.Message) message.getPayload()).getHeader(headerName);
+            if (value != null) {
+                return value.toString();
+            }
+        }
+
+        Object value = message.getHeaders().get(headerName);
+        return value != null ? value.toString() : null;
+    }
+
+    /**
+     * Gets plain header expressions of message selector that can be resolved with the header index.
+     * @param selector
+     * @return
+     */
+    private Map<String, String> getIndexableHeaders(MessageSelector selector) {
+        Map<String, String> indexableHeaders = new HashMap<String, String>();
+
+        if (selector instanceof HeaderMatchingMessageSelector) {
+            indexableHeaders.putAll(((HeaderMatchingMessageSelector) selector).getMatchingHeaders());
+        } else if (selector instanceof DispatchingMessageSelector) {
+            for (Map.Entry<String, String> header : ((DispatchingMessageSelector) selector).getMatchingHeaders().entrySet()) {
+                if (!header.getKey().equals(RootQNameMessageSelector.ROOT_QNAME_SELECTOR_ELEMENT) &&
+                        !header.getKey().startsWith(XPathEvaluatingMessageSelector.XPATH_SELECTOR_ELEMENT)) {
+                    indexableHeaders.put(header.getKey(), header.getValue());
+                }
+            }
+        }
+
+        return indexableHeaders;
+    }
+
+    /**
+     * Is header index enabled.
+     * @return
+     */
+    public boolean isHeaderIndexEnabled() {
+        return headerIndexEnabled;
+    }
+
+    /**
+     * Enables or disables header index for header matching message selectors.
+     * @param headerIndexEnabled
+     */
+    public void setHeaderIndexEnabled(boolean headerIndexEnabled) {
+        this.headerIndexEnabled = headerIndexEnabled;
+    }
+
+    /**
+     * Receiver waiting for a message accepted by its message selector.
+     */
+    private static class Waiter {
+        private final MessageSelector selector;
+        private final Condition condition;
+        private Message<?> message;
+
+        Waiter(MessageSelector selector, Condition condition) {
+            this.selector = selector;
+            this.condition = condition;
+        }
+    }
+
+    /**
+     * Index information of a queued message.
+     */
+    private static class IndexEntry {
+        private final long sequence;
+        private final Map<String, String> headerValues = new HashMap<String, String>();
+
+        IndexEntry(long sequence) {
+            this.sequence = sequence;
+        }
+    }
+}
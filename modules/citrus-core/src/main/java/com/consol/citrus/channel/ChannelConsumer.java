@@ -26,6 +26,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.messaging.MessageChannel;
 import org.springframework.integration.core.MessageSelector;
+import org.springframework.integration.core.MessagingTemplate;
 import org.springframework.messaging.PollableChannel;
 import org.springframework.integration.support.channel.BeanFactoryChannelResolver;
 import org.springframework.util.StringUtils;
@@ -86,9 +87,7 @@ public class ChannelConsumer extends AbstractSelectiveMessageConsumer {
                         " - must be of type PollableChannel");
             }
 
-            endpointConfiguration.getMessagingTemplate().setReceiveTimeout(timeout);
-            message = endpointConfiguration.getMessageConverter().convertInbound(
-                    endpointConfiguration.getMessagingTemplate().receive((PollableChannel) destinationChannel), endpointConfiguration);
+            message = endpointConfiguration.getMessageConverter().convertInbound(receive((PollableChannel) destinationChannel, timeout), endpointConfiguration);
         }
 
         if (message == null) {
@@ -99,6 +98,27 @@ public class ChannelConsumer extends AbstractSelectiveMessageConsumer {
         return message;
     }
 
+    /**
+     * Receives message from pollable channel with given timeout. The default messaging template only delegates to the channel
+     * so the channel is called directly with the timeout of this receive operation. Custom messaging templates are used with
+     * the timeout set on the template. As the timeout is template state receive operations on custom templates are serialized.
+     * @param channel
+     * @param timeout
+     * @return
+     */
+    private org.springframework.messaging.Message<?> receive(PollableChannel channel, long timeout) {
+        MessagingTemplate messagingTemplate = endpointConfiguration.getMessagingTemplate();
+
+        if (messagingTemplate.getClass().equals(MessagingTemplate.class)) {
+            return timeout < 0 ? channel.receive() : channel.receive(timeout);
+        }
+
+        synchronized (messagingTemplate) {
+            messagingTemplate.setReceiveTimeout(timeout);
+            return messagingTemplate.receive(channel);
+        }
+    }
+
     /**
      * Get the destination channel depending on settings in this message sender.
      * Either a direct channel object is set or a channel name which will be resolved
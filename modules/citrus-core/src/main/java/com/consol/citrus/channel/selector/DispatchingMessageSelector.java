@@ -111,4 +111,12 @@ public class DispatchingMessageSelector implements MessageSelector {
         return nsContextBuilder;
     }
 
+    /**
+     * Gets the matching headers.
+     * @return
+     */
+    public Map<String, String> getMatchingHeaders() {
+        return matchingHeaders;
+    }
+
 }
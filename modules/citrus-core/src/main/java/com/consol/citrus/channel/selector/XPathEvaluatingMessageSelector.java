@@ -15,6 +15,7 @@
  */
 package com.consol.citrus.channel.selector;
 
+import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.util.XMLUtils;
 import com.consol.citrus.xml.namespace.NamespaceContextBuilder;
 import com.consol.citrus.xml.xpath.XPathUtils;
@@ -22,11 +23,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.messaging.Message;
 import org.springframework.integration.core.MessageSelector;
-import org.springframework.xml.xpath.XPathExpressionFactory;
-import org.springframework.xml.xpath.XPathParseException;
+import org.springframework.xml.namespace.SimpleNamespaceContext;
 import org.w3c.dom.Document;
 import org.w3c.dom.ls.LSException;
 
+import javax.xml.xpath.XPathConstants;
 import java.util.Map;
 
 /**
@@ -89,17 +90,17 @@ public class XPathEvaluatingMessageSelector implements MessageSelector {
             // add default namespace mappings
             namespaces.putAll(nsContextBuilder.getNamespaceMappings());
             
+            String xPathExpression = expression;
             if (XPathUtils.hasDynamicNamespaces(expression)) {
                 namespaces.putAll(XPathUtils.getDynamicNamespaces(expression));
-                return XPathExpressionFactory.createXPathExpression(XPathUtils.replaceDynamicNamespaces(expression, namespaces), namespaces)
-                        .evaluateAsString(doc).equals(control);
-            } else {
-                return XPathExpressionFactory.createXPathExpression(expression, namespaces)
-                        .evaluateAsString(doc).equals(control);
+                xPathExpression = XPathUtils.replaceDynamicNamespaces(expression, namespaces);
             }
-            
-            
-        } catch (XPathParseException e) {
+
+            SimpleNamespaceContext nsContext = new SimpleNamespaceContext();
+            nsContext.setBindings(namespaces);
+
+            return XPathUtils.evaluateExpression(doc, xPathExpression, nsContext, XPathConstants.STRING).equals(control);
+        } catch (CitrusRuntimeException e) {
             log.warn("Could not evaluate XPath expression for message selector - ignoring message (" + e.getClass().getName() + ")");
             return false; // wrong XML message - not accepted
         }
@@ -18,8 +18,11 @@ package com.consol.citrus.common;
 
 import com.consol.citrus.TestCase;
 import com.consol.citrus.context.TestContextFactory;
+import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
+import org.springframework.beans.factory.config.*;
 import org.springframework.context.ApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.support.ClassPathXmlApplicationContext;
 import org.springframework.util.StringUtils;
 
@@ -28,14 +31,14 @@ import java.io.File;
 /**
  * Loads test case as Spring bean from XML application context file. Loader holds application context file
  * for test case and a parent application context. At runtime this class loads the Spring application context and gets
- * test case bean instance from context.
+ * test case bean instance from context. When parent context holds a {@link XmlTestLoaderCache} the test application
+ * context is loaded only once and reused for subsequent loads.
  *
  * @author Christoph Deppisch
  * @since 2.1
  */
 public class XmlTestLoader implements TestLoader {
 
-    private TestCase testCase;
     private String testName;
     private String packageName;
     private ApplicationContext parentContext;
@@ -55,39 +58,75 @@ public class XmlTestLoader implements TestLoader {
 
     @Override
     public TestCase load() {
-        if (testCase == null) {
-            ApplicationContext ctx = loadApplicationContext();
-
-            try {
-                testCase = ctx.getBean(testName, TestCase.class);
-                testCase.setPackageName(packageName);
-            } catch (NoSuchBeanDefinitionException e) {
-                throw parentContext.getBean(TestContextFactory.class).getObject()
-                        .handleError(testName, packageName, "Could not find test with name '" + testName + "'", e);
-            }
-        }
+        ApplicationContext ctx = loadApplicationContext();
 
-        return testCase;
+        try {
+            TestCase testCase = ctx.getBean(testName, TestCase.class);
+            testCase.setPackageName(packageName);
+            return testCase;
+        } catch (NoSuchBeanDefinitionException e) {
+            throw parentContext.getBean(TestContextFactory.class).getObject()
+                    .handleError(testName, packageName, "Could not find test with name '" + testName + "'", e);
+        }
     }
 
     /**
-     * Create new Spring bean application context with test case XML file,
-     * helper and parent context file.
+     * Gets application context for test case either from loader cache or
+     * creates new context.
      * @return
      */
     private ApplicationContext loadApplicationContext() {
         try {
-            return new ClassPathXmlApplicationContext(
-                    new String[]{
-                            getContextFile(),
-                            "com/consol/citrus/spring/annotation-config-ctx.xml"},
-                    true, parentContext);
+            XmlTestLoaderCache loaderCache = getLoaderCache();
+            if (loaderCache != null) {
+                return loaderCache.getApplicationContext(this);
+            }
+
+            return createApplicationContext();
         } catch (Exception e) {
             throw parentContext.getBean(TestContextFactory.class).getObject()
                     .handleError(testName, packageName, "Failed to load test case", e);
         }
     }
 
+    /**
+     * Create new Spring bean application context with test case XML file,
+     * helper and parent context file. Test case bean is prototype scoped so each load
+     * gets a fresh test case instance.
+     * @return
+     */
+    public ConfigurableApplicationContext createApplicationContext() {
+        ClassPathXmlApplicationContext ctx = new ClassPathXmlApplicationContext(
+                new String[]{
+                        getContextFile(),
+                        "com/consol/citrus/spring/annotation-config-ctx.xml"},
+                false, parentContext);
+
+        ctx.addBeanFactoryPostProcessor(new BeanFactoryPostProcessor() {
+            @Override
+            public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) throws BeansException {
+                if (beanFactory.containsBeanDefinition(testName)) {
+                    beanFactory.getBeanDefinition(testName).setScope(BeanDefinition.SCOPE_PROTOTYPE);
+                }
+            }
+        });
+
+        ctx.refresh();
+        return ctx;
+    }
+
+    /**
+     * Gets loader cache from parent application context if present.
+     * @return
+     */
+    private XmlTestLoaderCache getLoaderCache() {
+        if (parentContext == null || parentContext.getBeanNamesForType(XmlTestLoaderCache.class).length == 0) {
+            return null;
+        }
+
+        return parentContext.getBean(XmlTestLoaderCache.class);
+    }
+
     /**
      * Gets custom Spring application context file for the XML test case. If not set creates default
      * context file path from testName and packageName.
@@ -108,4 +147,20 @@ public class XmlTestLoader implements TestLoader {
     public void setContextFile(String contextFile) {
         this.contextFile = contextFile;
     }
+
+    /**
+     * Gets the test name.
+     * @return
+     */
+    public String getTestName() {
+        return testName;
+    }
+
+    /**
+     * Gets the package name.
+     * @return
+     */
+    public String getPackageName() {
+        return packageName;
+    }
 }
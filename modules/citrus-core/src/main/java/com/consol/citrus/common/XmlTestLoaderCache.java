@@ -0,0 +1,199 @@
+/*
+ * Copyright 2006-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.common;
+
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches Spring application contexts of XML test cases. Test case bean definitions are parsed only once per
+ * context file and each load request gets a fresh test case instance from the cached context. Contexts can
+ * optionally be preloaded in parallel. Cached contexts are closed when this cache is destroyed.
+ *
+ * @author Christoph Deppisch
+ * @since 2.3
+ */
+public class XmlTestLoaderCache implements DisposableBean {
+
+    /** System property setting number of threads used to preload test contexts */
+    public static final String PRELOAD_THREADS_PROPERTY = "citrus.xml.test.preload.threads";
+
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(XmlTestLoaderCache.class);
+
+    /** Loaded contexts by context file */
+    private final ConcurrentMap<String, Future<ConfigurableApplicationContext>> contexts = new ConcurrentHashMap<String, Future<ConfigurableApplicationContext>>();
+
+    /** Number of threads preloading contexts, zero or less disables preloading */
+    private int preloadThreads = Integer.getInteger(PRELOAD_THREADS_PROPERTY, 0);
+
+    /** Load statistics */
+    private final AtomicLong loadCount = new AtomicLong();
+    private final AtomicLong loadTime = new AtomicLong();
+    private final AtomicLong hitCount = new AtomicLong();
+
+    /**
+     * Gets application context for test loader. Loads and caches the context on first request.
+     * @param testLoader
+     * @return
+     */
+    public ConfigurableApplicationContext getApplicationContext(final XmlTestLoader testLoader) {
+        String contextFile = testLoader.getContextFile();
+        Future<ConfigurableApplicationContext> context = contexts.get(contextFile);
+
+        if (context == null) {
+            FutureTask<ConfigurableApplicationContext> task = new FutureTask<ConfigurableApplicationContext>(new Callable<ConfigurableApplicationContext>() {
+                @Override
+                public ConfigurableApplicationContext call() throws Exception {
+                    long start = System.nanoTime();
+                    try {
+                        return testLoader.createApplicationContext();
+                    } finally {
+                        loadCount.incrementAndGet();
+                        loadTime.addAndGet(System.nanoTime() - start);
+                    }
+                }
+            });
+
+            context = contexts.putIfAbsent(contextFile, task);
+            if (context == null) {
+                context = task;
+                task.run();
+            } else {
+                hitCount.incrementAndGet();
+            }
+        } else {
+            hitCount.incrementAndGet();
+        }
+
+        try {
+            return context.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CitrusRuntimeException("Interrupted while loading test context", e);
+        } catch (ExecutionException e) {
+            contexts.remove(contextFile, context);
+
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+
+            throw new CitrusRuntimeException("Failed to load test context", e.getCause());
+        }
+    }
+
+    /**
+     * Loads application contexts of given test loaders in parallel when preloading is enabled. Failures are
+     * ignored here and reported later when the respective test is loaded.
+     * @param testLoaders
+     */
+    public void preload(List<? extends TestLoader> testLoaders) {
+        if (preloadThreads <= 0) {
+            return;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(preloadThreads);
+        try {
+            for (final TestLoader testLoader : testLoaders) {
+                if (testLoader instanceof XmlTestLoader) {
+                    executor.submit(new Runnable() {
+                        @Override
+                        public void run() {
+                            try {
+                                getApplicationContext((XmlTestLoader) testLoader);
+                            } catch (RuntimeException e) {
+                                log.warn("Failed to preload test context: " + ((XmlTestLoader) testLoader).getContextFile(), e);
+                            }
+                        }
+                    });
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        try {
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        log.info(String.format("Loaded %s XML test contexts in %s ms (%s cache hits)", getLoadCount(), getLoadTime(), getHitCount()));
+
+        for (Future<ConfigurableApplicationContext> context : contexts.values()) {
+            try {
+                if (context.isDone()) {
+                    context.get().close();
+                }
+            } catch (ExecutionException e) {
+                log.debug("Skip closing test context that failed to load", e);
+            }
+        }
+
+        contexts.clear();
+    }
+
+    /**
+     * Gets the number of loaded test contexts.
+     * @return
+     */
+    public long getLoadCount() {
+        return loadCount.get();
+    }
+
+    /**
+     * Gets the total time in milliseconds spent loading test contexts.
+     * @return
+     */
+    public long getLoadTime() {
+        return TimeUnit.NANOSECONDS.toMillis(loadTime.get());
+    }
+
+    /**
+     * Gets the number of test loads served by cached contexts.
+     * @return
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * Gets the number of preload threads.
+     * @return
+     */
+    public int getPreloadThreads() {
+        return preloadThreads;
+    }
+
+    /**
+     * Sets the number of preload threads.
+     * @param preloadThreads
+     */
+    public void setPreloadThreads(int preloadThreads) {
+        this.preloadThreads = preloadThreads;
+    }
+}
@@ -16,6 +16,7 @@
 
 package com.consol.citrus.config;
 
+import com.consol.citrus.common.XmlTestLoaderCache;
 import com.consol.citrus.context.TestContextFactory;
 import com.consol.citrus.endpoint.DefaultEndpointFactory;
 import com.consol.citrus.endpoint.EndpointFactory;
@@ -86,4 +87,9 @@ public class CitrusBaseConfig {
         return new FailureStackTestListener();
     }
 
+    @Bean(name = "xmlTestLoaderCache")
+    public XmlTestLoaderCache getXmlTestLoaderCache() {
+        return new XmlTestLoaderCache();
+    }
+
 }
@@ -22,6 +22,7 @@ import org.springframework.beans.factory.xml.BeanDefinitionParser;
 import org.springframework.beans.factory.xml.ParserContext;
 import org.w3c.dom.Element;
 
+import com.consol.citrus.channel.BlockingMessageSelectingQueueChannel;
 import com.consol.citrus.channel.MessageSelectingQueueChannel;
 import com.consol.citrus.config.util.BeanDefinitionParserUtils;
 
@@ -37,7 +38,13 @@ public class MessageSelectingQueueChannelParser implements BeanDefinitionParser
      * @see org.springframework.beans.factory.xml.BeanDefinitionParser#parse(org.w3c.dom.Element, org.springframework.beans.factory.xml.ParserContext)
      */
     public BeanDefinition parse(Element element, ParserContext parserContext) {
-        BeanDefinitionBuilder builder = BeanDefinitionBuilder.rootBeanDefinition(MessageSelectingQueueChannel.class);
+        BeanDefinitionBuilder builder;
+        if (Boolean.valueOf(element.getAttribute("blocking"))) {
+            builder = BeanDefinitionBuilder.rootBeanDefinition(BlockingMessageSelectingQueueChannel.class);
+            BeanDefinitionParserUtils.setPropertyValue(builder, element.getAttribute("header-index"), "headerIndexEnabled");
+        } else {
+            builder = BeanDefinitionBuilder.rootBeanDefinition(MessageSelectingQueueChannel.class);
+        }
 
         BeanDefinitionParserUtils.setConstructorArgValue(builder, element.getAttribute("capacity"));
         
@@ -38,6 +38,12 @@ public class RepeatOnErrorUntilTrueParser extends AbstractIterationTestActionPar
         BeanDefinitionBuilder builder = BeanDefinitionBuilder.rootBeanDefinition(RepeatOnErrorUntilTrue.class);
 
         BeanDefinitionParserUtils.setPropertyValue(builder, element.getAttribute("auto-sleep"), "autoSleep");
+        BeanDefinitionParserUtils.setPropertyValue(builder, element.getAttribute("backoff-multiplier"), "backoffMultiplier");
+        BeanDefinitionParserUtils.setPropertyValue(builder, element.getAttribute("max-sleep"), "maxSleep");
+        BeanDefinitionParserUtils.setPropertyValue(builder, element.getAttribute("jitter"), "jitter");
+        BeanDefinitionParserUtils.setPropertyValue(builder, element.getAttribute("timeout"), "timeout");
+        BeanDefinitionParserUtils.setPropertyValue(builder, element.getAttribute("wake-on-message"), "wakeOnMessage");
+        BeanDefinitionParserUtils.setPropertyReference(builder, element.getAttribute("backoff-policy"), "backoffPolicy");
 
         return builder;
     }
@@ -26,6 +26,9 @@ import org.w3c.dom.Element;
 import com.consol.citrus.actions.TransformAction;
 import com.consol.citrus.config.util.BeanDefinitionParserUtils;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * Bean definition parser for transform action in test case.
  * 
@@ -61,7 +64,17 @@ public class TransformActionParser implements BeanDefinitionParser {
             beanDefinition.addPropertyValue("xsltResourcePath", xsltResourceElement.getAttribute("file"));
         }
         
+        Map<String, String> xsltParameters = new LinkedHashMap<String, String>();
+        for (Element parameterElement : DomUtils.getChildElementsByTagName(element, "xslt-parameter")) {
+            xsltParameters.put(parameterElement.getAttribute("name"), parameterElement.getAttribute("value"));
+        }
+
+        if (!xsltParameters.isEmpty()) {
+            beanDefinition.addPropertyValue("xsltParameters", xsltParameters);
+        }
+
         BeanDefinitionParserUtils.setPropertyValue(beanDefinition, element.getAttribute("variable"), "targetVariable");
+        BeanDefinitionParserUtils.setPropertyValue(beanDefinition, element.getAttribute("result-file"), "resultFilePath");
         
         return beanDefinition.getBeanDefinition();
     }
@@ -19,11 +19,21 @@ package com.consol.citrus.container;
 import com.consol.citrus.TestAction;
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.util.BooleanExpressionParser;
+import com.consol.citrus.util.BooleanExpressionParser.BooleanExpression;
+
+import java.util.*;
 
 /**
+ * Abstract looping container. The loop index is kept per execution so the same container instance can be executed
+ * in nested or parallel contexts. Condition strings are parsed once into an expression tree that is evaluated
+ * with the current index on each iteration.
+ *
  * @author Christoph Deppisch
  */
 public abstract class AbstractIteratingActionContainer extends AbstractActionContainer {
+    /** Maximum number of compiled conditions per container */
+    private static final int MAX_COMPILED_CONDITIONS = 16;
+
     /** Boolean expression string */
     protected String condition;
 
@@ -33,29 +43,34 @@ public abstract class AbstractIteratingActionContainer extends AbstractActionCon
     /** Name of index variable */
     protected String indexName = "i";
 
-    /** Looping index */
-    protected int index;
-
     /** Cache start index for further container executions - e.g. in loop */
     protected int start = 1;
+
+    /** Compiled conditions by condition string with resolved test variables */
+    private final Map<String, BooleanExpression> compiledConditions = Collections.synchronizedMap(new LinkedHashMap<String, BooleanExpression>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, BooleanExpression> eldest) {
+            return size() > MAX_COMPILED_CONDITIONS;
+        }
+    });
 	
     @Override
     public final void doExecute(TestContext context) {
-        index = start;
         executeIteration(context);
     }
     
     /**
-     * Execute embedded actions in loop.
+     * Execute embedded actions in loop. Implementations keep the loop index as local state beginning with the start index.
      * @param context TestContext holding variable information.
      */
     protected abstract void executeIteration(TestContext context);
     
     /**
      * Executes the nested test actions.
+     * @param index the current loop index
      * @param context
      */
-    protected void executeActions(TestContext context) {
+    protected void executeActions(int index, TestContext context) {
         context.setVariable(indexName, String.valueOf(index));
 
         for (TestAction action: actions) {
@@ -66,9 +81,11 @@ public abstract class AbstractIteratingActionContainer extends AbstractActionCon
     
     /** 
      * Check aborting condition.
+     * @param index the current loop index
+     * @param context
      * @return
      */
-    protected boolean checkCondition(TestContext context) {
+    protected boolean checkCondition(int index, TestContext context) {
         if (conditionExpression != null) {
             return conditionExpression.evaluate(index, context);
         }
@@ -76,11 +93,13 @@ public abstract class AbstractIteratingActionContainer extends AbstractActionCon
         // replace dynamic content with each iteration
         String conditionString = context.replaceDynamicContentInString(condition);
 
-        if (conditionString.indexOf(indexName) != -1) {
-            conditionString = conditionString.replaceAll(indexName, String.valueOf(index));
+        BooleanExpression expression = compiledConditions.get(conditionString);
+        if (expression == null) {
+            expression = BooleanExpressionParser.compile(conditionString, indexName);
+            compiledConditions.put(conditionString, expression);
         }
 
-        return BooleanExpressionParser.evaluate(conditionString);
+        return expression.evaluate(index);
     }
     
     /**
@@ -105,16 +124,9 @@ public abstract class AbstractIteratingActionContainer extends AbstractActionCon
      */
     public void setIndexName(String indexName) {
         this.indexName = indexName;
+        compiledConditions.clear();
     }
     
-    /**
-     * Setter for looping index.
-     * @param index the index to set
-     */
-    public void setIndex(int index) {
-        this.index = index;
-    }
-
     /**
      * Setter for index start.
      * @param start the start index value.
@@ -147,14 +159,6 @@ public abstract class AbstractIteratingActionContainer extends AbstractActionCon
         return indexName;
     }
 
-    /**
-     * Gets the index.
-     * @return the index
-     */
-    public int getIndex() {
-        return index;
-    }
-
     /**
      * Gets the start index.
      * @return
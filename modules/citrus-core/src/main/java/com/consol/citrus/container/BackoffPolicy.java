@@ -0,0 +1,33 @@
+/*
+ * Copyright 2006-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.container;
+
+/**
+ * Retry schedule defines the sleep time in between repeated executions of a looping container.
+ *
+ * @author Christoph Deppisch
+ * @since 2.3
+ */
+public interface BackoffPolicy {
+
+    /**
+     * Gets the sleep time in milliseconds before given retry.
+     * @param retry the retry number starting with 1
+     * @return
+     */
+    long getSleepTime(int retry);
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2006-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.container;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Backoff policy multiplies the sleep time with each retry. Sleep time is optionally capped by a maximum value
+ * and randomized by a jitter factor so concurrent retries spread out. With default multiplier of 1 the policy
+ * sleeps a fixed amount of time in between retries.
+ *
+ * @author Christoph Deppisch
+ * @since 2.3
+ */
+public class ExponentialBackoffPolicy implements BackoffPolicy {
+
+    /** Sleep time before first retry in milliseconds */
+    private long initialSleep = 1000L;
+
+    /** Factor applied to sleep time with each retry */
+    private double multiplier = 1.0D;
+
+    /** Maximum sleep time in milliseconds, zero or less means no limit */
+    private long maxSleep = 0L;
+
+    /** Random deviation of sleep time as fraction between 0 and 1 */
+    private double jitter = 0.0D;
+
+    /**
+     * Default constructor.
+     */
+    public ExponentialBackoffPolicy() {
+        super();
+    }
+
+    /**
+     * Default constructor using fields.
+     * @param initialSleep
+     * @param multiplier
+     * @param maxSleep
+     * @param jitter
+     */
+    public ExponentialBackoffPolicy(long initialSleep, double multiplier, long maxSleep, double jitter) {
+        this.initialSleep = initialSleep;
+        this.multiplier = multiplier;
+        this.maxSleep = maxSleep;
+        this.jitter = jitter;
+    }
+
+    @Override
+    public long getSleepTime(int retry) {
+        double sleepTime = initialSleep * Math.pow(multiplier, Math.max(retry - 1, 0));
+
+        if (jitter > 0) {
+            sleepTime = sleepTime * (1 + jitter * (2 * ThreadLocalRandom.current().nextDouble() - 1));
+        }
+
+        if (maxSleep > 0 && sleepTime > maxSleep) {
+            sleepTime = maxSleep;
+        }
+
+        return Math.max(0L, Math.round(sleepTime));
+    }
+
+    /**
+     * Gets the initial sleep time.
+     * @return
+     */
+    public long getInitialSleep() {
+        return initialSleep;
+    }
+
+    /**
+     * Sets the initial sleep time.
+     * @param initialSleep
+     */
+    public void setInitialSleep(long initialSleep) {
+        this.initialSleep = initialSleep;
+    }
+
+    /**
+     * Gets the multiplier.
+     * @return
+     */
+    public double getMultiplier() {
+        return multiplier;
+    }
+
+    /**
+     * Sets the multiplier.
+     * @param multiplier
+     */
+    public void setMultiplier(double multiplier) {
+        this.multiplier = multiplier;
+    }
+
+    /**
+     * Gets the maximum sleep time.
+     * @return
+     */
+    public long getMaxSleep() {
+        return maxSleep;
+    }
+
+    /**
+     * Sets the maximum sleep time.
+     * @param maxSleep
+     */
+    public void setMaxSleep(long maxSleep) {
+        this.maxSleep = maxSleep;
+    }
+
+    /**
+     * Gets the jitter.
+     * @return
+     */
+    public double getJitter() {
+        return jitter;
+    }
+
+    /**
+     * Sets the jitter.
+     * @param jitter
+     */
+    public void setJitter(double jitter) {
+        this.jitter = jitter;
+    }
+}
@@ -48,10 +48,12 @@ public class Iterate extends AbstractIteratingActionContainer {
      */
     @Override
     public void executeIteration(TestContext context) {
-        while (checkCondition(context)) {
-            executeActions(context);
+        int index = start;
 
-            index = index + step ;
+        while (checkCondition(index, context)) {
+            executeActions(index, context);
+
+            index = index + step;
         }
     }
 
@@ -24,21 +24,42 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * Test action will execute nested actions in parallel. Each action is executed in a
- * separate thread. Container joins all threads and waiting for them to end successfully.
+ * Test action will execute nested actions in parallel. Each action is executed on a thread of
+ * an executor service. By default a shared cached thread pool is used so threads get reused across container
+ * executions. Container waits for all nested actions to end successfully. Optional max concurrency limits
+ * the number of nested actions running at the same time. Nested parallel containers that would use the very same executor
+ * as the enclosing container run on the shared growing thread pool instead, as a bounded executor would deadlock
+ * when all of its threads wait for nested actions.
  * 
  * @author Christoph Deppisch
  */
 public class Parallel extends AbstractActionContainer {
 
-    /** Store created threads in stack */
-    private Stack<Thread> threads = new Stack<Thread>();
+    /** Shared default executor reusing idle threads */
+    private static final ExecutorService DEFAULT_EXECUTOR = Executors.newCachedThreadPool(new ThreadFactory() {
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "citrus-parallel-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    /** Executors running enclosing parallel containers on current thread, if any */
+    private static final ThreadLocal<Set<ExecutorService>> ENCLOSING_EXECUTORS = new ThreadLocal<Set<ExecutorService>>();
+
+    /** Executor running nested actions */
+    private ExecutorService executorService = DEFAULT_EXECUTOR;
+
+    /** Maximum number of nested actions running at the same time, zero or less means unlimited */
+    private int maxConcurrency = 0;
 
-    /** Collect exceptions in list */
-    private List<CitrusRuntimeException> exceptions = new ArrayList<CitrusRuntimeException>();
-    
     /** Logger */
     private static Logger log = LoggerFactory.getLogger(Parallel.class);
 
@@ -51,28 +72,69 @@ public class Parallel extends AbstractActionContainer {
 
     @Override
     public void doExecute(TestContext context) {
-        for (final TestAction action : actions) {
-            Thread t = new Thread(new ActionRunner(action, context) {
-                @Override
-                public void exceptionCallback(CitrusRuntimeException e) {
-                    if (exceptions.isEmpty()) {
-                        setLastExecutedAction(action);
-                    }
-                    
-                    exceptions.add(e);
+        final List<CitrusRuntimeException> exceptions = Collections.synchronizedList(new ArrayList<CitrusRuntimeException>());
+        final Semaphore permits = maxConcurrency > 0 ? new Semaphore(maxConcurrency) : null;
+        List<Future<?>> futures = new ArrayList<Future<?>>(actions.size());
+        final ExecutorService executor = getExecutor();
+        final Set<ExecutorService> executors = Collections.newSetFromMap(new IdentityHashMap<ExecutorService, Boolean>());
+        if (ENCLOSING_EXECUTORS.get() != null) {
+            executors.addAll(ENCLOSING_EXECUTORS.get());
+        }
+        executors.add(executor);
+
+        try {
+            for (int i = 0; i < actions.size(); i++) {
+                final TestAction action = actions.get(i);
+
+                if (permits != null) {
+                    permits.acquire();
                 }
-            });
 
-            threads.push(t);
-            t.start();
-        }
+                ActionRunner runner = new ActionRunner(action, context, i, executors) {
+                    @Override
+                    public void exceptionCallback(CitrusRuntimeException e) {
+                        synchronized (exceptions) {
+                            if (exceptions.isEmpty()) {
+                                setLastExecutedAction(action);
+                            }
 
-        while (!threads.isEmpty()) {
-            try {
-                threads.pop().join();
-            } catch (InterruptedException e) {
-                log.error("Unable to join thread", e);
+                            exceptions.add(e);
+                        }
+                    }
+
+                    @Override
+                    public void finished() {
+                        if (permits != null) {
+                            permits.release();
+                        }
+                    }
+                };
+
+                try {
+                    futures.add(executor.submit(runner));
+                } catch (RuntimeException e) {
+                    if (permits != null) {
+                        permits.release();
+                    }
+
+                    for (Future<?> future : futures) {
+                        future.cancel(true);
+                    }
+                    throw new CitrusRuntimeException("Failed to submit parallel action", e);
+                }
+            }
+
+            for (Future<?> future : futures) {
+                future.get();
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            for (Future<?> future : futures) {
+                future.cancel(true);
+            }
+            throw new CitrusRuntimeException("Interrupted while waiting for parallel actions to finish", e);
+        } catch (ExecutionException e) {
+            throw new CitrusRuntimeException("Failed to execute parallel action", e.getCause());
         }
         
         if (!exceptions.isEmpty()) {
@@ -84,6 +146,56 @@ public class Parallel extends AbstractActionContainer {
         }
     }
 
+    /**
+     * Gets the executor to use for this execution. When this container is nested in another parallel container running on the
+     * same executor the shared growing thread pool is used, so nested actions never wait for threads blocked by the enclosing container.
+     * @return
+     */
+    private ExecutorService getExecutor() {
+        Set<ExecutorService> enclosing = ENCLOSING_EXECUTORS.get();
+        if (executorService != DEFAULT_EXECUTOR && enclosing != null && enclosing.contains(executorService)) {
+            if (log.isDebugEnabled()) {
+                log.debug("Nested parallel container uses shared thread pool instead of executor of enclosing container");
+            }
+
+            return DEFAULT_EXECUTOR;
+        }
+
+        return executorService;
+    }
+
+    /**
+     * Gets the executor service running nested actions.
+     * @return
+     */
+    public ExecutorService getExecutorService() {
+        return executorService;
+    }
+
+    /**
+     * Sets the executor service running nested actions.
+     * @param executorService
+     */
+    public void setExecutorService(ExecutorService executorService) {
+        this.executorService = executorService;
+    }
+
+    /**
+     * Gets the maximum number of concurrently running nested actions.
+     * @return
+     */
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * Sets the maximum number of concurrently running nested actions.
+     * @param maxConcurrency
+     */
+    public void setMaxConcurrency(int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+    }
+
     /**
      * Runnable wrapper for executing an action in separate Thread.
      */
@@ -93,16 +205,27 @@ public class Parallel extends AbstractActionContainer {
         
         /** Test context */
         private TestContext context;
+
+        /** Position of action in container */
+        private int index;
+
+        /** Executors running this action and its enclosing parallel containers */
+        private Set<ExecutorService> executors;
         
-        public ActionRunner(TestAction action, TestContext context) {
+        public ActionRunner(TestAction action, TestContext context, int index, Set<ExecutorService> executors) {
             this.action = action;
             this.context = context;
+            this.index = index;
+            this.executors = executors;
         }
 
         /**
          * Run the test action
          */
         public void run() {
+            long start = System.currentTimeMillis();
+            Set<ExecutorService> previous = ENCLOSING_EXECUTORS.get();
+            ENCLOSING_EXECUTORS.set(executors);
             try {
                 action.execute(context);
             } catch (CitrusRuntimeException e) {
@@ -117,6 +240,18 @@ public class Parallel extends AbstractActionContainer {
             } catch (Error e) {
                 log.error("Parallel test action raised error", e);
                 exceptionCallback(new CitrusRuntimeException(e));
+            } finally {
+                if (previous != null) {
+                    ENCLOSING_EXECUTORS.set(previous);
+                } else {
+                    ENCLOSING_EXECUTORS.remove();
+                }
+
+                if (log.isDebugEnabled()) {
+                    log.debug(String.format("Parallel test action #%s finished after %s ms", index + 1, System.currentTimeMillis() - start));
+                }
+
+                finished();
             }
         }
         
@@ -125,5 +260,10 @@ public class Parallel extends AbstractActionContainer {
          * @param exception
          */
         public abstract void exceptionCallback(CitrusRuntimeException exception);
+
+        /**
+         * Callback when action has finished regardless of success or failure.
+         */
+        public abstract void finished();
     }
-}
\ No newline at end of file
+}
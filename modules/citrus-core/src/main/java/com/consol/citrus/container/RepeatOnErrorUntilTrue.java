@@ -16,11 +16,13 @@
 
 package com.consol.citrus.container;
 
+import com.consol.citrus.context.TestContext;
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import com.consol.citrus.message.Message;
+import com.consol.citrus.report.MessageListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.consol.citrus.context.TestContext;
-import com.consol.citrus.exceptions.CitrusRuntimeException;
 
 /**
  * Looping test container iterating the nested test actions in case an error occurred in one
@@ -29,7 +31,11 @@ import com.consol.citrus.exceptions.CitrusRuntimeException;
  * Number of iterations is kept in a index variable. The nested test actions can access this variable
  * as normal test variable.
  * 
- * Between the iterations container can sleep automatically a given amount of time.
+ * Between the iterations container can sleep automatically a given amount of time. Sleep time follows a backoff policy
+ * that is either fixed or multiplied with each retry. Optional timeout limits the total retry time and container may
+ * wake up early from sleep as soon as an inbound message is reported to the message listeners. Receive actions report
+ * inbound messages only when they are executed, so during sleep the wake up is triggered by actions running in parallel
+ * on the same test context and by server side logging interceptors which report messages without test context.
  * 
  * @author Christoph Deppisch
  */
@@ -37,6 +43,24 @@ public class RepeatOnErrorUntilTrue extends AbstractIteratingActionContainer {
     /** Auto sleep in milliseconds */
     private Long autoSleep = 1000L;
 
+    /** Factor applied to auto sleep time with each retry */
+    private double backoffMultiplier = 1.0D;
+
+    /** Maximum sleep time in milliseconds in between retries, zero or less means no limit */
+    private long maxSleep = 0L;
+
+    /** Random deviation of sleep time as fraction between 0 and 1 */
+    private double jitter = 0.0D;
+
+    /** Optional custom backoff policy overrides auto sleep settings */
+    private BackoffPolicy backoffPolicy;
+
+    /** Maximum total retry time in milliseconds, zero or less means no limit */
+    private long timeout = 0L;
+
+    /** Wake up from sleep when inbound message is received */
+    private boolean wakeOnMessage = false;
+
     /** Logger */
     private static Logger log = LoggerFactory.getLogger(RepeatOnErrorUntilTrue.class);
 
@@ -54,20 +78,49 @@ public class RepeatOnErrorUntilTrue extends AbstractIteratingActionContainer {
     @Override
     public void executeIteration(TestContext context) {
         CitrusRuntimeException exception = null;
+        int index = start;
 
-        while(!checkCondition(context)) {
-            try {
-                exception = null;
-                executeActions(context);
-                break;
-            } catch (CitrusRuntimeException e) {
-                exception = e;
+        BackoffPolicy policy = getBackoffPolicy();
+        long startTime = System.currentTimeMillis();
 
-                log.info("Caught exception of type " + e.getClass().getName() + " '" +
-                        e.getMessage() + "' - performing retry #" + index);
+        InboundMessageSignal signal = null;
+        if (wakeOnMessage) {
+            signal = new InboundMessageSignal(context);
+            context.getMessageListeners().addMessageListener(signal);
+        }
+
+        try {
+            while(!checkCondition(index, context)) {
+                try {
+                    exception = null;
+                    executeActions(index, context);
+                    break;
+                } catch (CitrusRuntimeException e) {
+                    exception = e;
+
+                    long sleepTime = policy.getSleepTime(index - start + 1);
+                    if (timeout > 0) {
+                        long remaining = timeout - (System.currentTimeMillis() - startTime);
+                        if (remaining <= 0) {
+                            log.info("Retry timeout of " + timeout + " milliseconds exceeded");
+                            break;
+                        }
 
-                doAutoSleep();
-                index++;
+                        sleepTime = Math.min(sleepTime, remaining);
+                    }
+
+                    log.info("Caught exception of type " + e.getClass().getName() + " '" +
+                            e.getMessage() + "' - performing retry #" + index);
+
+                    // count is taken after the failure, so messages reported by the retried actions themselves do not wake up the sleep
+                    long inboundCount = signal != null ? signal.getCount() : 0L;
+                    doAutoSleep(sleepTime, signal, inboundCount);
+                    index++;
+                }
+            }
+        } finally {
+            if (signal != null) {
+                context.getMessageListeners().removeMessageListener(signal);
             }
         }
 
@@ -78,24 +131,55 @@ public class RepeatOnErrorUntilTrue extends AbstractIteratingActionContainer {
     }
 
     /**
-     * Sleep amount of time in between iterations.
+     * Sleep amount of time in between iterations. Returns early when inbound message signal is given.
+     * @param sleepTime
+     * @param signal optional inbound message signal
+     * @param inboundCount number of inbound messages signalled before the sleep started
      */
-    private void doAutoSleep() {
-        if (autoSleep > 0) {
-            log.info("Sleeping " + autoSleep + " milliseconds");
+    private void doAutoSleep(long sleepTime, InboundMessageSignal signal, long inboundCount) {
+        if (sleepTime > 0) {
+            log.info("Sleeping " + sleepTime + " milliseconds");
 
             try {
-                Thread.sleep(autoSleep);
+                if (signal != null) {
+                    if (signal.await(inboundCount, sleepTime)) {
+                        log.info("Returning on inbound message");
+                        return;
+                    }
+                } else {
+                    Thread.sleep(sleepTime);
+                }
             } catch (InterruptedException e) {
-                log.error("Error during doc generation", e);
+                Thread.currentThread().interrupt();
+                log.warn("Interrupted while sleeping in between retries", e);
             }
 
-            log.info("Returning after " + autoSleep + " milliseconds");
+            log.info("Returning after " + sleepTime + " milliseconds");
         }
     }
 
     /**
-     * Setter for auto sleep time (in seconds).
+     * Gets the backoff policy to use. Builds policy from auto sleep settings when no custom policy is set.
+     * @return
+     */
+    public BackoffPolicy getBackoffPolicy() {
+        if (backoffPolicy != null) {
+            return backoffPolicy;
+        }
+
+        return new ExponentialBackoffPolicy(autoSleep, backoffMultiplier, maxSleep, jitter);
+    }
+
+    /**
+     * Sets custom backoff policy.
+     * @param backoffPolicy
+     */
+    public void setBackoffPolicy(BackoffPolicy backoffPolicy) {
+        this.backoffPolicy = backoffPolicy;
+    }
+
+    /**
+     * Setter for auto sleep time (in milliseconds).
      * @param autoSleep
      */
     public void setAutoSleep(Long autoSleep) {
@@ -109,4 +193,143 @@ public class RepeatOnErrorUntilTrue extends AbstractIteratingActionContainer {
     public Long getAutoSleep() {
         return autoSleep;
     }
+
+    /**
+     * Sets the backoff multiplier.
+     * @param backoffMultiplier
+     */
+    public void setBackoffMultiplier(double backoffMultiplier) {
+        this.backoffMultiplier = backoffMultiplier;
+    }
+
+    /**
+     * Gets the backoff multiplier.
+     * @return
+     */
+    public double getBackoffMultiplier() {
+        return backoffMultiplier;
+    }
+
+    /**
+     * Sets the maximum sleep time.
+     * @param maxSleep
+     */
+    public void setMaxSleep(long maxSleep) {
+        this.maxSleep = maxSleep;
+    }
+
+    /**
+     * Gets the maximum sleep time.
+     * @return
+     */
+    public long getMaxSleep() {
+        return maxSleep;
+    }
+
+    /**
+     * Sets the jitter.
+     * @param jitter
+     */
+    public void setJitter(double jitter) {
+        this.jitter = jitter;
+    }
+
+    /**
+     * Gets the jitter.
+     * @return
+     */
+    public double getJitter() {
+        return jitter;
+    }
+
+    /**
+     * Sets the total retry timeout.
+     * @param timeout
+     */
+    public void setTimeout(long timeout) {
+        this.timeout = timeout;
+    }
+
+    /**
+     * Gets the total retry timeout.
+     * @return
+     */
+    public long getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Enables wake up on inbound messages.
+     * @param wakeOnMessage
+     */
+    public void setWakeOnMessage(boolean wakeOnMessage) {
+        this.wakeOnMessage = wakeOnMessage;
+    }
+
+    /**
+     * Is wake up on inbound messages enabled.
+     * @return
+     */
+    public boolean isWakeOnMessage() {
+        return wakeOnMessage;
+    }
+
+    /**
+     * Message listener counts inbound messages of the current test context. Server side interceptors report
+     * messages without test context so these are accepted as well. Only listener events are signalled, receive
+     * actions of the sleeping container itself do not run while sleeping.
+     */
+    private static class InboundMessageSignal implements MessageListener {
+        private final TestContext context;
+        private long count = 0L;
+
+        InboundMessageSignal(TestContext context) {
+            this.context = context;
+        }
+
+        /**
+         * Gets the number of inbound messages signalled so far.
+         * @return
+         */
+        synchronized long getCount() {
+            return count;
+        }
+
+        /**
+         * Waits until more than the given number of inbound messages have been signalled. Messages arriving
+         * after the given count was taken and before this call wake up immediately.
+         * @param seen
+         * @param timeout
+         * @return true if inbound message was received within timeout.
+         * @throws InterruptedException
+         */
+        synchronized boolean await(long seen, long timeout) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + timeout;
+
+            while (count == seen) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    return false;
+                }
+
+                wait(remaining);
+            }
+
+            return true;
+        }
+
+        @Override
+        public void onInboundMessage(Message message, TestContext context) {
+            if (context == null || context == this.context) {
+                synchronized (this) {
+                    count++;
+                    notifyAll();
+                }
+            }
+        }
+
+        @Override
+        public void onOutboundMessage(Message message, TestContext context) {
+        }
+    }
 }
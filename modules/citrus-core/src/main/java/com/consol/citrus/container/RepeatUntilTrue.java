@@ -42,9 +42,11 @@ public class RepeatUntilTrue extends AbstractIteratingActionContainer {
      */
     @Override
     public void executeIteration(TestContext context) {
+        int index = start;
+
         do {
-            executeActions(context);
+            executeActions(index, context);
             index++;
-        } while (!checkCondition(context));
+        } while (!checkCondition(index, context));
     }
 }
@@ -59,26 +59,27 @@ public final class FunctionUtils {
         }
         
         String newString = stringValue;
-        StringBuffer strBuffer = new StringBuffer();
 
-        boolean isVarComplete = false;
-        StringBuffer variableNameBuf = new StringBuffer();
-
-        int startIndex = 0;
+        int startIndex;
         int curIndex;
         int searchIndex;
 
         for (FunctionLibrary library: context.getFunctionRegistry().getFunctionLibraries()) {
+            if (newString.indexOf(library.getPrefix()) < 0) {
+                continue;
+            }
+
+            StringBuilder strBuffer = new StringBuilder(newString.length());
             startIndex = 0;
 
             while ((searchIndex = newString.indexOf(library.getPrefix(), startIndex)) != -1) {
                 int control = -1;
-                isVarComplete = false;
+                boolean isVarComplete = false;
 
                 curIndex = searchIndex;
 
                 while (curIndex < newString.length() && !isVarComplete) {
-                    if (newString.indexOf('(', curIndex) == curIndex) {
+                    if (newString.charAt(curIndex) == '(') {
                         control++;
                     }
 
@@ -90,34 +91,29 @@ public final class FunctionUtils {
                         }
                     }
 
-                    variableNameBuf.append(newString.charAt(curIndex));
                     curIndex++;
                 }
 
-                final String value = resolveFunction(variableNameBuf.toString(), context);
+                String functionExpression = newString.substring(searchIndex, curIndex);
+                final String value = resolveFunction(functionExpression, context);
                 if (value == null) {
                     throw new NoSuchFunctionException("Function: " +
-                            VariableUtils.cutOffVariablesPrefix(variableNameBuf.toString()) + " could not be found");
+                            VariableUtils.cutOffVariablesPrefix(functionExpression) + " could not be found");
                 }
 
-                strBuffer.append(newString.substring(startIndex, searchIndex));
+                strBuffer.append(newString, startIndex, searchIndex);
 
                 if (enableQuoting) {
-                    strBuffer.append("'" + value + "'");
+                    strBuffer.append('\'').append(value).append('\'');
                 } else {
                     strBuffer.append(value);
                 }
 
                 startIndex = curIndex;
-
-                variableNameBuf = new StringBuffer();
-                isVarComplete = false;
             }
 
-            strBuffer.append(newString.substring(startIndex));
+            strBuffer.append(newString, startIndex, newString.length());
             newString = strBuffer.toString();
-
-            strBuffer = new StringBuffer();
         }
 
         return newString;
@@ -53,6 +53,12 @@ public class DefaultMessage implements Message {
     /** Message headers */
     private final Map<String, Object> headers;
 
+    /** Parsed representations of current payload such as DOM document, discarded on payload change */
+    private transient Map<Class<?>, Object> payloadCache;
+
+    /** Payload instance the cached representations were created from */
+    private transient Object cachedPayload;
+
     /** Logger */
     private static Logger log = LoggerFactory.getLogger(DefaultMessage.class);
 
@@ -196,6 +202,46 @@ public class DefaultMessage implements Message {
     @Override
     public void setPayload(Object payload) {
         this.payload = payload;
+        clearPayloadCache();
+    }
+
+    /**
+     * Gets cached representation of current message payload such as a parsed DOM document. Returns null
+     * when no representation of given type has been cached or payload has changed since. Cached representations
+     * are shared between callers and must not be modified.
+     * @param type
+     * @param <T>
+     * @return
+     */
+    public <T> T getCachedPayload(Class<T> type) {
+        if (payloadCache == null || cachedPayload != payload) {
+            return null;
+        }
+
+        return type.cast(payloadCache.get(type));
+    }
+
+    /**
+     * Caches parsed representation of current message payload for reuse.
+     * @param type
+     * @param representation
+     * @param <T>
+     */
+    public <T> void cachePayload(Class<T> type, T representation) {
+        if (payloadCache == null || cachedPayload != payload) {
+            payloadCache = new HashMap<Class<?>, Object>(4);
+            cachedPayload = payload;
+        }
+
+        payloadCache.put(type, representation);
+    }
+
+    /**
+     * Discards all cached payload representations.
+     */
+    public void clearPayloadCache() {
+        payloadCache = null;
+        cachedPayload = null;
     }
 
     @Override
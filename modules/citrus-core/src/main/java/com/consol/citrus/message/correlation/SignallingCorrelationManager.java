@@ -0,0 +1,108 @@
+/*
+ * Copyright 2006-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.message.correlation;
+
+import com.consol.citrus.context.TestContext;
+import com.consol.citrus.endpoint.PollableEndpointConfiguration;
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Correlation manager wakes up waiting clients as soon as the correlated object is stored instead of
+ * polling the object store in fixed intervals. Uses a {@link SignallingObjectStore} by default. In case a custom
+ * object store is set the manager falls back to the polling mechanism of its super class.
+ *
+ * @author Christoph Deppisch
+ * @since 2.3
+ */
+public class SignallingCorrelationManager<T> extends PollingCorrelationManager<T> {
+
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(SignallingCorrelationManager.class);
+
+    /** Maximum time to wait for correlation key to be saved in test context */
+    private static final long CORRELATION_KEY_TIMEOUT = 1000L;
+
+    /** Monitor notified each time a new correlation key is saved */
+    private final Object correlationKeyMonitor = new Object();
+
+    /**
+     * Constructor using fields.
+     * @param endpointConfiguration
+     * @param retryLogMessage
+     */
+    public SignallingCorrelationManager(PollableEndpointConfiguration endpointConfiguration, String retryLogMessage) {
+        super(endpointConfiguration, retryLogMessage);
+        setObjectStore(new SignallingObjectStore<T>());
+    }
+
+    @Override
+    public void saveCorrelationKey(String correlationKeyName, String correlationKey, TestContext context) {
+        synchronized (correlationKeyMonitor) {
+            super.saveCorrelationKey(correlationKeyName, correlationKey, context);
+            correlationKeyMonitor.notifyAll();
+        }
+    }
+
+    @Override
+    public String getCorrelationKey(String correlationKeyName, TestContext context) {
+        if (log.isDebugEnabled()) {
+            log.debug(String.format("Get correlation key for '%s'", correlationKeyName));
+        }
+
+        long deadline = System.currentTimeMillis() + CORRELATION_KEY_TIMEOUT;
+
+        synchronized (correlationKeyMonitor) {
+            long timeLeft = CORRELATION_KEY_TIMEOUT;
+            while (!context.getVariables().containsKey(correlationKeyName) && timeLeft > 0) {
+                try {
+                    correlationKeyMonitor.wait(timeLeft);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new CitrusRuntimeException(String.format("Interrupted while waiting for correlation key '%s'", correlationKeyName), e);
+                }
+
+                timeLeft = deadline - System.currentTimeMillis();
+            }
+
+            if (context.getVariables().containsKey(correlationKeyName)) {
+                return context.getVariable(correlationKeyName);
+            }
+        }
+
+        throw new CitrusRuntimeException(String.format("Failed to get correlation key for '%s'", correlationKeyName));
+    }
+
+    @Override
+    public T find(String correlationKey, long timeout) {
+        if (!(getObjectStore() instanceof SignallingObjectStore)) {
+            return super.find(correlationKey, timeout);
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug(String.format("Waiting for correlated object for '%s'", correlationKey));
+        }
+
+        try {
+            return ((SignallingObjectStore<T>) getObjectStore()).await(correlationKey, timeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CitrusRuntimeException(String.format("Interrupted while waiting for correlated object '%s'", correlationKey), e);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2006-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.message.correlation;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Object store implementation that signals waiting clients as soon as an object with matching correlation key
+ * is added to the store. Each correlation key gets its own slot with a monitor so clients waiting for
+ * different keys do not wake up each other.
+ *
+ * @author Christoph Deppisch
+ * @since 2.3
+ */
+public class SignallingObjectStore<T> implements ObjectStore<T> {
+
+    /** Slots per correlation key */
+    private final ConcurrentMap<String, ObjectSlot<T>> slots = new ConcurrentHashMap<String, ObjectSlot<T>>();
+
+    @Override
+    public void add(String correlationKey, T object) {
+        while (true) {
+            ObjectSlot<T> slot = getOrCreateSlot(correlationKey);
+
+            synchronized (slot) {
+                if (!slot.retired) {
+                    slot.object = object;
+                    slot.notifyAll();
+                    return;
+                }
+            }
+        }
+    }
+
+    @Override
+    public T remove(String correlationKey) {
+        ObjectSlot<T> slot = slots.get(correlationKey);
+        if (slot == null) {
+            return null;
+        }
+
+        synchronized (slot) {
+            T stored = slot.object;
+            slot.object = null;
+            retireIfUnused(correlationKey, slot);
+            return stored;
+        }
+    }
+
+    /**
+     * Removes object with correlation key. In case object is not present yet method blocks until the object
+     * is added to the store or the given timeout is exceeded.
+     * @param correlationKey
+     * @param timeout
+     * @return the stored object or null in case timeout was exceeded.
+     * @throws InterruptedException
+     */
+    public T await(String correlationKey, long timeout) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeout;
+
+        while (true) {
+            ObjectSlot<T> slot = getOrCreateSlot(correlationKey);
+
+            synchronized (slot) {
+                if (slot.retired) {
+                    continue;
+                }
+
+                slot.waiting++;
+                try {
+                    long timeLeft = deadline - System.currentTimeMillis();
+                    while (slot.object == null && timeLeft > 0) {
+                        slot.wait(timeLeft);
+                        timeLeft = deadline - System.currentTimeMillis();
+                    }
+                } finally {
+                    slot.waiting--;
+                }
+
+                T stored = slot.object;
+                slot.object = null;
+                retireIfUnused(correlationKey, slot);
+                return stored;
+            }
+        }
+    }
+
+    /**
+     * Gets slot for correlation key. Creates new slot if not present yet.
+     * @param correlationKey
+     * @return
+     */
+    private ObjectSlot<T> getOrCreateSlot(String correlationKey) {
+        ObjectSlot<T> slot = slots.get(correlationKey);
+
+        if (slot == null) {
+            ObjectSlot<T> newSlot = new ObjectSlot<T>();
+            slot = slots.putIfAbsent(correlationKey, newSlot);
+            if (slot == null) {
+                slot = newSlot;
+            }
+        }
+
+        return slot;
+    }
+
+    /**
+     * Removes empty slot with no waiting clients from the store. Must be called while holding the slot monitor.
+     * @param correlationKey
+     * @param slot
+     */
+    private void retireIfUnused(String correlationKey, ObjectSlot<T> slot) {
+        if (slot.object == null && slot.waiting == 0) {
+            slot.retired = true;
+            slots.remove(correlationKey, slot);
+        }
+    }
+
+    /**
+     * Holds the stored object for a single correlation key. All fields are guarded by the slot monitor.
+     */
+    private static class ObjectSlot<T> {
+        private T object;
+        private int waiting;
+        private boolean retired;
+    }
+}
@@ -21,8 +21,8 @@ import com.consol.citrus.message.Message;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.util.CollectionUtils;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * @author Christoph Deppisch
@@ -30,8 +30,17 @@ import java.util.List;
 public class MessageListeners implements MessageListener {
 
     /** List of message listener known to Spring application context */
+    private List<MessageListener> messageListener = new CopyOnWriteArrayList<MessageListener>();
+
+    /**
+     * Sets the message listeners known to Spring application context. Listeners are copied to a thread safe list as
+     * listeners may be added and removed while messages are processed.
+     * @param messageListener
+     */
     @Autowired
-    private List<MessageListener> messageListener = new ArrayList<MessageListener>();
+    public void setMessageListener(List<MessageListener> messageListener) {
+        this.messageListener = new CopyOnWriteArrayList<MessageListener>(messageListener);
+    }
 
     /**
      * Delegate to all known message listener instances.
@@ -75,4 +84,11 @@ public class MessageListeners implements MessageListener {
         this.messageListener.add(listener);
     }
 
+    /**
+     * Removes message listener.
+     * @param listener
+     */
+    public void removeMessageListener(MessageListener listener) {
+        this.messageListener.remove(listener);
+    }
 }
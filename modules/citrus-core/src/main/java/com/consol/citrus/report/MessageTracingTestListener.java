@@ -16,6 +16,7 @@
 
 package com.consol.citrus.report;
 
+import com.consol.citrus.CitrusConstants;
 import com.consol.citrus.TestCase;
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
@@ -23,37 +24,63 @@ import com.consol.citrus.message.Message;
 import com.consol.citrus.message.RawMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
 
 import java.io.*;
-import java.util.ArrayList;
-import java.util.List;
+import java.nio.charset.Charset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Test listener collects all messages sent and received by Citrus during test execution. Listener
  * writes a trace file with all message content per test case to a output directory.
- * 
- * Note: This class is not thread safe! Parallel test execution leads to behaviour that messages get mixed.
- * Proper correlation to test case is not possible here.
+ *
+ * Traced messages are handed over to a background writer through a bounded buffer so message content is not
+ * kept in memory until the end of the test. When the buffer is full the test thread waits for the writer to catch up.
+ * Messages are correlated to test cases by test name variable in test context so parallel tests get separate trace files.
+ * Messages reported without test context (e.g. by server side logging interceptors) are added to the trace of the test
+ * that has been started most recently.
+ * Trace files can optionally be gzip compressed and rolled over to new files when exceeding a maximum file size.
  * 
  * @author Christoph Deppisch
  * @since 1.2
  */
-public class MessageTracingTestListener extends AbstractTestListener implements InitializingBean, MessageListener {
+public class MessageTracingTestListener extends AbstractTestListener implements InitializingBean, DisposableBean, MessageListener {
     
     /** File ending for all message trace files */
     private static final String TRACE_FILE_ENDING = ".msgs";
 
+    /** File ending for compressed message trace files */
+    private static final String GZIP_FILE_ENDING = ".gz";
+
     /** Output directory */
     private Resource outputDirectory = new FileSystemResource("logs/trace/messages/");
-    
-    /** List of messages to trace */
-    private List<String> messages = new ArrayList<String>();
-    
-    /** Locking object for synchronization */
-    private Object lockObject = new Object();
+
+    /** Capacity of trace buffer */
+    private int bufferSize = 1000;
+
+    /** Compress trace files with gzip */
+    private boolean gzip = false;
+
+    /** Maximum uncompressed trace file size in characters before rolling over to next file, zero or less disables rolling */
+    private long maxFileSize = 0L;
+
+    /** Trace entries waiting to be written */
+    private BlockingQueue<TraceEntry> traceBuffer;
+
+    /** Background writer thread */
+    private Thread writerThread;
+
+    /** Name of the test that has been started most recently */
+    private volatile String currentTestName;
+
+    /** Time in milliseconds to wait for background writer before checking that writer is still alive */
+    private static final long WRITER_CHECK_INTERVAL = 1000L;
 
     /** Logger */
     private static Logger log = LoggerFactory.getLogger(MessageTracingTestListener.class);
@@ -63,9 +90,8 @@ public class MessageTracingTestListener extends AbstractTestListener implements
      */
     @Override
     public void onTestStart(TestCase test) {
-        synchronized (lockObject) {
-            messages.clear();
-        }
+        currentTestName = test.getName();
+        trace(new TraceEntry(test.getName(), TraceEntry.Type.START, null));
     }
     
     /**
@@ -73,58 +99,113 @@ public class MessageTracingTestListener extends AbstractTestListener implements
      */
     @Override
     public void onTestFinish(TestCase test) {
-        if (messages.isEmpty()) {
-            return; // do not write empty message trace file
+        if (test.getName().equals(currentTestName)) {
+            currentTestName = null;
         }
 
-        BufferedWriter writer = null;
-        
-        try {
-            Resource outputFile = outputDirectory.createRelative(test.getName() + TRACE_FILE_ENDING);
-            
-            writer = new BufferedWriter(new FileWriter(outputFile.getFile()));
-            
-            writer.write(separator() + newLine() + newLine());
-            
-            synchronized (lockObject) {
-                for (String message : messages) {
-                    writer.write(message);
-                    writer.write(newLine() + separator() + newLine() + newLine());
-                }
-            }
-            
-            writer.flush();
-        } catch (IOException e) {
-            throw new CitrusRuntimeException("Failed to write message trace to filesystem", e);
-        } finally {
-            if (writer != null) {
-                try {
-                    writer.close();
-                } catch (IOException e) {
-                    log.error("Error while closing message trace file writer", e);
-                }
-            }
-        }
+        trace(new TraceEntry(test.getName(), TraceEntry.Type.FINISH, null));
     }
     
     @Override
     public void onInboundMessage(Message message, TestContext context) {
         if (message instanceof RawMessage) {
-            synchronized (lockObject) {
-                messages.add("INBOUND_MESSAGE:" + newLine() + newLine() + message);
-            }
+            traceMessage("INBOUND_MESSAGE:" + newLine() + newLine() + message, context);
         }
     }
 
     @Override
     public void onOutboundMessage(Message message, TestContext context) {
         if (message instanceof RawMessage) {
-            synchronized (lockObject) {
-                messages.add("OUTBOUND_MESSAGE:" + newLine() + newLine() + message);
+            traceMessage("OUTBOUND_MESSAGE:" + newLine() + newLine() + message, context);
+        }
+    }
+
+    /**
+     * Adds message trace for test case running with given test context. When no test context is given
+     * the message is traced for the current test.
+     * @param trace
+     * @param context
+     */
+    private void traceMessage(String trace, TestContext context) {
+        Object testName = context != null ? context.getVariables().get(CitrusConstants.TEST_NAME_VARIABLE) : currentTestName;
+
+        if (testName == null) {
+            log.debug("Unable to trace message outside of test case");
+            return;
+        }
+
+        trace(new TraceEntry(testName.toString(), TraceEntry.Type.MESSAGE, trace));
+    }
+
+    /**
+     * Hands over trace entry to background writer. Blocks when trace buffer is full as long as the background
+     * writer is alive. Entry is dropped when writer has terminated.
+     * @param entry
+     * @return true if entry was added to trace buffer.
+     */
+    private boolean trace(TraceEntry entry) {
+        BlockingQueue<TraceEntry> buffer = getTraceBuffer();
+
+        try {
+            while (!buffer.offer(entry, WRITER_CHECK_INTERVAL, TimeUnit.MILLISECONDS)) {
+                if (!isWriterAlive()) {
+                    log.warn("Message trace writer has terminated - dropping message trace");
+                    return false;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CitrusRuntimeException("Interrupted while tracing message", e);
+        }
+
+        return true;
+    }
+
+    /**
+     * Waits until all trace entries added so far have been written to the file system.
+     */
+    public void flush() {
+        CountDownLatch written = new CountDownLatch(1);
+        if (!trace(new TraceEntry(null, TraceEntry.Type.FLUSH, written))) {
+            return;
+        }
+
+        try {
+            while (!written.await(WRITER_CHECK_INTERVAL, TimeUnit.MILLISECONDS)) {
+                if (!isWriterAlive()) {
+                    log.warn("Message trace writer has terminated - unable to flush message trace");
+                    return;
+                }
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CitrusRuntimeException("Interrupted while flushing message trace", e);
         }
     }
 
+    /**
+     * Checks if background writer thread is running.
+     * @return
+     */
+    private synchronized boolean isWriterAlive() {
+        return writerThread != null && writerThread.isAlive();
+    }
+
+    /**
+     * Gets trace buffer and starts background writer on first access.
+     * @return
+     */
+    private synchronized BlockingQueue<TraceEntry> getTraceBuffer() {
+        if (traceBuffer == null) {
+            traceBuffer = new ArrayBlockingQueue<TraceEntry>(bufferSize);
+            writerThread = new Thread(new TraceWriter(traceBuffer), "citrus-message-trace");
+            writerThread.setDaemon(true);
+            writerThread.start();
+        }
+
+        return traceBuffer;
+    }
+
     /**
      * Creates message separator line.
      * @return
@@ -154,6 +235,25 @@ public class MessageTracingTestListener extends AbstractTestListener implements
         }
     }
 
+    @Override
+    public void destroy() throws Exception {
+        Thread writer;
+        synchronized (this) {
+            writer = writerThread;
+        }
+
+        if (writer != null) {
+            if (trace(new TraceEntry(null, TraceEntry.Type.SHUTDOWN, null))) {
+                writer.join(WRITER_CHECK_INTERVAL * 10);
+            }
+
+            synchronized (this) {
+                traceBuffer = null;
+                writerThread = null;
+            }
+        }
+    }
+
     /**
      * Sets the outputDirectory.
      * @param outputDirectory the outputDirectory to set
@@ -161,5 +261,183 @@ public class MessageTracingTestListener extends AbstractTestListener implements
     public void setOutputDirectory(Resource outputDirectory) {
         this.outputDirectory = outputDirectory;
     }
-    
+
+    /**
+     * Sets the trace buffer capacity.
+     * @param bufferSize
+     */
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Enables gzip compression of trace files.
+     * @param gzip
+     */
+    public void setGzip(boolean gzip) {
+        this.gzip = gzip;
+    }
+
+    /**
+     * Sets the maximum uncompressed trace file size in characters before rolling over to next file.
+     * @param maxFileSize
+     */
+    public void setMaxFileSize(long maxFileSize) {
+        this.maxFileSize = maxFileSize;
+    }
+
+    /**
+     * Background writer consuming trace entries. Trace files are opened lazily with first message
+     * of a test so no empty trace files are written.
+     */
+    private class TraceWriter implements Runnable {
+        /** Trace buffer to consume */
+        private final BlockingQueue<TraceEntry> buffer;
+
+        /** Open trace files by test name */
+        private final Map<String, TraceFile> traceFiles = new HashMap<String, TraceFile>();
+
+        TraceWriter(BlockingQueue<TraceEntry> buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                TraceEntry entry;
+                try {
+                    entry = buffer.take();
+                } catch (InterruptedException e) {
+                    break;
+                }
+
+                if (entry.type == TraceEntry.Type.SHUTDOWN) {
+                    break;
+                }
+
+                try {
+                    write(entry);
+                } catch (IOException | RuntimeException e) {
+                    log.error("Failed to write message trace to filesystem", e);
+                }
+            }
+
+            for (TraceFile traceFile : traceFiles.values()) {
+                traceFile.close();
+            }
+            traceFiles.clear();
+        }
+
+        /**
+         * Writes trace entry to trace file of test.
+         * @param entry
+         * @throws IOException
+         */
+        private void write(TraceEntry entry) throws IOException {
+            switch (entry.type) {
+                case START:
+                case FINISH:
+                    TraceFile finished = traceFiles.remove(entry.testName);
+                    if (finished != null) {
+                        finished.close();
+                    }
+                    break;
+                case MESSAGE:
+                    TraceFile traceFile = traceFiles.get(entry.testName);
+                    if (traceFile == null) {
+                        traceFile = new TraceFile(entry.testName);
+                        traceFiles.put(entry.testName, traceFile);
+                    }
+
+                    traceFile.write((String) entry.payload);
+                    break;
+                case FLUSH:
+                    try {
+                        for (TraceFile file : traceFiles.values()) {
+                            file.flush();
+                        }
+                    } finally {
+                        ((CountDownLatch) entry.payload).countDown();
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Trace file of a single test with optional compression and roll over.
+     */
+    private class TraceFile {
+        private final String testName;
+        private int fileIndex = 0;
+        private long written = 0L;
+        private int messages = 0;
+        private Writer writer;
+
+        TraceFile(String testName) throws IOException {
+            this.testName = testName;
+            open();
+        }
+
+        private void open() throws IOException {
+            String fileName = testName + (fileIndex > 0 ? "-" + fileIndex : "") + TRACE_FILE_ENDING + (gzip ? GZIP_FILE_ENDING : "");
+            OutputStream out = new FileOutputStream(outputDirectory.createRelative(fileName).getFile());
+            if (gzip) {
+                out = new GZIPOutputStream(out);
+            }
+
+            writer = new BufferedWriter(new OutputStreamWriter(out, Charset.defaultCharset()));
+            written = 0L;
+            messages = 0;
+            append(separator() + newLine() + newLine());
+        }
+
+        void write(String trace) throws IOException {
+            if (maxFileSize > 0 && messages > 0 && written >= maxFileSize) {
+                close();
+                fileIndex++;
+                open();
+            }
+
+            append(trace);
+            append(newLine() + separator() + newLine() + newLine());
+            messages++;
+        }
+
+        private void append(String text) throws IOException {
+            writer.write(text);
+            written += text.length();
+        }
+
+        void flush() throws IOException {
+            writer.flush();
+        }
+
+        void close() {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                log.error("Error while closing message trace file writer", e);
+            }
+        }
+    }
+
+    /**
+     * Entry in trace buffer.
+     */
+    private static class TraceEntry {
+        enum Type { START, MESSAGE, FINISH, FLUSH, SHUTDOWN }
+
+        private final String testName;
+        private final Type type;
+        private final Object payload;
+
+        TraceEntry(String testName, Type type, Object payload) {
+            this.testName = testName;
+            this.type = type;
+            this.payload = payload;
+        }
+    }
 }
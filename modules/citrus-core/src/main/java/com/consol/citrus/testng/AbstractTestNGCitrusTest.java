@@ -21,6 +21,7 @@ import com.consol.citrus.TestCase;
 import com.consol.citrus.annotations.CitrusXmlTest;
 import com.consol.citrus.common.TestLoader;
 import com.consol.citrus.common.XmlTestLoader;
+import com.consol.citrus.common.XmlTestLoaderCache;
 import com.consol.citrus.config.CitrusSpringConfig;
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
@@ -38,6 +39,7 @@ import org.testng.annotations.*;
 import java.io.File;
 import java.lang.reflect.Method;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Abstract base test implementation for testng test cases. Providing test listener support and
@@ -55,12 +57,15 @@ public abstract class AbstractTestNGCitrusTest extends AbstractTestNGSpringConte
     /** Citrus instance */
     protected Citrus citrus;
 
+    /** Test loaders created for test methods, reused on subsequent method invocations */
+    private final Map<Method, List<TestLoader>> testLoaders = new ConcurrentHashMap<Method, List<TestLoader>>();
+
     @Override
     public void run(IHookCallBack callBack, ITestResult testResult) {
         Method method = testResult.getMethod().getConstructorOrMethod().getMethod();
 
         if (method != null && method.getAnnotation(CitrusXmlTest.class) != null) {
-            List<TestLoader> methodTestLoaders = createTestLoadersForMethod(method);
+            List<TestLoader> methodTestLoaders = getTestLoadersForMethod(method);
 
             if (!CollectionUtils.isEmpty(methodTestLoaders)) {
                 try {
@@ -98,6 +103,27 @@ public abstract class AbstractTestNGCitrusTest extends AbstractTestNGSpringConte
         }
     }
 
+    /**
+     * Gets test loaders for test method. Loaders are created on first request and reused for subsequent method
+     * invocations. Newly created loaders get preloaded with loader cache if available.
+     * @param method
+     * @return
+     */
+    private List<TestLoader> getTestLoadersForMethod(Method method) {
+        List<TestLoader> methodTestLoaders = testLoaders.get(method);
+
+        if (methodTestLoaders == null) {
+            methodTestLoaders = createTestLoadersForMethod(method);
+            testLoaders.put(method, methodTestLoaders);
+
+            if (applicationContext != null && applicationContext.getBeanNamesForType(XmlTestLoaderCache.class).length > 0) {
+                applicationContext.getBean(XmlTestLoaderCache.class).preload(methodTestLoaders);
+            }
+        }
+
+        return methodTestLoaders;
+    }
+
     /**
      * Creates test loader from @CitrusXmlTest annotated test method and saves those to local member.
      * Test loaders get executed later when actual method is called by TestNG. This way user can annotate
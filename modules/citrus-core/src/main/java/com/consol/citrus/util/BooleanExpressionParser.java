@@ -36,6 +36,9 @@ public final class BooleanExpressionParser {
     private static final List<String> OPERATORS = new ArrayList<String>(
             CollectionUtils.arrayToList(new String[]{"(", "=", "and", "or", "lt", "lt=", "gt", "gt=", ")"}));
 
+    /** Internal character marking placeholder positions in parsed expression */
+    private static final char PLACEHOLDER = '\u0000';
+
     /** List of known boolean values */
     private static final List<String> BOOLEAN_VALUES = new ArrayList<String>(
             CollectionUtils.arrayToList(new String[]{"true", "false"}));
@@ -58,15 +61,47 @@ public final class BooleanExpressionParser {
      * @return
      */
     public static boolean evaluate(String expression) {
+        boolean result = compile(expression).evaluate();
+
+        if (log.isDebugEnabled()) {
+            log.debug("Boolean expression " + expression + " evaluates to " + result);
+        }
+
+        return result;
+    }
+
+    /**
+     * Parses boolean expression string to reusable expression tree.
+     * @param expression
+     * @throws CitrusRuntimeException
+     * @return
+     */
+    public static BooleanExpression compile(String expression) {
+        return compile(expression, null);
+    }
+
+    /**
+     * Parses boolean expression string to reusable expression tree. All occurrences of the placeholder name
+     * are treated as numeric operand that is set on each evaluation, e.g. the index of a loop.
+     * @param expression
+     * @param placeholder optional placeholder name
+     * @throws CitrusRuntimeException
+     * @return
+     */
+    public static BooleanExpression compile(String expression, String placeholder) {
+        String tokens = expression;
+        if (placeholder != null && placeholder.length() > 0) {
+            tokens = expression.replace(placeholder, String.valueOf(PLACEHOLDER));
+        }
+
         Stack<String> operators = new Stack<String>();
-        Stack<String> values = new Stack<String>();
-        boolean result = true;
+        Stack<Operand> values = new Stack<Operand>();
 
         char actChar;
 
         try {
-            for (int i = 0; i < expression.length(); i++) {
-                actChar = expression.charAt(i);
+            for (int i = 0; i < tokens.length(); i++) {
+                actChar = tokens.charAt(i);
     
                 if (actChar == '('){
                     operators.push("(");
@@ -75,70 +110,65 @@ public final class BooleanExpressionParser {
                 } else if (actChar == ')') {
                     String operator = operators.pop();
                     while (!(operator).equals("(")) {
-                        values.push(getBooleanResultAsString(operator, values.pop(), values.pop()));
+                        values.push(new Operation(operator, values.pop(), values.pop()));
                         operator = operators.pop();
                     }
-                } else if (!Character.isDigit(actChar)) {
-                    StringBuffer operatorBuffer = new StringBuffer();
+                } else if (!isDigit(actChar)) {
+                    StringBuilder operatorBuffer = new StringBuilder();
     
                     int m = i;
                     do {
                         operatorBuffer.append(actChar);
                         m++;
                         
-                        if (m < expression.length()) {
-                            actChar = expression.charAt(m);
+                        if (m < tokens.length()) {
+                            actChar = tokens.charAt(m);
                         }
-                    } while (m < expression.length() && !Character.isDigit(actChar) && !(actChar == ' ') && !(actChar == '('));
+                    } while (m < tokens.length() && !isDigit(actChar) && !(actChar == ' ') && !(actChar == '('));
     
                     i = m - 1;
 
                     if (BOOLEAN_VALUES.contains(operatorBuffer.toString())) {
-                        values.push(Boolean.valueOf(operatorBuffer.toString()) ? "1" : "0");
+                        values.push(new Value(Boolean.valueOf(operatorBuffer.toString()) ? "1" : "0"));
                     } else {
                         operators.push(validateOperator(operatorBuffer.toString()));
                     }
-                } else if (Character.isDigit(actChar)) {
-                    StringBuffer digitBuffer = new StringBuffer();
+                } else {
+                    StringBuilder digitBuffer = new StringBuilder();
     
                     int m = i;
                     do {
                         digitBuffer.append(actChar);
                         m++;
                         
-                        if (m < expression.length()) {
-                            actChar = expression.charAt(m);
+                        if (m < tokens.length()) {
+                            actChar = tokens.charAt(m);
                         }
-                    } while (m < expression.length() && Character.isDigit(actChar));
+                    } while (m < tokens.length() && isDigit(actChar));
     
                     i = m - 1;
     
-                    values.push(digitBuffer.toString());
+                    values.push(new Value(digitBuffer.toString()));
                 }
             }
     
             while (!operators.isEmpty()) {
-                values.push(getBooleanResultAsString(operators.pop(), values.pop(), values.pop()));
-            }
-    
-            String value = values.pop();
-
-            if (value.equals("0")) {
-                value = "false";
-            } else if (value.equals("1")) {
-                value = "true";
+                values.push(new Operation(operators.pop(), values.pop(), values.pop()));
             }
 
-            result = Boolean.valueOf(value).booleanValue();
-    
-            if (log.isDebugEnabled()) {
-                log.debug("Boolean expression " + expression + " evaluates to " + result);
-            }
+            return new BooleanExpression(values.pop());
         } catch(EmptyStackException e) {
             throw new CitrusRuntimeException("Unable to parse boolean expression '" + expression + "'. Maybe expression is incomplete!", e);
         }
+    }
 
-        return result;
+    /**
+     * Checks for digit or placeholder character.
+     * @param character
+     * @return
+     */
+    private static boolean isDigit(char character) {
+        return Character.isDigit(character) || character == PLACEHOLDER;
     }
     
     /**
@@ -180,4 +210,111 @@ public final class BooleanExpressionParser {
             throw new CitrusRuntimeException("Unknown operator '" + operator + "'");
         }
     }
+
+    /**
+     * Parsed boolean expression tree. Expression is immutable and can be evaluated several times also
+     * by concurrent threads.
+     */
+    public static final class BooleanExpression {
+        /** Root node of expression tree */
+        private final Operand root;
+
+        private BooleanExpression(Operand root) {
+            this.root = root;
+        }
+
+        /**
+         * Evaluates expression.
+         * @return
+         */
+        public boolean evaluate() {
+            return evaluate(null);
+        }
+
+        /**
+         * Evaluates expression with numeric placeholder value.
+         * @param placeholderValue
+         * @return
+         */
+        public boolean evaluate(int placeholderValue) {
+            return evaluate(String.valueOf(placeholderValue));
+        }
+
+        /**
+         * Evaluates expression with placeholder value.
+         * @param placeholderValue
+         * @return
+         */
+        private boolean evaluate(String placeholderValue) {
+            String value = root.evaluate(placeholderValue);
+
+            if (value.equals("0")) {
+                value = "false";
+            } else if (value.equals("1")) {
+                value = "true";
+            }
+
+            return Boolean.valueOf(value).booleanValue();
+        }
+    }
+
+    /**
+     * Expression tree node evaluating to String representation.
+     */
+    private interface Operand {
+        String evaluate(String placeholderValue);
+    }
+
+    /**
+     * Literal value optionally containing placeholders.
+     */
+    private static final class Value implements Operand {
+        private final String value;
+        private final boolean placeholder;
+
+        private Value(String value) {
+            this.value = value;
+            this.placeholder = value.indexOf(PLACEHOLDER) != -1;
+        }
+
+        @Override
+        public String evaluate(String placeholderValue) {
+            if (!placeholder) {
+                return value;
+            } else if (value.length() == 1) {
+                return placeholderValue;
+            }
+
+            StringBuilder result = new StringBuilder();
+            for (int i = 0; i < value.length(); i++) {
+                if (value.charAt(i) == PLACEHOLDER) {
+                    result.append(placeholderValue);
+                } else {
+                    result.append(value.charAt(i));
+                }
+            }
+
+            return result.toString();
+        }
+    }
+
+    /**
+     * Binary operation on two operands.
+     */
+    private static final class Operation implements Operand {
+        private final String operator;
+        private final Operand value1;
+        private final Operand value2;
+
+        private Operation(String operator, Operand value1, Operand value2) {
+            this.operator = operator;
+            this.value1 = value1;
+            this.value2 = value2;
+        }
+
+        @Override
+        public String evaluate(String placeholderValue) {
+            return getBooleanResultAsString(operator, value1.evaluate(placeholderValue), value2.evaluate(placeholderValue));
+        }
+    }
 }
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2006-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.util;
+
+import com.consol.citrus.message.DefaultMessage;
+import com.consol.citrus.message.Message;
+import net.minidev.json.JSONAware;
+import net.minidev.json.parser.JSONParser;
+import net.minidev.json.parser.ParseException;
+
+/**
+ * Class providing utility methods for JSON processing.
+ *
+ * @author Christoph Deppisch
+ * @since 2.3
+ */
+public final class JsonUtils {
+
+    /**
+     * Prevent instantiation.
+     */
+    private JsonUtils() {
+    }
+
+    /**
+     * Parse message payload to JSON object or array. Parsed representation is cached on the message so subsequent calls
+     * for the same payload do not parse again. The returned object is shared and must not be modified.
+     * @param message
+     * @return
+     * @throws ParseException
+     */
+    public static Object parseMessagePayload(Message message) throws ParseException {
+        if (message instanceof DefaultMessage) {
+            JSONAware json = ((DefaultMessage) message).getCachedPayload(JSONAware.class);
+            if (json != null) {
+                return json;
+            }
+        }
+
+        Object json = new JSONParser(JSONParser.MODE_JSON_SIMPLE).parse(message.getPayload(String.class));
+
+        if (message instanceof DefaultMessage && json instanceof JSONAware) {
+            ((DefaultMessage) message).cachePayload(JSONAware.class, (JSONAware) json);
+        }
+
+        return json;
+    }
+}
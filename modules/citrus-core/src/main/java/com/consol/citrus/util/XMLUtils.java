@@ -18,6 +18,8 @@ package com.consol.citrus.util;
 
 import com.consol.citrus.CitrusConstants;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
+import com.consol.citrus.message.DefaultMessage;
+import com.consol.citrus.message.Message;
 import com.consol.citrus.xml.LSResolverImpl;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -371,6 +373,29 @@ public final class XMLUtils {
         return namespaces;
     }
 
+    /**
+     * Parse message payload with DOM implementation. Parsed document is cached on the message so subsequent calls
+     * for the same payload do not parse again. The returned document is shared and must not be modified, callers
+     * that need to change the document should work on a clone.
+     * @param message
+     * @throws CitrusRuntimeException
+     * @return DOM document.
+     */
+    public static Document parseMessagePayload(Message message) {
+        if (!(message instanceof DefaultMessage)) {
+            return parseMessagePayload(message.getPayload(String.class));
+        }
+
+        DefaultMessage defaultMessage = (DefaultMessage) message;
+        Document doc = defaultMessage.getCachedPayload(Document.class);
+        if (doc == null) {
+            doc = parseMessagePayload(defaultMessage.getPayload(String.class));
+            defaultMessage.cachePayload(Document.class, doc);
+        }
+
+        return doc;
+    }
+
     /**
      * Parse message payload with DOM implementation.
      * @param messagePayload
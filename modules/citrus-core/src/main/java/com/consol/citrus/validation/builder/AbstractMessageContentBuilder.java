@@ -21,6 +21,7 @@ import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.message.*;
 import com.consol.citrus.util.FileUtils;
 import com.consol.citrus.validation.interceptor.MessageConstructionInterceptor;
+import com.consol.citrus.validation.interceptor.MessageConstructionInterceptorChain;
 import com.consol.citrus.variable.dictionary.DataDictionary;
 
 import java.lang.reflect.Constructor;
@@ -61,15 +62,16 @@ public abstract class AbstractMessageContentBuilder implements MessageContentBui
             Message message = new DefaultMessage(payload, buildMessageHeaders(context));
 
             if (payload != null) {
+                MessageConstructionInterceptorChain interceptorChain = new MessageConstructionInterceptorChain();
+
                 if (dataDictionary != null) {
-                    message = dataDictionary.interceptMessageConstruction(message, messageType, context);
+                    interceptorChain.add(dataDictionary);
                 }
 
-                message = context.getMessageConstructionInterceptors().interceptMessageConstruction(message, messageType, context);
+                interceptorChain.addAll(context.getMessageConstructionInterceptors().getActiveInterceptors());
+                interceptorChain.addAll(messageInterceptors);
 
-                for (MessageConstructionInterceptor modifyer : messageInterceptors) {
-                    message = modifyer.interceptMessageConstruction(message, messageType, context);
-                }
+                message = interceptorChain.interceptMessageConstruction(message, messageType, context);
             }
 
             for (String headerResourcePath : headerResources) {
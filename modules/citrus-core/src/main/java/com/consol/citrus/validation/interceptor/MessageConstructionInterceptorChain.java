@@ -0,0 +1,117 @@
+/*
+ * Copyright 2006-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.validation.interceptor;
+
+import com.consol.citrus.context.TestContext;
+import com.consol.citrus.message.Message;
+import com.consol.citrus.util.XMLUtils;
+import com.consol.citrus.validation.xml.DomMessageConstructionInterceptor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.StringUtils;
+import org.w3c.dom.Document;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ordered chain of message construction interceptors. Consecutive {@link DomMessageConstructionInterceptor} instances
+ * work on one shared DOM document. The payload is parsed before the first of them and serialized once
+ * when the chain ends or a non DOM interceptor follows.
+ *
+ * @author Christoph Deppisch
+ * @since 2.3
+ */
+public class MessageConstructionInterceptorChain implements MessageConstructionInterceptor {
+
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(MessageConstructionInterceptorChain.class);
+
+    /** Interceptors in order of execution */
+    private final List<MessageConstructionInterceptor> interceptors = new ArrayList<>();
+
+    /**
+     * Adds interceptor to the end of this chain.
+     * @param interceptor
+     * @return
+     */
+    public MessageConstructionInterceptorChain add(MessageConstructionInterceptor interceptor) {
+        interceptors.add(interceptor);
+        return this;
+    }
+
+    /**
+     * Adds all interceptors to the end of this chain.
+     * @param interceptors
+     * @return
+     */
+    public MessageConstructionInterceptorChain addAll(List<MessageConstructionInterceptor> interceptors) {
+        this.interceptors.addAll(interceptors);
+        return this;
+    }
+
+    @Override
+    public Message interceptMessageConstruction(Message message, String messageType, TestContext context) {
+        Message interceptedMessage = message;
+        Document document = null;
+
+        for (MessageConstructionInterceptor interceptor : interceptors) {
+            if (interceptor instanceof DomMessageConstructionInterceptor) {
+                if (!interceptor.supportsMessageType(messageType)) {
+                    log.debug(String.format("Message interceptor type '%s' skipped for message type: %s", interceptor.getClass().getSimpleName(), messageType));
+                    continue;
+                }
+
+                if (document == null) {
+                    if (interceptedMessage.getPayload() == null || !StringUtils.hasText(interceptedMessage.getPayload(String.class))) {
+                        continue;
+                    }
+
+                    document = XMLUtils.parseMessagePayload(interceptedMessage.getPayload(String.class));
+                }
+
+                ((DomMessageConstructionInterceptor) interceptor).interceptDocument(document, messageType, context);
+            } else {
+                if (document != null) {
+                    interceptedMessage.setPayload(XMLUtils.serialize(document));
+                    document = null;
+                }
+
+                interceptedMessage = interceptor.interceptMessageConstruction(interceptedMessage, messageType, context);
+            }
+        }
+
+        if (document != null) {
+            interceptedMessage.setPayload(XMLUtils.serialize(document));
+        }
+
+        return interceptedMessage;
+    }
+
+    @Override
+    public boolean supportsMessageType(String messageType) {
+        return true;
+    }
+
+    /**
+     * Gets the interceptors of this chain.
+     * @return
+     */
+    public List<MessageConstructionInterceptor> getInterceptors() {
+        return interceptors;
+    }
+}
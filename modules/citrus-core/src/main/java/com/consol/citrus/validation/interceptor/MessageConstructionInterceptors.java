@@ -37,7 +37,18 @@ public class MessageConstructionInterceptors implements MessageConstructionInter
 
     @Override
     public Message interceptMessageConstruction(Message message, String messageType, TestContext context) {
-        Message interceptedMessage = message;
+        return new MessageConstructionInterceptorChain()
+                .addAll(getActiveInterceptors())
+                .interceptMessageConstruction(message, messageType, context);
+    }
+
+    /**
+     * Gets the global interceptors that apply to each message construction. Explicit data dictionaries
+     * are skipped to avoid duplicate dictionary usage.
+     * @return
+     */
+    public List<MessageConstructionInterceptor> getActiveInterceptors() {
+        List<MessageConstructionInterceptor> activeInterceptors = new ArrayList<MessageConstructionInterceptor>();
 
         for (MessageConstructionInterceptor interceptor : messageConstructionInterceptors) {
             if (interceptor instanceof DataDictionary &&
@@ -46,10 +57,10 @@ public class MessageConstructionInterceptors implements MessageConstructionInter
                 continue;
             }
 
-            interceptedMessage = interceptor.interceptMessageConstruction(interceptedMessage, messageType, context);
+            activeInterceptors.add(interceptor);
         }
 
-        return interceptedMessage;
+        return activeInterceptors;
     }
 
     @Override
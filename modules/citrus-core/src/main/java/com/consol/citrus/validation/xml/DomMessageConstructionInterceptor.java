@@ -0,0 +1,39 @@
+/*
+ * Copyright 2006-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.validation.xml;
+
+import com.consol.citrus.context.TestContext;
+import com.consol.citrus.validation.interceptor.MessageConstructionInterceptor;
+import org.w3c.dom.Document;
+
+/**
+ * Message construction interceptor able to modify the parsed XML payload in place. Several of these interceptors
+ * in a row share one parsed DOM document so payload is parsed and serialized only once.
+ *
+ * @author Christoph Deppisch
+ * @since 2.3
+ */
+public interface DomMessageConstructionInterceptor extends MessageConstructionInterceptor {
+
+    /**
+     * Intercept the message construction by modifying the parsed payload document.
+     * @param document the parsed message payload to be modified.
+     * @param messageType the message type.
+     * @param context the current test context.
+     */
+    void interceptDocument(Document document, String messageType, TestContext context);
+}
@@ -29,6 +29,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.util.StringUtils;
 import org.springframework.xml.namespace.SimpleNamespaceContext;
 import org.w3c.dom.Document;
+import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 
 import java.util.HashMap;
@@ -41,7 +42,7 @@ import java.util.Map.Entry;
  * 
  * @author Christoph Deppisch
  */
-public class XpathMessageConstructionInterceptor extends AbstractMessageConstructionInterceptor {
+public class XpathMessageConstructionInterceptor extends AbstractMessageConstructionInterceptor implements DomMessageConstructionInterceptor {
 
     /** Overwrites message elements before validating (via XPath expressions) */
     private Map<String, String> xPathExpressions = new HashMap<String, String>();
@@ -84,6 +85,19 @@ public class XpathMessageConstructionInterceptor extends AbstractMessageConstruc
             throw new CitrusRuntimeException("Not able to set message elements, because no XML ressource defined");
         }
 
+        interceptDocument(doc, messageType, context);
+
+        message.setPayload(XMLUtils.serialize(doc));
+        return message;
+    }
+
+    /**
+     * Replaces elements identified via XPath expressions in parsed message payload.
+     */
+    @Override
+    public void interceptDocument(Document doc, String messageType, TestContext context) {
+        SimpleNamespaceContext nsContext = null;
+
         for (Entry<String, String> entry : xPathExpressions.entrySet()) {
             String pathExpression = entry.getKey();
             String valueExpression = entry.getValue();
@@ -93,8 +107,10 @@ public class XpathMessageConstructionInterceptor extends AbstractMessageConstruc
 
             Node node;
             if (XPathUtils.isXPathExpression(pathExpression)) {
-                SimpleNamespaceContext nsContext = new SimpleNamespaceContext();
-                nsContext.setBindings(XMLUtils.lookupNamespaces(message.getPayload(String.class)));
+                if (nsContext == null) {
+                    nsContext = new SimpleNamespaceContext();
+                    nsContext.setBindings(lookupNamespaces(doc.getDocumentElement(), new HashMap<String, String>()));
+                }
                 node = XPathUtils.evaluateAsNode(doc, pathExpression, nsContext);
             } else {
                 node = XMLUtils.findNodeByName(doc, pathExpression);
@@ -118,9 +134,25 @@ public class XpathMessageConstructionInterceptor extends AbstractMessageConstruc
                 log.debug("Element " +  pathExpression + " was set to value: " + valueExpression);
             }
         }
-        
-        message.setPayload(XMLUtils.serialize(doc));
-        return message;
+    }
+
+    /**
+     * Collects namespace declarations of given element and all its descendants. Declarations found later
+     * in document order overwrite earlier ones with the same prefix.
+     * @param element
+     * @param namespaces
+     * @return
+     */
+    private Map<String, String> lookupNamespaces(Element element, Map<String, String> namespaces) {
+        namespaces.putAll(XMLUtils.lookupNamespaces(element));
+
+        for (Node child = element.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child.getNodeType() == Node.ELEMENT_NODE) {
+                lookupNamespaces((Element) child, namespaces);
+            }
+        }
+
+        return namespaces;
     }
 
     @Override
@@ -63,7 +63,7 @@ public class XpathMessageValidator extends AbstractMessageValidator<XpathMessage
 
         log.info("Start XPath element validation");
 
-        Document received = XMLUtils.parseMessagePayload(receivedMessage.getPayload(String.class));
+        Document received = XMLUtils.parseMessagePayload(receivedMessage);
         NamespaceContext namespaceContext = namespaceContextBuilder.buildContext(
                 receivedMessage, validationContext.getNamespaces());
 
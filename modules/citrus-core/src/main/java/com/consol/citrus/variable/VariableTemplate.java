@@ -0,0 +1,200 @@
+/*
+ * Copyright 2006-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.variable;
+
+import com.consol.citrus.CitrusConstants;
+import com.consol.citrus.context.TestContext;
+import com.consol.citrus.exceptions.NoSuchVariableException;
+
+import java.util.*;
+
+/**
+ * Pre-tokenized representation of a string holding variable place holders. Template string is split into literal
+ * segments and variable references once. Evaluation against a test context then is a single pass appending literals
+ * and variable values. Compiled templates are cached by template string so repeatedly used message templates
+ * are not scanned again.
+ *
+ * @author Christoph Deppisch
+ * @since 2.3
+ */
+public final class VariableTemplate {
+
+    /** Maximum number of cached templates */
+    public static final int MAX_CACHE_SIZE = 500;
+
+    /** Least recently used template cache */
+    private static final Map<String, VariableTemplate> cache = Collections.synchronizedMap(new LinkedHashMap<String, VariableTemplate>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, VariableTemplate> eldest) {
+            return size() > MAX_CACHE_SIZE;
+        }
+    });
+
+    /** Original template string */
+    private final String template;
+
+    /** Literal segments, one more than variable names */
+    private final String[] literals;
+
+    /** Variable names in order of occurrence */
+    private final String[] variableNames;
+
+    /**
+     * Constructor using template string and its segments.
+     * @param template
+     * @param literals
+     * @param variableNames
+     */
+    private VariableTemplate(String template, String[] literals, String[] variableNames) {
+        this.template = template;
+        this.literals = literals;
+        this.variableNames = variableNames;
+    }
+
+    /**
+     * Gets compiled template for given string. Uses cached template if available.
+     * @param template
+     * @return
+     */
+    public static VariableTemplate forString(String template) {
+        if (template.indexOf(CitrusConstants.VARIABLE_PREFIX) < 0) {
+            return new VariableTemplate(template, new String[] { template }, new String[0]);
+        }
+
+        VariableTemplate compiled = cache.get(template);
+        if (compiled == null) {
+            compiled = compile(template);
+            cache.put(template, compiled);
+        }
+
+        return compiled;
+    }
+
+    /**
+     * Splits template string into literal segments and variable names.
+     * @param str
+     * @return
+     */
+    public static VariableTemplate compile(final String str) {
+        List<String> literals = new ArrayList<String>();
+        List<String> variableNames = new ArrayList<String>();
+
+        int startIndex = 0;
+        int curIndex;
+        int searchIndex;
+
+        while ((searchIndex = str.indexOf(CitrusConstants.VARIABLE_PREFIX, startIndex)) != -1) {
+            int control = 0;
+            boolean isVarComplete = false;
+
+            curIndex = searchIndex + CitrusConstants.VARIABLE_PREFIX.length();
+            int nameStart = curIndex;
+            int nameEnd = curIndex;
+
+            while (curIndex < str.length() && !isVarComplete) {
+                if (str.startsWith(CitrusConstants.VARIABLE_PREFIX, curIndex)) {
+                    control++;
+                }
+
+                if ((!Character.isJavaIdentifierPart(str.charAt(curIndex)) && (str.charAt(curIndex) == CitrusConstants.VARIABLE_SUFFIX)) || (curIndex + 1 == str.length())) {
+                    if (control == 0) {
+                        isVarComplete = true;
+                    } else {
+                        control--;
+                    }
+                }
+
+                if (!isVarComplete) {
+                    nameEnd = curIndex + 1;
+                }
+                ++curIndex;
+            }
+
+            literals.add(str.substring(startIndex, searchIndex));
+            variableNames.add(str.substring(nameStart, nameEnd));
+
+            startIndex = curIndex;
+        }
+
+        literals.add(str.substring(startIndex));
+
+        return new VariableTemplate(str, literals.toArray(new String[literals.size()]),
+                variableNames.toArray(new String[variableNames.size()]));
+    }
+
+    /**
+     * Evaluates template replacing all variable references with respective values from test context. Variable values
+     * are enclosed with quotes if enabled.
+     * @param context
+     * @param enableQuoting
+     * @return
+     */
+    public String evaluate(TestContext context, boolean enableQuoting) {
+        if (variableNames.length == 0) {
+            return template;
+        }
+
+        StringBuilder result = new StringBuilder(template.length());
+        for (int i = 0; i < variableNames.length; i++) {
+            result.append(literals[i]);
+
+            final String value = context.getVariable(variableNames[i]);
+            if (value == null) {
+                throw new NoSuchVariableException("Variable: " + variableNames[i] + " could not be found");
+            }
+
+            if (enableQuoting) {
+                result.append('\'').append(value).append('\'');
+            } else {
+                result.append(value);
+            }
+        }
+
+        return result.append(literals[variableNames.length]).toString();
+    }
+
+    /**
+     * Checks if template holds any variable references.
+     * @return
+     */
+    public boolean hasVariables() {
+        return variableNames.length > 0;
+    }
+
+    /**
+     * Gets the variable names referenced in this template.
+     * @return
+     */
+    public List<String> getVariableNames() {
+        return Arrays.asList(variableNames);
+    }
+
+    /**
+     * Gets the template string.
+     * @return
+     */
+    public String getTemplate() {
+        return template;
+    }
+
+    /**
+     * Removes all cached templates.
+     */
+    public static void clearCache() {
+        cache.clear();
+    }
+}
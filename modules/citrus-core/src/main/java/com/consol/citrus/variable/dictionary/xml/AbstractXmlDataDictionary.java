@@ -20,6 +20,7 @@ import com.consol.citrus.context.TestContext;
 import com.consol.citrus.message.Message;
 import com.consol.citrus.message.MessageType;
 import com.consol.citrus.util.XMLUtils;
+import com.consol.citrus.validation.xml.DomMessageConstructionInterceptor;
 import com.consol.citrus.variable.dictionary.AbstractDataDictionary;
 import org.springframework.util.StringUtils;
 import org.springframework.util.xml.DomUtils;
@@ -31,12 +32,13 @@ import java.io.StringWriter;
 
 /**
  * Abstract data dictionary works on XML message payloads only with parsing the document and translating each element
- * and attribute with respective value in dictionary.
+ * and attribute with respective value in dictionary. Within a message construction interceptor chain the dictionary
+ * works directly on the shared payload document.
  *
  * @author Christoph Deppisch
  * @since 1.4
  */
-public abstract class AbstractXmlDataDictionary extends AbstractDataDictionary<Node> {
+public abstract class AbstractXmlDataDictionary extends AbstractDataDictionary<Node> implements DomMessageConstructionInterceptor {
 
     @Override
     protected Message interceptMessage(Message message, String messageType, TestContext context) {
@@ -63,6 +65,53 @@ public abstract class AbstractXmlDataDictionary extends AbstractDataDictionary<N
         return message;
     }
 
+    /**
+     * Translates all elements and attributes of parsed message payload in one document traversal.
+     */
+    @Override
+    public void interceptDocument(Document document, String messageType, TestContext context) {
+        if (document.getDocumentElement() != null) {
+            translateElements(document.getDocumentElement(), context);
+        }
+    }
+
+    /**
+     * Translates given element and all its child elements.
+     * @param element
+     * @param context
+     */
+    private void translateElements(Element element, TestContext context) {
+        translateElement(element, context);
+
+        for (Node child = element.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child.getNodeType() == Node.ELEMENT_NODE) {
+                translateElements((Element) child, context);
+            }
+        }
+    }
+
+    /**
+     * Translates element text value and attribute values with respective value in dictionary.
+     * @param element
+     * @param context
+     */
+    private void translateElement(Element element, TestContext context) {
+        if (StringUtils.hasText(DomUtils.getTextValue(element))) {
+            element.setTextContent(translate(element, DomUtils.getTextValue(element), context));
+        } else if (!element.hasChildNodes()) {
+            String translated = translate(element, "", context);
+            if (StringUtils.hasText(translated)) {
+                element.appendChild(element.getOwnerDocument().createTextNode(translated));
+            }
+        }
+
+        NamedNodeMap attributes = element.getAttributes();
+        for (int i = 0; i < attributes.getLength(); i++) {
+            Attr attribute = (Attr) attributes.item(i);
+            attribute.setValue(translate(attribute, attribute.getNodeValue(), context));
+        }
+    }
+
     /**
      * Serializer filter uses data dictionary translation on elements and attributes.
      */
@@ -81,22 +130,7 @@ public abstract class AbstractXmlDataDictionary extends AbstractDataDictionary<N
         @Override
         public short acceptNode(Node node) {
             if (node instanceof Element) {
-                Element element = (Element) node;
-
-                if (StringUtils.hasText(DomUtils.getTextValue(element))) {
-                    element.setTextContent(translate(element, DomUtils.getTextValue(element), context));
-                } else if (!element.hasChildNodes()) {
-                    String translated = translate(element, "", context);
-                    if (StringUtils.hasText(translated)) {
-                        element.appendChild(element.getOwnerDocument().createTextNode(translated));
-                    }
-                }
-
-                NamedNodeMap attributes = element.getAttributes();
-                for (int i = 0; i < attributes.getLength(); i++) {
-                    Attr attribute = (Attr) attributes.item(i);
-                    attribute.setValue(translate(attribute, attribute.getNodeValue(), context));
-                }
+                translateElement((Element) node, context);
             }
 
             return NodeFilter.FILTER_ACCEPT;
@@ -25,16 +25,22 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.xml.namespace.SimpleNamespaceContext;
+import org.w3c.dom.Document;
 import org.w3c.dom.Node;
 
 import javax.xml.namespace.NamespaceContext;
+import java.util.IdentityHashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Xml data dictionary implementation maps elements via XPath expressions. When element is identified by some expression
  * in dictionary value is overwritten accordingly. Namespace context is either evaluated on the fly or by global namespace
  * context builder.
  *
+ * All mapping expressions are evaluated only once per document. The resulting index of matched nodes and mapping values
+ * is stored as user data on the document so following node translations are simple lookups.
+ *
  * @author Christoph Deppisch
  * @since 1.4
  */
@@ -46,33 +52,74 @@ public class XpathMappingDataDictionary extends AbstractXmlDataDictionary implem
     /** Logger */
     private static Logger log = LoggerFactory.getLogger(XpathMappingDataDictionary.class);
 
+    /** Sequence for document user data keys of dictionary instances */
+    private static final AtomicInteger instanceCount = new AtomicInteger();
+
+    /** Document user data key of mapping index built by this dictionary */
+    private final String indexKey = XpathMappingDataDictionary.class.getName() + ".index." + instanceCount.incrementAndGet();
+
     @Override
     public String translate(Node node, String value, TestContext context) {
-        for (Map.Entry<String, String> expressionEntry : mappings.entrySet()) {
-            String expression = expressionEntry.getKey();
-
-            Node finding = XPathUtils.evaluateAsNode(node.getOwnerDocument(), expression, buildNamespaceContext(node));
+        String mappingValue = getMappingIndex(node.getOwnerDocument()).get(node);
 
-            if (finding != null && finding.equals(node)) {
-                if (log.isDebugEnabled()) {
-                    log.debug(String.format("Data dictionary setting element '%s' value: %s", XMLUtils.getNodesPathName(node), expressionEntry.getValue()));
-                }
-                return context.replaceDynamicContentInString(expressionEntry.getValue());
+        if (mappingValue != null) {
+            if (log.isDebugEnabled()) {
+                log.debug(String.format("Data dictionary setting element '%s' value: %s", XMLUtils.getNodesPathName(node), mappingValue));
             }
+            return context.replaceDynamicContentInString(mappingValue);
         }
 
         return value;
     }
 
     /**
-     * Builds namespace context with dynamic lookup on received node document and global namespace mappings from
+     * Gets index of matched nodes and mapping values for given document. Index is built on first access by evaluating
+     * each mapping expression once and is stored as user data on the document.
+     * @param document
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    private Map<Node, String> getMappingIndex(Document document) {
+        Map<Node, String> index = (Map<Node, String>) document.getUserData(indexKey);
+
+        if (index == null) {
+            index = buildMappingIndex(document);
+            document.setUserData(indexKey, index, null);
+        }
+
+        return index;
+    }
+
+    /**
+     * Evaluates all mapping expressions on document and maps matched nodes to mapping values. When several expressions
+     * match the same node the first mapping wins.
+     * @param document
+     * @return
+     */
+    private Map<Node, String> buildMappingIndex(Document document) {
+        Map<Node, String> index = new IdentityHashMap<>();
+        NamespaceContext namespaceContext = buildNamespaceContext(document);
+
+        for (Map.Entry<String, String> expressionEntry : mappings.entrySet()) {
+            Node finding = XPathUtils.evaluateAsNode(document, expressionEntry.getKey(), namespaceContext);
+
+            if (!index.containsKey(finding)) {
+                index.put(finding, expressionEntry.getValue());
+            }
+        }
+
+        return index;
+    }
+
+    /**
+     * Builds namespace context with dynamic lookup on received document and global namespace mappings from
      * namespace context builder.
-     * @param node the element node from message
+     * @param document the message document
      * @return
      */
-    private NamespaceContext buildNamespaceContext(Node node) {
+    private NamespaceContext buildNamespaceContext(Document document) {
         SimpleNamespaceContext simpleNamespaceContext = new SimpleNamespaceContext();
-        Map<String, String> namespaces = XMLUtils.lookupNamespaces(node.getOwnerDocument());
+        Map<String, String> namespaces = XMLUtils.lookupNamespaces(document);
 
         // add default namespace mappings
         namespaces.putAll(namespaceContextBuilder.getNamespaceMappings());
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2006-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.xml;
+
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import org.springframework.xml.transform.StringSource;
+
+import javax.xml.transform.*;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Shared transformer factory with reusable identity transformers and compiled XSLT templates. Transformer
+ * factory lookup and stylesheet compilation are expensive, so factory is created once. Transformer instances are not
+ * thread safe, therefore each thread gets its own identity transformer which is reset before each use. Compiled
+ * templates are thread safe and cached by stylesheet content.
+ *
+ * @author Christoph Deppisch
+ * @since 2.3
+ */
+public final class TransformerCache {
+
+    /** Maximum number of cached stylesheet templates */
+    public static final int MAX_TEMPLATES = 100;
+
+    /** Shared transformer factory */
+    private static final TransformerFactory transformerFactory = TransformerFactory.newInstance();
+
+    /** Least recently used stylesheet templates by stylesheet content */
+    private static final Map<String, Templates> templates = Collections.synchronizedMap(new LinkedHashMap<String, Templates>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Templates> eldest) {
+            return size() > MAX_TEMPLATES;
+        }
+    });
+
+    /** Cache statistics */
+    private static final AtomicLong hitCount = new AtomicLong();
+    private static final AtomicLong missCount = new AtomicLong();
+
+    /** Thread confined identity transformer */
+    private static final ThreadLocal<Transformer> identityTransformer = new ThreadLocal<Transformer>() {
+        @Override
+        protected Transformer initialValue() {
+            try {
+                synchronized (transformerFactory) {
+                    return transformerFactory.newTransformer();
+                }
+            } catch (TransformerConfigurationException e) {
+                throw new CitrusRuntimeException("Failed to create identity transformer", e);
+            }
+        }
+    };
+
+    /**
+     * Prevent instantiation.
+     */
+    private TransformerCache() {
+    }
+
+    /**
+     * Gets identity transformer of the current thread. Transformer is reset so output properties and parameters
+     * of previous usages are cleared. Transformer must not be passed to other threads.
+     * @return
+     */
+    public static Transformer getIdentityTransformer() {
+        Transformer transformer = identityTransformer.get();
+        transformer.reset();
+        return transformer;
+    }
+
+    /**
+     * Copies source to result with identity transformer of the current thread.
+     * @param source
+     * @param result
+     * @throws TransformerException
+     */
+    public static void transform(Source source, Result result) throws TransformerException {
+        getIdentityTransformer().transform(source, result);
+    }
+
+    /**
+     * Gets compiled templates for stylesheet content. Compiles and caches the stylesheet if not
+     * present in the cache yet.
+     * @param xslt
+     * @return
+     * @throws TransformerConfigurationException
+     */
+    public static Templates getTemplates(String xslt) throws TransformerConfigurationException {
+        Templates compiled = templates.get(xslt);
+
+        if (compiled != null) {
+            hitCount.incrementAndGet();
+            return compiled;
+        }
+
+        missCount.incrementAndGet();
+        synchronized (transformerFactory) {
+            compiled = transformerFactory.newTemplates(new StringSource(xslt));
+        }
+        templates.put(xslt, compiled);
+
+        return compiled;
+    }
+
+    /**
+     * Creates new transformer for stylesheet content using cached templates.
+     * @param xslt
+     * @return
+     * @throws TransformerConfigurationException
+     */
+    public static Transformer newTransformer(String xslt) throws TransformerConfigurationException {
+        return getTemplates(xslt).newTransformer();
+    }
+
+    /**
+     * Removes all cached templates.
+     */
+    public static void clear() {
+        templates.clear();
+    }
+
+    /**
+     * Gets the number of templates served from cache.
+     * @return
+     */
+    public static long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * Gets the number of stylesheet compilations.
+     * @return
+     */
+    public static long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Resets cache statistics.
+     */
+    public static void resetStatistics() {
+        hitCount.set(0L);
+        missCount.set(0L);
+    }
+}
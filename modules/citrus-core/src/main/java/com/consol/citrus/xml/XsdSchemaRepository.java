@@ -16,22 +16,32 @@
 
 package com.consol.citrus.xml;
 
+import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.xml.schema.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.BeanNameAware;
 import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.xml.validation.SchemaLoaderUtils;
+import org.springframework.xml.validation.XmlValidator;
 import org.springframework.xml.xsd.SimpleXsdSchema;
 import org.springframework.xml.xsd.XsdSchema;
 import org.w3c.dom.Document;
 import org.xml.sax.SAXException;
 
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.stream.StreamResult;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Schema repository holding a set of XML schema resources known in the test scope.
@@ -50,6 +60,21 @@ public class XsdSchemaRepository implements BeanNameAware, InitializingBean {
 
     /** Mapping strategy */
     private XsdSchemaMappingStrategy schemaMappingStrategy = new TargetNamespaceSchemaMappingStrategy();
+
+    /** Validator working on compiled schema of all schemas in this repository */
+    private XmlValidator schemaValidator;
+
+    /** Snapshot of schemas the validator has been compiled with */
+    private List<XsdSchema> compiledSchemas;
+
+    /** Number of schema compilations */
+    private final AtomicLong schemaCompileCount = new AtomicLong();
+
+    /** Number of validator requests served from compiled schema */
+    private final AtomicLong schemaCacheHitCount = new AtomicLong();
+
+    /** Transformer factory used for serializing schema sources */
+    private final TransformerFactory transformerFactory = TransformerFactory.newInstance();
     
     /** Logger */
     private static Logger log = LoggerFactory.getLogger(XsdSchemaRepository.class);
@@ -66,6 +91,86 @@ public class XsdSchemaRepository implements BeanNameAware, InitializingBean {
         return schema != null;
     }
     
+    /**
+     * Gets validator for all schemas in this repository. The schema set is compiled once and
+     * is compiled again only in case the list of schemas in this repository has changed.
+     * @return
+     * @throws IOException
+     * @throws SAXException
+     */
+    public synchronized XmlValidator getSchemaValidator() throws IOException, SAXException {
+        if (schemaValidator != null && schemas.equals(compiledSchemas)) {
+            schemaCacheHitCount.incrementAndGet();
+            return schemaValidator;
+        }
+
+        List<XsdSchema> snapshot = new ArrayList<XsdSchema>(schemas);
+        List<Resource> schemaResources = getSchemaResources(snapshot);
+
+        if (log.isDebugEnabled()) {
+            log.debug(String.format("Compiling %s schema resources in schema repository '%s'", schemaResources.size(), name));
+        }
+
+        schemaValidator = new CompiledSchemaValidator(SchemaLoaderUtils.loadSchema(
+                schemaResources.toArray(new Resource[schemaResources.size()]), WsdlXsdSchema.W3C_XML_SCHEMA_NS_URI));
+        compiledSchemas = snapshot;
+        schemaCompileCount.incrementAndGet();
+
+        return schemaValidator;
+    }
+
+    /**
+     * Resets the compiled schema validator so next validator request compiles the schemas again.
+     */
+    public synchronized void resetSchemaValidator() {
+        schemaValidator = null;
+        compiledSchemas = null;
+    }
+
+    /**
+     * Collects schema resources of given schemas. Schemas other than multi resource or WSDL
+     * schemas are serialized to in memory resources.
+     * @param xsdSchemas
+     * @return
+     */
+    private List<Resource> getSchemaResources(List<XsdSchema> xsdSchemas) {
+        List<Resource> schemaResources = new ArrayList<Resource>();
+
+        for (XsdSchema xsdSchema : xsdSchemas) {
+            if (xsdSchema instanceof MultiResourceXsdSchema) {
+                schemaResources.addAll(Arrays.asList(((MultiResourceXsdSchema) xsdSchema).getSchemas()));
+            } else if (xsdSchema instanceof WsdlXsdSchema) {
+                schemaResources.addAll(((WsdlXsdSchema) xsdSchema).getSchemas());
+            } else {
+                ByteArrayOutputStream bos = new ByteArrayOutputStream();
+                try {
+                    transformerFactory.newTransformer().transform(xsdSchema.getSource(), new StreamResult(bos));
+                } catch (TransformerException e) {
+                    throw new CitrusRuntimeException("Failed to read schema " + xsdSchema.getTargetNamespace(), e);
+                }
+                schemaResources.add(new ByteArrayResource(bos.toByteArray()));
+            }
+        }
+
+        return schemaResources;
+    }
+
+    /**
+     * Gets the number of schema compilations in this repository.
+     * @return
+     */
+    public long getSchemaCompileCount() {
+        return schemaCompileCount.get();
+    }
+
+    /**
+     * Gets the number of validator requests served from already compiled schema.
+     * @return
+     */
+    public long getSchemaCacheHitCount() {
+        return schemaCacheHitCount.get();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2006-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.xml.schema;
+
+import org.springframework.xml.validation.ValidationErrorHandler;
+import org.springframework.xml.validation.XmlValidationException;
+import org.springframework.xml.validation.XmlValidator;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+
+import javax.xml.transform.Source;
+import javax.xml.validation.Schema;
+import javax.xml.validation.Validator;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Xml validator working on a compiled and thread safe {@link Schema} instance. The schema is compiled only once
+ * and each thread is given its own {@link Validator} instance that is reused for subsequent validations on that thread.
+ *
+ * @author Christoph Deppisch
+ * @since 2.3
+ */
+public class CompiledSchemaValidator implements XmlValidator {
+
+    /** Compiled schema */
+    private final Schema schema;
+
+    /** Validator instances per thread */
+    private final ThreadLocal<Validator> validators = new ThreadLocal<Validator>() {
+        @Override
+        protected Validator initialValue() {
+            return schema.newValidator();
+        }
+    };
+
+    /**
+     * Default constructor using compiled schema.
+     * @param schema
+     */
+    public CompiledSchemaValidator(Schema schema) {
+        this.schema = schema;
+    }
+
+    @Override
+    public SAXParseException[] validate(Source source) throws IOException {
+        return validate(source, null);
+    }
+
+    @Override
+    public SAXParseException[] validate(Source source, ValidationErrorHandler errorHandler) throws IOException {
+        if (errorHandler == null) {
+            errorHandler = new CollectingErrorHandler();
+        }
+
+        Validator validator = validators.get();
+        validator.reset();
+        validator.setErrorHandler(errorHandler);
+
+        try {
+            validator.validate(source);
+            return errorHandler.getErrors();
+        } catch (SAXException e) {
+            throw new XmlValidationException("Could not validate source: " + e.getMessage(), e);
+        } finally {
+            validator.setErrorHandler(null);
+        }
+    }
+
+    /**
+     * Gets the compiled schema.
+     * @return
+     */
+    public Schema getSchema() {
+        return schema;
+    }
+
+    /**
+     * Error handler collects errors and fatal errors, warnings are ignored.
+     */
+    private static class CollectingErrorHandler implements ValidationErrorHandler {
+        private List<SAXParseException> errors = new ArrayList<SAXParseException>();
+
+        @Override
+        public SAXParseException[] getErrors() {
+            return errors.toArray(new SAXParseException[errors.size()]);
+        }
+
+        @Override
+        public void warning(SAXParseException exception) throws SAXException {
+        }
+
+        @Override
+        public void error(SAXParseException exception) throws SAXException {
+            errors.add(exception);
+        }
+
+        @Override
+        public void fatalError(SAXParseException exception) throws SAXException {
+            errors.add(exception);
+        }
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2006-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.xml.xpath;
+
+import org.springframework.xml.namespace.SimpleNamespaceContext;
+
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.xpath.*;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of compiled XPath expressions. Compiled expressions are not thread safe so each thread gets its own
+ * bounded cache and its own {@link XPath} instance. Expressions are cached by expression string and a fingerprint of the
+ * namespace bindings used for compilation. Expressions using namespace context implementations other than
+ * {@link SimpleNamespaceContext} can not be fingerprinted and are compiled on each request.
+ *
+ * Class is abstract to prevent instantiation.
+ *
+ * @author Christoph Deppisch
+ * @since 2.3
+ */
+public abstract class XPathExpressionCache {
+
+    /** Default maximum number of compiled expressions per thread */
+    public static final int DEFAULT_MAX_SIZE = 1000;
+
+    /** XPath expression factory */
+    private static final XPathFactory xPathFactory = XPathFactory.newInstance();
+
+    /** Maximum number of compiled expressions per thread */
+    private static volatile int maxSize = DEFAULT_MAX_SIZE;
+
+    /** Cache statistics */
+    private static final AtomicLong hitCount = new AtomicLong();
+    private static final AtomicLong missCount = new AtomicLong();
+
+    /** Thread confined compiler and cache */
+    private static final ThreadLocal<ThreadCache> threadCache = new ThreadLocal<ThreadCache>() {
+        @Override
+        protected ThreadCache initialValue() {
+            synchronized (xPathFactory) {
+                return new ThreadCache(xPathFactory.newXPath());
+            }
+        }
+    };
+
+    /**
+     * Prevent instantiation.
+     */
+    private XPathExpressionCache() {
+    }
+
+    /**
+     * Gets compiled expression for the current thread. Compiles and caches the expression if not
+     * present in the cache yet.
+     * @param xPathExpression
+     * @param nsContext
+     * @return
+     * @throws XPathExpressionException
+     */
+    public static XPathExpression getExpression(String xPathExpression, NamespaceContext nsContext) throws XPathExpressionException {
+        ThreadCache cache = threadCache.get();
+
+        String fingerprint = getFingerprint(nsContext);
+        if (fingerprint == null) {
+            missCount.incrementAndGet();
+            return cache.compile(xPathExpression, nsContext);
+        }
+
+        String key = fingerprint + xPathExpression;
+        XPathExpression expression = cache.expressions.get(key);
+
+        if (expression != null) {
+            hitCount.incrementAndGet();
+            return expression;
+        }
+
+        missCount.incrementAndGet();
+        expression = cache.compile(xPathExpression, nsContext);
+        cache.expressions.put(key, expression);
+
+        return expression;
+    }
+
+    /**
+     * Builds fingerprint of namespace bindings in namespace context. Returns null for namespace context
+     * implementations that do not expose their bindings.
+     * @param nsContext
+     * @return
+     */
+    private static String getFingerprint(NamespaceContext nsContext) {
+        if (nsContext == null) {
+            return "|";
+        }
+
+        Iterator<String> boundPrefixes;
+        if (nsContext instanceof SimpleNamespaceContext) {
+            boundPrefixes = ((SimpleNamespaceContext) nsContext).getBoundPrefixes();
+        } else if (nsContext instanceof org.springframework.util.xml.SimpleNamespaceContext) {
+            boundPrefixes = ((org.springframework.util.xml.SimpleNamespaceContext) nsContext).getBoundPrefixes();
+        } else {
+            return null;
+        }
+
+        List<String> prefixes = new ArrayList<String>();
+        while (boundPrefixes.hasNext()) {
+            prefixes.add(boundPrefixes.next());
+        }
+        Collections.sort(prefixes);
+
+        StringBuilder fingerprint = new StringBuilder();
+        for (String prefix : prefixes) {
+            fingerprint.append(prefix).append('=').append(nsContext.getNamespaceURI(prefix)).append(' ');
+        }
+
+        return fingerprint.append('|').toString();
+    }
+
+    /**
+     * Removes all compiled expressions of the current thread.
+     */
+    public static void clear() {
+        threadCache.get().expressions.clear();
+    }
+
+    /**
+     * Gets the number of expressions served from cache.
+     * @return
+     */
+    public static long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * Gets the number of expression compilations.
+     * @return
+     */
+    public static long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Resets cache statistics.
+     */
+    public static void resetStatistics() {
+        hitCount.set(0L);
+        missCount.set(0L);
+    }
+
+    /**
+     * Gets the maximum number of compiled expressions cached per thread.
+     * @return
+     */
+    public static int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Sets the maximum number of compiled expressions cached per thread.
+     * @param maxSize
+     */
+    public static void setMaxSize(int maxSize) {
+        XPathExpressionCache.maxSize = maxSize;
+    }
+
+    /**
+     * Thread confined XPath instance with least recently used expression cache.
+     */
+    private static class ThreadCache {
+        private final XPath xpath;
+
+        private final Map<String, XPathExpression> expressions = new LinkedHashMap<String, XPathExpression>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, XPathExpression> eldest) {
+                return size() > maxSize;
+            }
+        };
+
+        ThreadCache(XPath xpath) {
+            this.xpath = xpath;
+        }
+
+        XPathExpression compile(String xPathExpression, NamespaceContext nsContext) throws XPathExpressionException {
+            xpath.reset();
+
+            if (nsContext != null) {
+                xpath.setNamespaceContext(nsContext);
+            }
+
+            return xpath.compile(xPathExpression);
+        }
+    }
+}
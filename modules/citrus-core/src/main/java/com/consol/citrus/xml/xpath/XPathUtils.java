@@ -37,9 +37,6 @@ import java.util.Map.Entry;
  */
 public abstract class XPathUtils {
 
-    /** XPath expression factory */
-    private static XPathFactory xPathFactory;
-    
     /** Dynamic namespace prefix suffix */
     public static final String DYNAMIC_NS_START = "{";
     public static final String DYNAMIC_NS_END = "}";
@@ -47,10 +44,6 @@ public abstract class XPathUtils {
     /** Dynamic namespace prefix */
     private static final String DYNAMIC_NS_PREFIX = "dns";
 
-    static {
-        xPathFactory = XPathFactory.newInstance();
-    }
-    
     /**
      * Prevent instantiation.
      */
@@ -222,21 +215,16 @@ public abstract class XPathUtils {
     /**
      * Construct a xPath expression instance with given expression string and namespace context.
      * If namespace context is not specified a default context is built from the XML node
-     * that is evaluated against.
+     * that is evaluated against. Compiled expressions are cached per thread.
      * @param xPathExpression
      * @param nsContext
      * @return
      * @throws XPathExpressionException
+     * @see XPathExpressionCache
      */
     private static XPathExpression buildExpression(String xPathExpression, NamespaceContext nsContext)
             throws XPathExpressionException {
-        XPath xpath = xPathFactory.newXPath();
-        
-        if (nsContext != null) {
-            xpath.setNamespaceContext(nsContext);
-        }
-
-        return xpath.compile(xPathExpression);
+        return XPathExpressionCache.getExpression(xPathExpression, nsContext);
     }
 
     /**
@@ -16,10 +16,15 @@
 
 package com.consol.citrus.actions;
 
+import org.springframework.core.io.FileSystemResource;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import com.consol.citrus.testng.AbstractTestNGUnitTest;
+import com.consol.citrus.util.FileUtils;
+
+import java.io.File;
+import java.util.Collections;
 
 /**
  * @author Philipp Komninos
@@ -56,4 +61,43 @@ public class TransformActionTest extends AbstractTestNGUnitTest {
 		
 		Assert.assertEquals(context.getVariable("var").trim(), "Message: Hello World!");
 	}
+
+	@Test
+	public void testTransformWithParameters() {
+		context.setVariable("greeting", "Hello");
+
+		TransformAction transformAction = new TransformAction();
+		transformAction.setXmlData("<TestRequest><Message>World!</Message></TestRequest>");
+		transformAction.setXsltData("<xsl:stylesheet version=\"1.0\" xmlns:xsl=\"http://www.w3.org/1999/XSL/Transform\">" +
+				"<xsl:output method=\"text\"/>" +
+				"<xsl:param name=\"greeting\"/>" +
+				"<xsl:template match=\"/\"><xsl:value-of select=\"$greeting\"/><xsl:text> </xsl:text><xsl:value-of select=\"TestRequest/Message\"/></xsl:template>" +
+				"</xsl:stylesheet>");
+		transformAction.setXsltParameters(Collections.singletonMap("greeting", "${greeting}"));
+		transformAction.setTargetVariable("var");
+
+		transformAction.execute(context);
+		Assert.assertEquals(context.getVariable("var"), "Hello World!");
+
+		context.setVariable("greeting", "Hi");
+		transformAction.execute(context);
+		Assert.assertEquals(context.getVariable("var"), "Hi World!");
+	}
+
+	@Test
+	public void testTransformToResultFile() throws Exception {
+		File resultFile = File.createTempFile("citrus-transform", ".txt");
+		resultFile.deleteOnExit();
+
+		TransformAction transformAction = new TransformAction();
+		transformAction.setXmlResourcePath("classpath:com/consol/citrus/actions/test-request-payload.xml");
+		transformAction.setXsltResourcePath("classpath:com/consol/citrus/actions/test-transform.xslt");
+		transformAction.setResultFilePath(resultFile.getAbsolutePath());
+		transformAction.setTargetVariable("var");
+
+		transformAction.execute(context);
+
+		Assert.assertEquals(context.getVariable("var"), resultFile.getAbsolutePath());
+		Assert.assertEquals(FileUtils.readToString(new FileSystemResource(resultFile)).trim(), "Message: Hello World!");
+	}
 }
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2006-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.channel;
+
+import com.consol.citrus.channel.selector.HeaderMatchingMessageSelector;
+import org.springframework.integration.core.MessageSelector;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.messaging.Message;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class BlockingMessageSelectingQueueChannelTest {
+
+    @Test
+    public void testReceiveSelected() {
+        BlockingMessageSelectingQueueChannel channel = new BlockingMessageSelectingQueueChannel();
+
+        channel.send(MessageBuilder.withPayload("FooMessage").setHeader("foo", "bar").build());
+        channel.send(MessageBuilder.withPayload("BarMessage").setHeader("foo", "baz").build());
+
+        Message<?> receivedMessage = channel.receive(new HeaderMatchingMessageSelector(Collections.singletonMap("foo", "baz")), 1000L);
+        Assert.assertEquals(receivedMessage.getPayload(), "BarMessage");
+
+        receivedMessage = channel.receive(new HeaderMatchingMessageSelector(Collections.singletonMap("foo", "baz")), 0L);
+        Assert.assertNull(receivedMessage);
+
+        receivedMessage = channel.receive(new HeaderMatchingMessageSelector(Collections.singletonMap("foo", "bar")));
+        Assert.assertEquals(receivedMessage.getPayload(), "FooMessage");
+        Assert.assertEquals(channel.getQueueSize(), 0);
+    }
+
+    @Test
+    public void testReceiveInArrivalOrder() {
+        BlockingMessageSelectingQueueChannel channel = new BlockingMessageSelectingQueueChannel();
+
+        for (int i = 0; i < 5; i++) {
+            channel.send(MessageBuilder.withPayload("Message" + i).setHeader("foo", i % 2 == 0 ? "even" : "odd").build());
+        }
+
+        MessageSelector selector = new HeaderMatchingMessageSelector(Collections.singletonMap("foo", "even"));
+        Assert.assertEquals(channel.receive(selector).getPayload(), "Message0");
+        Assert.assertEquals(channel.receive(selector).getPayload(), "Message2");
+
+        channel.send(MessageBuilder.withPayload("Message5").setHeader("foo", "even").build());
+
+        Assert.assertEquals(channel.receive().getPayload(), "Message1");
+        Assert.assertEquals(channel.receive(selector).getPayload(), "Message4");
+        Assert.assertEquals(channel.receive(selector).getPayload(), "Message5");
+        Assert.assertNull(channel.receive(selector));
+        Assert.assertEquals(channel.getQueueSize(), 1);
+    }
+
+    @Test
+    public void testHandOverToWaitingReceiver() throws Exception {
+        final BlockingMessageSelectingQueueChannel channel = new BlockingMessageSelectingQueueChannel();
+
+        Thread sender = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                while (channel.getWaitingReceivers() == 0) {
+                    Thread.yield();
+                }
+
+                channel.send(MessageBuilder.withPayload("OtherMessage").setHeader("foo", "other").build());
+                channel.send(MessageBuilder.withPayload("FooMessage").setHeader("foo", "bar").build());
+            }
+        });
+        sender.start();
+
+        long start = System.currentTimeMillis();
+        Message<?> receivedMessage = channel.receive(new HeaderMatchingMessageSelector(Collections.singletonMap("foo", "bar")), 5000L);
+        Assert.assertTrue(System.currentTimeMillis() - start < 5000L);
+
+        sender.join();
+
+        Assert.assertEquals(receivedMessage.getPayload(), "FooMessage");
+        Assert.assertEquals(channel.getWaitingReceivers(), 0);
+        Assert.assertEquals(channel.getQueueSize(), 1);
+        Assert.assertEquals(channel.receive().getPayload(), "OtherMessage");
+    }
+
+    @Test
+    public void testSelectorEvaluatedOncePerMessage() {
+        BlockingMessageSelectingQueueChannel channel = new BlockingMessageSelectingQueueChannel();
+        channel.setHeaderIndexEnabled(false);
+
+        channel.send(MessageBuilder.withPayload("FooMessage").setHeader("foos", "bars").build());
+
+        final AtomicLong evaluations = new AtomicLong();
+        MessageSelector selector = new HeaderMatchingMessageSelector(Collections.singletonMap("foo", "bar")) {
+            @Override
+            public boolean accept(Message<?> message) {
+                evaluations.incrementAndGet();
+                return super.accept(message);
+            }
+        };
+
+        Message<?> receivedMessage = channel.receive(selector, 500L);
+
+        Assert.assertNull(receivedMessage);
+        Assert.assertEquals(evaluations.get(), 1L);
+        Assert.assertEquals(channel.getWaitingReceivers(), 0);
+    }
+
+    @Test
+    public void testPurgeAndClear() {
+        BlockingMessageSelectingQueueChannel channel = new BlockingMessageSelectingQueueChannel(5);
+
+        channel.send(MessageBuilder.withPayload("FooMessage").setHeader("foo", "bar").build());
+        channel.send(MessageBuilder.withPayload("BarMessage").setHeader("foo", "baz").build());
+
+        MessageSelector selector = new HeaderMatchingMessageSelector(Collections.singletonMap("foo", "bar"));
+        Assert.assertNull(channel.receive(new HeaderMatchingMessageSelector(Collections.singletonMap("foo", "unknown"))));
+
+        channel.purge(selector);
+        Assert.assertEquals(channel.getRemainingCapacity(), 4);
+        Assert.assertNull(channel.receive(new HeaderMatchingMessageSelector(Collections.singletonMap("foo", "baz"))));
+        Assert.assertEquals(channel.receive(selector).getPayload(), "FooMessage");
+
+        channel.send(MessageBuilder.withPayload("FooMessage").setHeader("foo", "bar").build());
+        channel.clear();
+        Assert.assertEquals(channel.getRemainingCapacity(), 5);
+        Assert.assertNull(channel.receive(new HeaderMatchingMessageSelector(Collections.singletonMap("foo", "bar"))));
+    }
+}
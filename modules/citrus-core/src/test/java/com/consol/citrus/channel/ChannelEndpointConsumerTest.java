@@ -74,6 +74,28 @@ public class ChannelEndpointConsumerTest extends AbstractTestNGUnitTest {
         verify(messagingTemplate, channel);
     }
     
+    @Test
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public void testReceiveMessageDefaultMessagingTemplate() {
+        ChannelEndpoint endpoint = new ChannelEndpoint();
+        endpoint.getEndpointConfiguration().setChannel(channel);
+
+        final org.springframework.messaging.Message message = MessageBuilder.withPayload("<TestRequest><Message>Hello World!</Message></TestRequest>")
+                                .build();
+
+        reset(channel);
+
+        expect(channel.receive(1000L)).andReturn(message).once();
+
+        replay(channel);
+
+        Message receivedMessage = endpoint.createConsumer().receive(context, 1000L);
+
+        Assert.assertEquals(receivedMessage.getPayload(), message.getPayload());
+        Assert.assertEquals(endpoint.getEndpointConfiguration().getMessagingTemplate().getReceiveTimeout(), -1L);
+        verify(channel);
+    }
+
     @Test
     @SuppressWarnings({ "unchecked", "rawtypes" })
     public void testReceiveMessageChannelNameResolver() {
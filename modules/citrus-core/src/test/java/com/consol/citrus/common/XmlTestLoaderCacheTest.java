@@ -0,0 +1,69 @@
+/*
+ * Copyright 2006-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.common;
+
+import com.consol.citrus.TestCase;
+import com.consol.citrus.testng.AbstractTestNGUnitTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class XmlTestLoaderCacheTest extends AbstractTestNGUnitTest {
+
+    @Test
+    public void testCachedApplicationContext() throws Exception {
+        XmlTestLoaderCache loaderCache = new XmlTestLoaderCache();
+
+        XmlTestLoader testLoader = new XmlTestLoader("ParallelParserTest", "com.consol.citrus.config.xml", applicationContext);
+        testLoader.setContextFile("com/consol/citrus/config/xml/ParallelParserTest-context.xml");
+
+        ConfigurableApplicationContext ctx = loaderCache.getApplicationContext(testLoader);
+        Assert.assertSame(loaderCache.getApplicationContext(testLoader), ctx);
+        Assert.assertEquals(loaderCache.getLoadCount(), 1L);
+        Assert.assertEquals(loaderCache.getHitCount(), 1L);
+
+        TestCase testCase = ctx.getBean("ParallelParserTest", TestCase.class);
+        Assert.assertNotSame(ctx.getBean("ParallelParserTest", TestCase.class), testCase);
+        Assert.assertEquals(testCase.getActionCount(), 3);
+
+        loaderCache.destroy();
+        Assert.assertFalse(ctx.isActive());
+    }
+
+    @Test
+    public void testPreload() throws Exception {
+        XmlTestLoaderCache loaderCache = new XmlTestLoaderCache();
+        loaderCache.setPreloadThreads(2);
+
+        XmlTestLoader testLoader = new XmlTestLoader("ParallelParserTest", "com.consol.citrus.config.xml", applicationContext);
+        testLoader.setContextFile("com/consol/citrus/config/xml/ParallelParserTest-context.xml");
+
+        loaderCache.preload(Collections.singletonList(testLoader));
+        Assert.assertEquals(loaderCache.getLoadCount(), 1L);
+
+        loaderCache.getApplicationContext(testLoader);
+        Assert.assertEquals(loaderCache.getLoadCount(), 1L);
+        Assert.assertEquals(loaderCache.getHitCount(), 1L);
+
+        loaderCache.destroy();
+    }
+}
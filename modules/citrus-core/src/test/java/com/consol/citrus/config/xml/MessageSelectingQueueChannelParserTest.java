@@ -16,6 +16,7 @@
 
 package com.consol.citrus.config.xml;
 
+import com.consol.citrus.channel.BlockingMessageSelectingQueueChannel;
 import com.consol.citrus.channel.MessageSelectingQueueChannel;
 import com.consol.citrus.testng.AbstractBeanDefinitionParserTest;
 import org.testng.Assert;
@@ -32,7 +33,7 @@ public class MessageSelectingQueueChannelParserTest extends AbstractBeanDefiniti
     public void testMessageSelectingQueueChannelParser() {
         Map<String, MessageSelectingQueueChannel> channels = beanDefinitionContext.getBeansOfType(MessageSelectingQueueChannel.class);
         
-        Assert.assertEquals(channels.size(), 6);
+        Assert.assertEquals(channels.size(), 8);
         
         // 1st channel
         Assert.assertTrue(channels.containsKey("channel1"));
@@ -55,5 +56,16 @@ public class MessageSelectingQueueChannelParserTest extends AbstractBeanDefiniti
         // 6th chanel with polling interval
         channel = channels.get("channel6");
         Assert.assertEquals(channel.getPollingInterval(), 550);
+
+        // 7th blocking channel
+        channel = channels.get("channel7");
+        Assert.assertEquals(channel.getClass(), BlockingMessageSelectingQueueChannel.class);
+        Assert.assertTrue(((BlockingMessageSelectingQueueChannel) channel).isHeaderIndexEnabled());
+
+        // 8th blocking channel with capacity and disabled header index
+        channel = channels.get("channel8");
+        Assert.assertEquals(channel.getClass(), BlockingMessageSelectingQueueChannel.class);
+        Assert.assertEquals(channel.getRemainingCapacity(), 5);
+        Assert.assertFalse(((BlockingMessageSelectingQueueChannel) channel).isHeaderIndexEnabled());
     }
 }
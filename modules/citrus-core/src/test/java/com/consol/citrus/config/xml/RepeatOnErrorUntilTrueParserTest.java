@@ -19,6 +19,8 @@ package com.consol.citrus.config.xml;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import com.consol.citrus.container.BackoffPolicy;
+import com.consol.citrus.container.ExponentialBackoffPolicy;
 import com.consol.citrus.container.RepeatOnErrorUntilTrue;
 import com.consol.citrus.testng.AbstractActionParserTest;
 
@@ -29,7 +31,7 @@ public class RepeatOnErrorUntilTrueParserTest extends AbstractActionParserTest<R
 
     @Test
     public void testRepeatOnErrorParser() {
-        assertActionCount(4);
+        assertActionCount(6);
         assertActionClassAndName(RepeatOnErrorUntilTrue.class, "repeat-onerror-until-true");
         
         RepeatOnErrorUntilTrue action = getNextTestActionFromTest();
@@ -59,5 +61,23 @@ public class RepeatOnErrorUntilTrueParserTest extends AbstractActionParserTest<R
         Assert.assertEquals(action.getStart(), 1);
         Assert.assertEquals(action.getAutoSleep(), Long.valueOf(250L));
         Assert.assertEquals(action.getActionCount(), 1);
+        Assert.assertEquals(action.getBackoffMultiplier(), 1.0D);
+        Assert.assertEquals(action.getMaxSleep(), 0L);
+        Assert.assertEquals(action.getJitter(), 0.0D);
+        Assert.assertEquals(action.getTimeout(), 0L);
+        Assert.assertFalse(action.isWakeOnMessage());
+
+        action = getNextTestActionFromTest();
+        Assert.assertEquals(action.getAutoSleep(), Long.valueOf(100L));
+        Assert.assertEquals(action.getBackoffMultiplier(), 2.0D);
+        Assert.assertEquals(action.getMaxSleep(), 5000L);
+        Assert.assertEquals(action.getJitter(), 0.25D);
+        Assert.assertEquals(action.getTimeout(), 10000L);
+        Assert.assertTrue(action.isWakeOnMessage());
+        Assert.assertEquals(action.getBackoffPolicy().getClass(), ExponentialBackoffPolicy.class);
+
+        action = getNextTestActionFromTest();
+        Assert.assertEquals(action.getBackoffPolicy(), beanDefinitionContext.getBean("customBackoffPolicy", BackoffPolicy.class));
+        Assert.assertEquals(action.getBackoffPolicy().getSleepTime(1), 50L);
     }
 }
@@ -39,6 +39,8 @@ public class TransformActionParserTest extends AbstractActionParserTest<Transfor
         Assert.assertNull(action.getXmlResourcePath());
         Assert.assertTrue(StringUtils.hasText(action.getXsltData()));
         Assert.assertNull(action.getXsltResourcePath());
+        Assert.assertEquals(action.getXsltParameters().size(), 0L);
+        Assert.assertNull(action.getResultFilePath());
         
         action = getNextTestActionFromTest();
         Assert.assertEquals(action.getTargetVariable(), "result");
@@ -48,5 +50,8 @@ public class TransformActionParserTest extends AbstractActionParserTest<Transfor
         Assert.assertFalse(StringUtils.hasText(action.getXsltData()));
         Assert.assertNotNull(action.getXsltResourcePath());
         Assert.assertEquals(action.getXsltResourcePath(), "classpath:com/consol/citrus/actions/transform.xslt");
+        Assert.assertEquals(action.getXsltParameters().size(), 1L);
+        Assert.assertEquals(action.getXsltParameters().get("title"), "${title}");
+        Assert.assertEquals(action.getResultFilePath(), "target/transform-result.html");
     }
 }
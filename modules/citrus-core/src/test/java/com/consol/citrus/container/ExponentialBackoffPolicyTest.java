@@ -0,0 +1,56 @@
+/*
+ * Copyright 2006-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.container;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class ExponentialBackoffPolicyTest {
+
+    @Test
+    public void testFixedSleepTime() {
+        ExponentialBackoffPolicy policy = new ExponentialBackoffPolicy();
+        policy.setInitialSleep(100L);
+
+        Assert.assertEquals(policy.getSleepTime(1), 100L);
+        Assert.assertEquals(policy.getSleepTime(5), 100L);
+    }
+
+    @Test
+    public void testExponentialSleepTime() {
+        ExponentialBackoffPolicy policy = new ExponentialBackoffPolicy(100L, 2.0D, 1000L, 0.0D);
+
+        Assert.assertEquals(policy.getSleepTime(1), 100L);
+        Assert.assertEquals(policy.getSleepTime(2), 200L);
+        Assert.assertEquals(policy.getSleepTime(4), 800L);
+        Assert.assertEquals(policy.getSleepTime(5), 1000L);
+        Assert.assertEquals(policy.getSleepTime(100), 1000L);
+    }
+
+    @Test
+    public void testJitter() {
+        ExponentialBackoffPolicy policy = new ExponentialBackoffPolicy(1000L, 1.0D, 0L, 0.2D);
+
+        for (int i = 0; i < 100; i++) {
+            long sleepTime = policy.getSleepTime(1);
+            Assert.assertTrue(sleepTime >= 800L && sleepTime <= 1200L, "Unexpected sleep time " + sleepTime);
+        }
+    }
+}
@@ -25,6 +25,7 @@ import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import java.util.*;
+import java.util.concurrent.*;
 
 import static org.easymock.EasyMock.*;
 
@@ -196,4 +197,61 @@ public class IterateTest extends AbstractTestNGUnitTest {
 
         verify(action);
     }
+
+    @Test
+    public void testIterationPerformance() {
+        Iterate iterate = new Iterate();
+        iterate.setCondition("i lt= 100000");
+        iterate.setIndexName("i");
+
+        long start = System.currentTimeMillis();
+        iterate.execute(context);
+        logger.info(String.format("Executed 100000 iterations in %s ms", System.currentTimeMillis() - start));
+
+        Assert.assertEquals(context.getVariable("${i}"), "100000");
+    }
+
+    @Test
+    public void testParallelExecution() throws Exception {
+        final Iterate iterate = new Iterate();
+        iterate.setCondition("i lt= ${max}");
+        iterate.setIndexName("i");
+
+        final CountDownLatch latch = new CountDownLatch(2);
+        iterate.setActions(Collections.<TestAction>singletonList(new AbstractTestAction() {
+            @Override
+            public void doExecute(TestContext context) {
+                if (context.getVariable("i").equals("1")) {
+                    latch.countDown();
+                    try {
+                        latch.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+        }));
+
+        List<Callable<String>> executions = new ArrayList<Callable<String>>();
+        for (final String max : new String[] { "10", "20" }) {
+            executions.add(new Callable<String>() {
+                @Override
+                public String call() throws Exception {
+                    TestContext executionContext = createTestContext();
+                    executionContext.setVariable("max", max);
+                    iterate.execute(executionContext);
+                    return executionContext.getVariable("i");
+                }
+            });
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<String>> results = executor.invokeAll(executions);
+            Assert.assertEquals(results.get(0).get(), "10");
+            Assert.assertEquals(results.get(1).get(), "20");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
 }
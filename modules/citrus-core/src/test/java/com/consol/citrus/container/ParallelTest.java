@@ -18,13 +18,18 @@ package com.consol.citrus.container;
 
 import com.consol.citrus.TestAction;
 import com.consol.citrus.actions.*;
+import com.consol.citrus.context.TestContext;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.testng.AbstractTestNGUnitTest;
 import org.easymock.EasyMock;
+import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.easymock.EasyMock.*;
 
@@ -160,4 +165,91 @@ public class ParallelTest extends AbstractTestNGUnitTest {
 
         verify(action);
     }
+
+    @Test
+    public void testMaxConcurrency() {
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+
+        Parallel parallelAction = new Parallel();
+        parallelAction.setMaxConcurrency(2);
+
+        List<TestAction> actionList = new ArrayList<TestAction>();
+        for (int i = 0; i < 6; i++) {
+            actionList.add(new AbstractTestAction() {
+                @Override
+                public void doExecute(TestContext context) {
+                    int current = running.incrementAndGet();
+                    synchronized (maxRunning) {
+                        maxRunning.set(Math.max(maxRunning.get(), current));
+                    }
+
+                    try {
+                        Thread.sleep(50L);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        running.decrementAndGet();
+                    }
+                }
+            });
+        }
+
+        parallelAction.setActions(actionList);
+        parallelAction.execute(context);
+
+        Assert.assertTrue(maxRunning.get() <= 2);
+        Assert.assertEquals(running.get(), 0);
+    }
+
+    @Test(timeOut = 10000L)
+    public void testNestedParallelOnSameExecutor() {
+        final AtomicInteger executed = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            List<TestAction> outerActions = new ArrayList<TestAction>();
+            for (int i = 0; i < 2; i++) {
+                Parallel nested = new Parallel();
+                nested.setExecutorService(executor);
+
+                List<TestAction> nestedActions = new ArrayList<TestAction>();
+                for (int k = 0; k < 2; k++) {
+                    nestedActions.add(new AbstractTestAction() {
+                        @Override
+                        public void doExecute(TestContext context) {
+                            executed.incrementAndGet();
+                        }
+                    });
+                }
+                nested.setActions(nestedActions);
+                outerActions.add(nested);
+            }
+
+            Parallel parallelAction = new Parallel();
+            parallelAction.setExecutorService(executor);
+            parallelAction.setActions(outerActions);
+            parallelAction.execute(context);
+
+            Assert.assertEquals(executed.get(), 4);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test(expectedExceptions = CitrusRuntimeException.class, expectedExceptionsMessageRegExp = "Failed to submit parallel action")
+    public void testRejectedExecution() {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        executor.shutdown();
+
+        Parallel parallelAction = new Parallel();
+        parallelAction.setExecutorService(executor);
+        parallelAction.setMaxConcurrency(1);
+
+        List<TestAction> actionList = new ArrayList<TestAction>();
+        actionList.add(new EchoAction());
+        parallelAction.setActions(actionList);
+
+        parallelAction.execute(context);
+    }
 }
@@ -17,11 +17,14 @@
 package com.consol.citrus.container;
 
 import com.consol.citrus.TestAction;
+import com.consol.citrus.actions.AbstractTestAction;
 import com.consol.citrus.actions.FailAction;
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
+import com.consol.citrus.message.DefaultMessage;
 import com.consol.citrus.testng.AbstractTestNGUnitTest;
 import org.easymock.EasyMock;
+import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import java.util.*;
@@ -108,4 +111,112 @@ public class RepeatOnErrorUntilTrueTest extends AbstractTestNGUnitTest {
 
         repeat.execute(context);
     }
+
+    @Test
+    public void testBackoffPolicy() {
+        RepeatOnErrorUntilTrue repeat = new RepeatOnErrorUntilTrue();
+
+        final List<Integer> retries = new ArrayList<Integer>();
+        repeat.setBackoffPolicy(new BackoffPolicy() {
+            @Override
+            public long getSleepTime(int retry) {
+                retries.add(retry);
+                return 0L;
+            }
+        });
+
+        repeat.setActions(Collections.<TestAction>singletonList(new FailAction()));
+        repeat.setIndexName("i");
+        repeat.setCondition("i = 5");
+
+        try {
+            repeat.execute(context);
+            Assert.fail("Missing exception because of failing retries");
+        } catch (CitrusRuntimeException e) {
+            Assert.assertEquals(retries, Arrays.asList(1, 2, 3, 4));
+        }
+    }
+
+    @Test
+    public void testRetryTimeout() {
+        RepeatOnErrorUntilTrue repeat = new RepeatOnErrorUntilTrue();
+
+        repeat.setActions(Collections.<TestAction>singletonList(new FailAction()));
+        repeat.setIndexName("i");
+        repeat.setCondition("i = 1000");
+        repeat.setAutoSleep(50L);
+        repeat.setTimeout(200L);
+
+        long start = System.currentTimeMillis();
+        try {
+            repeat.execute(context);
+            Assert.fail("Missing exception because of failing retries");
+        } catch (CitrusRuntimeException e) {
+            Assert.assertTrue(System.currentTimeMillis() - start < 5000L);
+            Assert.assertTrue(Integer.valueOf(context.getVariable("i")) < 1000);
+        }
+    }
+
+    @Test
+    public void testWakeOnMessage() {
+        RepeatOnErrorUntilTrue repeat = new RepeatOnErrorUntilTrue();
+
+        repeat.setActions(Collections.<TestAction>singletonList(new AbstractTestAction() {
+            @Override
+            public void doExecute(final TestContext context) {
+                if (context.getVariable("i").equals("1")) {
+                    new Thread(new Runnable() {
+                        @Override
+                        public void run() {
+                            try {
+                                Thread.sleep(200L);
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                            context.onInboundMessage(new DefaultMessage("Hello"));
+                        }
+                    }).start();
+
+                    throw new CitrusRuntimeException("Not ready yet");
+                }
+            }
+        }));
+
+        repeat.setIndexName("i");
+        repeat.setCondition("i = 5");
+        repeat.setAutoSleep(10000L);
+        repeat.setWakeOnMessage(true);
+
+        long start = System.currentTimeMillis();
+        repeat.execute(context);
+
+        Assert.assertTrue(System.currentTimeMillis() - start < 5000L);
+        Assert.assertEquals(context.getVariable("i"), "2");
+    }
+
+    @Test
+    public void testNoWakeOnOwnInboundMessage() {
+        RepeatOnErrorUntilTrue repeat = new RepeatOnErrorUntilTrue();
+
+        repeat.setActions(Collections.<TestAction>singletonList(new AbstractTestAction() {
+            @Override
+            public void doExecute(final TestContext context) {
+                if (!context.getVariable("i").equals("3")) {
+                    context.onInboundMessage(new DefaultMessage("Hello"));
+                    throw new CitrusRuntimeException("Not ready yet");
+                }
+            }
+        }));
+
+        repeat.setIndexName("i");
+        repeat.setCondition("i = 5");
+        repeat.setAutoSleep(300L);
+        repeat.setWakeOnMessage(true);
+
+        long start = System.currentTimeMillis();
+        repeat.execute(context);
+
+        Assert.assertTrue(System.currentTimeMillis() - start >= 600L);
+        Assert.assertEquals(context.getVariable("i"), "3");
+    }
 }
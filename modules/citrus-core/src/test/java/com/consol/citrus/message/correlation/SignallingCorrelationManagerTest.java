@@ -0,0 +1,136 @@
+/*
+ * Copyright 2006-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.message.correlation;
+
+import com.consol.citrus.channel.ChannelSyncEndpointConfiguration;
+import com.consol.citrus.context.TestContext;
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import org.easymock.EasyMock;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import static org.easymock.EasyMock.*;
+
+public class SignallingCorrelationManagerTest {
+
+    private ObjectStore<String> objectStore = EasyMock.createMock(ObjectStore.class);
+
+    @Test
+    public void testFind() throws Exception {
+        ChannelSyncEndpointConfiguration pollableEndpointConfiguration = new ChannelSyncEndpointConfiguration();
+        pollableEndpointConfiguration.setPollingInterval(100L);
+        pollableEndpointConfiguration.setTimeout(500L);
+
+        SignallingCorrelationManager<String> correlationManager = new SignallingCorrelationManager<String>(pollableEndpointConfiguration, "Try again");
+        Assert.assertTrue(correlationManager.getObjectStore() instanceof SignallingObjectStore);
+        Assert.assertNull(correlationManager.find("", 100L));
+
+        correlationManager.store("foo", "bar");
+        Assert.assertNull(correlationManager.find("bar", 100L));
+        Assert.assertEquals(correlationManager.find("foo"), "bar");
+
+        //2nd invocation with same correlation key
+        Assert.assertNull(correlationManager.find("foo", 100L));
+
+        for (String key : new String[]{"1", "2", "3", "4", "5"}) {
+            correlationManager.store(key, "value" + key);
+        }
+
+        for (String key : new String[]{"1", "5", "3", "2", "4"}) {
+            Assert.assertEquals(correlationManager.find(key), "value" + key);
+            Assert.assertNull(correlationManager.find(key, 0L));
+        }
+    }
+
+    @Test
+    public void testFindWithSignal() throws Exception {
+        ChannelSyncEndpointConfiguration pollableEndpointConfiguration = new ChannelSyncEndpointConfiguration();
+        pollableEndpointConfiguration.setPollingInterval(5000L);
+        pollableEndpointConfiguration.setTimeout(10000L);
+
+        final SignallingCorrelationManager<String> correlationManager = new SignallingCorrelationManager<String>(pollableEndpointConfiguration, "Try again");
+
+        Thread producer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    Thread.sleep(100L);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                correlationManager.store("foo", "bar");
+            }
+        });
+        producer.start();
+
+        long start = System.currentTimeMillis();
+        Assert.assertEquals(correlationManager.find("foo"), "bar");
+        Assert.assertTrue(System.currentTimeMillis() - start < 5000L);
+
+        producer.join();
+    }
+
+    @Test
+    public void testGetCorrelationKeyWithSignal() throws Exception {
+        ChannelSyncEndpointConfiguration pollableEndpointConfiguration = new ChannelSyncEndpointConfiguration();
+        final SignallingCorrelationManager<String> correlationManager = new SignallingCorrelationManager<String>(pollableEndpointConfiguration, "Try again");
+        final TestContext context = new TestContext();
+
+        Thread producer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    Thread.sleep(100L);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                correlationManager.saveCorrelationKey("correlationKeyName", "foo", context);
+            }
+        });
+        producer.start();
+
+        Assert.assertEquals(correlationManager.getCorrelationKey("correlationKeyName", context), "foo");
+
+        producer.join();
+    }
+
+    @Test(expectedExceptions = CitrusRuntimeException.class)
+    public void testMissingCorrelationKey() {
+        ChannelSyncEndpointConfiguration pollableEndpointConfiguration = new ChannelSyncEndpointConfiguration();
+        SignallingCorrelationManager<String> correlationManager = new SignallingCorrelationManager<String>(pollableEndpointConfiguration, "Try again");
+
+        correlationManager.getCorrelationKey("unknown", new TestContext());
+    }
+
+    @Test
+    public void testFindWithCustomObjectStore() {
+        ChannelSyncEndpointConfiguration pollableEndpointConfiguration = new ChannelSyncEndpointConfiguration();
+        pollableEndpointConfiguration.setPollingInterval(100L);
+        pollableEndpointConfiguration.setTimeout(500L);
+
+        SignallingCorrelationManager<String> correlationManager = new SignallingCorrelationManager<String>(pollableEndpointConfiguration, "Try again");
+        correlationManager.setObjectStore(objectStore);
+
+        reset(objectStore);
+        expect(objectStore.remove("foo")).andReturn(null).times(2).andReturn("bar").once();
+        replay(objectStore);
+
+        Assert.assertEquals(correlationManager.find("foo"), "bar");
+
+        verify(objectStore);
+    }
+}
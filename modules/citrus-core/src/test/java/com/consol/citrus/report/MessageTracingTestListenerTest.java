@@ -0,0 +1,138 @@
+/*
+ * Copyright 2006-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.report;
+
+import com.consol.citrus.CitrusConstants;
+import com.consol.citrus.TestCase;
+import com.consol.citrus.context.TestContext;
+import com.consol.citrus.message.RawMessage;
+import com.consol.citrus.testng.AbstractTestNGUnitTest;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.util.FileCopyUtils;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.*;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class MessageTracingTestListenerTest extends AbstractTestNGUnitTest {
+
+    private File outputDirectory = new File("target/trace/messages/");
+
+    @Test
+    public void testMessageTrace() throws Exception {
+        MessageTracingTestListener listener = createListener();
+
+        TestCase test = createTestCase("MessageTraceTest");
+        listener.onTestStart(test);
+        listener.onOutboundMessage(new RawMessage("<hello>Citrus</hello>"), createContext(test));
+        listener.onInboundMessage(new RawMessage("<goodbye>Citrus</goodbye>"), createContext(test));
+        listener.onTestFinish(test);
+        listener.flush();
+
+        String trace = FileCopyUtils.copyToString(new FileReader(new File(outputDirectory, "MessageTraceTest.msgs")));
+        Assert.assertTrue(trace.contains("OUTBOUND_MESSAGE:"));
+        Assert.assertTrue(trace.contains("<hello>Citrus</hello>"));
+        Assert.assertTrue(trace.indexOf("INBOUND_MESSAGE:") > trace.indexOf("OUTBOUND_MESSAGE:"));
+
+        listener.destroy();
+    }
+
+    @Test
+    public void testParallelTests() throws Exception {
+        MessageTracingTestListener listener = createListener();
+
+        TestCase fooTest = createTestCase("FooTraceTest");
+        TestCase barTest = createTestCase("BarTraceTest");
+        listener.onTestStart(fooTest);
+        listener.onTestStart(barTest);
+        listener.onOutboundMessage(new RawMessage("<foo/>"), createContext(fooTest));
+        listener.onOutboundMessage(new RawMessage("<bar/>"), createContext(barTest));
+        listener.onTestFinish(fooTest);
+        listener.onTestFinish(barTest);
+        listener.destroy();
+
+        String fooTrace = FileCopyUtils.copyToString(new FileReader(new File(outputDirectory, "FooTraceTest.msgs")));
+        Assert.assertTrue(fooTrace.contains("<foo/>"));
+        Assert.assertFalse(fooTrace.contains("<bar/>"));
+
+        String barTrace = FileCopyUtils.copyToString(new FileReader(new File(outputDirectory, "BarTraceTest.msgs")));
+        Assert.assertTrue(barTrace.contains("<bar/>"));
+        Assert.assertFalse(barTrace.contains("<foo/>"));
+    }
+
+    @Test
+    public void testMessageTraceWithoutTestContext() throws Exception {
+        MessageTracingTestListener listener = createListener();
+
+        TestCase test = createTestCase("NoContextTraceTest");
+        listener.onTestStart(test);
+        listener.onInboundMessage(new RawMessage("<request/>"), null);
+        listener.onOutboundMessage(new RawMessage("<response/>"), null);
+        listener.onTestFinish(test);
+        listener.onInboundMessage(new RawMessage("<ignored/>"), null);
+        listener.destroy();
+
+        String trace = FileCopyUtils.copyToString(new FileReader(new File(outputDirectory, "NoContextTraceTest.msgs")));
+        Assert.assertTrue(trace.contains("<request/>"));
+        Assert.assertTrue(trace.contains("<response/>"));
+        Assert.assertFalse(trace.contains("<ignored/>"));
+    }
+
+    @Test
+    public void testGzipAndRollOver() throws Exception {
+        MessageTracingTestListener listener = createListener();
+        listener.setGzip(true);
+        listener.setMaxFileSize(1L);
+
+        TestCase test = createTestCase("GzipTraceTest");
+        listener.onTestStart(test);
+        listener.onOutboundMessage(new RawMessage("<first/>"), createContext(test));
+        listener.onOutboundMessage(new RawMessage("<second/>"), createContext(test));
+        listener.onTestFinish(test);
+        listener.destroy();
+
+        String trace = FileCopyUtils.copyToString(new InputStreamReader(new GZIPInputStream(new FileInputStream(new File(outputDirectory, "GzipTraceTest.msgs.gz")))));
+        Assert.assertTrue(trace.contains("<first/>"));
+        Assert.assertFalse(trace.contains("<second/>"));
+
+        trace = FileCopyUtils.copyToString(new InputStreamReader(new GZIPInputStream(new FileInputStream(new File(outputDirectory, "GzipTraceTest-1.msgs.gz")))));
+        Assert.assertTrue(trace.contains("<second/>"));
+    }
+
+    private MessageTracingTestListener createListener() throws Exception {
+        MessageTracingTestListener listener = new MessageTracingTestListener();
+        listener.setOutputDirectory(new FileSystemResource(outputDirectory.getPath() + "/"));
+        listener.afterPropertiesSet();
+        return listener;
+    }
+
+    private TestCase createTestCase(String name) {
+        TestCase test = new TestCase();
+        test.setName(name);
+        return test;
+    }
+
+    private TestContext createContext(TestCase test) {
+        TestContext context = createTestContext();
+        context.setVariable(CitrusConstants.TEST_NAME_VARIABLE, test.getName());
+        return context;
+    }
+}
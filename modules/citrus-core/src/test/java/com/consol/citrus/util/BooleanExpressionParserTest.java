@@ -56,6 +56,19 @@ public class BooleanExpressionParserTest {
         Assert.assertFalse(BooleanExpressionParser.evaluate("false = true"));
     }
     
+    @Test
+    public void testCompiledExpression() {
+        BooleanExpressionParser.BooleanExpression expression = BooleanExpressionParser.compile("(i gt 2) and (i lt= 10)", "i");
+
+        Assert.assertFalse(expression.evaluate(1));
+        Assert.assertTrue(expression.evaluate(3));
+        Assert.assertTrue(expression.evaluate(10));
+        Assert.assertFalse(expression.evaluate(11));
+
+        Assert.assertTrue(BooleanExpressionParser.compile("index1 = 51", "index").evaluate(5));
+        Assert.assertTrue(BooleanExpressionParser.compile("2 gt 1").evaluate());
+    }
+
     @Test
     public void testExpressionParserWithUnknownOperator() {
         try {
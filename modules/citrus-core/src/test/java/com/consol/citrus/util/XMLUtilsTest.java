@@ -16,6 +16,7 @@
 
 package com.consol.citrus.util;
 
+import com.consol.citrus.message.DefaultMessage;
 import org.easymock.EasyMock;
 import org.testng.Assert;
 import org.testng.annotations.Test;
@@ -375,4 +376,19 @@ public class XMLUtilsTest {
         Assert.assertEquals(XMLUtils.omitXmlDeclaration(""), "");
         Assert.assertEquals(XMLUtils.omitXmlDeclaration("Test"), "Test");
     }
+
+    @Test
+    public void testParseMessagePayloadCache() {
+        DefaultMessage message = new DefaultMessage("<testRequest><message>Hello</message></testRequest>");
+
+        Document doc = XMLUtils.parseMessagePayload(message);
+        Assert.assertEquals(doc.getDocumentElement().getLocalName(), "testRequest");
+        Assert.assertSame(XMLUtils.parseMessagePayload(message), doc);
+
+        message.setPayload("<testResponse><message>Hello</message></testResponse>");
+        Document changed = XMLUtils.parseMessagePayload(message);
+        Assert.assertNotSame(changed, doc);
+        Assert.assertEquals(changed.getDocumentElement().getLocalName(), "testResponse");
+        Assert.assertSame(XMLUtils.parseMessagePayload(message), changed);
+    }
 }
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2006-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.validation.interceptor;
+
+import com.consol.citrus.context.TestContext;
+import com.consol.citrus.message.*;
+import com.consol.citrus.testng.AbstractTestNGUnitTest;
+import com.consol.citrus.validation.xml.DomMessageConstructionInterceptor;
+import com.consol.citrus.validation.xml.XpathMessageConstructionInterceptor;
+import com.consol.citrus.variable.dictionary.xml.XpathMappingDataDictionary;
+import org.springframework.util.StringUtils;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Node;
+
+import java.util.*;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class MessageConstructionInterceptorChainTest extends AbstractTestNGUnitTest {
+
+    @Test
+    public void testSharedDocument() {
+        Message message = new DefaultMessage("<TestMessage><Text>Hello World!</Text><Name>foo</Name><Count>0</Count></TestMessage>");
+
+        XpathMappingDataDictionary dictionary = new XpathMappingDataDictionary();
+        dictionary.setMappings(Collections.singletonMap("//TestMessage/Name", "bar"));
+
+        final List<Document> documents = new ArrayList<Document>();
+        DocumentCollector collector = new DocumentCollector(documents);
+
+        MessageConstructionInterceptorChain chain = new MessageConstructionInterceptorChain()
+                .add(dictionary)
+                .add(collector)
+                .add(new XpathMessageConstructionInterceptor(Collections.singletonMap("/TestMessage/Text", "Hello!")))
+                .add(collector);
+
+        Message intercepted = chain.interceptMessageConstruction(message, MessageType.XML.name(), context);
+
+        Assert.assertEquals(documents.size(), 2L);
+        Assert.assertSame(documents.get(0), documents.get(1));
+        Assert.assertEquals(StringUtils.trimAllWhitespace(intercepted.getPayload(String.class)),
+                "<?xmlversion=\"1.0\"encoding=\"UTF-8\"?><TestMessage><Text>Hello!</Text><Name>bar</Name><Count>2</Count></TestMessage>");
+    }
+
+    @Test
+    public void testMixedInterceptors() {
+        Message message = new DefaultMessage("<TestMessage><Text>Hello World!</Text><Count>0</Count></TestMessage>");
+
+        final List<Document> documents = new ArrayList<Document>();
+        DocumentCollector collector = new DocumentCollector(documents);
+
+        MessageConstructionInterceptorChain chain = new MessageConstructionInterceptorChain()
+                .add(collector)
+                .add(new AbstractMessageConstructionInterceptor() {
+                    @Override
+                    protected Message interceptMessage(Message message, String messageType, TestContext context) {
+                        Assert.assertTrue(message.getPayload(String.class).contains("<Count>1</Count>"));
+                        message.setPayload(message.getPayload(String.class).replace("Hello World!", "Hello!"));
+                        return message;
+                    }
+
+                    @Override
+                    public boolean supportsMessageType(String messageType) {
+                        return true;
+                    }
+                })
+                .add(collector);
+
+        Message intercepted = chain.interceptMessageConstruction(message, MessageType.XML.name(), context);
+
+        Assert.assertEquals(documents.size(), 2L);
+        Assert.assertNotSame(documents.get(0), documents.get(1));
+        Assert.assertEquals(StringUtils.trimAllWhitespace(intercepted.getPayload(String.class)),
+                "<?xmlversion=\"1.0\"encoding=\"UTF-8\"?><TestMessage><Text>Hello!</Text><Count>2</Count></TestMessage>");
+    }
+
+    @Test
+    public void testSkipUnsupportedMessageType() {
+        Message message = new DefaultMessage("{ \"text\": \"Hello World!\" }");
+
+        final List<Document> documents = new ArrayList<Document>();
+
+        Message intercepted = new MessageConstructionInterceptorChain()
+                .add(new DocumentCollector(documents))
+                .interceptMessageConstruction(message, MessageType.JSON.name(), context);
+
+        Assert.assertEquals(documents.size(), 0L);
+        Assert.assertEquals(intercepted.getPayload(String.class), "{ \"text\": \"Hello World!\" }");
+    }
+
+    /**
+     * DOM interceptor increments count element and remembers the documents it has seen.
+     */
+    private static class DocumentCollector extends AbstractMessageConstructionInterceptor implements DomMessageConstructionInterceptor {
+        private final List<Document> documents;
+
+        DocumentCollector(List<Document> documents) {
+            this.documents = documents;
+        }
+
+        @Override
+        public void interceptDocument(Document document, String messageType, TestContext context) {
+            documents.add(document);
+            Node count = document.getElementsByTagName("Count").item(0).getFirstChild();
+            count.setNodeValue(String.valueOf(Integer.valueOf(count.getNodeValue()) + 1));
+        }
+
+        @Override
+        public boolean supportsMessageType(String messageType) {
+            return MessageType.XML.name().equalsIgnoreCase(messageType);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2006-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.variable;
+
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import com.consol.citrus.testng.AbstractTestNGUnitTest;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class VariableTemplateTest extends AbstractTestNGUnitTest {
+
+    @Test
+    public void testCompile() {
+        VariableTemplate template = VariableTemplate.compile("<message id=\"${id}\">Hello ${name}!</message>");
+
+        Assert.assertTrue(template.hasVariables());
+        Assert.assertEquals(template.getVariableNames(), Arrays.asList("id", "name"));
+
+        template = VariableTemplate.compile("No variables");
+        Assert.assertFalse(template.hasVariables());
+    }
+
+    @Test
+    public void testEvaluate() {
+        context.setVariable("id", "1");
+        context.setVariable("name", "Citrus");
+
+        VariableTemplate template = VariableTemplate.forString("<message id=\"${id}\">Hello ${name}!</message>");
+        Assert.assertEquals(template.evaluate(context, false), "<message id=\"1\">Hello Citrus!</message>");
+        Assert.assertEquals(template.evaluate(context, true), "<message id=\"'1'\">Hello 'Citrus'!</message>");
+
+        context.setVariable("name", "World");
+        Assert.assertEquals(template.evaluate(context, false), "<message id=\"1\">Hello World!</message>");
+    }
+
+    @Test
+    public void testTemplateCache() {
+        String text = "Hello ${name}!";
+        Assert.assertSame(VariableTemplate.forString(text), VariableTemplate.forString(text));
+
+        VariableTemplate.clearCache();
+        Assert.assertEquals(VariableTemplate.forString(text).getTemplate(), text);
+    }
+
+    @Test(expectedExceptions = CitrusRuntimeException.class)
+    public void testUnknownVariable() {
+        VariableTemplate.forString("Hello ${unknown}!").evaluate(context, false);
+    }
+}
@@ -22,11 +22,13 @@ import com.consol.citrus.message.Message;
 import com.consol.citrus.testng.AbstractTestNGUnitTest;
 import com.consol.citrus.variable.dictionary.DataDictionary;
 import com.consol.citrus.xml.namespace.NamespaceContextBuilder;
+import com.consol.citrus.xml.xpath.XPathExpressionCache;
 import org.springframework.core.io.ClassPathResource;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -129,4 +131,34 @@ public class XpathMappingDataDictionaryTest extends AbstractTestNGUnitTest {
                 "   <OtherText name=\"bar\">GoodBye!</OtherText>" + System.getProperty("line.separator") +
                 "</TestMessage>");
     }
+
+    @Test
+    public void testTranslateLargeMessage() throws Exception {
+        StringBuilder payload = new StringBuilder("<TestMessage>");
+        for (int i = 0; i < 2000; i++) {
+            payload.append("<Item id=\"").append(i).append("\"><Text>Item ").append(i).append("</Text></Item>");
+        }
+        payload.append("</TestMessage>");
+
+        Map<String, String> mappings = new LinkedHashMap<String, String>();
+        for (int i = 0; i < 200; i++) {
+            mappings.put("//Item[@id='" + i * 10 + "']/Text", "Mapped " + i);
+        }
+
+        XpathMappingDataDictionary dictionary = new XpathMappingDataDictionary();
+        dictionary.setMappings(mappings);
+
+        XPathExpressionCache.clear();
+        XPathExpressionCache.resetStatistics();
+
+        long start = System.currentTimeMillis();
+        Message intercepted = dictionary.interceptMessage(new DefaultMessage(payload.toString()), CitrusConstants.DEFAULT_MESSAGE_TYPE, context);
+        logger.info(String.format("Translated message with 2000 items and %s mappings in %s ms", mappings.size(), System.currentTimeMillis() - start));
+
+        Assert.assertEquals(XPathExpressionCache.getHitCount() + XPathExpressionCache.getMissCount(), (long) mappings.size());
+        Assert.assertTrue(intercepted.getPayload(String.class).contains("<Item id=\"0\">" + System.getProperty("line.separator") + "      <Text>Mapped 0</Text>"));
+        Assert.assertTrue(intercepted.getPayload(String.class).contains("<Text>Mapped 199</Text>"));
+        Assert.assertTrue(intercepted.getPayload(String.class).contains("<Text>Item 1</Text>"));
+        Assert.assertTrue(intercepted.getPayload(String.class).contains("<Text>Item 1999</Text>"));
+    }
 }
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2006-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.xml;
+
+import org.springframework.xml.transform.StringResult;
+import org.springframework.xml.transform.StringSource;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Templates;
+import javax.xml.transform.Transformer;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class TransformerCacheTest {
+
+    private static final String XSLT = "<xsl:stylesheet version=\"1.0\" xmlns:xsl=\"http://www.w3.org/1999/XSL/Transform\">" +
+            "<xsl:output method=\"text\"/>" +
+            "<xsl:template match=\"/\">Hello <xsl:value-of select=\"/root/name\"/>!</xsl:template>" +
+            "</xsl:stylesheet>";
+
+    @BeforeMethod
+    public void resetCache() {
+        TransformerCache.clear();
+        TransformerCache.resetStatistics();
+    }
+
+    @Test
+    public void testIdentityTransformer() throws Exception {
+        Transformer transformer = TransformerCache.getIdentityTransformer();
+        transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
+
+        Assert.assertSame(TransformerCache.getIdentityTransformer(), transformer);
+        Assert.assertNotEquals(transformer.getOutputProperty(OutputKeys.OMIT_XML_DECLARATION), "yes");
+
+        StringResult result = new StringResult();
+        TransformerCache.transform(new StringSource("<root><name>Citrus</name></root>"), result);
+        Assert.assertTrue(result.toString().endsWith("<root><name>Citrus</name></root>"));
+    }
+
+    @Test
+    public void testCachedTemplates() throws Exception {
+        Templates templates = TransformerCache.getTemplates(XSLT);
+        Assert.assertSame(TransformerCache.getTemplates(XSLT), templates);
+
+        StringResult result = new StringResult();
+        TransformerCache.newTransformer(XSLT).transform(new StringSource("<root><name>Citrus</name></root>"), result);
+        Assert.assertEquals(result.toString(), "Hello Citrus!");
+
+        Assert.assertEquals(TransformerCache.getHitCount(), 2L);
+        Assert.assertEquals(TransformerCache.getMissCount(), 1L);
+    }
+}
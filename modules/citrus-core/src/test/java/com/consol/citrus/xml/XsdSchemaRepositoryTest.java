@@ -16,10 +16,12 @@
 
 package com.consol.citrus.xml;
 
+import org.springframework.xml.validation.XmlValidator;
 import org.springframework.xml.xsd.SimpleXsdSchema;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import com.consol.citrus.xml.schema.CompiledSchemaValidator;
 import com.consol.citrus.xml.schema.WsdlXsdSchema;
 
 /**
@@ -133,4 +135,28 @@ public class XsdSchemaRepositoryTest {
         Assert.assertEquals(schemaRepository.getSchemas().size(), 1);
         Assert.assertEquals(schemaRepository.getSchemas().get(0).getClass(), SimpleXsdSchema.class);
     }
+
+    @Test
+    public void testCompiledSchemaValidator() throws Exception {
+        XsdSchemaRepository schemaRepository = new XsdSchemaRepository();
+        schemaRepository.getLocations().add("classpath:com/consol/citrus/schema/citrus-config.xsd");
+        schemaRepository.afterPropertiesSet();
+
+        XmlValidator validator = schemaRepository.getSchemaValidator();
+        Assert.assertTrue(validator instanceof CompiledSchemaValidator);
+        Assert.assertSame(schemaRepository.getSchemaValidator(), validator);
+        Assert.assertEquals(schemaRepository.getSchemaCompileCount(), 1L);
+        Assert.assertEquals(schemaRepository.getSchemaCacheHitCount(), 1L);
+
+        schemaRepository.getSchemas().clear();
+        schemaRepository.addCitrusSchema("citrus-config");
+
+        Assert.assertNotSame(schemaRepository.getSchemaValidator(), validator);
+        Assert.assertEquals(schemaRepository.getSchemaCompileCount(), 2L);
+
+        schemaRepository.resetSchemaValidator();
+        schemaRepository.getSchemaValidator();
+        Assert.assertEquals(schemaRepository.getSchemaCompileCount(), 3L);
+        Assert.assertEquals(schemaRepository.getSchemaCacheHitCount(), 1L);
+    }
 }
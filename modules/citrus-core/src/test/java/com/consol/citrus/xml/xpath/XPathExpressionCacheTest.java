@@ -0,0 +1,90 @@
+/*
+ * Copyright 2006-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.xml.xpath;
+
+import com.consol.citrus.util.XMLUtils;
+import org.springframework.xml.namespace.SimpleNamespaceContext;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.w3c.dom.Document;
+
+import javax.xml.xpath.XPathExpression;
+import java.util.Collections;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class XPathExpressionCacheTest {
+
+    @BeforeMethod
+    public void resetCache() {
+        XPathExpressionCache.clear();
+        XPathExpressionCache.resetStatistics();
+    }
+
+    @Test
+    public void testCachedExpression() throws Exception {
+        XPathExpression expression = XPathExpressionCache.getExpression("/root/element", null);
+
+        Assert.assertSame(XPathExpressionCache.getExpression("/root/element", null), expression);
+        Assert.assertNotSame(XPathExpressionCache.getExpression("/root/other", null), expression);
+
+        Assert.assertEquals(XPathExpressionCache.getHitCount(), 1L);
+        Assert.assertEquals(XPathExpressionCache.getMissCount(), 2L);
+    }
+
+    @Test
+    public void testNamespaceContextFingerprint() throws Exception {
+        Document doc = XMLUtils.parseMessagePayload("<root xmlns=\"http://citrusframework.org/foo\"><element>foo</element></root>");
+
+        SimpleNamespaceContext fooContext = new SimpleNamespaceContext();
+        fooContext.setBindings(Collections.singletonMap("ns", "http://citrusframework.org/foo"));
+
+        SimpleNamespaceContext sameContext = new SimpleNamespaceContext();
+        sameContext.setBindings(Collections.singletonMap("ns", "http://citrusframework.org/foo"));
+
+        SimpleNamespaceContext barContext = new SimpleNamespaceContext();
+        barContext.setBindings(Collections.singletonMap("ns", "http://citrusframework.org/bar"));
+
+        Assert.assertEquals(XPathUtils.evaluateAsString(doc, "/ns:root/ns:element", fooContext), "foo");
+        Assert.assertEquals(XPathUtils.evaluateAsString(doc, "/ns:root/ns:element", sameContext), "foo");
+        Assert.assertEquals(XPathUtils.evaluateAsBoolean(doc, "count(/ns:root/ns:element) = 0", barContext), Boolean.TRUE);
+
+        Assert.assertEquals(XPathExpressionCache.getHitCount(), 1L);
+        Assert.assertEquals(XPathExpressionCache.getMissCount(), 2L);
+    }
+
+    @Test
+    public void testMaxSize() throws Exception {
+        int maxSize = XPathExpressionCache.getMaxSize();
+
+        try {
+            XPathExpressionCache.setMaxSize(2);
+
+            XPathExpression expression = XPathExpressionCache.getExpression("/root/element", null);
+            XPathExpressionCache.getExpression("/root/foo", null);
+            XPathExpressionCache.getExpression("/root/bar", null);
+
+            Assert.assertNotSame(XPathExpressionCache.getExpression("/root/element", null), expression);
+            Assert.assertEquals(XPathExpressionCache.getHitCount(), 0L);
+            Assert.assertEquals(XPathExpressionCache.getMissCount(), 4L);
+        } finally {
+            XPathExpressionCache.setMaxSize(maxSize);
+        }
+    }
+}
@@ -21,21 +21,33 @@ import com.consol.citrus.endpoint.AbstractEndpoint;
 import com.consol.citrus.exceptions.ActionTimeoutException;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.ftp.message.FtpMessage;
+import com.consol.citrus.ftp.message.FtpMessageHeaders;
 import com.consol.citrus.message.*;
 import com.consol.citrus.message.correlation.CorrelationManager;
-import com.consol.citrus.message.correlation.PollingCorrelationManager;
+import com.consol.citrus.message.correlation.SignallingCorrelationManager;
 import com.consol.citrus.messaging.*;
+import com.consol.citrus.util.FileUtils;
 import org.apache.commons.net.ProtocolCommandEvent;
 import org.apache.commons.net.ProtocolCommandListener;
 import org.apache.commons.net.ftp.*;
+import org.apache.commons.net.io.Util;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.io.Resource;
+import org.springframework.util.StringUtils;
 
-import java.io.IOException;
+import java.io.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
+ * Ftp client sends commands to a ftp server and stores the command replies for synchronous receive. Client uses
+ * a single control connection by default. With pool size greater than one the client keeps a pool of logged in
+ * control connections so concurrent senders do not share a connection. Commands STOR and RETR are executed as
+ * streaming file transfers using data connections.
+ *
  * @author Christoph Deppisch
  * @since 2.0
  */
@@ -52,6 +64,29 @@ public class FtpClient extends AbstractEndpoint implements Producer, ReplyConsum
     /** Store of reply messages */
     private CorrelationManager<Message> correlationManager;
 
+    /** Idle logged in connections in pooled mode */
+    private final BlockingQueue<FTPClient> idleClients = new LinkedBlockingQueue<FTPClient>();
+
+    /** Limits the number of pooled connections in use */
+    private Semaphore connectionPermits;
+
+    /** File transfer statistics */
+    private final AtomicLong transferCount = new AtomicLong();
+    private final AtomicLong transferredBytes = new AtomicLong();
+
+    /** Logs commands and replies of all connections */
+    private final ProtocolCommandListener commandLogger = new ProtocolCommandListener() {
+        @Override
+        public void protocolCommandSent(ProtocolCommandEvent event) {
+            log.info("Send FTP command: " + event.getCommand());
+        }
+
+        @Override
+        public void protocolReplyReceived(ProtocolCommandEvent event) {
+            log.info("Received FTP command reply: " + event.getReplyCode());
+        }
+    };
+
     /**
      * Default constructor initializing endpoint configuration.
      */
@@ -66,7 +101,7 @@ public class FtpClient extends AbstractEndpoint implements Producer, ReplyConsum
     protected FtpClient(FtpEndpointConfiguration endpointConfiguration) {
         super(endpointConfiguration);
 
-        this.correlationManager = new PollingCorrelationManager(endpointConfiguration, "Reply message did not arrive yet");
+        this.correlationManager = new SignallingCorrelationManager(endpointConfiguration, "Reply message did not arrive yet");
     }
 
     @Override
@@ -89,28 +124,252 @@ public class FtpClient extends AbstractEndpoint implements Producer, ReplyConsum
 
         log.info(String.format("Sending FTP message to: ftp://'%s:%s'", getEndpointConfiguration().getHost(), getEndpointConfiguration().getPort()));
 
-        if (log.isDebugEnabled()) {
+        if (log.isDebugEnabled() && ftpMessage.getPayload() instanceof String) {
             log.debug("Message to be sent:\n" + ftpMessage.getPayload(String.class));
         }
 
+        FtpMessage reply;
         try {
-            connectAndLogin();
+            if (isPooled()) {
+                FTPClient client = borrowClient();
+                boolean reusable = false;
+                try {
+                    reply = execute(client, ftpMessage, context);
+                    reusable = true;
+                } finally {
+                    releaseClient(client, reusable);
+                }
+            } else {
+                synchronized (ftpClient) {
+                    reply = execute(ftpClient, ftpMessage, context);
+                }
+            }
+        } catch (IOException e) {
+            throw new CitrusRuntimeException("Failed to execute ftp command", e);
+        }
+
+        if(!FTPReply.isPositiveCompletion(reply.getReplyCode()) && !FTPReply.isPositivePreliminary(reply.getReplyCode())) {
+            throw new CitrusRuntimeException(String.format("Failed to send FTP command - reply is: %s:%s", reply.getReplyCode(), reply.getReplyString()));
+        }
+
+        log.info(String.format("FTP message was successfully sent to: '%s:%s'", getEndpointConfiguration().getHost(), getEndpointConfiguration().getPort()));
 
-            int reply = ftpClient.sendCommand(ftpMessage.getCommand(), ftpMessage.getArguments());
+        correlationManager.store(correlationKey, reply);
+    }
+
+    /**
+     * Executes command on given connection. Connects and performs login if necessary.
+     * @param client
+     * @param ftpMessage
+     * @param context
+     * @return reply message
+     * @throws IOException
+     */
+    private FtpMessage execute(FTPClient client, FtpMessage ftpMessage, TestContext context) throws IOException {
+        connectAndLogin(client);
 
-            if(!FTPReply.isPositiveCompletion(reply) && !FTPReply.isPositivePreliminary(reply)) {
-                throw new CitrusRuntimeException(String.format("Failed to send FTP command - reply is: %s:%s", reply, ftpClient.getReplyString()));
+        if (FTPCmd.STOR.equals(ftpMessage.getCommand())) {
+            return store(client, ftpMessage, context);
+        } else if (FTPCmd.RETR.equals(ftpMessage.getCommand())) {
+            return retrieve(client, ftpMessage);
+        }
+
+        int reply = client.sendCommand(ftpMessage.getCommand(), ftpMessage.getArguments());
+        return createReply(client, ftpMessage, reply);
+    }
+
+    /**
+     * Uploads data to remote file given as command argument. Data is streamed from local file path or
+     * input stream payload of the message.
+     * @param client
+     * @param ftpMessage
+     * @param context
+     * @return
+     * @throws IOException
+     */
+    private FtpMessage store(FTPClient client, FtpMessage ftpMessage, TestContext context) throws IOException {
+        prepareTransfer(client);
+
+        long start = System.currentTimeMillis();
+        long size;
+        try (InputStream source = getTransferSource(ftpMessage, context)) {
+            OutputStream target = client.storeFileStream(ftpMessage.getArguments());
+            if (target == null) {
+                return createReply(client, ftpMessage, client.getReplyCode());
             }
 
-            log.info(String.format("FTP message was successfully sent to: '%s:%s'", getEndpointConfiguration().getHost(), getEndpointConfiguration().getPort()));
+            boolean transferred = false;
+            try {
+                try {
+                    size = Util.copyStream(source, target, getEndpointConfiguration().getBufferSize());
+                } finally {
+                    target.close();
+                }
+                transferred = true;
+            } finally {
+                completeTransfer(client, transferred);
+            }
+        }
+
+        return createTransferReply(client, ftpMessage, size, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Downloads remote file given as command argument. Data is streamed to local file path of the message or
+     * to a temporary file when no local path is set. Local file path is added to the reply message.
+     * @param client
+     * @param ftpMessage
+     * @return
+     * @throws IOException
+     */
+    private FtpMessage retrieve(FTPClient client, FtpMessage ftpMessage) throws IOException {
+        prepareTransfer(client);
+
+        long start = System.currentTimeMillis();
+        InputStream source = client.retrieveFileStream(ftpMessage.getArguments());
+        if (source == null) {
+            return createReply(client, ftpMessage, client.getReplyCode());
+        }
 
-            correlationManager.store(correlationKey, new FtpMessage(ftpMessage.getCommand(), ftpMessage.getArguments())
-                    .replyCode(reply)
-                    .replyString(ftpClient.getReplyString()));
+        File localFile;
+        long size;
+        boolean transferred = false;
+        try {
+            try {
+                localFile = getTransferTarget(ftpMessage);
+                try (OutputStream target = new BufferedOutputStream(new FileOutputStream(localFile), getEndpointConfiguration().getBufferSize())) {
+                    size = Util.copyStream(source, target, getEndpointConfiguration().getBufferSize());
+                }
+            } finally {
+                source.close();
+            }
+            transferred = true;
+        } finally {
+            completeTransfer(client, transferred);
+        }
+
+        return createTransferReply(client, ftpMessage, size, System.currentTimeMillis() - start)
+                .localPath(localFile.getAbsolutePath());
+    }
+
+    /**
+     * Completes pending transfer command once data connection is closed. When the transfer has failed the final
+     * server reply is read as well so the control connection stays in sync. In case the server does not answer
+     * the connection is closed and the next command reconnects.
+     * @param client
+     * @param transferred
+     * @throws IOException
+     */
+    private void completeTransfer(FTPClient client, boolean transferred) throws IOException {
+        if (transferred) {
+            client.completePendingCommand();
+            return;
+        }
+
+        try {
+            client.completePendingCommand();
         } catch (IOException e) {
-            throw new CitrusRuntimeException("Failed to execute ftp command", e);
+            log.warn("Failed to complete aborted FTP transfer - closing connection", e);
+            disconnect(client);
+        }
+    }
+
+    /**
+     * Applies data connection mode, buffer size and binary file type before file transfer.
+     * @param client
+     * @throws IOException
+     */
+    private void prepareTransfer(FTPClient client) throws IOException {
+        if (getEndpointConfiguration().isPassiveMode()) {
+            client.enterLocalPassiveMode();
+        } else {
+            client.enterLocalActiveMode();
         }
 
+        client.setBufferSize(getEndpointConfiguration().getBufferSize());
+
+        if (!client.setFileType(FTP.BINARY_FILE_TYPE)) {
+            throw new CitrusRuntimeException(String.format("Failed to set binary file type - reply is: %s:%s", client.getReplyCode(), client.getReplyString()));
+        }
+    }
+
+    /**
+     * Gets upload data stream from local file path or message payload.
+     * @param ftpMessage
+     * @param context
+     * @return
+     * @throws IOException
+     */
+    private InputStream getTransferSource(FtpMessage ftpMessage, TestContext context) throws IOException {
+        if (StringUtils.hasText(ftpMessage.getLocalPath())) {
+            return FileUtils.getFileResource(ftpMessage.getLocalPath(), context).getInputStream();
+        }
+
+        Object payload = ftpMessage.getPayload();
+        if (payload instanceof InputStream) {
+            return (InputStream) payload;
+        } else if (payload instanceof Resource) {
+            return ((Resource) payload).getInputStream();
+        } else if (payload instanceof File) {
+            return new FileInputStream((File) payload);
+        }
+
+        throw new CitrusRuntimeException("Missing local file path or input stream payload for FTP file upload");
+    }
+
+    /**
+     * Gets download target file from local file path or creates new temporary file.
+     * @param ftpMessage
+     * @return
+     * @throws IOException
+     */
+    private File getTransferTarget(FtpMessage ftpMessage) throws IOException {
+        if (StringUtils.hasText(ftpMessage.getLocalPath())) {
+            File localFile = new File(ftpMessage.getLocalPath());
+            if (localFile.getParentFile() != null && !localFile.getParentFile().exists() && !localFile.getParentFile().mkdirs()) {
+                throw new CitrusRuntimeException("Failed to create directory for FTP file download: " + localFile.getParentFile());
+            }
+
+            return localFile;
+        }
+
+        return File.createTempFile("citrus-ftp-", ".tmp");
+    }
+
+    /**
+     * Creates reply message for command.
+     * @param client
+     * @param ftpMessage
+     * @param reply
+     * @return
+     */
+    private FtpMessage createReply(FTPClient client, FtpMessage ftpMessage, int reply) {
+        return new FtpMessage(ftpMessage.getCommand(), ftpMessage.getArguments())
+                .replyCode(reply)
+                .replyString(client.getReplyString());
+    }
+
+    /**
+     * Creates reply message for file transfer with transfer metrics headers and updates transfer statistics.
+     * @param client
+     * @param ftpMessage
+     * @param size
+     * @param time
+     * @return
+     */
+    private FtpMessage createTransferReply(FTPClient client, FtpMessage ftpMessage, long size, long time) {
+        long rate = time > 0 ? size * 1000L / time : size;
+
+        transferCount.incrementAndGet();
+        transferredBytes.addAndGet(size);
+
+        log.info(String.format("FTP %s of '%s' transferred %s bytes in %s ms (%s bytes/s)", ftpMessage.getCommand(), ftpMessage.getArguments(), size, time, rate));
+
+        FtpMessage reply = createReply(client, ftpMessage, client.getReplyCode());
+        reply.setHeader(FtpMessageHeaders.FTP_TRANSFER_SIZE, size);
+        reply.setHeader(FtpMessageHeaders.FTP_TRANSFER_TIME, time);
+        reply.setHeader(FtpMessageHeaders.FTP_TRANSFER_RATE, rate);
+        return reply;
     }
 
     /**
@@ -118,12 +377,21 @@ public class FtpClient extends AbstractEndpoint implements Producer, ReplyConsum
      * @throws IOException
      */
     protected void connectAndLogin() throws IOException {
-        if (!ftpClient.isConnected()) {
-            ftpClient.connect(getEndpointConfiguration().getHost(), getEndpointConfiguration().getPort());
+        connectAndLogin(ftpClient);
+    }
 
-            log.info("Connected to FTP server: " + ftpClient.getReplyString());
+    /**
+     * Opens a new connection on given client and performs login with user name and password if set.
+     * @param client
+     * @throws IOException
+     */
+    protected void connectAndLogin(FTPClient client) throws IOException {
+        if (!client.isConnected()) {
+            client.connect(getEndpointConfiguration().getHost(), getEndpointConfiguration().getPort());
 
-            int reply = ftpClient.getReplyCode();
+            log.info("Connected to FTP server: " + client.getReplyString());
+
+            int reply = client.getReplyCode();
 
             if(!FTPReply.isPositiveCompletion(reply)) {
                 throw new CitrusRuntimeException("FTP server refused connection.");
@@ -133,7 +401,7 @@ public class FtpClient extends AbstractEndpoint implements Producer, ReplyConsum
 
             if (getEndpointConfiguration().getUser() != null) {
                 log.info(String.format("Login as user: '%s'", getEndpointConfiguration().getUser()));
-                boolean login = ftpClient.login(getEndpointConfiguration().getUser(), getEndpointConfiguration().getPassword());
+                boolean login = client.login(getEndpointConfiguration().getUser(), getEndpointConfiguration().getPassword());
 
                 if (!login) {
                     throw new CitrusRuntimeException(String.format("Failed to login to FTP server using credentials: %s:%s", getEndpointConfiguration().getUser(), getEndpointConfiguration().getPassword()));
@@ -142,6 +410,85 @@ public class FtpClient extends AbstractEndpoint implements Producer, ReplyConsum
         }
     }
 
+    /**
+     * Checks if client uses a pool of connections.
+     * @return
+     */
+    private boolean isPooled() {
+        return getEndpointConfiguration().getPoolSize() > 1;
+    }
+
+    /**
+     * Gets idle connection from pool or creates a new connection when pool size is not exceeded. Waits for
+     * a connection to be released within endpoint timeout otherwise.
+     * @return
+     */
+    private FTPClient borrowClient() {
+        try {
+            if (!connectionPermits.tryAcquire(getEndpointConfiguration().getTimeout(), TimeUnit.MILLISECONDS)) {
+                throw new ActionTimeoutException("Action timeout while waiting for free FTP connection in pool");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CitrusRuntimeException("Interrupted while waiting for free FTP connection in pool", e);
+        }
+
+        FTPClient client = idleClients.poll();
+        if (client == null) {
+            client = createFtpClient();
+        }
+
+        return client;
+    }
+
+    /**
+     * Returns connection to pool. Connections that are not reusable are closed.
+     * @param client
+     * @param reusable
+     */
+    private void releaseClient(FTPClient client, boolean reusable) {
+        try {
+            if (reusable && client.isConnected()) {
+                idleClients.offer(client);
+            } else {
+                disconnect(client);
+            }
+        } finally {
+            connectionPermits.release();
+        }
+    }
+
+    /**
+     * Creates new apache ftp client with client configuration and command logging.
+     * @return
+     */
+    protected FTPClient createFtpClient() {
+        FTPClient client = new FTPClient();
+        client.configure(config);
+        client.addProtocolCommandListener(commandLogger);
+        return client;
+    }
+
+    /**
+     * Logs out and closes connection ignoring errors.
+     * @param client
+     */
+    private void disconnect(FTPClient client) {
+        if (client.isConnected()) {
+            try {
+                client.logout();
+            } catch (IOException e) {
+                log.warn("Failed to logout from FTP server", e);
+            }
+
+            try {
+                client.disconnect();
+            } catch (IOException e) {
+                log.warn("Failed to disconnect from FTP server", e);
+            }
+        }
+    }
+
     @Override
     public Message receive(TestContext context) {
         return receive(correlationManager.getCorrelationKey(
@@ -172,28 +519,22 @@ public class FtpClient extends AbstractEndpoint implements Producer, ReplyConsum
 
     @Override
     public void afterPropertiesSet() throws Exception {
+        if (isPooled()) {
+            connectionPermits = new Semaphore(getEndpointConfiguration().getPoolSize());
+            return;
+        }
+
         if (ftpClient == null) {
             ftpClient = new FTPClient();
         }
 
         ftpClient.configure(config);
-
-        ftpClient.addProtocolCommandListener(new ProtocolCommandListener() {
-            @Override
-            public void protocolCommandSent(ProtocolCommandEvent event) {
-                log.info("Send FTP command: " + event.getCommand());
-            }
-
-            @Override
-            public void protocolReplyReceived(ProtocolCommandEvent event) {
-                log.info("Received FTP command reply: " + event.getReplyCode());
-            }
-        });
+        ftpClient.addProtocolCommandListener(commandLogger);
     }
 
     @Override
     public void destroy() throws Exception {
-        if (ftpClient.isConnected()) {
+        if (ftpClient != null && ftpClient.isConnected()) {
             ftpClient.logout();
 
             try {
@@ -204,6 +545,11 @@ public class FtpClient extends AbstractEndpoint implements Producer, ReplyConsum
 
             log.info("Successfully closed connection to FTP server");
         }
+
+        FTPClient client;
+        while ((client = idleClients.poll()) != null) {
+            disconnect(client);
+        }
     }
 
     /**
@@ -249,4 +595,28 @@ public class FtpClient extends AbstractEndpoint implements Producer, ReplyConsum
     public void setCorrelationManager(CorrelationManager<Message> correlationManager) {
         this.correlationManager = correlationManager;
     }
+
+    /**
+     * Gets the number of idle pooled connections.
+     * @return
+     */
+    public int getIdleConnections() {
+        return idleClients.size();
+    }
+
+    /**
+     * Gets the number of completed file transfers.
+     * @return
+     */
+    public long getTransferCount() {
+        return transferCount.get();
+    }
+
+    /**
+     * Gets the total number of bytes transferred in file uploads and downloads.
+     * @return
+     */
+    public long getTransferredBytes() {
+        return transferredBytes.get();
+    }
 }
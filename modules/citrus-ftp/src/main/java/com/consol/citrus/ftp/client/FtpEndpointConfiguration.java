@@ -41,6 +41,15 @@ public class FtpEndpointConfiguration extends AbstractPollableEndpointConfigurat
     /** Reply message correlator */
     private MessageCorrelator correlator = new DefaultMessageCorrelator();
 
+    /** Maximum number of logged in control connections, values greater than one enable connection pooling */
+    private int poolSize = 1;
+
+    /** Use passive mode for data connections */
+    private boolean passiveMode = true;
+
+    /** Buffer size used in file transfers */
+    private int bufferSize = 8192;
+
     /**
      * Gets the ftp host.
      * @return
@@ -120,4 +129,52 @@ public class FtpEndpointConfiguration extends AbstractPollableEndpointConfigurat
     public String getPassword() {
         return password;
     }
+
+    /**
+     * Gets the connection pool size.
+     * @return
+     */
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    /**
+     * Sets the connection pool size.
+     * @param poolSize
+     */
+    public void setPoolSize(int poolSize) {
+        this.poolSize = poolSize;
+    }
+
+    /**
+     * Gets the passive mode flag.
+     * @return
+     */
+    public boolean isPassiveMode() {
+        return passiveMode;
+    }
+
+    /**
+     * Sets the passive mode flag. When disabled active mode is used for data connections.
+     * @param passiveMode
+     */
+    public void setPassiveMode(boolean passiveMode) {
+        this.passiveMode = passiveMode;
+    }
+
+    /**
+     * Gets the file transfer buffer size.
+     * @return
+     */
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * Sets the file transfer buffer size.
+     * @param bufferSize
+     */
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
 }
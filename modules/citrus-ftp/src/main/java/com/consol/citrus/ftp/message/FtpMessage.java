@@ -73,6 +73,15 @@ public class FtpMessage extends DefaultMessage {
         return this;
     }
 
+    /**
+     * Sets the local file path used as source of file uploads and target of file downloads.
+     * @param localPath
+     */
+    public FtpMessage localPath(String localPath) {
+        setHeader(FtpMessageHeaders.FTP_LOCAL_PATH, localPath);
+        return this;
+    }
+
     /**
      * Sets the reply code.
      * @param replyCode
@@ -108,6 +117,19 @@ public class FtpMessage extends DefaultMessage {
         return null;
     }
 
+    /**
+     * Gets the local file path.
+     */
+    public String getLocalPath() {
+        Object localPath = getHeader(FtpMessageHeaders.FTP_LOCAL_PATH);
+
+        if (localPath != null) {
+            return localPath.toString();
+        }
+
+        return null;
+    }
+
     /**
      * Gets the reply code.
      */
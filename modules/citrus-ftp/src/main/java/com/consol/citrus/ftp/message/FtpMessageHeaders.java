@@ -36,9 +36,15 @@ public final class FtpMessageHeaders {
     /** Command headers */
     public static final String FTP_COMMAND = FTP_PREFIX + "command";
     public static final String FTP_ARGS = FTP_PREFIX + "arguments";
+    public static final String FTP_LOCAL_PATH = FTP_PREFIX + "local_path";
 
     /** Reply headers */
     public static final String FTP_REPLY_CODE = FTP_PREFIX + "reply_code";
     public static final String FTP_REPLY_STRING = FTP_PREFIX + "reply_string";
 
+    /** File transfer metric headers */
+    public static final String FTP_TRANSFER_SIZE = FTP_PREFIX + "transfer_size";
+    public static final String FTP_TRANSFER_TIME = FTP_PREFIX + "transfer_time";
+    public static final String FTP_TRANSFER_RATE = FTP_PREFIX + "transfer_rate";
+
 }
@@ -16,16 +16,26 @@
 
 package com.consol.citrus.ftp.client;
 
+import com.consol.citrus.context.TestContext;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.ftp.message.FtpMessage;
+import com.consol.citrus.ftp.message.FtpMessageHeaders;
 import com.consol.citrus.message.Message;
 import com.consol.citrus.testng.AbstractTestNGUnitTest;
+import com.consol.citrus.util.FileUtils;
 import org.apache.commons.net.ProtocolCommandListener;
 import org.apache.commons.net.ftp.*;
 import org.easymock.EasyMock;
+import org.easymock.IAnswer;
+import org.springframework.core.io.FileSystemResource;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
 import static org.easymock.EasyMock.*;
 
 /**
@@ -216,4 +226,236 @@ public class FtpClientTest extends AbstractTestNGUnitTest {
 
         verify(apacheFtpClient);
     }
+
+    @Test
+    public void testStoreFile() throws Exception {
+        FtpEndpointConfiguration endpointConfiguration = new FtpEndpointConfiguration();
+        FtpClient ftpClient = new FtpClient(endpointConfiguration);
+        ftpClient.setFtpClient(apacheFtpClient);
+
+        ByteArrayOutputStream remoteFile = new ByteArrayOutputStream();
+
+        reset(apacheFtpClient);
+
+        expect(apacheFtpClient.isConnected()).andReturn(true).once();
+
+        apacheFtpClient.enterLocalPassiveMode();
+        expectLastCall().once();
+        apacheFtpClient.setBufferSize(8192);
+        expectLastCall().once();
+        expect(apacheFtpClient.setFileType(FTP.BINARY_FILE_TYPE)).andReturn(true).once();
+
+        expect(apacheFtpClient.storeFileStream("upload.txt")).andReturn(remoteFile).once();
+        expect(apacheFtpClient.completePendingCommand()).andReturn(true).once();
+        expect(apacheFtpClient.getReplyCode()).andReturn(226).once();
+        expect(apacheFtpClient.getReplyString()).andReturn("Transfer complete").once();
+
+        replay(apacheFtpClient);
+
+        FtpMessage upload = new FtpMessage(FTPCmd.STOR, "upload.txt");
+        upload.setPayload(new ByteArrayInputStream("Hello Citrus!".getBytes()));
+        ftpClient.send(upload, context);
+
+        Message reply = ftpClient.receive(context);
+
+        Assert.assertEquals(remoteFile.toString(), "Hello Citrus!");
+        Assert.assertEquals(((FtpMessage) reply).getReplyCode(), new Integer(226));
+        Assert.assertEquals(reply.getHeader(FtpMessageHeaders.FTP_TRANSFER_SIZE), 13L);
+        Assert.assertNotNull(reply.getHeader(FtpMessageHeaders.FTP_TRANSFER_TIME));
+        Assert.assertNotNull(reply.getHeader(FtpMessageHeaders.FTP_TRANSFER_RATE));
+        Assert.assertEquals(ftpClient.getTransferCount(), 1L);
+        Assert.assertEquals(ftpClient.getTransferredBytes(), 13L);
+
+        verify(apacheFtpClient);
+    }
+
+    @Test
+    public void testStoreFileFailure() throws Exception {
+        FtpEndpointConfiguration endpointConfiguration = new FtpEndpointConfiguration();
+        FtpClient ftpClient = new FtpClient(endpointConfiguration);
+        ftpClient.setFtpClient(apacheFtpClient);
+
+        OutputStream remoteFile = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Connection reset");
+            }
+        };
+
+        reset(apacheFtpClient);
+
+        expect(apacheFtpClient.isConnected()).andReturn(true).once();
+
+        apacheFtpClient.enterLocalPassiveMode();
+        expectLastCall().once();
+        apacheFtpClient.setBufferSize(8192);
+        expectLastCall().once();
+        expect(apacheFtpClient.setFileType(FTP.BINARY_FILE_TYPE)).andReturn(true).once();
+
+        expect(apacheFtpClient.storeFileStream("upload.txt")).andReturn(remoteFile).once();
+        expect(apacheFtpClient.completePendingCommand()).andReturn(false).once();
+
+        replay(apacheFtpClient);
+
+        FtpMessage upload = new FtpMessage(FTPCmd.STOR, "upload.txt");
+        upload.setPayload(new ByteArrayInputStream("Hello Citrus!".getBytes()));
+
+        try {
+            ftpClient.send(upload, context);
+            Assert.fail("Missing exception due to failed transfer");
+        } catch (CitrusRuntimeException e) {
+            Assert.assertTrue(e.getCause() instanceof IOException);
+        }
+
+        verify(apacheFtpClient);
+    }
+
+    @Test
+    public void testRetrieveFile() throws Exception {
+        FtpEndpointConfiguration endpointConfiguration = new FtpEndpointConfiguration();
+        endpointConfiguration.setPassiveMode(false);
+        endpointConfiguration.setBufferSize(1024);
+        FtpClient ftpClient = new FtpClient(endpointConfiguration);
+        ftpClient.setFtpClient(apacheFtpClient);
+
+        File localFile = File.createTempFile("citrus-ftp-test", ".txt");
+        localFile.deleteOnExit();
+
+        reset(apacheFtpClient);
+
+        expect(apacheFtpClient.isConnected()).andReturn(true).once();
+
+        apacheFtpClient.enterLocalActiveMode();
+        expectLastCall().once();
+        apacheFtpClient.setBufferSize(1024);
+        expectLastCall().once();
+        expect(apacheFtpClient.setFileType(FTP.BINARY_FILE_TYPE)).andReturn(true).once();
+
+        expect(apacheFtpClient.retrieveFileStream("download.txt")).andReturn(new ByteArrayInputStream("Hello Citrus!".getBytes())).once();
+        expect(apacheFtpClient.completePendingCommand()).andReturn(true).once();
+        expect(apacheFtpClient.getReplyCode()).andReturn(226).once();
+        expect(apacheFtpClient.getReplyString()).andReturn("Transfer complete").once();
+
+        replay(apacheFtpClient);
+
+        ftpClient.send(new FtpMessage(FTPCmd.RETR, "download.txt").localPath(localFile.getAbsolutePath()), context);
+
+        FtpMessage reply = (FtpMessage) ftpClient.receive(context);
+
+        Assert.assertEquals(reply.getLocalPath(), localFile.getAbsolutePath());
+        Assert.assertEquals(reply.getHeader(FtpMessageHeaders.FTP_TRANSFER_SIZE), 13L);
+        Assert.assertEquals(FileUtils.readToString(new FileSystemResource(localFile)), "Hello Citrus!");
+
+        verify(apacheFtpClient);
+    }
+
+    @Test
+    public void testPooledConnections() throws Exception {
+        FtpEndpointConfiguration endpointConfiguration = new FtpEndpointConfiguration();
+        endpointConfiguration.setPoolSize(2);
+
+        final FTPClient pooledClient = EasyMock.createMock(FTPClient.class);
+        FtpClient ftpClient = new FtpClient(endpointConfiguration) {
+            @Override
+            protected FTPClient createFtpClient() {
+                return pooledClient;
+            }
+        };
+
+        reset(pooledClient);
+
+        expect(pooledClient.isConnected())
+                .andReturn(false).once()
+                .andReturn(true).times(3);
+
+        pooledClient.connect("localhost", 22222);
+        expectLastCall().once();
+
+        expect(pooledClient.getReplyString()).andReturn("OK").times(3);
+        expect(pooledClient.getReplyCode()).andReturn(200).once();
+
+        expect(pooledClient.sendCommand(FTPCmd.PWD, null)).andReturn(257).times(2);
+
+        replay(pooledClient);
+
+        ftpClient.afterPropertiesSet();
+
+        ftpClient.send(new FtpMessage(FTPCmd.PWD, null), context);
+        Assert.assertEquals(((FtpMessage) ftpClient.receive(context)).getReplyCode(), new Integer(257));
+        Assert.assertEquals(ftpClient.getIdleConnections(), 1);
+
+        ftpClient.send(new FtpMessage(FTPCmd.PWD, null), context);
+        Assert.assertEquals(((FtpMessage) ftpClient.receive(context)).getReplyCode(), new Integer(257));
+        Assert.assertEquals(ftpClient.getIdleConnections(), 1);
+
+        verify(pooledClient);
+    }
+
+    @Test
+    public void testConcurrentPooledConnections() throws Exception {
+        FtpEndpointConfiguration endpointConfiguration = new FtpEndpointConfiguration();
+        endpointConfiguration.setPoolSize(2);
+
+        final CyclicBarrier concurrentCommands = new CyclicBarrier(2);
+        final List<FTPClient> pooledClients = new CopyOnWriteArrayList<FTPClient>();
+        final FtpClient ftpClient = new FtpClient(endpointConfiguration) {
+            @Override
+            protected FTPClient createFtpClient() {
+                FTPClient pooledClient = EasyMock.createMock(FTPClient.class);
+
+                try {
+                    expect(pooledClient.isConnected())
+                            .andReturn(false).once()
+                            .andReturn(true).anyTimes();
+
+                    pooledClient.connect("localhost", 22222);
+                    expectLastCall().once();
+
+                    expect(pooledClient.getReplyString()).andReturn("OK").anyTimes();
+                    expect(pooledClient.getReplyCode()).andReturn(200).once();
+
+                    expect(pooledClient.sendCommand(FTPCmd.PWD, null)).andAnswer(new IAnswer<Integer>() {
+                        @Override
+                        public Integer answer() throws Throwable {
+                            concurrentCommands.await(5, TimeUnit.SECONDS);
+                            return 257;
+                        }
+                    }).once();
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+
+                replay(pooledClient);
+                pooledClients.add(pooledClient);
+                return pooledClient;
+            }
+        };
+
+        ftpClient.afterPropertiesSet();
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        List<Future<Integer>> replies = new ArrayList<Future<Integer>>();
+        for (int i = 0; i < 2; i++) {
+            final TestContext testContext = createTestContext();
+            replies.add(executor.submit(new Callable<Integer>() {
+                @Override
+                public Integer call() throws Exception {
+                    ftpClient.send(new FtpMessage(FTPCmd.PWD, null), testContext);
+                    return ((FtpMessage) ftpClient.receive(testContext)).getReplyCode();
+                }
+            }));
+        }
+
+        for (Future<Integer> reply : replies) {
+            Assert.assertEquals(reply.get(10, TimeUnit.SECONDS), new Integer(257));
+        }
+        executor.shutdown();
+
+        Assert.assertEquals(pooledClients.size(), 2);
+        Assert.assertEquals(ftpClient.getIdleConnections(), 2);
+
+        for (FTPClient pooledClient : pooledClients) {
+            verify(pooledClient);
+        }
+    }
 }
@@ -43,6 +43,9 @@ public class FtpClientParserTest extends AbstractBeanDefinitionParserTest {
         Assert.assertEquals(ftpClient.getEndpointConfiguration().getPort(), new Integer(22222));
         Assert.assertEquals(ftpClient.getEndpointConfiguration().getCorrelator().getClass(), DefaultMessageCorrelator.class);
         Assert.assertEquals(ftpClient.getEndpointConfiguration().getTimeout(), 5000L);
+        Assert.assertEquals(ftpClient.getEndpointConfiguration().getPoolSize(), 1);
+        Assert.assertTrue(ftpClient.getEndpointConfiguration().isPassiveMode());
+        Assert.assertEquals(ftpClient.getEndpointConfiguration().getBufferSize(), 8192);
 
         // 2nd ftp client
         ftpClient = clients.get("ftpClient2");
@@ -59,6 +62,9 @@ public class FtpClientParserTest extends AbstractBeanDefinitionParserTest {
         Assert.assertEquals(ftpClient.getEndpointConfiguration().getPort(), new Integer(22222));
         Assert.assertNotNull(ftpClient.getEndpointConfiguration().getCorrelator());
         Assert.assertEquals(ftpClient.getEndpointConfiguration().getCorrelator(), beanDefinitionContext.getBean("replyMessageCorrelator"));
+        Assert.assertEquals(ftpClient.getEndpointConfiguration().getPoolSize(), 10);
+        Assert.assertFalse(ftpClient.getEndpointConfiguration().isPassiveMode());
+        Assert.assertEquals(ftpClient.getEndpointConfiguration().getBufferSize(), 65536);
 
         // 4th ftp client
         ftpClient = clients.get("ftpClient4");
@@ -24,34 +24,52 @@ import com.consol.citrus.http.interceptor.LoggingClientInterceptor;
 import com.consol.citrus.http.message.HttpMessage;
 import com.consol.citrus.message.*;
 import com.consol.citrus.message.correlation.CorrelationManager;
-import com.consol.citrus.message.correlation.PollingCorrelationManager;
+import com.consol.citrus.message.correlation.SignallingCorrelationManager;
 import com.consol.citrus.messaging.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.http.*;
 import org.springframework.http.client.ClientHttpRequestInterceptor;
 import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.util.CollectionUtils;
 import org.springframework.web.client.DefaultResponseErrorHandler;
 import org.springframework.web.client.ResponseErrorHandler;
+import org.springframework.web.client.RestTemplate;
 
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Http client sends messages via Http protocol to some Http server instance, defined by a request endpoint url. Synchronous response
  * messages are cached in local memory and receive operations are able to fetch responses from this cache later on.
  *
+ * In asynchronous mode the request is executed on a separate thread and send operation returns immediately. Response
+ * message is stored with the correlation key of its request as soon as it arrives. This way many requests are in flight
+ * at the same time on pooled connections of the request factory. Unless a custom executor is set each client creates its own
+ * thread pool for asynchronous requests and shuts it down on destroy.
+ *
  * @author Christoph Deppisch
  * @since 1.4
  */
-public class HttpClient extends AbstractEndpoint implements Producer, ReplyConsumer {
+public class HttpClient extends AbstractEndpoint implements Producer, ReplyConsumer, DisposableBean {
     /** Logger */
     private static Logger log = LoggerFactory.getLogger(HttpClient.class);
 
     /** Store of reply messages */
     private CorrelationManager<Message> correlationManager;
 
+    /** Executor running asynchronous requests */
+    private ExecutorService executorService;
+
+    /** Executor was created by this client and is shut down on destroy */
+    private boolean defaultExecutor = false;
+
+    /** Rest template that has been initialized with error handler and interceptors */
+    private volatile RestTemplate initializedRestTemplate;
+
     /**
      * Default constructor initializing endpoint configuration.
      */
@@ -66,7 +84,7 @@ public class HttpClient extends AbstractEndpoint implements Producer, ReplyConsu
     public HttpClient(HttpEndpointConfiguration endpointConfiguration) {
         super(endpointConfiguration);
 
-        this.correlationManager = new PollingCorrelationManager(endpointConfiguration, "Reply message did not arrive yet");
+        this.correlationManager = new SignallingCorrelationManager(endpointConfiguration, "Reply message did not arrive yet");
     }
 
     @Override
@@ -76,12 +94,7 @@ public class HttpClient extends AbstractEndpoint implements Producer, ReplyConsu
 
     @Override
     public void send(Message message, TestContext context) {
-        if (CollectionUtils.isEmpty(getEndpointConfiguration().getClientInterceptors())) {
-            LoggingClientInterceptor loggingClientInterceptor = new LoggingClientInterceptor();
-            loggingClientInterceptor.setMessageListener(context.getMessageListeners());
-
-            getEndpointConfiguration().setClientInterceptors(Arrays.<ClientHttpRequestInterceptor>asList(loggingClientInterceptor));
-        }
+        initialize(context);
 
         HttpMessage httpMessage;
         if (message instanceof HttpMessage) {
@@ -114,7 +127,43 @@ public class HttpClient extends AbstractEndpoint implements Producer, ReplyConsu
 
         HttpEntity<?> requestEntity = getEndpointConfiguration().getMessageConverter().convertOutbound(httpMessage, getEndpointConfiguration());
 
-        getEndpointConfiguration().getRestTemplate().setErrorHandler(new InternalResponseErrorHandler(correlationKey));
+        if (getEndpointConfiguration().isAsynchronous()) {
+            sendAsync(endpointUri, method, requestEntity, correlationKey);
+        } else {
+            exchange(endpointUri, method, requestEntity, correlationKey);
+        }
+    }
+
+    /**
+     * Executes request on separate thread. Errors are stored as reply message with the correlation key and raised with the next
+     * receive operation for this request.
+     * @param endpointUri
+     * @param method
+     * @param requestEntity
+     * @param correlationKey
+     */
+    private void sendAsync(final String endpointUri, final HttpMethod method, final HttpEntity<?> requestEntity, final String correlationKey) {
+        getExecutorService().execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    exchange(endpointUri, method, requestEntity, correlationKey);
+                } catch (RuntimeException e) {
+                    log.warn("Failed to send HTTP message to endpoint: '" + endpointUri + "'", e);
+                    correlationManager.store(correlationKey, new ErrorMessage(e));
+                }
+            }
+        });
+    }
+
+    /**
+     * Executes request with rest template and stores response message with correlation key.
+     * @param endpointUri
+     * @param method
+     * @param requestEntity
+     * @param correlationKey
+     */
+    private void exchange(String endpointUri, HttpMethod method, HttpEntity<?> requestEntity, String correlationKey) {
         ResponseEntity<?> response = getEndpointConfiguration().getRestTemplate().exchange(endpointUri, method, requestEntity, String.class);
 
         log.info("HTTP message was successfully sent to endpoint: '" + endpointUri + "'");
@@ -122,6 +171,35 @@ public class HttpClient extends AbstractEndpoint implements Producer, ReplyConsu
         correlationManager.store(correlationKey, getEndpointConfiguration().getMessageConverter().convertInbound(response, getEndpointConfiguration()));
     }
 
+    /**
+     * Initializes rest template with client interceptors and response error handler. Done only once per rest template
+     * as the rest template is shared by all requests of this client. A rest template that has been set on the endpoint
+     * configuration after first usage is initialized on next request.
+     * @param context
+     */
+    private void initialize(TestContext context) {
+        if (initializedRestTemplate == getEndpointConfiguration().getRestTemplate()) {
+            return;
+        }
+
+        synchronized (this) {
+            RestTemplate restTemplate = getEndpointConfiguration().getRestTemplate();
+            if (initializedRestTemplate != restTemplate) {
+                if (CollectionUtils.isEmpty(getEndpointConfiguration().getClientInterceptors())) {
+                    LoggingClientInterceptor loggingClientInterceptor = new LoggingClientInterceptor();
+                    loggingClientInterceptor.setMessageListener(context.getMessageListeners());
+
+                    getEndpointConfiguration().setClientInterceptors(Arrays.<ClientHttpRequestInterceptor>asList(loggingClientInterceptor));
+                } else {
+                    restTemplate.setInterceptors(getEndpointConfiguration().getClientInterceptors());
+                }
+
+                restTemplate.setErrorHandler(new InternalResponseErrorHandler());
+                initializedRestTemplate = restTemplate;
+            }
+        }
+    }
+
     @Override
     public Message receive(TestContext context) {
         return receive(correlationManager.getCorrelationKey(
@@ -147,45 +225,63 @@ public class HttpClient extends AbstractEndpoint implements Producer, ReplyConsu
             throw new ActionTimeoutException("Action timeout while receiving synchronous reply message from http server");
         }
 
+        if (message instanceof ErrorMessage) {
+            throw ((ErrorMessage) message).getError();
+        }
+
         return message;
     }
 
     /**
-     * Handles error response messages constructing a proper response message
-     * which will be propagated to the respective reply handler for
-     * further processing.
+     * Reply message holding the error of an asynchronous request. Error is stored with the correlation key of its request,
+     * so it gets removed along with the reply message.
      */
-    private class InternalResponseErrorHandler implements ResponseErrorHandler {
+    private static class ErrorMessage extends DefaultMessage {
+        /** Error raised by request */
+        private final RuntimeException error;
 
-        /** Request message associated with this response error handler */
-        private String correlationKey;
+        public ErrorMessage(RuntimeException error) {
+            super(error.getMessage());
+            this.error = error;
+        }
 
         /**
-         * Default constructor provided with request message
-         * associated with this error handler.
+         * Gets the request error.
+         * @return
          */
-        public InternalResponseErrorHandler(String correlationKey) {
-            this.correlationKey = correlationKey;
+        public RuntimeException getError() {
+            return error;
         }
+    }
+
+    /**
+     * Handles error response messages according to error strategy. Error responses are propagated as
+     * normal response messages or raise an exception. Handler is not bound to a request, so it is safe to share
+     * it with concurrent requests.
+     */
+    private class InternalResponseErrorHandler implements ResponseErrorHandler {
+
+        /** Delegate handling errors with exception */
+        private final ResponseErrorHandler delegate = new DefaultResponseErrorHandler();
 
         /**
-         * Check for error HTTP status code in response message.
-         * Delegates to default Spring implementation.
+         * Check for error HTTP status code in response message. Error responses are treated as
+         * regular responses when propagate strategy is used.
          */
         public boolean hasError(ClientHttpResponse response) throws IOException {
-            return new DefaultResponseErrorHandler().hasError(response);
+            if (getEndpointConfiguration().getErrorHandlingStrategy().equals(ErrorHandlingStrategy.PROPAGATE)) {
+                return false;
+            }
+
+            return delegate.hasError(response);
         }
 
         /**
          * Handle error response message according to error strategy.
          */
         public void handleError(ClientHttpResponse response) throws IOException {
-            if (getEndpointConfiguration().getErrorHandlingStrategy().equals(ErrorHandlingStrategy.PROPAGATE)) {
-                Message responseMessage = getEndpointConfiguration().getMessageConverter().convertInbound(
-                        new ResponseEntity(response.getBody(), response.getHeaders(), response.getStatusCode()), getEndpointConfiguration());
-                correlationManager.store(correlationKey, responseMessage);
-            } else if (getEndpointConfiguration().getErrorHandlingStrategy().equals(ErrorHandlingStrategy.THROWS_EXCEPTION)) {
-                new DefaultResponseErrorHandler().handleError(response);
+            if (getEndpointConfiguration().getErrorHandlingStrategy().equals(ErrorHandlingStrategy.THROWS_EXCEPTION)) {
+                delegate.handleError(response);
             } else {
                 throw new CitrusRuntimeException("Unsupported error strategy: " + getEndpointConfiguration().getErrorHandlingStrategy());
             }
@@ -213,6 +309,51 @@ public class HttpClient extends AbstractEndpoint implements Producer, ReplyConsu
         return this;
     }
 
+    @Override
+    public synchronized void destroy() throws Exception {
+        if (defaultExecutor && executorService != null) {
+            executorService.shutdownNow();
+            executorService = null;
+            defaultExecutor = false;
+        }
+    }
+
+    /**
+     * Gets the executor service running asynchronous requests. If not set a cached thread pool is created for this client,
+     * so threads are created on demand and reused.
+     * @return
+     */
+    public synchronized ExecutorService getExecutorService() {
+        if (executorService == null) {
+            executorService = Executors.newCachedThreadPool(new ThreadFactory() {
+                private final AtomicInteger threadCount = new AtomicInteger();
+
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "citrus-http-client-" + getName() + "-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+            defaultExecutor = true;
+        }
+
+        return executorService;
+    }
+
+    /**
+     * Sets the executor service running asynchronous requests.
+     * @param executorService
+     */
+    public synchronized void setExecutorService(ExecutorService executorService) {
+        if (defaultExecutor && this.executorService != null) {
+            this.executorService.shutdown();
+        }
+
+        this.executorService = executorService;
+        this.defaultExecutor = false;
+    }
+
     /**
      * Sets the correlation manager.
      * @param correlationManager
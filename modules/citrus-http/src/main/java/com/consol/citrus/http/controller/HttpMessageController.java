@@ -17,22 +17,34 @@
 package com.consol.citrus.http.controller;
 
 import com.consol.citrus.endpoint.EndpointAdapter;
+import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.endpoint.adapter.EmptyResponseEndpointAdapter;
 import com.consol.citrus.http.client.HttpEndpointConfiguration;
 import com.consol.citrus.http.message.HttpMessage;
+import com.consol.citrus.http.message.HttpRequestBody;
+import com.consol.citrus.http.servlet.CachingHttpServletRequestWrapper;
 import com.consol.citrus.message.Message;
 import org.springframework.http.*;
+import org.springframework.http.server.ServletServerHttpRequest;
 import org.springframework.stereotype.Controller;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.context.request.RequestContextHolder;
-import org.springframework.web.context.request.ServletRequestAttributes;
 import org.springframework.web.util.UrlPathHelper;
+import org.springframework.web.util.WebUtils;
 
 import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Message controller implementation handling all incoming requests by forwarding to a message 
  * handler for further processing.
+ *
+ * Controller is shared by all server threads. Request handling does not use shared mutable state, the response
+ * of each request is saved as request attribute so concurrent requests do not interfere with each other.
  * 
  * @author Christoph Deppisch
  */
@@ -40,6 +52,15 @@ import javax.servlet.http.HttpServletRequest;
 @RequestMapping("/*")
 public class HttpMessageController {
 
+    /** Request attribute holding the response of the current request */
+    public static final String RESPONSE_ATTRIBUTE = HttpMessageController.class.getName() + ".response";
+
+    /** Default charset of request body when not set on content type */
+    private static final Charset DEFAULT_CHARSET = Charset.forName("ISO-8859-1");
+
+    /** Url path helper is thread safe once configured */
+    private static final UrlPathHelper PATH_HELPER = new UrlPathHelper();
+
     /** Endpoint adapter for incoming requests, providing proper responses */
     private EndpointAdapter endpointAdapter = new EmptyResponseEndpointAdapter();
 
@@ -47,96 +68,154 @@ public class HttpMessageController {
     private HttpEndpointConfiguration endpointConfiguration = new HttpEndpointConfiguration();
 
     /** Hold the latest response message for message tracing reasons */
-    private ResponseEntity<String> responseCache;
+    private volatile ResponseEntity<String> responseCache;
+
+    /** Request statistics */
+    private final AtomicInteger activeRequests = new AtomicInteger();
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong responseTime = new AtomicLong();
+    private final AtomicLong maxResponseTime = new AtomicLong();
     
     @RequestMapping(value = "**", method = { RequestMethod.GET })
     @ResponseBody
-    public ResponseEntity<String> handleGetRequest(HttpEntity<String> requestEntity) {
-        return handleRequestInternal(HttpMethod.GET, requestEntity);
+    public ResponseEntity<String> handleGetRequest(HttpServletRequest request) {
+        return handleRequestInternal(HttpMethod.GET, request);
     }
     
     @RequestMapping(value= "**", method = { RequestMethod.POST })
     @ResponseBody
-    public ResponseEntity<String> handlePostRequest(HttpEntity<String> requestEntity) {
-        return handleRequestInternal(HttpMethod.POST, requestEntity);
+    public ResponseEntity<String> handlePostRequest(HttpServletRequest request) {
+        return handleRequestInternal(HttpMethod.POST, request);
     }
     
     @RequestMapping(value= "**", method = { RequestMethod.PUT })
     @ResponseBody
-    public ResponseEntity<String> handlePutRequest(HttpEntity<String> requestEntity) {
-        return handleRequestInternal(HttpMethod.PUT, requestEntity);
+    public ResponseEntity<String> handlePutRequest(HttpServletRequest request) {
+        return handleRequestInternal(HttpMethod.PUT, request);
     }
     
     @RequestMapping(value= "**", method = { RequestMethod.DELETE })
     @ResponseBody
-    public ResponseEntity<String> handleDeleteRequest(HttpEntity<String> requestEntity) {
-        return handleRequestInternal(HttpMethod.DELETE, requestEntity);
+    public ResponseEntity<String> handleDeleteRequest(HttpServletRequest request) {
+        return handleRequestInternal(HttpMethod.DELETE, request);
     }
     
     @RequestMapping(value= "**", method = { RequestMethod.OPTIONS })
     @ResponseBody
-    public ResponseEntity<String> handleOptionsRequest(HttpEntity<String> requestEntity) {
-        return handleRequestInternal(HttpMethod.OPTIONS, requestEntity);
+    public ResponseEntity<String> handleOptionsRequest(HttpServletRequest request) {
+        return handleRequestInternal(HttpMethod.OPTIONS, request);
     }
     
     @RequestMapping(value= "**", method = { RequestMethod.HEAD })
     @ResponseBody
-    public ResponseEntity<String> handleHeadRequest(HttpEntity<String> requestEntity) {
-        return handleRequestInternal(HttpMethod.HEAD, requestEntity);
+    public ResponseEntity<String> handleHeadRequest(HttpServletRequest request) {
+        return handleRequestInternal(HttpMethod.HEAD, request);
     }
     
     @RequestMapping(value= "**", method = { RequestMethod.TRACE })
     @ResponseBody
-    public ResponseEntity<String> handleTraceRequest(HttpEntity<String> requestEntity) {
-        return handleRequestInternal(HttpMethod.TRACE, requestEntity);
+    public ResponseEntity<String> handleTraceRequest(HttpServletRequest request) {
+        return handleRequestInternal(HttpMethod.TRACE, request);
     }
     
     /**
      * Handles requests with endpoint adapter implementation. Previously sets Http request method as header parameter.
      * @param method
-     * @param requestEntity
+     * @param servletRequest
      * @return
      */
-    private ResponseEntity<String> handleRequestInternal(HttpMethod method, HttpEntity<String> requestEntity) {
-        HttpMessage request = endpointConfiguration.getMessageConverter().convertInbound(requestEntity, endpointConfiguration);
+    private ResponseEntity<String> handleRequestInternal(HttpMethod method, HttpServletRequest servletRequest) {
+        long start = System.nanoTime();
+        activeRequests.incrementAndGet();
 
-        HttpServletRequest servletRequest = ((ServletRequestAttributes) RequestContextHolder.getRequestAttributes()).getRequest();
-        UrlPathHelper pathHelper = new UrlPathHelper();
+        try {
+            HttpMessage request = endpointConfiguration.getMessageConverter().convertInbound(createRequestEntity(servletRequest), endpointConfiguration);
 
-        String queryParams = pathHelper.getOriginatingQueryString(servletRequest);
+            String queryParams = PATH_HELPER.getOriginatingQueryString(servletRequest);
 
-        if (queryParams == null) {
-            queryParams = "";
-        } else {
-            queryParams = queryParams.replaceAll("&", ",");
-        }
+            if (queryParams == null) {
+                queryParams = "";
+            } else {
+                queryParams = queryParams.replaceAll("&", ",");
+            }
+
+            request.uri(PATH_HELPER.getRequestUri(servletRequest))
+                    .contextPath(PATH_HELPER.getContextPath(servletRequest))
+                    .queryParams(queryParams)
+                    .method(method);
 
-        request.uri(pathHelper.getRequestUri(servletRequest))
-                .contextPath(pathHelper.getContextPath(servletRequest))
-                .queryParams(queryParams)
-                .method(method);
-
-        Message response = endpointAdapter.handleMessage(request);
-        if (response == null) {
-            responseCache = new ResponseEntity(HttpStatus.OK);
-        } else {
-            HttpMessage httpResponse;
-            if (response instanceof HttpMessage) {
-                httpResponse = (HttpMessage) response;
+            ResponseEntity<String> responseEntity;
+            Message response = endpointAdapter.handleMessage(request);
+            if (response == null) {
+                responseEntity = new ResponseEntity(HttpStatus.OK);
             } else {
-                httpResponse = new HttpMessage(response);
+                HttpMessage httpResponse;
+                if (response instanceof HttpMessage) {
+                    httpResponse = (HttpMessage) response;
+                } else {
+                    httpResponse = new HttpMessage(response);
+                }
+
+                if (httpResponse.getStatusCode() == null) {
+                    httpResponse.statusCode(HttpStatus.OK);
+                }
+
+                responseEntity = (ResponseEntity) endpointConfiguration.getMessageConverter().convertOutbound(httpResponse, endpointConfiguration);
             }
 
-            if (httpResponse.getStatusCode() == null) {
-                httpResponse.statusCode(HttpStatus.OK);
+            servletRequest.setAttribute(RESPONSE_ATTRIBUTE, responseEntity);
+            responseCache = responseEntity;
+
+            return responseEntity;
+        } finally {
+            activeRequests.decrementAndGet();
+            updateStatistics(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Creates request entity from servlet request. Request bodies cached in temporary files are not read
+     * but used as lazy payload that is detached from the request lifecycle as the message may be read after
+     * the request has completed. All other bodies are read as String.
+     * @param servletRequest
+     * @return
+     */
+    private HttpEntity<?> createRequestEntity(HttpServletRequest servletRequest) {
+        try {
+            HttpHeaders headers = new ServletServerHttpRequest(servletRequest).getHeaders();
+
+            CachingHttpServletRequestWrapper cachingRequest = WebUtils.getNativeRequest(servletRequest, CachingHttpServletRequestWrapper.class);
+            if (cachingRequest != null && !cachingRequest.getBody().isInMemory()) {
+                HttpRequestBody body = cachingRequest.getBody();
+                body.detach();
+                return new HttpEntity<Object>(body, headers);
+            }
+
+            Charset charset = DEFAULT_CHARSET;
+            if (headers.getContentType() != null && headers.getContentType().getCharSet() != null) {
+                charset = headers.getContentType().getCharSet();
             }
 
-            responseCache = (ResponseEntity) endpointConfiguration.getMessageConverter().convertOutbound(httpResponse, endpointConfiguration);
+            return new HttpEntity<String>(StreamUtils.copyToString(servletRequest.getInputStream(), charset), headers);
+        } catch (IOException e) {
+            throw new CitrusRuntimeException("Failed to read request body", e);
         }
+    }
 
-        return responseCache;
+    /**
+     * Adds request duration to statistics.
+     * @param duration
+     */
+    private void updateStatistics(long duration) {
+        requestCount.incrementAndGet();
+        responseTime.addAndGet(duration);
+
+        long max = maxResponseTime.get();
+        while (duration > max && !maxResponseTime.compareAndSet(max, duration)) {
+            max = maxResponseTime.get();
+        }
     }
-    
+
     /**
      * Sets the endpointAdapter.
      * @param endpointAdapter the endpointAdapter to set
@@ -176,4 +255,46 @@ public class HttpMessageController {
     public ResponseEntity<String> getResponseCache() {
         return responseCache;
     }
+
+    /**
+     * Gets the response of given request.
+     * @param request
+     * @return
+     */
+    public ResponseEntity<String> getResponseCache(HttpServletRequest request) {
+        return (ResponseEntity<String>) request.getAttribute(RESPONSE_ATTRIBUTE);
+    }
+
+    /**
+     * Gets the number of requests currently in process.
+     * @return
+     */
+    public int getActiveRequests() {
+        return activeRequests.get();
+    }
+
+    /**
+     * Gets the number of handled requests.
+     * @return
+     */
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    /**
+     * Gets the average response time in milliseconds.
+     * @return
+     */
+    public long getAverageResponseTime() {
+        long count = requestCount.get();
+        return count > 0 ? TimeUnit.NANOSECONDS.toMillis(responseTime.get() / count) : 0L;
+    }
+
+    /**
+     * Gets the maximum response time in milliseconds.
+     * @return
+     */
+    public long getMaxResponseTime() {
+        return TimeUnit.NANOSECONDS.toMillis(maxResponseTime.get());
+    }
 }
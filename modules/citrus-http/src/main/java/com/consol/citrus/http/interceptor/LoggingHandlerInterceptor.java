@@ -17,6 +17,7 @@
 package com.consol.citrus.http.interceptor;
 
 import com.consol.citrus.http.controller.HttpMessageController;
+import com.consol.citrus.http.servlet.CachingHttpServletRequestWrapper;
 import com.consol.citrus.message.RawMessage;
 import com.consol.citrus.report.MessageListeners;
 import com.consol.citrus.util.FileUtils;
@@ -27,6 +28,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.util.WebUtils;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -68,7 +70,7 @@ public class LoggingHandlerInterceptor implements HandlerInterceptor {
      */
     public void postHandle(HttpServletRequest request,
             HttpServletResponse response, Object handler, ModelAndView modelAndView) throws Exception {
-        handleResponse(getResponseContent(response, handler));
+        handleResponse(getResponseContent(request, response, handler));
     }
 
     /**
@@ -141,16 +143,25 @@ public class LoggingHandlerInterceptor implements HandlerInterceptor {
         }
         
         builder.append(NEWLINE);
-        builder.append(FileUtils.readToString(request.getInputStream()));
+
+        CachingHttpServletRequestWrapper cachingRequest = WebUtils.getNativeRequest(request, CachingHttpServletRequestWrapper.class);
+        if (cachingRequest != null && !cachingRequest.getBody().isInMemory()) {
+            builder.append(cachingRequest.getBody().getDescription());
+        } else {
+            builder.append(FileUtils.readToString(request.getInputStream()));
+        }
         
         return builder.toString();
     }
     
     /**
+     * Builds raw response message content from Http servlet response and the response entity of the request.
+     * @param request
      * @param response
+     * @param handler
      * @return
      */
-    private String getResponseContent(HttpServletResponse response, Object handler) {
+    private String getResponseContent(HttpServletRequest request, HttpServletResponse response, Object handler) {
         StringBuilder builder = new StringBuilder();
 
         builder.append(response);
@@ -159,7 +170,7 @@ public class LoggingHandlerInterceptor implements HandlerInterceptor {
             HandlerMethod handlerMethod = (HandlerMethod) handler;
             if (handlerMethod.getBean() instanceof HttpMessageController) {
                 ResponseEntity<String> responseEntity =
-                        ((HttpMessageController) handlerMethod.getBean()).getResponseCache();
+                        ((HttpMessageController) handlerMethod.getBean()).getResponseCache(request);
                 if (responseEntity != null) {
                     builder.append(NEWLINE);
                     builder.append(responseEntity.getBody());
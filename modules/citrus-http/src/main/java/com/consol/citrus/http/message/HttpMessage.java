@@ -22,6 +22,7 @@ import com.consol.citrus.message.DefaultMessage;
 import com.consol.citrus.message.Message;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 
 import java.util.Map;
@@ -288,4 +289,38 @@ public class HttpMessage extends DefaultMessage {
         return null;
     }
 
+    /**
+     * Lazy request bodies are read as String directly without going through the generic type conversion.
+     * @param type
+     * @param <T>
+     * @return
+     */
+    @Override
+    public <T> T getPayload(Class<T> type) {
+        if (String.class.equals(type) && getPayload() instanceof HttpRequestBody) {
+            return type.cast(getPayload().toString());
+        }
+
+        return super.getPayload(type);
+    }
+
+    /**
+     * Lazy request bodies that have not been read yet are printed with their description only so logging
+     * and message listeners do not load large bodies into memory.
+     * @return
+     */
+    @Override
+    public String toString() {
+        if (getPayload() instanceof HttpRequestBody && !((HttpRequestBody) getPayload()).isMaterialized()) {
+            String description = ((HttpRequestBody) getPayload()).getDescription();
+
+            if (CollectionUtils.isEmpty(getHeaderData())) {
+                return String.format("%s [payload: %s][headers: %s]", getClass().getSimpleName().toUpperCase(), description, copyHeaders());
+            } else {
+                return String.format("%s [payload: %s][headers: %s][header-data: %s]", getClass().getSimpleName().toUpperCase(), description, copyHeaders(), getHeaderData());
+            }
+        }
+
+        return super.toString();
+    }
 }
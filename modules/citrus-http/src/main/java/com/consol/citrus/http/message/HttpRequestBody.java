@@ -0,0 +1,259 @@
+/*
+ * Copyright 2006-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.http.message;
+
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.util.FileCopyUtils;
+
+import java.io.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Request body cached either in memory or in a temporary file. Used as lazy message payload for large request bodies.
+ * Body content is materialized as String only when the payload is read as String, so header validation or
+ * checks on content length and digest do not load the body into memory.
+ *
+ * Temporary files are deleted when the request has completed unless the body has been detached from the request, which
+ * is the case when the body is used as message payload. Detached bodies delete their temporary file as soon as the
+ * content has been materialized or when they are disposed by the request caching filter on server shutdown.
+ *
+ * @author Christoph Deppisch
+ * @since 2.3
+ */
+public class HttpRequestBody implements InputStreamSource {
+
+    /** Body data held in memory */
+    private final byte[] data;
+
+    /** Temporary file holding body data */
+    private final File file;
+
+    /** Content length in bytes */
+    private final long contentLength;
+
+    /** Charset used to read body as String */
+    private final String charset;
+
+    /** Hex encoded MD5 digest of body content computed on first access */
+    private volatile String digest;
+
+    /** Body content as String once materialized */
+    private volatile String content;
+
+    /** Is body used beyond the lifetime of the request */
+    private volatile boolean detached = false;
+
+    /** Has temporary file been deleted */
+    private volatile boolean deleted = false;
+
+    /**
+     * Constructor using in memory body data.
+     * @param data
+     * @param charset
+     */
+    public HttpRequestBody(byte[] data, String charset) {
+        this.data = data;
+        this.file = null;
+        this.contentLength = data.length;
+        this.charset = charset;
+    }
+
+    /**
+     * Constructor using temporary file holding body data.
+     * @param file
+     * @param contentLength
+     * @param charset
+     */
+    public HttpRequestBody(File file, long contentLength, String charset) {
+        this.data = null;
+        this.file = file;
+        this.contentLength = contentLength;
+        this.charset = charset;
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        if (content != null) {
+            return new ByteArrayInputStream(content.getBytes(charset));
+        }
+
+        if (file != null) {
+            return new BufferedInputStream(new FileInputStream(file));
+        }
+
+        return new ByteArrayInputStream(data);
+    }
+
+    /**
+     * Detaches body from request lifecycle so temporary file is kept after the request has completed.
+     */
+    public void detach() {
+        detached = true;
+    }
+
+    /**
+     * Deletes temporary file when request has completed. Detached bodies keep their temporary file.
+     */
+    public void release() {
+        if (!detached) {
+            deleteFile();
+        }
+    }
+
+    /**
+     * Deletes temporary file regardless of detached state. Body is not readable afterwards unless content has been materialized.
+     */
+    public void dispose() {
+        deleteFile();
+    }
+
+    /**
+     * Deletes temporary file. Body is not readable as stream afterwards unless content has been materialized.
+     */
+    private void deleteFile() {
+        if (file != null && !deleted) {
+            deleted = true;
+
+            if (file.exists() && !file.delete()) {
+                file.deleteOnExit();
+            }
+        }
+    }
+
+    /**
+     * Is body detached from request lifecycle.
+     * @return
+     */
+    public boolean isDetached() {
+        return detached;
+    }
+
+    /**
+     * Does body still hold a temporary file.
+     * @return
+     */
+    public boolean hasTemporaryFile() {
+        return file != null && !deleted;
+    }
+
+    /**
+     * Is body data held in memory.
+     * @return
+     */
+    public boolean isInMemory() {
+        return file == null;
+    }
+
+    /**
+     * Has body content been read as String.
+     * @return
+     */
+    public boolean isMaterialized() {
+        return content != null;
+    }
+
+    /**
+     * Gets the content length in bytes.
+     * @return
+     */
+    public long getContentLength() {
+        return contentLength;
+    }
+
+    /**
+     * Gets the hex encoded MD5 digest of the body content. Digest is computed on first access.
+     * @return
+     */
+    public String getDigest() {
+        if (digest == null) {
+            try (InputStream in = getInputStream()) {
+                MessageDigest md5 = MessageDigest.getInstance("MD5");
+                byte[] chunk = new byte[8192];
+                int read;
+                while ((read = in.read(chunk)) != -1) {
+                    md5.update(chunk, 0, read);
+                }
+
+                digest = toHex(md5.digest());
+            } catch (IOException e) {
+                throw new CitrusRuntimeException("Failed to read request body", e);
+            } catch (NoSuchAlgorithmException e) {
+                throw new CitrusRuntimeException("Failed to create message digest for request body", e);
+            }
+        }
+
+        return digest;
+    }
+
+    /**
+     * Gets short description of body that does not read the body content.
+     * @return
+     */
+    public String getDescription() {
+        return String.format("[request body of %s bytes]", contentLength);
+    }
+
+    /**
+     * Gets the charset.
+     * @return
+     */
+    public String getCharset() {
+        return charset;
+    }
+
+    /**
+     * Reads body content as String. Content is read only once and cached afterwards. Temporary file of detached
+     * body is deleted once content has been read.
+     * @return
+     */
+    @Override
+    public String toString() {
+        if (content == null) {
+            synchronized (this) {
+                if (content == null) {
+                    try {
+                        content = FileCopyUtils.copyToString(new InputStreamReader(getInputStream(), charset));
+                    } catch (IOException e) {
+                        throw new CitrusRuntimeException("Failed to read request body", e);
+                    }
+
+                    if (detached) {
+                        deleteFile();
+                    }
+                }
+            }
+        }
+
+        return content;
+    }
+
+    /**
+     * Hex encodes digest bytes.
+     * @param bytes
+     * @return
+     */
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+
+        return hex.toString();
+    }
+}
@@ -24,8 +24,10 @@ import com.consol.citrus.server.AbstractServer;
 import org.eclipse.jetty.security.SecurityHandler;
 import org.eclipse.jetty.server.Connector;
 import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
 import org.eclipse.jetty.server.handler.*;
 import org.eclipse.jetty.servlet.*;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
@@ -95,6 +97,24 @@ public class HttpServer extends AbstractServer implements ApplicationContextAwar
     /** Message converter */
     private HttpMessageConverter messageConverter = new HttpMessageConverter();
 
+    /** Maximum number of request handling threads */
+    private int maxThreads = 200;
+
+    /** Minimum number of request handling threads */
+    private int minThreads = 8;
+
+    /** Number of acceptor threads on default connector, negative value uses Jetty default */
+    private int acceptors = -1;
+
+    /** Size of the accept queue on default connector, zero uses system default */
+    private int acceptQueueSize = 0;
+
+    /** Request body size in bytes above which bodies are cached in temporary files and streamed, zero or less disables streaming */
+    private long streamingThreshold = 0L;
+
+    /** Thread pool handling requests */
+    private QueuedThreadPool threadPool;
+
     @Override
     protected void shutdown() {
         if (jettyServer != null) {
@@ -111,14 +131,19 @@ public class HttpServer extends AbstractServer implements ApplicationContextAwar
     @Override
     protected void startup() {
         synchronized (serverLock) {
+            threadPool = new QueuedThreadPool(maxThreads, minThreads);
+            threadPool.setName(getName() + "-jetty");
+            jettyServer = new Server(threadPool);
+
             if (connectors != null && connectors.length > 0) {
-                jettyServer = new Server();
                 jettyServer.setConnectors(connectors);
             } else if (connector != null) {
-                jettyServer = new Server();
                 jettyServer.addConnector(connector);
             } else {
-                jettyServer = new Server(port);
+                ServerConnector serverConnector = new ServerConnector(jettyServer, acceptors, -1);
+                serverConnector.setPort(port);
+                serverConnector.setAcceptQueueSize(acceptQueueSize);
+                jettyServer.addConnector(serverConnector);
             }
             
             HandlerCollection handlers = new HandlerCollection();
@@ -199,7 +224,7 @@ public class HttpServer extends AbstractServer implements ApplicationContextAwar
         filterMapping.setFilterName("request-caching-filter");
         filterMapping.setPathSpec("/*");
 
-        FilterHolder filterHolder = new FilterHolder(new RequestCachingServletFilter());
+        FilterHolder filterHolder = new FilterHolder(new RequestCachingServletFilter(streamingThreshold));
         filterHolder.setName("request-caching-filter");
         servletHandler.addFilter(filterHolder, filterMapping);
     }
@@ -550,4 +575,100 @@ public class HttpServer extends AbstractServer implements ApplicationContextAwar
     public void setMessageConverter(HttpMessageConverter messageConverter) {
         this.messageConverter = messageConverter;
     }
+
+    /**
+     * Gets the number of requests waiting for a free request handling thread.
+     * @return
+     */
+    public int getQueuedRequestCount() {
+        return threadPool != null ? threadPool.getQueueSize() : 0;
+    }
+
+    /**
+     * Gets the number of busy request handling threads.
+     * @return
+     */
+    public int getBusyThreads() {
+        return threadPool != null ? threadPool.getBusyThreads() : 0;
+    }
+
+    /**
+     * Gets the maximum number of request handling threads.
+     * @return
+     */
+    public int getMaxThreads() {
+        return maxThreads;
+    }
+
+    /**
+     * Sets the maximum number of request handling threads.
+     * @param maxThreads
+     */
+    public void setMaxThreads(int maxThreads) {
+        this.maxThreads = maxThreads;
+    }
+
+    /**
+     * Gets the minimum number of request handling threads.
+     * @return
+     */
+    public int getMinThreads() {
+        return minThreads;
+    }
+
+    /**
+     * Sets the minimum number of request handling threads.
+     * @param minThreads
+     */
+    public void setMinThreads(int minThreads) {
+        this.minThreads = minThreads;
+    }
+
+    /**
+     * Gets the number of acceptor threads.
+     * @return
+     */
+    public int getAcceptors() {
+        return acceptors;
+    }
+
+    /**
+     * Sets the number of acceptor threads.
+     * @param acceptors
+     */
+    public void setAcceptors(int acceptors) {
+        this.acceptors = acceptors;
+    }
+
+    /**
+     * Gets the accept queue size.
+     * @return
+     */
+    public int getAcceptQueueSize() {
+        return acceptQueueSize;
+    }
+
+    /**
+     * Sets the accept queue size.
+     * @param acceptQueueSize
+     */
+    public void setAcceptQueueSize(int acceptQueueSize) {
+        this.acceptQueueSize = acceptQueueSize;
+    }
+
+    /**
+     * Gets the streaming threshold.
+     * @return
+     */
+    public long getStreamingThreshold() {
+        return streamingThreshold;
+    }
+
+    /**
+     * Sets the request body size in bytes above which bodies are streamed from temporary files.
+     * @param streamingThreshold
+     */
+    public void setStreamingThreshold(long streamingThreshold) {
+        this.streamingThreshold = streamingThreshold;
+    }
 }
@@ -16,8 +16,7 @@
 
 package com.consol.citrus.http.servlet;
 
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
+import java.io.*;
 
 import javax.servlet.ReadListener;
 import javax.servlet.ServletInputStream;
@@ -25,47 +24,148 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletRequestWrapper;
 
 import com.consol.citrus.exceptions.CitrusRuntimeException;
-import org.springframework.util.FileCopyUtils;
+import com.consol.citrus.http.message.HttpRequestBody;
+import org.springframework.util.StringUtils;
 
 /**
- * Caching wrapper saves request body data to cache when read.
+ * Caching wrapper saves request body data to cache when read. Body data exceeding the spill threshold
+ * is written to a temporary file instead of memory.
  * @author Christoph Deppisch
  */
 public class CachingHttpServletRequestWrapper extends HttpServletRequestWrapper {
+    /** Default charset of request body when not set on request */
+    private static final String DEFAULT_CHARSET = "ISO-8859-1";
+
     /** Cached request data initialized when first read from input stream */
-    private byte[] body;
-    
+    private HttpRequestBody body;
+
+    /** Body size in bytes that causes data to spill to temporary file, zero or less keeps all data in memory */
+    private final long spillThreshold;
+
     /**
      * Default constructor using initial servlet request.
      * @param request
      */
     public CachingHttpServletRequestWrapper(HttpServletRequest request) {
+        this(request, 0L);
+    }
+
+    /**
+     * Constructor using initial servlet request and spill threshold.
+     * @param request
+     * @param spillThreshold
+     */
+    public CachingHttpServletRequestWrapper(HttpServletRequest request, long spillThreshold) {
         super(request);
+        this.spillThreshold = spillThreshold;
     }
-    
+
     @Override
     public ServletInputStream getInputStream() throws IOException {
+        return new RequestCachingInputStream(getBody().getInputStream());
+    }
+
+    /**
+     * Gets the cached request body. Reads and caches body data on first call.
+     * @return
+     * @throws IOException
+     */
+    public HttpRequestBody getBody() throws IOException {
         if (body == null) {
-            if (super.getInputStream() != null) {
-                body = FileCopyUtils.copyToByteArray(super.getInputStream());
-            } else {
-                body = new byte[] {};
+            body = cacheBody();
+        }
+
+        return body;
+    }
+
+    /**
+     * Gets the cached request body without reading request data.
+     * @return the body or null if request data has not been read yet
+     */
+    public HttpRequestBody getCachedBody() {
+        return body;
+    }
+
+    /**
+     * Deletes temporary body data if any. Bodies detached as message payload are kept.
+     */
+    public void release() {
+        if (body != null) {
+            body.release();
+        }
+    }
+
+    /**
+     * Reads request body data to memory. Spills data to temporary file as soon as spill threshold is exceeded.
+     * @return
+     * @throws IOException
+     */
+    private HttpRequestBody cacheBody() throws IOException {
+        String charset = StringUtils.hasText(getCharacterEncoding()) ? getCharacterEncoding() : DEFAULT_CHARSET;
+
+        InputStream in = super.getInputStream();
+        if (in == null) {
+            return new HttpRequestBody(new byte[] {}, charset);
+        }
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        byte[] chunk = new byte[8192];
+        int read;
+        while ((read = in.read(chunk)) != -1) {
+            buffer.write(chunk, 0, read);
+
+            if (spillThreshold > 0 && buffer.size() > spillThreshold) {
+                return spill(in, buffer, charset);
             }
         }
-        return new RequestCachingInputStream();
+
+        return new HttpRequestBody(buffer.toByteArray(), charset);
     }
-    
+
+    /**
+     * Writes buffered data and remaining request data to temporary file.
+     * @param in
+     * @param buffer
+     * @param charset
+     * @return
+     * @throws IOException
+     */
+    private HttpRequestBody spill(InputStream in, ByteArrayOutputStream buffer, String charset) throws IOException {
+        File file = File.createTempFile("citrus-http-", ".body");
+        file.deleteOnExit();
+        long contentLength = buffer.size();
+
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file))) {
+            buffer.writeTo(out);
+
+            byte[] chunk = new byte[8192];
+            int read;
+            while ((read = in.read(chunk)) != -1) {
+                out.write(chunk, 0, read);
+                contentLength += read;
+            }
+        } catch (IOException e) {
+            if (!file.delete()) {
+                file.deleteOnExit();
+            }
+            throw e;
+        }
+
+        return new HttpRequestBody(file, contentLength, charset);
+    }
+
     /** Input stream uses cached request data */
-    private final class RequestCachingInputStream extends ServletInputStream {
-        private final ByteArrayInputStream is;
+    private static final class RequestCachingInputStream extends ServletInputStream {
+        private final InputStream is;
+        private boolean finished = false;
 
-        private RequestCachingInputStream() {
-            this.is = new ByteArrayInputStream(body);
+        private RequestCachingInputStream(InputStream is) {
+            this.is = is;
         }
 
         @Override
         public boolean isFinished() {
-            return is.available() == 0;
+            return finished;
         }
 
         @Override
@@ -80,8 +180,22 @@ public class CachingHttpServletRequestWrapper extends HttpServletRequestWrapper
 
         @Override
         public int read() throws IOException {
-            return is.read();
+            int data = is.read();
+            finished = data == -1;
+            return data;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = is.read(b, off, len);
+            finished = read == -1;
+            return read;
+        }
+
+        @Override
+        public void close() throws IOException {
+            is.close();
         }
     }
-    
-}
\ No newline at end of file
+
+}
@@ -16,7 +16,12 @@
 
 package com.consol.citrus.http.servlet;
 
+import com.consol.citrus.http.message.HttpRequestBody;
+
 import java.io.IOException;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.servlet.*;
 import javax.servlet.http.*;
@@ -28,17 +33,83 @@ import org.springframework.web.filter.OncePerRequestFilter;
  * usual servlet request implementation data can only be read once.
  * 
  * For logging and tracing reasons we introduce a servlet request wrapper caching 
- * the request data.
+ * the request data. Large request bodies are cached in temporary files which are deleted
+ * once the request is completed. Bodies detached as message payload keep their temporary file until the content
+ * has been read or this filter is destroyed.
  * 
  * @author Christoph Deppisch
  * @since 1.2
  */
 public class RequestCachingServletFilter extends OncePerRequestFilter {
 
+    /** Body size in bytes that causes request data to spill to temporary file, zero or less keeps all data in memory */
+    private long spillThreshold = 0L;
+
+    /** Detached request bodies still holding temporary files */
+    private final Set<HttpRequestBody> detachedBodies = Collections.newSetFromMap(new ConcurrentHashMap<HttpRequestBody, Boolean>());
+
+    /**
+     * Default constructor.
+     */
+    public RequestCachingServletFilter() {
+        super();
+    }
+
+    /**
+     * Constructor using spill threshold.
+     * @param spillThreshold
+     */
+    public RequestCachingServletFilter(long spillThreshold) {
+        this.spillThreshold = spillThreshold;
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, 
             FilterChain filterChain) throws ServletException, IOException {
-        filterChain.doFilter(new CachingHttpServletRequestWrapper(request), response);
+        CachingHttpServletRequestWrapper requestWrapper = new CachingHttpServletRequestWrapper(request, spillThreshold);
+
+        try {
+            filterChain.doFilter(requestWrapper, response);
+        } finally {
+            requestWrapper.release();
+
+            HttpRequestBody body = requestWrapper.getCachedBody();
+            if (body != null && body.hasTemporaryFile()) {
+                detachedBodies.add(body);
+            }
+
+            for (HttpRequestBody detachedBody : detachedBodies) {
+                if (!detachedBody.hasTemporaryFile()) {
+                    detachedBodies.remove(detachedBody);
+                }
+            }
+        }
     }
-    
+
+    @Override
+    public void destroy() {
+        for (HttpRequestBody detachedBody : detachedBodies) {
+            detachedBody.dispose();
+        }
+        detachedBodies.clear();
+
+        super.destroy();
+    }
+
+    /**
+     * Gets the number of detached request bodies still holding temporary files.
+     * @return
+     */
+    public int getDetachedBodyCount() {
+        return detachedBodies.size();
+    }
+
+    /**
+     * Gets the spill threshold.
+     * @return
+     */
+    public long getSpillThreshold() {
+        return spillThreshold;
+    }
+
 }
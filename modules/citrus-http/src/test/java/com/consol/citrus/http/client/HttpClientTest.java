@@ -28,6 +28,8 @@ import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.easymock.EasyMock.*;
 
@@ -496,4 +498,151 @@ public class HttpClientTest extends AbstractTestNGUnitTest {
             verify(restTemplate);
         }
     }
+
+    @Test
+    public void testAsynchronousRequest() {
+        HttpEndpointConfiguration endpointConfiguration = new HttpEndpointConfiguration();
+        HttpClient httpClient = new HttpClient(endpointConfiguration);
+        String requestUrl = "http://localhost:8088/test";
+
+        final String responseBody = "<TestResponse><Message>Hello World!</Message></TestResponse>";
+
+        endpointConfiguration.setRequestMethod(HttpMethod.POST);
+        endpointConfiguration.setRequestUrl(requestUrl);
+        endpointConfiguration.setAsynchronous(true);
+
+        Message requestMessage = new DefaultMessage("<TestRequest><Message>Hello World!</Message></TestRequest>");
+
+        endpointConfiguration.setRestTemplate(restTemplate);
+
+        reset(restTemplate);
+
+        restTemplate.setInterceptors(anyObject(List.class));
+        expectLastCall().once();
+        restTemplate.setErrorHandler(anyObject(ResponseErrorHandler.class));
+        expectLastCall().once();
+
+        expect(restTemplate.exchange(eq(requestUrl), eq(HttpMethod.POST), anyObject(HttpEntity.class), eq(String.class)))
+                .andReturn(new ResponseEntity<String>(responseBody, HttpStatus.OK)).times(2);
+
+        replay(restTemplate);
+
+        httpClient.send(requestMessage, context);
+        HttpMessage responseMessage = (HttpMessage) httpClient.receive(context, endpointConfiguration.getTimeout());
+        Assert.assertEquals(responseMessage.getPayload(), responseBody);
+        Assert.assertEquals(responseMessage.getStatusCode(), HttpStatus.OK);
+
+        httpClient.send(requestMessage, context);
+        responseMessage = (HttpMessage) httpClient.receive(context, endpointConfiguration.getTimeout());
+        Assert.assertEquals(responseMessage.getPayload(), responseBody);
+
+        verify(restTemplate);
+    }
+
+    @Test
+    public void testAsynchronousRequestError() {
+        HttpEndpointConfiguration endpointConfiguration = new HttpEndpointConfiguration();
+        HttpClient httpClient = new HttpClient(endpointConfiguration);
+        String requestUrl = "http://localhost:8088/test";
+
+        endpointConfiguration.setRequestMethod(HttpMethod.POST);
+        endpointConfiguration.setRequestUrl(requestUrl);
+        endpointConfiguration.setAsynchronous(true);
+        endpointConfiguration.setErrorHandlingStrategy(ErrorHandlingStrategy.THROWS_EXCEPTION);
+
+        Message requestMessage = new DefaultMessage("<TestRequest><Message>Hello World!</Message></TestRequest>");
+
+        endpointConfiguration.setRestTemplate(restTemplate);
+
+        reset(restTemplate);
+
+        restTemplate.setInterceptors(anyObject(List.class));
+        expectLastCall().once();
+        restTemplate.setErrorHandler(anyObject(ResponseErrorHandler.class));
+        expectLastCall().once();
+
+        expect(restTemplate.exchange(eq(requestUrl), eq(HttpMethod.POST), anyObject(HttpEntity.class), eq(String.class)))
+                .andThrow(new HttpClientErrorException(HttpStatus.FORBIDDEN)).once();
+
+        replay(restTemplate);
+
+        httpClient.send(requestMessage, context);
+
+        try {
+            httpClient.receive(context, endpointConfiguration.getTimeout());
+            Assert.fail("Missing exception due to http error status code");
+        } catch (HttpClientErrorException e) {
+            Assert.assertEquals(e.getMessage(), "403 FORBIDDEN");
+        }
+
+        verify(restTemplate);
+    }
+
+    @Test
+    public void testAsynchronousExecutorShutdownOnDestroy() throws Exception {
+        HttpEndpointConfiguration endpointConfiguration = new HttpEndpointConfiguration();
+        HttpClient httpClient = new HttpClient(endpointConfiguration);
+
+        ExecutorService executorService = httpClient.getExecutorService();
+        Assert.assertSame(httpClient.getExecutorService(), executorService);
+        Assert.assertNotSame(new HttpClient().getExecutorService(), executorService);
+
+        httpClient.destroy();
+        Assert.assertTrue(executorService.isShutdown());
+
+        ExecutorService customExecutor = Executors.newSingleThreadExecutor();
+        try {
+            httpClient.setExecutorService(customExecutor);
+            httpClient.destroy();
+            Assert.assertFalse(customExecutor.isShutdown());
+        } finally {
+            customExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testRestTemplateChangedAfterFirstRequest() {
+        HttpEndpointConfiguration endpointConfiguration = new HttpEndpointConfiguration();
+        HttpClient httpClient = new HttpClient(endpointConfiguration);
+        String requestUrl = "http://localhost:8088/test";
+
+        RestTemplate otherRestTemplate = EasyMock.createMock(RestTemplate.class);
+
+        endpointConfiguration.setRequestMethod(HttpMethod.POST);
+        endpointConfiguration.setRequestUrl(requestUrl);
+
+        Message requestMessage = new DefaultMessage("<TestRequest><Message>Hello World!</Message></TestRequest>");
+
+        endpointConfiguration.setRestTemplate(restTemplate);
+
+        reset(restTemplate, otherRestTemplate);
+
+        restTemplate.setInterceptors(anyObject(List.class));
+        expectLastCall().once();
+        restTemplate.setErrorHandler(anyObject(ResponseErrorHandler.class));
+        expectLastCall().once();
+        expect(restTemplate.exchange(eq(requestUrl), eq(HttpMethod.POST), anyObject(HttpEntity.class), eq(String.class)))
+                .andReturn(new ResponseEntity<String>("<TestResponse/>", HttpStatus.OK)).once();
+
+        otherRestTemplate.setInterceptors(anyObject(List.class));
+        expectLastCall().once();
+        otherRestTemplate.setErrorHandler(anyObject(ResponseErrorHandler.class));
+        expectLastCall().once();
+        expect(otherRestTemplate.exchange(eq(requestUrl), eq(HttpMethod.POST), anyObject(HttpEntity.class), eq(String.class)))
+                .andReturn(new ResponseEntity<String>("<TestResponse/>", HttpStatus.OK)).times(2);
+
+        replay(restTemplate, otherRestTemplate);
+
+        httpClient.send(requestMessage, context);
+        httpClient.receive(context, endpointConfiguration.getTimeout());
+
+        endpointConfiguration.setRestTemplate(otherRestTemplate);
+
+        httpClient.send(requestMessage, context);
+        httpClient.receive(context, endpointConfiguration.getTimeout());
+        httpClient.send(requestMessage, context);
+        httpClient.receive(context, endpointConfiguration.getTimeout());
+
+        verify(restTemplate, otherRestTemplate);
+    }
 }
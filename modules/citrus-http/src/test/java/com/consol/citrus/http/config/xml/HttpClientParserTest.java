@@ -49,6 +49,10 @@ public class HttpClientParserTest extends AbstractBeanDefinitionParserTest {
         Assert.assertEquals(httpClient.getEndpointConfiguration().getRequestMethod(), HttpMethod.POST);
         Assert.assertEquals(httpClient.getEndpointConfiguration().getCorrelator().getClass(), DefaultMessageCorrelator.class);
         Assert.assertEquals(httpClient.getEndpointConfiguration().getTimeout(), 5000L);
+        Assert.assertFalse(httpClient.getEndpointConfiguration().isAsynchronous());
+        Assert.assertEquals(httpClient.getEndpointConfiguration().getMaxConnections(), 20);
+        Assert.assertEquals(httpClient.getEndpointConfiguration().getMaxConnectionsPerRoute(), 20);
+        Assert.assertTrue(httpClient.getEndpointConfiguration().isKeepAlive());
 
 
         // 2nd message sender
@@ -80,6 +84,10 @@ public class HttpClientParserTest extends AbstractBeanDefinitionParserTest {
         Assert.assertNotNull(httpClient.getEndpointConfiguration().getClientInterceptors());
         Assert.assertEquals(httpClient.getEndpointConfiguration().getClientInterceptors().get(0), beanDefinitionContext.getBean("clientInterceptor"));
         Assert.assertEquals(httpClient.getEndpointConfiguration().getPollingInterval(), 250L);
+        Assert.assertTrue(httpClient.getEndpointConfiguration().isAsynchronous());
+        Assert.assertEquals(httpClient.getEndpointConfiguration().getMaxConnections(), 200);
+        Assert.assertEquals(httpClient.getEndpointConfiguration().getMaxConnectionsPerRoute(), 100);
+        Assert.assertFalse(httpClient.getEndpointConfiguration().isKeepAlive());
     }
 
     @Test
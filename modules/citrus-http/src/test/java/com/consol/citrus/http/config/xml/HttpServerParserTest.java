@@ -59,6 +59,11 @@ public class HttpServerParserTest extends AbstractBeanDefinitionParserTest {
         Assert.assertEquals(server.getContextPath(), "/");
         Assert.assertEquals(server.getServletName(), "httpServer1-servlet");
         Assert.assertEquals(server.getServletMappingPath(), "/*");
+        Assert.assertEquals(server.getMaxThreads(), 200);
+        Assert.assertEquals(server.getMinThreads(), 8);
+        Assert.assertEquals(server.getAcceptors(), -1);
+        Assert.assertEquals(server.getAcceptQueueSize(), 0);
+        Assert.assertEquals(server.getStreamingThreshold(), 0L);
 
         // 2nd message sender
         server = servers.get("httpServer2");
@@ -96,6 +101,11 @@ public class HttpServerParserTest extends AbstractBeanDefinitionParserTest {
         Assert.assertEquals(server.getServletHandler(), beanDefinitionContext.getBean("servletHandler"));
         Assert.assertEquals(server.getName(), "httpServer4");
         Assert.assertEquals(server.getPort(), 8084);
+        Assert.assertEquals(server.getMaxThreads(), 500);
+        Assert.assertEquals(server.getMinThreads(), 20);
+        Assert.assertEquals(server.getAcceptors(), 4);
+        Assert.assertEquals(server.getAcceptQueueSize(), 1000);
+        Assert.assertEquals(server.getStreamingThreshold(), 1048576L);
         Assert.assertEquals(server.getContextConfigLocation(), "classpath:com/consol/citrus/http/citrus-servlet-context.xml");
         Assert.assertEquals(server.getResourceBase(), "src/main/resources");
         Assert.assertFalse(server.isAutoStart());
@@ -32,6 +32,8 @@ import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Simple unit test for HttpServer
@@ -81,4 +83,39 @@ public class HttpServerTest extends AbstractTestNGUnitTest {
             Assert.assertTrue(e.getMessage().contains("Connection refused"));
         }
     }
+
+    @Test
+    public void concurrentRequestTest() throws IOException {
+        HttpServer server = new HttpServer();
+        server.setPort(port);
+        server.setMaxThreads(20);
+        server.setApplicationContext(applicationContext);
+        server.setContextConfigLocation("classpath:com/consol/citrus/http/HttpServerTest-http-servlet.xml");
+
+        HttpEndpointConfiguration endpointConfiguration = new HttpEndpointConfiguration();
+        endpointConfiguration.setRequestUrl(uri);
+        endpointConfiguration.setAsynchronous(true);
+        endpointConfiguration.setMaxConnectionsPerRoute(10);
+        HttpClient asyncClient = new HttpClient(endpointConfiguration);
+
+        server.startup();
+
+        try {
+            List<TestContext> contexts = new ArrayList<TestContext>();
+            for (int i = 0; i < 50; i++) {
+                TestContext context = testContextFactory.getObject();
+                asyncClient.send(new HttpMessage("Hello " + i)
+                        .method(HttpMethod.GET), context);
+                contexts.add(context);
+            }
+
+            for (TestContext context : contexts) {
+                Assert.assertEquals(asyncClient.receive(context).getHeader(HttpMessageHeaders.HTTP_STATUS_CODE), HttpStatus.OK.value());
+            }
+
+            Assert.assertEquals(server.getQueuedRequestCount(), 0);
+        } finally {
+            server.shutdown();
+        }
+    }
 }
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2006-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.http.servlet;
+
+import com.consol.citrus.http.message.HttpMessage;
+import com.consol.citrus.http.message.HttpRequestBody;
+import com.consol.citrus.util.FileUtils;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.util.DigestUtils;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class CachingHttpServletRequestWrapperTest {
+
+    @Test
+    public void testInMemoryBody() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/test");
+        request.setContent("Hello Citrus!".getBytes());
+
+        CachingHttpServletRequestWrapper wrapper = new CachingHttpServletRequestWrapper(request, 1024L);
+
+        Assert.assertEquals(FileUtils.readToString(wrapper.getInputStream()), "Hello Citrus!");
+        Assert.assertEquals(FileUtils.readToString(wrapper.getInputStream()), "Hello Citrus!");
+
+        HttpRequestBody body = wrapper.getBody();
+        Assert.assertTrue(body.isInMemory());
+        Assert.assertEquals(body.getContentLength(), 13L);
+        Assert.assertEquals(body.getDigest(), DigestUtils.md5DigestAsHex("Hello Citrus!".getBytes()));
+    }
+
+    @Test
+    public void testSpilledBody() throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            content.append("<item>").append(i).append("</item>");
+        }
+
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/test");
+        request.setContent(content.toString().getBytes());
+
+        CachingHttpServletRequestWrapper wrapper = new CachingHttpServletRequestWrapper(request, 1024L);
+
+        HttpRequestBody body = wrapper.getBody();
+        Assert.assertFalse(body.isInMemory());
+        Assert.assertEquals(body.getContentLength(), content.length());
+        Assert.assertEquals(body.getDigest(), DigestUtils.md5DigestAsHex(content.toString().getBytes()));
+
+        Assert.assertEquals(FileUtils.readToString(wrapper.getInputStream()), content.toString());
+
+        wrapper.release();
+
+        try {
+            body.getInputStream();
+            Assert.fail("Missing exception due to released request body");
+        } catch (IOException e) {
+            Assert.assertTrue(e.getMessage().contains("citrus-http-"));
+        }
+    }
+
+    @Test
+    public void testDetachedBody() throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            content.append("<item>").append(i).append("</item>");
+        }
+
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/test");
+        request.setContent(content.toString().getBytes());
+
+        CachingHttpServletRequestWrapper wrapper = new CachingHttpServletRequestWrapper(request, 1024L);
+
+        HttpRequestBody body = wrapper.getBody();
+        body.detach();
+        wrapper.release();
+
+        HttpMessage message = new HttpMessage(body);
+        Assert.assertTrue(message.toString().contains(body.getDescription()));
+        Assert.assertFalse(body.isMaterialized());
+
+        Assert.assertEquals(message.getPayload(String.class), content.toString());
+        Assert.assertTrue(body.isMaterialized());
+        Assert.assertEquals(FileUtils.readToString(body.getInputStream()), content.toString());
+        Assert.assertEquals(body.getDigest(), DigestUtils.md5DigestAsHex(content.toString().getBytes()));
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2006-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.http.servlet;
+
+import com.consol.citrus.http.message.HttpRequestBody;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import javax.servlet.*;
+import java.io.IOException;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class RequestCachingServletFilterTest {
+
+    @Test
+    public void testDisposeDetachedBodies() throws Exception {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            content.append("<item>").append(i).append("</item>");
+        }
+
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/test");
+        request.setContent(content.toString().getBytes());
+
+        final HttpRequestBody[] bodies = new HttpRequestBody[2];
+        RequestCachingServletFilter filter = new RequestCachingServletFilter(1024L);
+
+        filter.doFilter(request, new MockHttpServletResponse(), new FilterChain() {
+            @Override
+            public void doFilter(ServletRequest request, ServletResponse response) throws IOException, ServletException {
+                bodies[0] = ((CachingHttpServletRequestWrapper) request).getBody();
+                bodies[0].detach();
+            }
+        });
+
+        Assert.assertTrue(bodies[0].hasTemporaryFile());
+        Assert.assertEquals(filter.getDetachedBodyCount(), 1);
+
+        request = new MockHttpServletRequest("POST", "/test");
+        request.setContent(content.toString().getBytes());
+
+        filter.doFilter(request, new MockHttpServletResponse(), new FilterChain() {
+            @Override
+            public void doFilter(ServletRequest request, ServletResponse response) throws IOException, ServletException {
+                bodies[1] = ((CachingHttpServletRequestWrapper) request).getBody();
+            }
+        });
+
+        Assert.assertFalse(bodies[1].hasTemporaryFile());
+        Assert.assertEquals(filter.getDetachedBodyCount(), 1);
+
+        Assert.assertEquals(bodies[0].toString(), content.toString());
+        Assert.assertFalse(bodies[0].hasTemporaryFile());
+
+        filter.destroy();
+        Assert.assertEquals(filter.getDetachedBodyCount(), 0);
+    }
+
+    @Test
+    public void testDisposeOnDestroy() throws Exception {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            content.append("<item>").append(i).append("</item>");
+        }
+
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/test");
+        request.setContent(content.toString().getBytes());
+
+        final HttpRequestBody[] bodies = new HttpRequestBody[1];
+        RequestCachingServletFilter filter = new RequestCachingServletFilter(1024L);
+
+        filter.doFilter(request, new MockHttpServletResponse(), new FilterChain() {
+            @Override
+            public void doFilter(ServletRequest request, ServletResponse response) throws IOException, ServletException {
+                bodies[0] = ((CachingHttpServletRequestWrapper) request).getBody();
+                bodies[0].detach();
+            }
+        });
+
+        Assert.assertTrue(bodies[0].hasTemporaryFile());
+
+        filter.destroy();
+
+        Assert.assertFalse(bodies[0].hasTemporaryFile());
+        Assert.assertEquals(filter.getDetachedBodyCount(), 0);
+
+        try {
+            bodies[0].getInputStream();
+            Assert.fail("Missing exception due to disposed request body");
+        } catch (IOException e) {
+            Assert.assertTrue(e.getMessage().contains("citrus-http-"));
+        }
+    }
+}
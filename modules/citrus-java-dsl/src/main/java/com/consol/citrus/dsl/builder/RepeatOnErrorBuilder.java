@@ -109,4 +109,63 @@ public class RepeatOnErrorBuilder extends AbstractTestContainerBuilder<RepeatOnE
 		action.setAutoSleep(autoSleep);
 		return this;
 	}
+
+	/**
+	 * Multiplies the auto sleep time with given factor on each retry.
+	 * @param multiplier
+	 * @return
+	 */
+	public RepeatOnErrorBuilder backoff(double multiplier) {
+		action.setBackoffMultiplier(multiplier);
+		return this;
+	}
+
+	/**
+	 * Sets the maximum sleep time in between repeats in milliseconds.
+	 * @param maxSleep
+	 * @return
+	 */
+	public RepeatOnErrorBuilder maxSleep(long maxSleep) {
+		action.setMaxSleep(maxSleep);
+		return this;
+	}
+
+	/**
+	 * Sets the random deviation of sleep time as fraction between 0 and 1.
+	 * @param jitter
+	 * @return
+	 */
+	public RepeatOnErrorBuilder jitter(double jitter) {
+		action.setJitter(jitter);
+		return this;
+	}
+
+	/**
+	 * Sets custom backoff policy for sleep time in between repeats.
+	 * @param backoffPolicy
+	 * @return
+	 */
+	public RepeatOnErrorBuilder backoffPolicy(BackoffPolicy backoffPolicy) {
+		action.setBackoffPolicy(backoffPolicy);
+		return this;
+	}
+
+	/**
+	 * Sets the maximum total time of all repeats in milliseconds.
+	 * @param timeout
+	 * @return
+	 */
+	public RepeatOnErrorBuilder timeout(long timeout) {
+		action.setTimeout(timeout);
+		return this;
+	}
+
+	/**
+	 * Repeat as soon as inbound message is received instead of sleeping the whole time.
+	 * @return
+	 */
+	public RepeatOnErrorBuilder wakeOnMessage() {
+		action.setWakeOnMessage(true);
+		return this;
+	}
 }
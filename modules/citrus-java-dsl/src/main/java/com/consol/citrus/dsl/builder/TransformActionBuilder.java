@@ -101,4 +101,23 @@ public class TransformActionBuilder extends AbstractTestActionBuilder<TransformA
 	    
 		return this;
 	}
+
+	/**
+	 * Adds XSLT parameter passed to the transformer. Parameter value supports test variables.
+	 * @param name
+	 * @param value
+	 */
+	public TransformActionBuilder parameter(String name, String value) {
+		action.getXsltParameters().put(name, value);
+		return this;
+	}
+
+	/**
+	 * Streams the transformation result to given file. The result variable then holds the file path.
+	 * @param filePath
+	 */
+	public TransformActionBuilder resultFile(String filePath) {
+		action.setResultFilePath(filePath);
+		return this;
+	}
 }
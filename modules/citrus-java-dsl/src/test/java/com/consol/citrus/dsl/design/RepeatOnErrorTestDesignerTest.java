@@ -23,6 +23,7 @@ import com.consol.citrus.testng.AbstractTestNGUnitTest;
 import org.testng.annotations.Test;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 public class RepeatOnErrorTestDesignerTest extends AbstractTestNGUnitTest {
     @Test
@@ -108,4 +109,35 @@ public class RepeatOnErrorTestDesignerTest extends AbstractTestNGUnitTest {
         assertEquals(container.getIndexName(), "k");
         assertEquals(container.getTestAction(0).getClass(), EchoAction.class);
     }
+
+    @Test
+    public void testRepeatOnErrorBackoff() {
+        MockTestDesigner builder = new MockTestDesigner(applicationContext) {
+            @Override
+            public void configure() {
+                repeatOnError()
+                        .autoSleep(100)
+                        .backoff(2.0)
+                        .maxSleep(5000)
+                        .jitter(0.25)
+                        .timeout(10000)
+                        .wakeOnMessage()
+                        .until("i gt 5")
+                        .actions(echo("${var}"));
+            }
+        };
+
+        builder.configure();
+
+        TestCase test = builder.getTestCase();
+        assertEquals(test.getActionCount(), 1);
+
+        RepeatOnErrorUntilTrue container = (RepeatOnErrorUntilTrue)test.getActions().get(0);
+        assertEquals(container.getAutoSleep(), Long.valueOf(100L));
+        assertEquals(container.getBackoffMultiplier(), 2.0D);
+        assertEquals(container.getMaxSleep(), 5000L);
+        assertEquals(container.getJitter(), 0.25D);
+        assertEquals(container.getTimeout(), 10000L);
+        assertTrue(container.isWakeOnMessage());
+    }
 }
@@ -18,13 +18,30 @@ package com.consol.citrus.jms.endpoint;
 
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.exceptions.ActionTimeoutException;
+import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.message.Message;
 import com.consol.citrus.messaging.AbstractSelectiveMessageConsumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.jms.connection.ConnectionFactoryUtils;
+import org.springframework.jms.connection.SingleConnectionFactory;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.jms.core.SessionCallback;
+import org.springframework.jms.support.JmsUtils;
 import org.springframework.util.StringUtils;
 
+import javax.jms.*;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
 /**
+ * Consumer receives messages from JMS destination. Receive timeout is applied per receive operation so concurrent
+ * receive actions on the same endpoint do not interfere with each other. With consumer caching enabled each thread keeps
+ * a long lived session with a message consumer without message selector on a shared connection. Receive operations with
+ * message selector usually select unique correlation values, so these always use a short lived consumer that is closed after
+ * the receive. Messages are received synchronously, but the broker may still dispatch messages to idle cached consumers
+ * of other threads according to its prefetch setting, so the prefetch size of the connection factory should be set to 0 or 1.
+ *
  * @author Christoph Deppisch
  * @since 1.4
  */
@@ -36,6 +53,13 @@ public class JmsConsumer extends AbstractSelectiveMessageConsumer {
     /** Endpoint configuration */
     private final JmsEndpointConfiguration endpointConfiguration;
 
+    /** Per thread sessions with cached message consumers */
+    private final ThreadLocal<CachedSession> cachedSessions = new ThreadLocal<CachedSession>();
+    private final List<CachedSession> openSessions = new CopyOnWriteArrayList<CachedSession>();
+
+    /** Connection factory sharing a single connection between cached sessions */
+    private SingleConnectionFactory sharedConnectionFactory;
+
     /**
      * Default constructor using endpoint.
      * @param name
@@ -58,13 +82,11 @@ public class JmsConsumer extends AbstractSelectiveMessageConsumer {
 
         log.info("Waiting for JMS message on destination: '" + destinationName + "'");
 
-        endpointConfiguration.getJmsTemplate().setReceiveTimeout(timeout);
         javax.jms.Message receivedJmsMessage;
-
-        if (StringUtils.hasText(selector)) {
-            receivedJmsMessage = endpointConfiguration.getJmsTemplate().receiveSelected(selector);
+        if (endpointConfiguration.isCacheConsumers() && !StringUtils.hasText(selector)) {
+            receivedJmsMessage = receiveCached(timeout);
         } else {
-            receivedJmsMessage = endpointConfiguration.getJmsTemplate().receive();
+            receivedJmsMessage = receiveSelected(selector, timeout);
         }
 
         if (receivedJmsMessage == null) {
@@ -79,4 +101,169 @@ public class JmsConsumer extends AbstractSelectiveMessageConsumer {
         return receivedMessage;
     }
 
+    /**
+     * Receives message with given selector and timeout within JMS template session. Other than receive operations on
+     * the template itself this does not change the shared template receive timeout setting.
+     * @param selector
+     * @param timeout
+     * @return
+     */
+    private javax.jms.Message receiveSelected(final String selector, final long timeout) {
+        final JmsTemplate jmsTemplate = endpointConfiguration.getJmsTemplate();
+
+        return jmsTemplate.execute(new SessionCallback<javax.jms.Message>() {
+            @Override
+            public javax.jms.Message doInJms(Session session) throws JMSException {
+                MessageConsumer consumer = createConsumer(session, selector);
+                try {
+                    return doReceive(session, consumer, timeout);
+                } finally {
+                    JmsUtils.closeMessageConsumer(consumer);
+                }
+            }
+        }, true);
+    }
+
+    /**
+     * Receives message with given timeout using cached session and message consumer of current thread.
+     * @param timeout
+     * @return
+     */
+    private javax.jms.Message receiveCached(long timeout) {
+        try {
+            CachedSession cachedSession = getCachedSession();
+
+            if (cachedSession.consumer == null) {
+                cachedSession.consumer = createConsumer(cachedSession.session, null);
+
+                log.debug("Cached JMS message consumer on destination: '" + endpointConfiguration.getDefaultDestinationName() + "'");
+            }
+
+            return doReceive(cachedSession.session, cachedSession.consumer, timeout);
+        } catch (JMSException e) {
+            throw new CitrusRuntimeException("Failed to receive JMS message", e);
+        }
+    }
+
+    /**
+     * Receives message on consumer and completes the session work according to transaction and acknowledge mode.
+     * @param session
+     * @param consumer
+     * @param timeout
+     * @return
+     * @throws JMSException
+     */
+    private javax.jms.Message doReceive(Session session, MessageConsumer consumer, long timeout) throws JMSException {
+        javax.jms.Message message;
+        if (timeout > 0) {
+            message = consumer.receive(timeout);
+        } else if (timeout < 0) {
+            message = consumer.receiveNoWait();
+        } else {
+            message = consumer.receive();
+        }
+
+        if (session.getTransacted()) {
+            if (!ConnectionFactoryUtils.isSessionTransactional(session, endpointConfiguration.getJmsTemplate().getConnectionFactory())) {
+                JmsUtils.commitIfNecessary(session);
+            }
+        } else if (session.getAcknowledgeMode() == Session.CLIENT_ACKNOWLEDGE && message != null) {
+            message.acknowledge();
+        }
+
+        return message;
+    }
+
+    /**
+     * Creates message consumer on default destination.
+     * @param session
+     * @param selector
+     * @return
+     * @throws JMSException
+     */
+    private MessageConsumer createConsumer(Session session, String selector) throws JMSException {
+        JmsTemplate jmsTemplate = endpointConfiguration.getJmsTemplate();
+        String messageSelector = StringUtils.hasText(selector) ? selector : null;
+
+        Destination destination = jmsTemplate.getDefaultDestination();
+        if (destination == null) {
+            if (!StringUtils.hasText(jmsTemplate.getDefaultDestinationName())) {
+                throw new CitrusRuntimeException("No 'defaultDestination' or 'defaultDestinationName' specified on JMS template");
+            }
+
+            destination = jmsTemplate.getDestinationResolver().resolveDestinationName(session, jmsTemplate.getDefaultDestinationName(), jmsTemplate.isPubSubDomain());
+        }
+
+        if (jmsTemplate.isPubSubDomain()) {
+            return session.createConsumer(destination, messageSelector, jmsTemplate.isPubSubNoLocal());
+        } else {
+            return session.createConsumer(destination, messageSelector);
+        }
+    }
+
+    /**
+     * Gets cached session of current thread. Creates new session on shared connection on first access. Session settings
+     * are taken from the JMS template.
+     * @return
+     * @throws JMSException
+     */
+    private CachedSession getCachedSession() throws JMSException {
+        CachedSession cachedSession = cachedSessions.get();
+
+        if (cachedSession == null || !openSessions.contains(cachedSession)) {
+            JmsTemplate jmsTemplate = endpointConfiguration.getJmsTemplate();
+            Connection connection = getSharedConnectionFactory().createConnection();
+            connection.start();
+
+            cachedSession = new CachedSession(connection.createSession(jmsTemplate.isSessionTransacted(), jmsTemplate.getSessionAcknowledgeMode()));
+            cachedSessions.set(cachedSession);
+            openSessions.add(cachedSession);
+        }
+
+        return cachedSession;
+    }
+
+    /**
+     * Gets connection factory sharing one connection of the JMS template connection factory.
+     * @return
+     */
+    private synchronized SingleConnectionFactory getSharedConnectionFactory() {
+        if (sharedConnectionFactory == null) {
+            sharedConnectionFactory = new SingleConnectionFactory(endpointConfiguration.getJmsTemplate().getConnectionFactory());
+        }
+
+        return sharedConnectionFactory;
+    }
+
+    /**
+     * Destroy method closing cached consumers, their sessions and the shared connection.
+     */
+    public void destroy() {
+        for (CachedSession cachedSession : openSessions) {
+            JmsUtils.closeMessageConsumer(cachedSession.consumer);
+
+            JmsUtils.closeSession(cachedSession.session);
+        }
+        openSessions.clear();
+        cachedSessions.remove();
+
+        synchronized (this) {
+            if (sharedConnectionFactory != null) {
+                sharedConnectionFactory.destroy();
+                sharedConnectionFactory = null;
+            }
+        }
+    }
+
+    /**
+     * JMS session and its cached message consumer confined to a single thread.
+     */
+    private static class CachedSession {
+        private final Session session;
+        private MessageConsumer consumer;
+
+        CachedSession(Session session) {
+            this.session = session;
+        }
+    }
 }
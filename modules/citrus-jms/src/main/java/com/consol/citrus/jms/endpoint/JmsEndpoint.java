@@ -19,6 +19,7 @@ package com.consol.citrus.jms.endpoint;
 import com.consol.citrus.endpoint.AbstractEndpoint;
 import com.consol.citrus.messaging.Producer;
 import com.consol.citrus.messaging.SelectiveConsumer;
+import org.springframework.beans.factory.DisposableBean;
 
 /**
  * Jms message endpoint capable of sending/receiving messages from Jms message destination. Either uses a Jms connection factory or
@@ -27,7 +28,7 @@ import com.consol.citrus.messaging.SelectiveConsumer;
  * @author Christoph Deppisch
  * @since 1.4
  */
-public class JmsEndpoint extends AbstractEndpoint {
+public class JmsEndpoint extends AbstractEndpoint implements DisposableBean {
 
     /** Cached producer or consumer */
     private JmsProducer jmsProducer;
@@ -66,6 +67,13 @@ public class JmsEndpoint extends AbstractEndpoint {
         return jmsProducer;
     }
 
+    @Override
+    public void destroy() throws Exception {
+        if (jmsConsumer != null) {
+            jmsConsumer.destroy();
+        }
+    }
+
     @Override
     public JmsEndpointConfiguration getEndpointConfiguration() {
         return (JmsEndpointConfiguration) super.getEndpointConfiguration();
@@ -64,6 +64,9 @@ public class JmsEndpointConfiguration extends AbstractEndpointConfiguration {
     /** Should always use object messages */
     private boolean useObjectMessages = false;
 
+    /** Should consumer keep long lived message listeners */
+    private boolean cacheConsumers = false;
+
     /**
      * Gets the destination name.
      * @return the destinationName
@@ -260,4 +263,21 @@ public class JmsEndpointConfiguration extends AbstractEndpointConfiguration {
     public void setUseObjectMessages(boolean useObjectMessages) {
         this.useObjectMessages = useObjectMessages;
     }
+
+    /**
+     * Gets the cache consumers setting.
+     * @return
+     */
+    public boolean isCacheConsumers() {
+        return cacheConsumers;
+    }
+
+    /**
+     * Sets the cache consumers setting. When enabled consumer keeps a long lived session per thread with a message consumer
+     * for receive operations without message selector instead of creating a new message consumer for each receive operation.
+     * @param cacheConsumers
+     */
+    public void setCacheConsumers(boolean cacheConsumers) {
+        this.cacheConsumers = cacheConsumers;
+    }
 }
@@ -43,6 +43,9 @@ public class JmsSyncEndpointConfiguration extends JmsEndpointConfiguration imple
     /** Polling interval when waiting for synchronous reply message to arrive */
     private long pollingInterval = 500L;
 
+    /** Use single long lived reply destination and consumer for all requests */
+    private boolean sharedReplyDestination = false;
+
     /**
      * Set the reply message correlator.
      * @param correlator the correlator to set
@@ -107,4 +110,20 @@ public class JmsSyncEndpointConfiguration extends JmsEndpointConfiguration imple
         this.pollingInterval = pollingInterval;
     }
 
+    /**
+     * Gets the shared reply destination setting.
+     * @return
+     */
+    public boolean isSharedReplyDestination() {
+        return sharedReplyDestination;
+    }
+
+    /**
+     * Sets the shared reply destination setting. When enabled all requests use a single long lived reply
+     * destination and consumer and send operations do not wait for the reply message.
+     * @param sharedReplyDestination
+     */
+    public void setSharedReplyDestination(boolean sharedReplyDestination) {
+        this.sharedReplyDestination = sharedReplyDestination;
+    }
 }
@@ -21,7 +21,7 @@ import com.consol.citrus.exceptions.ActionTimeoutException;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.message.Message;
 import com.consol.citrus.message.correlation.CorrelationManager;
-import com.consol.citrus.message.correlation.PollingCorrelationManager;
+import com.consol.citrus.message.correlation.SignallingCorrelationManager;
 import com.consol.citrus.messaging.ReplyConsumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,8 +32,19 @@ import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 
 import javax.jms.*;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
+ * Synchronous JMS producer sends request and waits for reply message on reply destination. By default each request
+ * uses its own reply consumer and blocks until the reply has arrived. With shared reply destination enabled the producer
+ * uses per thread sessions with cached message producers and a single long lived reply consumer on a temporary destination
+ * owned by this producer. Requests then return immediately and replies are matched to their requests via JMSCorrelationID.
+ *
  * @author Christoph Deppisch
  * @since 1.4
  */
@@ -48,6 +59,13 @@ public class JmsSyncProducer extends JmsProducer implements ReplyConsumer {
     /** Store of reply messages */
     private CorrelationManager<Message> correlationManager;
 
+    /** Per thread sessions and message producers used with shared reply destination */
+    private final ThreadLocal<ThreadSession> threadSessions = new ThreadLocal<ThreadSession>();
+    private final List<ThreadSession> openThreadSessions = new CopyOnWriteArrayList<ThreadSession>();
+
+    /** Long lived reply listener used with shared reply destination */
+    private ReplyListener replyListener;
+
     /** Endpoint configuration */
     private final JmsSyncEndpointConfiguration endpointConfiguration;
 
@@ -63,7 +81,7 @@ public class JmsSyncProducer extends JmsProducer implements ReplyConsumer {
         super(name, endpointConfiguration);
         this.endpointConfiguration = endpointConfiguration;
 
-        this.correlationManager = new PollingCorrelationManager(endpointConfiguration, "Reply message did not arrive yet");
+        this.correlationManager = new SignallingCorrelationManager(endpointConfiguration, "Reply message did not arrive yet");
     }
 
     @Override
@@ -79,6 +97,12 @@ public class JmsSyncProducer extends JmsProducer implements ReplyConsumer {
 
         context.onOutboundMessage(message);
 
+        if (endpointConfiguration.isSharedReplyDestination() &&
+                message.getHeader(org.springframework.messaging.MessageHeaders.REPLY_CHANNEL) == null) {
+            sendWithSharedReplyDestination(message, correlationKey);
+            return;
+        }
+
         MessageProducer messageProducer = null;
         MessageConsumer messageConsumer = null;
         Destination replyToDestination = null;
@@ -130,6 +154,84 @@ public class JmsSyncProducer extends JmsProducer implements ReplyConsumer {
         }
     }
 
+    /**
+     * Sends request using the session of the current thread and registers the request with the shared reply listener.
+     * Method does not wait for the reply message.
+     * @param message
+     * @param correlationKey
+     */
+    private void sendWithSharedReplyDestination(Message message, String correlationKey) {
+        try {
+            ReplyListener listener = getReplyListener();
+            ThreadSession threadSession = getThreadSession();
+
+            javax.jms.Message jmsRequest = endpointConfiguration.getMessageConverter().createJmsMessage(message, threadSession.session, endpointConfiguration);
+            endpointConfiguration.getMessageConverter().convertOutbound(jmsRequest, message, endpointConfiguration);
+
+            jmsRequest.setJMSReplyTo(listener.replyDestination);
+            threadSession.producer.send(jmsRequest);
+            listener.register(jmsRequest.getJMSMessageID(), correlationKey);
+
+            log.info("Message was successfully sent to destination: '{}'", endpointConfiguration.getDefaultDestinationName());
+            log.info("Reply message is expected on shared destination: '{}'", listener.replyDestination);
+        } catch (JMSException e) {
+            throw new CitrusRuntimeException(e);
+        }
+    }
+
+    /**
+     * Gets session and cached message producer for current thread. Creates both on first access.
+     * @return
+     * @throws JMSException
+     */
+    private ThreadSession getThreadSession() throws JMSException {
+        ThreadSession threadSession = threadSessions.get();
+
+        if (threadSession == null || !openThreadSessions.contains(threadSession)) {
+            Session threadJmsSession = openSession(connection);
+            threadSession = new ThreadSession(threadJmsSession, threadJmsSession.createProducer(getDefaultDestination(threadJmsSession)));
+            threadSessions.set(threadSession);
+            openThreadSessions.add(threadSession);
+        }
+
+        return threadSession;
+    }
+
+    /**
+     * Gets the shared reply listener. Creates connection, reply destination and reply consumer on first access.
+     * The shared reply consumer always listens on a temporary destination so it never consumes replies that belong
+     * to other clients. Configured reply destinations are ignored in this mode.
+     * @return
+     * @throws JMSException
+     */
+    private synchronized ReplyListener getReplyListener() throws JMSException {
+        if (replyListener == null) {
+            createConnection();
+
+            if (endpointConfiguration.getReplyDestination() != null || StringUtils.hasText(endpointConfiguration.getReplyDestinationName())) {
+                log.warn("Ignoring reply destination setting on endpoint '" + getName() + "' - " +
+                        "shared reply destination always uses a temporary destination");
+            }
+
+            Session listenerSession = openSession(connection);
+            Destination replyDestination;
+            if (endpointConfiguration.isPubSubDomain() && listenerSession instanceof TopicSession) {
+                replyDestination = listenerSession.createTemporaryTopic();
+            } else {
+                replyDestination = listenerSession.createTemporaryQueue();
+            }
+
+            ReplyListener listener = new ReplyListener(listenerSession, replyDestination);
+            listener.consumer = listenerSession.createConsumer(replyDestination);
+            listener.consumer.setMessageListener(listener);
+            replyListener = listener;
+
+            log.debug("Listening for reply messages on shared destination: '{}'", replyDestination);
+        }
+
+        return replyListener;
+    }
+
     @Override
     public Message receive(TestContext context) {
         return receive(correlationManager.getCorrelationKey(
@@ -152,18 +254,39 @@ public class JmsSyncProducer extends JmsProducer implements ReplyConsumer {
         Message message = correlationManager.find(selector, timeout);
 
         if (message == null) {
+            cancelPendingRequest(selector);
             throw new ActionTimeoutException("Action timeout while receiving synchronous reply message on jms destination");
         }
 
+        if (endpointConfiguration.isSharedReplyDestination()) {
+            context.onInboundMessage(message);
+        }
+
         return message;
     }
 
+    /**
+     * Removes pending request from shared reply listener when receive operation has timed out. Late replies for this
+     * request are treated as unmatched replies afterwards.
+     * @param correlationKey
+     */
+    private void cancelPendingRequest(String correlationKey) {
+        ReplyListener listener;
+        synchronized (this) {
+            listener = replyListener;
+        }
+
+        if (listener != null) {
+            listener.cancel(correlationKey);
+        }
+    }
+
     /**
      * Create new JMS connection.
      * @return connection
      * @throws JMSException
      */
-    protected void createConnection() throws JMSException {
+    protected synchronized void createConnection() throws JMSException {
         if (connection == null) {
             if (!endpointConfiguration.isPubSubDomain() && endpointConfiguration.getConnectionFactory() instanceof QueueConnectionFactory) {
                 connection = ((QueueConnectionFactory) endpointConfiguration.getConnectionFactory()).createQueueConnection();
@@ -189,16 +312,26 @@ public class JmsSyncProducer extends JmsProducer implements ReplyConsumer {
      */
     protected void createSession(Connection connection) throws JMSException {
         if (session == null) {
-            if (!endpointConfiguration.isPubSubDomain() && connection instanceof QueueConnection) {
-                session = ((QueueConnection) connection).createQueueSession(false, Session.AUTO_ACKNOWLEDGE);
-            } else if (endpointConfiguration.isPubSubDomain() && endpointConfiguration.getConnectionFactory() instanceof TopicConnectionFactory) {
-                session = ((TopicConnection) connection).createTopicSession(false, Session.AUTO_ACKNOWLEDGE);
-            } else {
-                log.warn("Not able to create a session with connection factory '" + endpointConfiguration.getConnectionFactory() + "'" +
-                        " when using setting 'publish-subscribe-domain' (=" + endpointConfiguration.isPubSubDomain() + ")");
+            session = openSession(connection);
+        }
+    }
 
-                session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
-            }
+    /**
+     * Opens new JMS session on connection.
+     * @param connection
+     * @return
+     * @throws JMSException
+     */
+    private Session openSession(Connection connection) throws JMSException {
+        if (!endpointConfiguration.isPubSubDomain() && connection instanceof QueueConnection) {
+            return ((QueueConnection) connection).createQueueSession(false, Session.AUTO_ACKNOWLEDGE);
+        } else if (endpointConfiguration.isPubSubDomain() && endpointConfiguration.getConnectionFactory() instanceof TopicConnectionFactory) {
+            return ((TopicConnection) connection).createTopicSession(false, Session.AUTO_ACKNOWLEDGE);
+        } else {
+            log.warn("Not able to create a session with connection factory '" + endpointConfiguration.getConnectionFactory() + "'" +
+                    " when using setting 'publish-subscribe-domain' (=" + endpointConfiguration.isPubSubDomain() + ")");
+
+            return connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
         }
     }
 
@@ -302,10 +435,30 @@ public class JmsSyncProducer extends JmsProducer implements ReplyConsumer {
      * Destroy method closing JMS session and connection
      */
     public void destroy() {
-        JmsUtils.closeSession(session);
+        synchronized (this) {
+            if (replyListener != null) {
+                JmsUtils.closeMessageConsumer(replyListener.consumer);
+                deleteTemporaryDestination(replyListener.replyDestination);
+                JmsUtils.closeSession(replyListener.session);
+                replyListener = null;
+            }
+        }
 
-        if (connection != null) {
-            ConnectionFactoryUtils.releaseConnection(connection, endpointConfiguration.getConnectionFactory(), true);
+        for (ThreadSession threadSession : openThreadSessions) {
+            JmsUtils.closeMessageProducer(threadSession.producer);
+            JmsUtils.closeSession(threadSession.session);
+        }
+        openThreadSessions.clear();
+        threadSessions.remove();
+
+        synchronized (this) {
+            JmsUtils.closeSession(session);
+            session = null;
+
+            if (connection != null) {
+                ConnectionFactoryUtils.releaseConnection(connection, endpointConfiguration.getConnectionFactory(), true);
+                connection = null;
+            }
         }
     }
 
@@ -324,4 +477,157 @@ public class JmsSyncProducer extends JmsProducer implements ReplyConsumer {
     public void setCorrelationManager(CorrelationManager<Message> correlationManager) {
         this.correlationManager = correlationManager;
     }
+
+    /**
+     * JMS session and cached message producer confined to a single thread.
+     */
+    private static class ThreadSession {
+        private final Session session;
+        private final MessageProducer producer;
+
+        ThreadSession(Session session, MessageProducer producer) {
+            this.session = session;
+            this.producer = producer;
+        }
+    }
+
+    /**
+     * Listener consuming all reply messages on the shared reply destination. Replies are matched to
+     * pending requests by JMSCorrelationID and stored in the correlation manager. Replies arriving before
+     * their request was registered are kept until registration, but no longer than the endpoint timeout.
+     */
+    private class ReplyListener implements MessageListener {
+        /** Maximum number of replies kept for not yet registered requests */
+        private static final int MAX_UNMATCHED_REPLIES = 1000;
+
+        private final Session session;
+        private final Destination replyDestination;
+        private MessageConsumer consumer;
+
+        /** Citrus correlation keys by JMS message id of pending requests */
+        private final Map<String, String> pendingRequests = new HashMap<String, String>();
+
+        /** Replies by JMS correlation id that did not match any pending request yet, in order of arrival */
+        private final Map<String, UnmatchedReply> unmatchedReplies = new LinkedHashMap<String, UnmatchedReply>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, UnmatchedReply> eldest) {
+                if (size() > MAX_UNMATCHED_REPLIES) {
+                    log.warn("Discarding unmatched reply message with correlation id '{}'", eldest.getKey());
+                    return true;
+                }
+
+                return false;
+            }
+        };
+
+        ReplyListener(Session session, Destination replyDestination) {
+            this.session = session;
+            this.replyDestination = replyDestination;
+        }
+
+        /**
+         * Registers request waiting for reply message.
+         * @param messageId
+         * @param correlationKey
+         */
+        void register(String messageId, String correlationKey) {
+            UnmatchedReply unmatchedReply;
+            synchronized (this) {
+                expireUnmatchedReplies();
+
+                unmatchedReply = unmatchedReplies.remove(messageId);
+                if (unmatchedReply == null) {
+                    pendingRequests.put(messageId, correlationKey);
+                    return;
+                }
+            }
+
+            storeReply(correlationKey, unmatchedReply.message);
+        }
+
+        /**
+         * Removes pending requests for given correlation key.
+         * @param correlationKey
+         */
+        synchronized void cancel(String correlationKey) {
+            Iterator<Map.Entry<String, String>> it = pendingRequests.entrySet().iterator();
+            while (it.hasNext()) {
+                if (it.next().getValue().equals(correlationKey)) {
+                    it.remove();
+                }
+            }
+        }
+
+        /**
+         * Removes unmatched replies that are older than the endpoint timeout. Must be called while holding the lock of this listener.
+         */
+        private void expireUnmatchedReplies() {
+            long expiry = System.currentTimeMillis() - endpointConfiguration.getTimeout();
+
+            Iterator<Map.Entry<String, UnmatchedReply>> it = unmatchedReplies.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<String, UnmatchedReply> entry = it.next();
+                if (entry.getValue().timestamp >= expiry) {
+                    break;
+                }
+
+                log.warn("Discarding expired unmatched reply message with correlation id '{}'", entry.getKey());
+                it.remove();
+            }
+        }
+
+        @Override
+        public void onMessage(javax.jms.Message jmsReply) {
+            String correlationId;
+            try {
+                correlationId = jmsReply.getJMSCorrelationID();
+            } catch (JMSException e) {
+                log.error("Failed to read correlation id of reply message", e);
+                return;
+            }
+
+            if (correlationId == null) {
+                log.warn("Ignoring reply message without JMSCorrelationID on destination: '{}'", replyDestination);
+                return;
+            }
+
+            String correlationKey;
+            synchronized (this) {
+                expireUnmatchedReplies();
+
+                correlationKey = pendingRequests.remove(correlationId);
+                if (correlationKey == null) {
+                    unmatchedReplies.put(correlationId, new UnmatchedReply(jmsReply));
+                    return;
+                }
+            }
+
+            storeReply(correlationKey, jmsReply);
+        }
+
+        /**
+         * Converts reply message and stores it in correlation manager.
+         * @param correlationKey
+         * @param jmsReply
+         */
+        private void storeReply(String correlationKey, javax.jms.Message jmsReply) {
+            Message responseMessage = endpointConfiguration.getMessageConverter().convertInbound(jmsReply, endpointConfiguration);
+
+            log.info("Received reply message on destination: '{}'", replyDestination);
+
+            correlationManager.store(correlationKey, responseMessage);
+        }
+
+        /**
+         * Reply message with its time of arrival.
+         */
+        private class UnmatchedReply {
+            private final javax.jms.Message message;
+            private final long timestamp = System.currentTimeMillis();
+
+            UnmatchedReply(javax.jms.Message message) {
+                this.message = message;
+            }
+        }
+    }
 }
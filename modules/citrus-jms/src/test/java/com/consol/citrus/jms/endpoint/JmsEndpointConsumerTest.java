@@ -23,6 +23,7 @@ import com.consol.citrus.message.Message;
 import com.consol.citrus.testng.AbstractTestNGUnitTest;
 import org.easymock.EasyMock;
 import org.springframework.jms.core.JmsTemplate;
+import org.springframework.jms.core.SessionCallback;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -56,12 +57,9 @@ public class JmsEndpointConsumerTest extends AbstractTestNGUnitTest {
 
         reset(jmsTemplate, connectionFactory, destination);
 
-        jmsTemplate.setReceiveTimeout(5000L);
-        expectLastCall().once();
-        
         expect(jmsTemplate.getDefaultDestination()).andReturn(destination).atLeastOnce();
         
-        expect(jmsTemplate.receive()).andReturn(new TextMessageImpl(controlMessage.getPayload(String.class), controlHeaders));
+        expect(jmsTemplate.execute(anyObject(SessionCallback.class), eq(true))).andReturn(new TextMessageImpl(controlMessage.getPayload(String.class), controlHeaders));
 
         replay(jmsTemplate, connectionFactory, destination);
         
@@ -311,4 +309,93 @@ public class JmsEndpointConsumerTest extends AbstractTestNGUnitTest {
         
         verify(jmsTemplate, connectionFactory, destination, connection, session, messageConsumer);
     }
+
+    @Test
+    public void testWithCachedConsumer() throws Exception {
+        JmsEndpoint endpoint = new JmsEndpoint();
+        endpoint.getEndpointConfiguration().setConnectionFactory(connectionFactory);
+
+        endpoint.getEndpointConfiguration().setDestination(destination);
+        endpoint.getEndpointConfiguration().setCacheConsumers(true);
+
+        reset(jmsTemplate, connectionFactory, destination, connection, session, messageConsumer);
+
+        expect(connectionFactory.createConnection()).andReturn(connection).once();
+        connection.start();
+        expectLastCall().once();
+        expect(connection.createSession(false, Session.AUTO_ACKNOWLEDGE)).andReturn(session).once();
+        expect(session.getTransacted()).andReturn(false).times(3);
+        expect(session.getAcknowledgeMode()).andReturn(Session.AUTO_ACKNOWLEDGE).times(3);
+
+        expect(session.createConsumer(destination, null)).andReturn(messageConsumer).once();
+        expect(messageConsumer.receive(1000L)).andReturn(new TextMessageImpl("<TestRequest><Message>Hello World!</Message></TestRequest>", new HashMap<String, Object>())).once();
+        expect(messageConsumer.receive(1000L)).andReturn(new TextMessageImpl("<TestRequest><Message>Hello Citrus!</Message></TestRequest>", new HashMap<String, Object>())).once();
+        expect(messageConsumer.receive(100L)).andReturn(null).once();
+
+        messageConsumer.close();
+        expectLastCall().once();
+        session.close();
+        expectLastCall().once();
+        connection.stop();
+        expectLastCall().once();
+        connection.close();
+        expectLastCall().once();
+
+        replay(jmsTemplate, connectionFactory, destination, connection, session, messageConsumer);
+
+        Message receivedMessage = endpoint.createConsumer().receive(context, 1000L);
+        Assert.assertEquals(receivedMessage.getPayload(), "<TestRequest><Message>Hello World!</Message></TestRequest>");
+
+        receivedMessage = endpoint.createConsumer().receive(context, 1000L);
+        Assert.assertEquals(receivedMessage.getPayload(), "<TestRequest><Message>Hello Citrus!</Message></TestRequest>");
+
+        try {
+            endpoint.createConsumer().receive(context, 100L);
+            Assert.fail("Missing timeout exception");
+        } catch (ActionTimeoutException e) {
+            Assert.assertTrue(e.getMessage().contains("Action timed out"));
+        }
+
+        endpoint.destroy();
+
+        verify(jmsTemplate, connectionFactory, destination, connection, session, messageConsumer);
+    }
+
+    @Test
+    public void testWithCachedConsumerAndMessageSelector() throws Exception {
+        JmsEndpoint endpoint = new JmsEndpoint();
+        endpoint.getEndpointConfiguration().setConnectionFactory(connectionFactory);
+
+        endpoint.getEndpointConfiguration().setDestination(destination);
+        endpoint.getEndpointConfiguration().setCacheConsumers(true);
+
+        reset(jmsTemplate, connectionFactory, destination, connection, session, messageConsumer);
+
+        expect(connectionFactory.createConnection()).andReturn(connection).times(2);
+        connection.start();
+        expectLastCall().times(2);
+        expect(connection.createSession(anyBoolean(), anyInt())).andReturn(session).times(2);
+        expect(session.getTransacted()).andReturn(false).times(2);
+        expect(session.getAcknowledgeMode()).andReturn(Session.AUTO_ACKNOWLEDGE).times(2);
+
+        expect(session.createConsumer(destination, "CorrelationId = '1'")).andReturn(messageConsumer).once();
+        expect(session.createConsumer(destination, "CorrelationId = '2'")).andReturn(messageConsumer).once();
+        expect(messageConsumer.receive(1000L)).andReturn(new TextMessageImpl("<TestRequest><Message>Hello World!</Message></TestRequest>", new HashMap<String, Object>())).times(2);
+
+        messageConsumer.close();
+        expectLastCall().times(2);
+        session.close();
+        expectLastCall().times(2);
+        connection.close();
+        expectLastCall().times(2);
+
+        replay(jmsTemplate, connectionFactory, destination, connection, session, messageConsumer);
+
+        endpoint.createConsumer().receive("CorrelationId = '1'", context, 1000L);
+        endpoint.createConsumer().receive("CorrelationId = '2'", context, 1000L);
+
+        endpoint.destroy();
+
+        verify(jmsTemplate, connectionFactory, destination, connection, session, messageConsumer);
+    }
 }
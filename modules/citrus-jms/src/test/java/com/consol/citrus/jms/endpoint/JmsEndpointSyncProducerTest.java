@@ -23,6 +23,7 @@ import com.consol.citrus.message.Message;
 import com.consol.citrus.message.correlation.ObjectStore;
 import com.consol.citrus.testng.AbstractTestNGUnitTest;
 import org.easymock.EasyMock;
+import org.easymock.IAnswer;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -247,6 +248,192 @@ public class JmsEndpointSyncProducerTest extends AbstractTestNGUnitTest {
         verify(connectionFactory, destination, connection, session, messageConsumer, messageProducer);
     }
     
+    @Test
+    public void testSendMessageWithSharedReplyDestination() throws JMSException {
+        JmsSyncEndpoint endpoint = new JmsSyncEndpoint();
+        endpoint.getEndpointConfiguration().setConnectionFactory(connectionFactory);
+
+        endpoint.getEndpointConfiguration().setDestination(destination);
+        endpoint.getEndpointConfiguration().setSharedReplyDestination(true);
+
+        final Message message = new DefaultMessage("<TestRequest><Message>Hello World!</Message></TestRequest>");
+
+        TextMessage jmsResponse = new TextMessageImpl("<TestResponse>Hello World!</TestResponse>", new HashMap<String, Object>()) {
+            @Override
+            public String getJMSCorrelationID() throws JMSException {
+                return "123456789";
+            }
+        };
+
+        final MessageListener[] replyListener = new MessageListener[1];
+
+        reset(connectionFactory, destination, connection, session, messageConsumer, messageProducer, tempReplyQueue);
+
+        expect(connectionFactory.createConnection()).andReturn(connection).once();
+        connection.start();
+        expectLastCall().once();
+        expect(connection.createSession(anyBoolean(), anyInt())).andReturn(session).times(2);
+
+        expect(session.createTemporaryQueue()).andReturn(tempReplyQueue).once();
+        expect(session.createConsumer(tempReplyQueue)).andReturn(messageConsumer).once();
+        messageConsumer.setMessageListener(anyObject(MessageListener.class));
+        expectLastCall().andAnswer(new IAnswer<Object>() {
+            @Override
+            public Object answer() throws Throwable {
+                replyListener[0] = (MessageListener) getCurrentArguments()[0];
+                return null;
+            }
+        }).once();
+
+        expect(session.createProducer(destination)).andReturn(messageProducer).once();
+        messageProducer.send((TextMessage)anyObject());
+        expectLastCall().times(2);
+
+        expect(session.createTextMessage("<TestRequest><Message>Hello World!</Message></TestRequest>")).andReturn(
+                new TextMessageImpl("<TestRequest><Message>Hello World!</Message></TestRequest>", new HashMap<String, Object>())).times(2);
+
+        replay(connectionFactory, destination, connection, session, messageConsumer, messageProducer, tempReplyQueue);
+
+        endpoint.createProducer().send(message, context);
+        endpoint.createProducer().send(message, context);
+
+        replyListener[0].onMessage(jmsResponse);
+
+        Message reply = endpoint.createConsumer().receive(context, 1000L);
+        Assert.assertEquals(reply.getPayload(), "<TestResponse>Hello World!</TestResponse>");
+
+        verify(connectionFactory, destination, connection, session, messageConsumer, messageProducer, tempReplyQueue);
+    }
+
+    @Test
+    public void testSharedReplyDestinationDiscardsLateAndExpiredReplies() throws Exception {
+        JmsSyncEndpoint endpoint = new JmsSyncEndpoint();
+        endpoint.getEndpointConfiguration().setConnectionFactory(connectionFactory);
+
+        endpoint.getEndpointConfiguration().setDestination(destination);
+        endpoint.getEndpointConfiguration().setSharedReplyDestination(true);
+        endpoint.getEndpointConfiguration().setTimeout(100L);
+
+        TextMessage jmsResponse = new TextMessageImpl("<TestResponse>Hello World!</TestResponse>", new HashMap<String, Object>()) {
+            @Override
+            public String getJMSCorrelationID() throws JMSException {
+                return "123456789";
+            }
+        };
+
+        final MessageListener[] replyListener = new MessageListener[1];
+
+        reset(connectionFactory, destination, connection, session, messageConsumer, messageProducer, tempReplyQueue);
+
+        expect(connectionFactory.createConnection()).andReturn(connection).once();
+        connection.start();
+        expectLastCall().once();
+        expect(connection.createSession(anyBoolean(), anyInt())).andReturn(session).times(2);
+
+        expect(session.createTemporaryQueue()).andReturn(tempReplyQueue).once();
+        expect(session.createConsumer(tempReplyQueue)).andReturn(messageConsumer).once();
+        messageConsumer.setMessageListener(anyObject(MessageListener.class));
+        expectLastCall().andAnswer(new IAnswer<Object>() {
+            @Override
+            public Object answer() throws Throwable {
+                replyListener[0] = (MessageListener) getCurrentArguments()[0];
+                return null;
+            }
+        }).once();
+
+        expect(session.createProducer(destination)).andReturn(messageProducer).once();
+        messageProducer.send((TextMessage)anyObject());
+        expectLastCall().times(2);
+
+        expect(session.createTextMessage("<TestRequest><Message>Hello World!</Message></TestRequest>")).andReturn(
+                new TextMessageImpl("<TestRequest><Message>Hello World!</Message></TestRequest>", new HashMap<String, Object>())).times(2);
+
+        replay(connectionFactory, destination, connection, session, messageConsumer, messageProducer, tempReplyQueue);
+
+        endpoint.createProducer().send(new DefaultMessage("<TestRequest><Message>Hello World!</Message></TestRequest>"), context);
+
+        try {
+            endpoint.createConsumer().receive(context, 100L);
+            Assert.fail("Missing timeout exception");
+        } catch (ActionTimeoutException e) {
+            Assert.assertTrue(e.getMessage().contains("Action timeout"));
+        }
+
+        // late reply for timed out request is not stored for this request anymore
+        replyListener[0].onMessage(jmsResponse);
+
+        try {
+            endpoint.createConsumer().receive(context, 100L);
+            Assert.fail("Missing timeout exception");
+        } catch (ActionTimeoutException e) {
+            Assert.assertTrue(e.getMessage().contains("Action timeout"));
+        }
+
+        Thread.sleep(200L);
+
+        // unmatched reply has expired and does not match new request with same message id
+        endpoint.createProducer().send(new DefaultMessage("<TestRequest><Message>Hello World!</Message></TestRequest>"), context);
+
+        try {
+            endpoint.createConsumer().receive(context, 100L);
+            Assert.fail("Missing timeout exception");
+        } catch (ActionTimeoutException e) {
+            Assert.assertTrue(e.getMessage().contains("Action timeout"));
+        }
+
+        verify(connectionFactory, destination, connection, session, messageConsumer, messageProducer, tempReplyQueue);
+    }
+
+    @Test
+    public void testSharedReplyDestinationIgnoresConfiguredReplyDestination() throws JMSException {
+        JmsSyncEndpoint endpoint = new JmsSyncEndpoint();
+        endpoint.getEndpointConfiguration().setConnectionFactory(connectionFactory);
+
+        endpoint.getEndpointConfiguration().setDestination(destination);
+        endpoint.getEndpointConfiguration().setReplyDestination(replyDestinationQueue);
+        endpoint.getEndpointConfiguration().setSharedReplyDestination(true);
+
+        final Message message = new DefaultMessage("<TestRequest><Message>Hello World!</Message></TestRequest>");
+
+        reset(connectionFactory, destination, connection, session, messageConsumer, messageProducer, tempReplyQueue, replyDestinationQueue);
+
+        expect(connectionFactory.createConnection()).andReturn(connection).once();
+        connection.start();
+        expectLastCall().once();
+        expect(connection.createSession(anyBoolean(), anyInt())).andReturn(session).times(2);
+
+        expect(session.createTemporaryQueue()).andReturn(tempReplyQueue).once();
+        expect(session.createConsumer(tempReplyQueue)).andReturn(messageConsumer).once();
+        messageConsumer.setMessageListener(anyObject(MessageListener.class));
+        expectLastCall().once();
+
+        expect(session.createProducer(destination)).andReturn(messageProducer).once();
+        messageProducer.send((TextMessage)anyObject());
+        expectLastCall().once();
+
+        expect(session.createTextMessage("<TestRequest><Message>Hello World!</Message></TestRequest>")).andReturn(
+                new TextMessageImpl("<TestRequest><Message>Hello World!</Message></TestRequest>", new HashMap<String, Object>())).once();
+
+        messageConsumer.close();
+        expectLastCall().once();
+        tempReplyQueue.delete();
+        expectLastCall().once();
+        messageProducer.close();
+        expectLastCall().once();
+        session.close();
+        expectLastCall().times(2);
+        connection.close();
+        expectLastCall().once();
+
+        replay(connectionFactory, destination, connection, session, messageConsumer, messageProducer, tempReplyQueue, replyDestinationQueue);
+
+        JmsSyncProducer producer = (JmsSyncProducer) endpoint.createProducer();
+        producer.send(message, context);
+        producer.destroy();
+
+        verify(connectionFactory, destination, connection, session, messageConsumer, messageProducer, tempReplyQueue, replyDestinationQueue);
+    }
+
     @Test
     public void testSendEmptyMessage() throws JMSException {
         JmsSyncEndpoint endpoint = new JmsSyncEndpoint();
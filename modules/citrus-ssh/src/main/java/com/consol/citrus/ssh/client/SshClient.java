@@ -22,15 +22,19 @@ import com.consol.citrus.exceptions.ActionTimeoutException;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.message.Message;
 import com.consol.citrus.message.correlation.CorrelationManager;
-import com.consol.citrus.message.correlation.PollingCorrelationManager;
+import com.consol.citrus.message.correlation.SignallingCorrelationManager;
 import com.consol.citrus.messaging.*;
 import com.consol.citrus.ssh.model.SshRequest;
 import com.consol.citrus.ssh.model.SshResponse;
 import com.jcraft.jsch.*;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.util.FileCopyUtils;
 import org.springframework.util.StringUtils;
 
 import java.io.*;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Ssh client connects to ssh server and sends commands to that server.
@@ -38,15 +42,15 @@ import java.io.*;
  * @author Roland Huss, Christoph Deppisch
  * @since 1.4
  */
-public class SshClient extends AbstractEndpoint implements Producer, ReplyConsumer {
+public class SshClient extends AbstractEndpoint implements Producer, ReplyConsumer, DisposableBean {
 
     public static final String CLASSPATH_PREFIX = "classpath:";
 
     /** Store of reply messages */
     private CorrelationManager<Message> correlationManager;
 
-    // Session for the SSH communication
-    private Session session;
+    // Pooled sessions per remote user
+    private final Map<String, List<PooledSession>> sessionPool = new HashMap<String, List<PooledSession>>();
 
     // SSH implementation
     private JSch jsch = new JSch();
@@ -65,7 +69,7 @@ public class SshClient extends AbstractEndpoint implements Producer, ReplyConsum
     protected SshClient(SshEndpointConfiguration endpointConfiguration) {
         super(endpointConfiguration);
 
-        this.correlationManager = new PollingCorrelationManager(endpointConfiguration, "Reply message did not arrive yet");
+        this.correlationManager = new SignallingCorrelationManager(endpointConfiguration, "Reply message did not arrive yet");
     }
 
     @Override
@@ -92,13 +96,13 @@ public class SshClient extends AbstractEndpoint implements Producer, ReplyConsum
         }
 
         String rUser = getRemoteUser(message);
-        connect(rUser);
+        PooledSession session = getSession(rUser);
         ChannelExec channelExec = null;
-        ByteArrayOutputStream outStream = new ByteArrayOutputStream();
+        CompletionAwareOutputStream outStream = new CompletionAwareOutputStream();
         ByteArrayOutputStream errStream = new ByteArrayOutputStream();
         int rc = 0;
         try {
-            channelExec = openChannelExec();
+            channelExec = openChannelExec(session.session);
             channelExec.setErrStream(errStream);
             channelExec.setOutputStream(outStream);
             channelExec.setCommand(request.getCommand());
@@ -106,13 +110,13 @@ public class SshClient extends AbstractEndpoint implements Producer, ReplyConsum
             if (request.getStdin() != null) {
                 sendStandardInput(channelExec, request.getStdin());
             }
-            waitCommandToFinish(channelExec);
+            waitCommandToFinish(channelExec, outStream);
             rc = channelExec.getExitStatus();
         } finally {
             if (channelExec != null && channelExec.isConnected()) {
                 channelExec.disconnect();
             }
-            disconnect();
+            releaseSession(session);
         }
         SshResponse sshResp = new SshResponse(outStream.toString(),errStream.toString(),rc);
         Message response = getEndpointConfiguration().getMessageConverter().convertInbound(sshResp, getEndpointConfiguration())
@@ -159,38 +163,147 @@ public class SshClient extends AbstractEndpoint implements Producer, ReplyConsum
         return this;
     }
 
-    private void connect(String rUser) {
-        if (session == null || !session.isConnected()) {
-            try {
-                if (StringUtils.hasText(getEndpointConfiguration().getPrivateKeyPath())) {
-                    jsch.addIdentity(getPrivateKeyPath(), getEndpointConfiguration().getPrivateKeyPassword());
+    /**
+     * Gets session for remote user. When session pooling is enabled idle pooled sessions are reused and exec channels
+     * get multiplexed over pooled sessions. New sessions are only opened when all pooled sessions are busy and pool
+     * has not reached its maximum size yet. New sessions reserve their pool slot under lock and connect outside
+     * of the lock so slow handshakes do not block other threads. Without pooling a new session is opened for each command.
+     * @param rUser
+     * @return
+     */
+    private PooledSession getSession(String rUser) {
+        if (getEndpointConfiguration().getSessionPoolSize() <= 0) {
+            PooledSession session = new PooledSession();
+            session.session = connect(rUser);
+            return session;
+        }
+
+        PooledSession reserved;
+        synchronized (sessionPool) {
+            evictIdleSessions();
+
+            List<PooledSession> sessions = sessionPool.get(rUser);
+            if (sessions == null) {
+                sessions = new ArrayList<PooledSession>();
+                sessionPool.put(rUser, sessions);
+            }
+
+            PooledSession leastBusy = null;
+            for (Iterator<PooledSession> it = sessions.iterator(); it.hasNext();) {
+                PooledSession pooled = it.next();
+                if (pooled.session == null) {
+                    continue;
+                } else if (!pooled.session.isConnected()) {
+                    it.remove();
+                } else if (leastBusy == null || pooled.activeChannels < leastBusy.activeChannels) {
+                    leastBusy = pooled;
                 }
-            } catch (JSchException e) {
-                throw new CitrusRuntimeException("Cannot add private key " + getEndpointConfiguration().getPrivateKeyPath() + ": " + e,e);
-            } catch (IOException e) {
-                throw new CitrusRuntimeException("Cannot open private key file " + getEndpointConfiguration().getPrivateKeyPath() + ": " + e,e);
             }
-            try {
-                session = jsch.getSession(rUser, getEndpointConfiguration().getHost(), getEndpointConfiguration().getPort());
-                if (StringUtils.hasText(getEndpointConfiguration().getPassword())) {
-                    session.setUserInfo(new UserInfoWithPlainPassword(getEndpointConfiguration().getPassword()));
-                    session.setPassword(getEndpointConfiguration().getPassword());
+
+            if (leastBusy != null && (leastBusy.activeChannels == 0 || sessions.size() >= getEndpointConfiguration().getSessionPoolSize())) {
+                leastBusy.activeChannels++;
+                return leastBusy;
+            }
+
+            reserved = new PooledSession();
+            reserved.activeChannels++;
+            sessions.add(reserved);
+        }
+
+        try {
+            reserved.session = connect(rUser);
+        } catch (RuntimeException e) {
+            synchronized (sessionPool) {
+                List<PooledSession> sessions = sessionPool.get(rUser);
+                if (sessions != null) {
+                    sessions.remove(reserved);
                 }
-                session.setConfig("StrictHostKeyChecking", getEndpointConfiguration().isStrictHostChecking() ? "yes" : "no");
-                session.connect();
-            } catch (JSchException e) {
-                throw new CitrusRuntimeException("Cannot connect via SSH: " + e,e);
             }
+            throw e;
         }
+
+        return reserved;
     }
 
-    private void disconnect() {
+    /**
+     * Releases session after command has finished. Session is disconnected when pooling is disabled.
+     * @param session
+     */
+    private void releaseSession(PooledSession session) {
+        if (getEndpointConfiguration().getSessionPoolSize() <= 0) {
+            disconnect(session.session);
+            return;
+        }
+
+        synchronized (sessionPool) {
+            session.activeChannels--;
+            session.lastUsed = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * Disconnects pooled sessions that have been idle longer than the session idle timeout.
+     */
+    private void evictIdleSessions() {
+        long idleSince = System.currentTimeMillis() - getEndpointConfiguration().getSessionIdleTimeout();
+
+        for (List<PooledSession> sessions : sessionPool.values()) {
+            for (Iterator<PooledSession> it = sessions.iterator(); it.hasNext();) {
+                PooledSession pooled = it.next();
+                if (pooled.session != null && pooled.activeChannels == 0 && pooled.lastUsed < idleSince) {
+                    disconnect(pooled.session);
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        synchronized (sessionPool) {
+            for (List<PooledSession> sessions : sessionPool.values()) {
+                for (PooledSession pooled : sessions) {
+                    if (pooled.session != null) {
+                        disconnect(pooled.session);
+                    }
+                }
+            }
+
+            sessionPool.clear();
+        }
+    }
+
+    private Session connect(String rUser) {
+        try {
+            if (StringUtils.hasText(getEndpointConfiguration().getPrivateKeyPath())) {
+                jsch.addIdentity(getPrivateKeyPath(), getEndpointConfiguration().getPrivateKeyPassword());
+            }
+        } catch (JSchException e) {
+            throw new CitrusRuntimeException("Cannot add private key " + getEndpointConfiguration().getPrivateKeyPath() + ": " + e,e);
+        } catch (IOException e) {
+            throw new CitrusRuntimeException("Cannot open private key file " + getEndpointConfiguration().getPrivateKeyPath() + ": " + e,e);
+        }
+        try {
+            Session session = jsch.getSession(rUser, getEndpointConfiguration().getHost(), getEndpointConfiguration().getPort());
+            if (StringUtils.hasText(getEndpointConfiguration().getPassword())) {
+                session.setUserInfo(new UserInfoWithPlainPassword(getEndpointConfiguration().getPassword()));
+                session.setPassword(getEndpointConfiguration().getPassword());
+            }
+            session.setConfig("StrictHostKeyChecking", getEndpointConfiguration().isStrictHostChecking() ? "yes" : "no");
+            session.connect();
+            return session;
+        } catch (JSchException e) {
+            throw new CitrusRuntimeException("Cannot connect via SSH: " + e,e);
+        }
+    }
+
+    private void disconnect(Session session) {
         if (session.isConnected()) {
             session.disconnect();
         }
     }
 
-    private ChannelExec openChannelExec() throws CitrusRuntimeException {
+    private ChannelExec openChannelExec(Session session) throws CitrusRuntimeException {
         ChannelExec channelExec;
         try {
             channelExec = (ChannelExec) session.openChannel("exec");
@@ -200,19 +313,35 @@ public class SshClient extends AbstractEndpoint implements Producer, ReplyConsum
         return channelExec;
     }
 
-    private void waitCommandToFinish(ChannelExec pCh) {
+    /**
+     * Waits for command to finish. Channel output stream gets closed by JSch as soon as remote side has sent
+     * end of file so waiting thread blocks on that signal instead of polling the channel status. JSch offers no
+     * notification for the exit status which servers send right after end of file, so exit status or channel
+     * close is awaited with short increasing pauses afterwards.
+     * @param pCh
+     * @param outStream
+     */
+    private void waitCommandToFinish(ChannelExec pCh, CompletionAwareOutputStream outStream) {
         final long until = System.currentTimeMillis() + getEndpointConfiguration().getCommandTimeout();
 
         try {
-            while (!pCh.isClosed() && System.currentTimeMillis() < until) {
-                Thread.sleep(250);
+            if (!outStream.completed.await(getEndpointConfiguration().getCommandTimeout(), TimeUnit.MILLISECONDS) && !pCh.isClosed()) {
+                throw new CitrusRuntimeException("Timeout: Channel not finished within " + getEndpointConfiguration().getCommandTimeout() + " ms");
             }
-        } catch (InterruptedException e) {
-            throw new RuntimeException("Interrupted", e);
-        }
 
-        if (!pCh.isClosed()) {
-            throw new CitrusRuntimeException("Timeout: Channel not finished within " + getEndpointConfiguration().getCommandTimeout() + " ms");
+            long pause = 1L;
+            while (pCh.getExitStatus() == -1 && !pCh.isClosed()) {
+                long remaining = until - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    throw new CitrusRuntimeException("Timeout: Channel not finished within " + getEndpointConfiguration().getCommandTimeout() + " ms");
+                }
+
+                Thread.sleep(Math.min(pause, remaining));
+                pause = Math.min(pause * 2, 50L);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CitrusRuntimeException("Interrupted while waiting for SSH command to finish", e);
         }
     }
 
@@ -299,6 +428,25 @@ public class SshClient extends AbstractEndpoint implements Producer, ReplyConsum
         }
     }
 
+    // Session with number of active exec channels and last usage time
+    // Session is null while the reserved pool slot is still connecting
+    private static class PooledSession {
+        private volatile Session session;
+        private int activeChannels = 0;
+        private long lastUsed = System.currentTimeMillis();
+    }
+
+    // Output stream signalling when closed by JSch on remote end of file
+    private static class CompletionAwareOutputStream extends ByteArrayOutputStream {
+        private final CountDownLatch completed = new CountDownLatch(1);
+
+        @Override
+        public void close() throws IOException {
+            super.close();
+            completed.countDown();
+        }
+    }
+
     // UserInfo which simply returns a plain password
     private static class UserInfoWithPlainPassword implements UserInfo {
         private String password;
@@ -57,6 +57,12 @@ public class SshEndpointConfiguration extends AbstractPollableEndpointConfigurat
      /** Timeout how long to wait for a connection to connect */
     private int connectionTimeout = 1000 * 60 * 1; // 1 minute
 
+    /** Maximum number of pooled sessions per user, zero disables session pooling */
+    private int sessionPoolSize = 0;
+
+    /** Idle time in milliseconds after which pooled sessions are closed */
+    private long sessionIdleTimeout = 1000 * 60 * 1; // 1 minute
+
     /** Reply message correlator */
     private MessageCorrelator correlator = new DefaultMessageCorrelator();
 
@@ -226,6 +232,38 @@ public class SshEndpointConfiguration extends AbstractPollableEndpointConfigurat
         this.connectionTimeout = connectionTimeout;
     }
 
+    /**
+     * Gets the maximum number of pooled sessions per user.
+     * @return
+     */
+    public int getSessionPoolSize() {
+        return sessionPoolSize;
+    }
+
+    /**
+     * Sets the maximum number of pooled sessions per user.
+     * @param sessionPoolSize
+     */
+    public void setSessionPoolSize(int sessionPoolSize) {
+        this.sessionPoolSize = sessionPoolSize;
+    }
+
+    /**
+     * Gets the idle timeout of pooled sessions.
+     * @return
+     */
+    public long getSessionIdleTimeout() {
+        return sessionIdleTimeout;
+    }
+
+    /**
+     * Sets the idle timeout of pooled sessions.
+     * @param sessionIdleTimeout
+     */
+    public void setSessionIdleTimeout(long sessionIdleTimeout) {
+        this.sessionIdleTimeout = sessionIdleTimeout;
+    }
+
     /**
      * Gets the message correlator.
      * @return
@@ -23,6 +23,7 @@ import com.consol.citrus.ssh.model.SshMarshaller;
 import com.consol.citrus.ssh.model.SshRequest;
 import com.consol.citrus.testng.AbstractTestNGUnitTest;
 import com.jcraft.jsch.*;
+import org.easymock.IAnswer;
 import org.easymock.IArgumentMatcher;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.xml.transform.StringResult;
@@ -163,6 +164,29 @@ public class SshClientTest extends AbstractTestNGUnitTest {
         standardChannelPrepAndSend();
     }
 
+    @Test
+    public void withSessionPool() throws Exception {
+        client.getEndpointConfiguration().setSessionPoolSize(1);
+        strictHostChecking(false, null);
+        session.connect();
+        expect(session.isConnected()).andReturn(true).anyTimes();
+        expect(session.openChannel("exec")).andReturn(channel).times(2);
+
+        prepareChannel(COMMAND, 0);
+        channel.disconnect();
+        prepareChannel(COMMAND, 0);
+        channel.disconnect();
+
+        session.disconnect();
+        replay(jsch, session, channel);
+
+        send();
+        send();
+
+        client.destroy();
+        verify(jsch, session);
+    }
+
     private void send() {
         client.send(createMessage(COMMAND, STDIN), context);
     }
@@ -175,15 +199,30 @@ public class SshClientTest extends AbstractTestNGUnitTest {
     }
 
     private void prepareChannel(String pCommand, int pExitStatus) throws JSchException, IOException {
+        final OutputStream[] channelOutput = new OutputStream[1];
+
         channel.setErrStream((OutputStream) anyObject());
         channel.setOutputStream((OutputStream) anyObject());
+        expectLastCall().andAnswer(new IAnswer<Object>() {
+            @Override
+            public Object answer() throws Throwable {
+                channelOutput[0] = (OutputStream) getCurrentArguments()[0];
+                return null;
+            }
+        });
         channel.setInputStream((InputStream) anyObject());
         channel.setCommand(pCommand);
         channel.connect(CONNECTTION_TIMEOUT);
+        expectLastCall().andAnswer(new IAnswer<Object>() {
+            @Override
+            public Object answer() throws Throwable {
+                // JSch closes channel output stream on remote end of file
+                channelOutput[0].close();
+                return null;
+            }
+        });
         expect(channel.getOutputStream()).andReturn(outStream);
-        expect(channel.isClosed()).andReturn(false);
-        expect(channel.isClosed()).andReturn(true).times(2);
-        expect(channel.getExitStatus()).andReturn(pExitStatus);
+        expect(channel.getExitStatus()).andReturn(pExitStatus).times(2);
         expect(channel.isConnected()).andReturn(true);
     }
 
@@ -18,6 +18,7 @@ package com.consol.citrus.vertx.endpoint;
 
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.exceptions.ActionTimeoutException;
+import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.message.Message;
 import com.consol.citrus.messaging.AbstractMessageConsumer;
 import org.slf4j.Logger;
@@ -25,7 +26,14 @@ import org.slf4j.LoggerFactory;
 import org.vertx.java.core.Handler;
 import org.vertx.java.core.Vertx;
 
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
+ * Consumer subscribes to the event bus address as soon as it is created and keeps the subscription for its whole lifetime.
+ * Messages arriving between receive actions are buffered in a bounded inbound queue. Messages arriving while
+ * the queue is full are dropped and counted.
+ *
  * @author Christoph Deppisch
  * @since 1.4.1
  */
@@ -37,12 +45,12 @@ public class VertxConsumer extends AbstractMessageConsumer {
     /** Endpoint configuration */
     private final VertxEndpointConfiguration endpointConfiguration;
 
+    /** Long lived event bus subscription, created with this consumer */
+    private VertxMessageQueueHandler subscription;
+
     /** Logger */
     private static Logger log = LoggerFactory.getLogger(VertxConsumer.class);
 
-    /** Retry logger */
-    private static final Logger RETRY_LOG = LoggerFactory.getLogger("com.consol.citrus.RetryLogger");
-
     /**
      * Default constructor using endpoint.
      * @param name
@@ -53,40 +61,28 @@ public class VertxConsumer extends AbstractMessageConsumer {
         super(name, endpointConfiguration);
         this.vertx = vertx;
         this.endpointConfiguration = endpointConfiguration;
+
+        subscribe();
     }
 
     @Override
     public Message receive(TestContext context, long timeout) {
         log.info("Receiving message on Vert.x event bus address: '" + endpointConfiguration.getAddress() + "'");
 
-        VertxSingleMessageHandler vertxMessageHandler = new VertxSingleMessageHandler();
-        vertx.eventBus().registerHandler(endpointConfiguration.getAddress(), vertxMessageHandler);
-
-        long timeLeft = timeout;
-        Message message = endpointConfiguration.getMessageConverter().convertInbound(vertxMessageHandler.getMessage(), endpointConfiguration);
-
-        while (message == null && timeLeft > 0) {
-            timeLeft -= endpointConfiguration.getPollingInterval();
-
-            if (RETRY_LOG.isDebugEnabled()) {
-                RETRY_LOG.debug(String.format("Waiting for message on Vert.x event bus address '%s' - retrying in %s ms",
-                        endpointConfiguration.getAddress(),
-                        (timeLeft > 0 ? endpointConfiguration.getPollingInterval() : endpointConfiguration.getPollingInterval() + timeLeft)));
-            }
-
-            try {
-                Thread.sleep(timeLeft > 0 ? endpointConfiguration.getPollingInterval() : endpointConfiguration.getPollingInterval() + timeLeft);
-            } catch (InterruptedException e) {
-                RETRY_LOG.warn("Thread interrupted while waiting for message on Vert.x event bus", e);
-            }
-
-            message = endpointConfiguration.getMessageConverter().convertInbound(vertxMessageHandler.getMessage(), endpointConfiguration);
+        org.vertx.java.core.eventbus.Message vertxMessage;
+        try {
+            vertxMessage = subscribe().queue.poll(timeout, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CitrusRuntimeException("Interrupted while waiting for message on Vert.x event bus", e);
         }
 
-        if (message == null) {
+        if (vertxMessage == null) {
             throw new ActionTimeoutException("Action timed out while receiving message on Vert.x event bus address '" + endpointConfiguration.getAddress() + "'");
         }
 
+        Message message = endpointConfiguration.getMessageConverter().convertInbound(vertxMessage, endpointConfiguration);
+
         log.info("Received message on Vert.x event bus address: '" + endpointConfiguration.getAddress() + "'");
 
         context.onInboundMessage(message);
@@ -95,29 +91,76 @@ public class VertxConsumer extends AbstractMessageConsumer {
     }
 
     /**
-     * Simple Vert.x message handler stores first message received on event bus and ignores all further messages
-     * until subscription is unregistered automatically.
+     * Registers message handler on event bus address if not already done. Consumer subscribes again after it has been destroyed.
+     * @return
      */
-    private class VertxSingleMessageHandler implements Handler<org.vertx.java.core.eventbus.Message> {
-        private org.vertx.java.core.eventbus.Message message;
+    private synchronized VertxMessageQueueHandler subscribe() {
+        if (subscription == null) {
+            subscription = new VertxMessageQueueHandler(endpointConfiguration.getQueueCapacity());
+            vertx.eventBus().registerHandler(endpointConfiguration.getAddress(), subscription);
 
-        @Override
-        public void handle(org.vertx.java.core.eventbus.Message event) {
-            if (message == null) {
-                this.message = event;
-                vertx.eventBus().unregisterHandler(endpointConfiguration.getAddress(), this);
-            } else {
-                log.warn("Vert.x message handler ignored message on event bus address '" + endpointConfiguration.getAddress() + "'");
-                log.debug("Vert.x message ignored is " + event);
+            log.debug("Subscribed to Vert.x event bus address: '" + endpointConfiguration.getAddress() + "'");
+        }
+
+        return subscription;
+    }
+
+    /**
+     * Unregisters message handler from event bus. Buffered messages that have not been received yet are discarded.
+     */
+    public synchronized void destroy() {
+        if (subscription != null) {
+            vertx.eventBus().unregisterHandler(endpointConfiguration.getAddress(), subscription);
+
+            if (!subscription.queue.isEmpty()) {
+                log.warn(String.format("Discarding %s unconsumed messages on Vert.x event bus address '%s'",
+                        subscription.queue.size(), endpointConfiguration.getAddress()));
             }
+
+            subscription = null;
+        }
+    }
+
+    /**
+     * Gets the number of messages dropped because the inbound queue was full.
+     * @return
+     */
+    public long getDroppedMessageCount() {
+        VertxMessageQueueHandler handler = subscription;
+        return handler != null ? handler.droppedCount.get() : 0L;
+    }
+
+    /**
+     * Gets the number of messages currently buffered in the inbound queue.
+     * @return
+     */
+    public int getQueuedMessageCount() {
+        VertxMessageQueueHandler handler = subscription;
+        return handler != null ? handler.queue.size() : 0;
+    }
+
+    /**
+     * Vert.x message handler buffers all messages received on event bus in bounded queue.
+     */
+    private class VertxMessageQueueHandler implements Handler<org.vertx.java.core.eventbus.Message> {
+        private final BlockingQueue<org.vertx.java.core.eventbus.Message> queue;
+        private final AtomicLong droppedCount = new AtomicLong();
+
+        VertxMessageQueueHandler(int capacity) {
+            this.queue = new ArrayBlockingQueue<org.vertx.java.core.eventbus.Message>(capacity);
         }
 
-        /**
-         * Gets the vert.x message received on event bus.
-         * @return
-         */
-        public org.vertx.java.core.eventbus.Message getMessage() {
-            return message;
+        @Override
+        public void handle(org.vertx.java.core.eventbus.Message event) {
+            if (!queue.offer(event)) {
+                if (droppedCount.getAndIncrement() == 0) {
+                    log.warn("Vert.x inbound queue is full - dropping messages on event bus address '" + endpointConfiguration.getAddress() + "'");
+                }
+
+                if (log.isDebugEnabled()) {
+                    log.debug("Vert.x message dropped is " + event);
+                }
+            }
         }
     }
 
@@ -20,16 +20,25 @@ import com.consol.citrus.endpoint.AbstractEndpoint;
 import com.consol.citrus.messaging.Consumer;
 import com.consol.citrus.messaging.Producer;
 import com.consol.citrus.vertx.factory.VertxInstanceFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
 
 /**
+ * Endpoint sends and receives messages on Vert.x event bus address. Consumer is created on startup so
+ * messages published to the address before the first receive action are buffered.
+ *
  * @author Christoph Deppisch
  * @since 1.4.1
  */
-public class VertxEndpoint extends AbstractEndpoint {
+public class VertxEndpoint extends AbstractEndpoint implements InitializingBean, DisposableBean {
 
     /** Vert.x instance */
     private VertxInstanceFactory vertxInstanceFactory;
 
+    /** Cached producer or consumer */
+    private VertxProducer vertxProducer;
+    private VertxConsumer vertxConsumer;
+
     /**
      * Default constructor initializing endpoint configuration.
      */
@@ -47,15 +56,37 @@ public class VertxEndpoint extends AbstractEndpoint {
     }
 
     @Override
-    public Producer createProducer() {
-        return new VertxProducer(getProducerName(), vertxInstanceFactory.newInstance(getEndpointConfiguration()),
-                getEndpointConfiguration());
+    public synchronized Producer createProducer() {
+        if (vertxProducer == null) {
+            vertxProducer = new VertxProducer(getProducerName(), vertxInstanceFactory.newInstance(getEndpointConfiguration()),
+                    getEndpointConfiguration());
+        }
+
+        return vertxProducer;
+    }
+
+    @Override
+    public synchronized Consumer createConsumer() {
+        if (vertxConsumer == null) {
+            vertxConsumer = new VertxConsumer(getConsumerName(), vertxInstanceFactory.newInstance(getEndpointConfiguration()),
+                    getEndpointConfiguration());
+        }
+
+        return vertxConsumer;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        if (vertxInstanceFactory != null) {
+            createConsumer();
+        }
     }
 
     @Override
-    public Consumer createConsumer() {
-        return new VertxConsumer(getConsumerName(), vertxInstanceFactory.newInstance(getEndpointConfiguration()),
-                getEndpointConfiguration());
+    public synchronized void destroy() throws Exception {
+        if (vertxConsumer != null) {
+            vertxConsumer.destroy();
+        }
     }
 
     @Override
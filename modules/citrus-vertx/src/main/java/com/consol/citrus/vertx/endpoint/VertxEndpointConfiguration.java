@@ -37,6 +37,9 @@ public class VertxEndpointConfiguration extends AbstractPollableEndpointConfigur
     /** Should use publish subscribe */
     private boolean pubSubDomain = false;
 
+    /** Maximum number of inbound messages buffered for receive actions */
+    private int queueCapacity = 1000;
+
     /** Message converter */
     private VertxMessageConverter messageConverter = new VertxMessageConverter();
 
@@ -119,4 +122,44 @@ public class VertxEndpointConfiguration extends AbstractPollableEndpointConfigur
     public void setMessageConverter(VertxMessageConverter messageConverter) {
         this.messageConverter = messageConverter;
     }
+
+    /**
+     * Gets the inbound queue capacity.
+     * @return
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * Sets the inbound queue capacity.
+     * @param queueCapacity
+     */
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Gets the polling interval.
+     * @return
+     * @deprecated consumers block on their inbound message queue and reply messages are signalled, so the polling
+     * interval is only used when a custom object store is set on the reply correlation manager.
+     */
+    @Override
+    @Deprecated
+    public long getPollingInterval() {
+        return super.getPollingInterval();
+    }
+
+    /**
+     * Sets the polling interval.
+     * @param pollingInterval
+     * @deprecated consumers block on their inbound message queue and reply messages are signalled, so the polling
+     * interval is only used when a custom object store is set on the reply correlation manager.
+     */
+    @Override
+    @Deprecated
+    public void setPollingInterval(long pollingInterval) {
+        super.setPollingInterval(pollingInterval);
+    }
 }
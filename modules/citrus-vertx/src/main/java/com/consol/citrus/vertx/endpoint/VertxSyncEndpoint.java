@@ -49,8 +49,15 @@ public class VertxSyncEndpoint extends VertxEndpoint {
         return (VertxSyncEndpointConfiguration) super.getEndpointConfiguration();
     }
 
+    /**
+     * Synchronous endpoint acts either as client or as server depending on first use, so the consumer is not created on startup.
+     */
+    @Override
+    public void afterPropertiesSet() throws Exception {
+    }
+
     @Override
-    public Consumer createConsumer() {
+    public synchronized Consumer createConsumer() {
         if (vertxSyncMessageProducer != null) {
             return vertxSyncMessageProducer;
         }
@@ -65,7 +72,7 @@ public class VertxSyncEndpoint extends VertxEndpoint {
     }
 
     @Override
-    public Producer createProducer() {
+    public synchronized Producer createProducer() {
         if (vertxSyncMessageConsumer != null) {
             return vertxSyncMessageConsumer;
         }
@@ -78,4 +85,13 @@ public class VertxSyncEndpoint extends VertxEndpoint {
 
         return vertxSyncMessageProducer;
     }
+
+    @Override
+    public synchronized void destroy() throws Exception {
+        if (vertxSyncMessageConsumer != null) {
+            vertxSyncMessageConsumer.destroy();
+        }
+
+        super.destroy();
+    }
 }
@@ -19,8 +19,13 @@ package com.consol.citrus.vertx.config.xml;
 import com.consol.citrus.TestActor;
 import com.consol.citrus.testng.AbstractBeanDefinitionParserTest;
 import com.consol.citrus.vertx.endpoint.VertxEndpoint;
+import com.consol.citrus.vertx.endpoint.VertxEndpointConfiguration;
+import com.consol.citrus.vertx.factory.VertxInstanceFactory;
+import org.easymock.EasyMock;
 import org.testng.Assert;
 import org.testng.annotations.Test;
+import org.vertx.java.core.Vertx;
+import org.vertx.java.core.eventbus.EventBus;
 
 import java.util.Map;
 
@@ -41,6 +46,7 @@ public class VertxEndpointParserTest extends AbstractBeanDefinitionParserTest {
         Assert.assertEquals(vertxEndpoint.getVertxInstanceFactory(), beanDefinitionContext.getBean("vertxInstanceFactory"));
         Assert.assertEquals(vertxEndpoint.getEndpointConfiguration().getAddress(), "news-feed1");
         Assert.assertEquals(vertxEndpoint.getEndpointConfiguration().getTimeout(), 5000L);
+        Assert.assertEquals(vertxEndpoint.getEndpointConfiguration().getQueueCapacity(), 1000);
 
         // 2nd message receiver
         vertxEndpoint = endpoints.get("vertxEndpoint2");
@@ -51,6 +57,7 @@ public class VertxEndpointParserTest extends AbstractBeanDefinitionParserTest {
         Assert.assertEquals(vertxEndpoint.getEndpointConfiguration().getPort(), 10105);
         Assert.assertEquals(vertxEndpoint.getEndpointConfiguration().getAddress(), "news-feed2");
         Assert.assertEquals(vertxEndpoint.getEndpointConfiguration().getTimeout(), 10000L);
+        Assert.assertEquals(vertxEndpoint.getEndpointConfiguration().getQueueCapacity(), 50);
 
         // 3rd message receiver
         vertxEndpoint = endpoints.get("vertxEndpoint3");
@@ -63,4 +70,22 @@ public class VertxEndpointParserTest extends AbstractBeanDefinitionParserTest {
         Assert.assertEquals(vertxEndpoint.getEndpointConfiguration().getAddress(), "news-feed4");
         Assert.assertEquals(vertxEndpoint.getActor(), beanDefinitionContext.getBean("testActor", TestActor.class));
     }
+
+    /**
+     * Instance factory stub as endpoints subscribe to event bus on startup.
+     */
+    public static class StubVertxInstanceFactory implements VertxInstanceFactory {
+        private final Vertx vertx = EasyMock.createNiceMock(Vertx.class);
+        private final EventBus eventBus = EasyMock.createNiceMock(EventBus.class);
+
+        public StubVertxInstanceFactory() {
+            EasyMock.expect(vertx.eventBus()).andReturn(eventBus).anyTimes();
+            EasyMock.replay(vertx, eventBus);
+        }
+
+        @Override
+        public Vertx newInstance(VertxEndpointConfiguration endpointConfiguration) {
+            return vertx;
+        }
+    }
 }
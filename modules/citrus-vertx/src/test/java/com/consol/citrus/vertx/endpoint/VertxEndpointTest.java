@@ -16,11 +16,14 @@
 
 package com.consol.citrus.vertx.endpoint;
 
+import com.consol.citrus.exceptions.ActionTimeoutException;
 import com.consol.citrus.message.DefaultMessage;
 import com.consol.citrus.message.Message;
+import com.consol.citrus.messaging.Consumer;
 import com.consol.citrus.report.MessageListeners;
 import com.consol.citrus.testng.AbstractTestNGUnitTest;
 import com.consol.citrus.vertx.factory.SingleVertxInstanceFactory;
+import com.consol.citrus.vertx.factory.VertxInstanceFactory;
 import com.consol.citrus.vertx.message.CitrusVertxMessageHeaders;
 import org.easymock.EasyMock;
 import org.easymock.IAnswer;
@@ -31,6 +34,11 @@ import org.vertx.java.core.Handler;
 import org.vertx.java.core.Vertx;
 import org.vertx.java.core.eventbus.EventBus;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.easymock.EasyMock.*;
 
 /**
@@ -113,7 +121,7 @@ public class VertxEndpointTest extends AbstractTestNGUnitTest {
         expect(messageMock.address()).andReturn(eventBusAddress).once();
         expect(messageMock.replyAddress()).andReturn("replyAddress").once();
 
-        expect(vertx.eventBus()).andReturn(eventBus).times(2);
+        expect(vertx.eventBus()).andReturn(eventBus).once();
         expect(eventBus.registerHandler(eq(eventBusAddress), anyObject(Handler.class))).andAnswer(new IAnswer<EventBus>() {
             @Override
             public EventBus answer() throws Throwable {
@@ -123,8 +131,6 @@ public class VertxEndpointTest extends AbstractTestNGUnitTest {
             }
         }).once();
 
-        expect(eventBus.unregisterHandler(eq(eventBusAddress), anyObject(Handler.class))).andReturn(eventBus).once();
-
         replay(vertx, eventBus, messageMock);
 
         Message receivedMessage = vertxEndpoint.createConsumer().receive(context, endpointConfiguration.getTimeout());
@@ -135,6 +141,152 @@ public class VertxEndpointTest extends AbstractTestNGUnitTest {
         verify(vertx, eventBus, messageMock);
     }
 
+    @Test
+    public void testVertxEndpointConsumerQueue() throws Exception {
+        String eventBusAddress = "news-feed";
+        VertxEndpointConfiguration endpointConfiguration = new VertxEndpointConfiguration();
+        endpointConfiguration.setAddress(eventBusAddress);
+        endpointConfiguration.setQueueCapacity(2);
+
+        VertxEndpoint vertxEndpoint = new VertxEndpoint(endpointConfiguration);
+        vertxEndpoint.setVertxInstanceFactory(instanceFactory);
+
+        final org.vertx.java.core.eventbus.Message firstMessage = EasyMock.createMock(org.vertx.java.core.eventbus.Message.class);
+        final org.vertx.java.core.eventbus.Message secondMessage = EasyMock.createMock(org.vertx.java.core.eventbus.Message.class);
+
+        reset(vertx, eventBus, messageMock);
+
+        expect(firstMessage.body()).andReturn("Hello").once();
+        expect(firstMessage.address()).andReturn(eventBusAddress).once();
+        expect(firstMessage.replyAddress()).andReturn(null).once();
+        expect(secondMessage.body()).andReturn("Citrus").once();
+        expect(secondMessage.address()).andReturn(eventBusAddress).once();
+        expect(secondMessage.replyAddress()).andReturn(null).once();
+
+        expect(vertx.eventBus()).andReturn(eventBus).times(2);
+        expect(eventBus.registerHandler(eq(eventBusAddress), anyObject(Handler.class))).andAnswer(new IAnswer<EventBus>() {
+            @Override
+            public EventBus answer() throws Throwable {
+                Handler handler = (Handler) getCurrentArguments()[1];
+                handler.handle(firstMessage);
+                handler.handle(secondMessage);
+                handler.handle(messageMock);
+                return eventBus;
+            }
+        }).once();
+
+        expect(eventBus.unregisterHandler(eq(eventBusAddress), anyObject(Handler.class))).andReturn(eventBus).once();
+
+        replay(vertx, eventBus, messageMock, firstMessage, secondMessage);
+
+        VertxConsumer consumer = (VertxConsumer) vertxEndpoint.createConsumer();
+        Assert.assertSame(vertxEndpoint.createConsumer(), consumer);
+
+        Assert.assertEquals(consumer.receive(context, 1000L).getPayload(), "Hello");
+        Assert.assertEquals(consumer.getQueuedMessageCount(), 1);
+        Assert.assertEquals(consumer.getDroppedMessageCount(), 1L);
+        Assert.assertEquals(consumer.receive(context, 1000L).getPayload(), "Citrus");
+
+        try {
+            consumer.receive(context, 100L);
+            Assert.fail("Missing timeout exception");
+        } catch (ActionTimeoutException e) {
+            Assert.assertTrue(e.getMessage().contains(eventBusAddress));
+        }
+
+        vertxEndpoint.destroy();
+
+        verify(vertx, eventBus, messageMock, firstMessage, secondMessage);
+    }
+
+    @Test
+    public void testVertxEndpointConsumerSubscribesOnStartup() throws Exception {
+        String eventBusAddress = "news-feed";
+        VertxEndpointConfiguration endpointConfiguration = new VertxEndpointConfiguration();
+        endpointConfiguration.setAddress(eventBusAddress);
+
+        VertxEndpoint vertxEndpoint = new VertxEndpoint(endpointConfiguration);
+        vertxEndpoint.setVertxInstanceFactory(instanceFactory);
+
+        final Handler[] handler = new Handler[1];
+
+        reset(vertx, eventBus, messageMock);
+
+        expect(messageMock.body()).andReturn("Hello from Vertx!").once();
+        expect(messageMock.address()).andReturn(eventBusAddress).once();
+        expect(messageMock.replyAddress()).andReturn(null).once();
+
+        expect(vertx.eventBus()).andReturn(eventBus).times(2);
+        expect(eventBus.registerHandler(eq(eventBusAddress), anyObject(Handler.class))).andAnswer(new IAnswer<EventBus>() {
+            @Override
+            public EventBus answer() throws Throwable {
+                handler[0] = (Handler) getCurrentArguments()[1];
+                return eventBus;
+            }
+        }).once();
+        expect(eventBus.unregisterHandler(eq(eventBusAddress), anyObject(Handler.class))).andReturn(eventBus).once();
+
+        replay(vertx, eventBus, messageMock);
+
+        vertxEndpoint.afterPropertiesSet();
+        Assert.assertNotNull(handler[0]);
+
+        // message published before first receive action
+        handler[0].handle(messageMock);
+
+        Message receivedMessage = vertxEndpoint.createConsumer().receive(context, 1000L);
+        Assert.assertEquals(receivedMessage.getPayload(), "Hello from Vertx!");
+
+        vertxEndpoint.destroy();
+
+        verify(vertx, eventBus, messageMock);
+    }
+
+    @Test
+    public void testConcurrentConsumerCreation() throws Exception {
+        VertxEndpointConfiguration endpointConfiguration = new VertxEndpointConfiguration();
+        endpointConfiguration.setAddress("news-feed");
+
+        final AtomicInteger instances = new AtomicInteger();
+        final VertxEndpoint vertxEndpoint = new VertxEndpoint(endpointConfiguration);
+        vertxEndpoint.setVertxInstanceFactory(new VertxInstanceFactory() {
+            @Override
+            public Vertx newInstance(VertxEndpointConfiguration endpointConfiguration) {
+                instances.incrementAndGet();
+                return vertx;
+            }
+        });
+
+        reset(vertx, eventBus);
+
+        expect(vertx.eventBus()).andReturn(eventBus).once();
+        expect(eventBus.registerHandler(eq("news-feed"), anyObject(Handler.class))).andReturn(eventBus).once();
+
+        replay(vertx, eventBus);
+
+        final CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Consumer>> consumers = new ArrayList<Future<Consumer>>();
+        for (int i = 0; i < 8; i++) {
+            consumers.add(executor.submit(new Callable<Consumer>() {
+                @Override
+                public Consumer call() throws Exception {
+                    start.await();
+                    return vertxEndpoint.createConsumer();
+                }
+            }));
+        }
+
+        start.countDown();
+        for (Future<Consumer> consumer : consumers) {
+            Assert.assertSame(consumer.get(5, TimeUnit.SECONDS), consumers.get(0).get());
+        }
+        Assert.assertEquals(instances.get(), 1);
+
+        executor.shutdown();
+        verify(vertx, eventBus);
+    }
+
     @Test
     public void testVertxEndpointWithOutboundMessageListeners() {
         String eventBusAddress = "news-feed";
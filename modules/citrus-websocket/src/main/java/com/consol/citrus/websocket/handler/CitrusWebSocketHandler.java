@@ -16,19 +16,22 @@
 
 package com.consol.citrus.websocket.handler;
 
+import com.consol.citrus.websocket.message.WebSocketMessageHeaders;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.web.socket.*;
 import org.springframework.web.socket.handler.AbstractWebSocketHandler;
 
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.LinkedList;
-import java.util.Map;
-import java.util.Queue;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * Web Socket Handler for handling incoming and sending outgoing Web Socket messages
+ * Web Socket Handler for handling incoming and sending outgoing Web Socket messages. Inbound messages of all sessions
+ * are buffered in a bounded queue that consumers block on. Consumers may select messages by session id or message header.
+ * Outbound messages are published to all open sessions in parallel.
  *
  * @author Martin Maher
  * @since 2.3
@@ -37,11 +40,35 @@ public class CitrusWebSocketHandler extends AbstractWebSocketHandler {
     /** Logger */
     private static final Logger LOG = LoggerFactory.getLogger(CitrusWebSocketHandler.class);
 
-    /** Inbound message cache */
-    private final Queue<WebSocketMessage<?>> inboundMessages = new LinkedList<>();
+    /** Default maximum number of buffered inbound messages */
+    public static final int DEFAULT_QUEUE_CAPACITY = 1000;
+
+    /** Shared executor publishing messages to multiple sessions */
+    private static final ExecutorService DEFAULT_EXECUTOR = Executors.newCachedThreadPool(new ThreadFactory() {
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "citrus-websocket-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    /** Inbound message cache in order of arrival, guarded by itself */
+    private final LinkedList<InboundMessage> inboundMessages = new LinkedList<>();
+
+    /** Maximum number of buffered inbound messages */
+    private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+
+    /** Number of inbound messages dropped because of full queue */
+    private final AtomicLong droppedCount = new AtomicLong();
 
     /** Web socket sessions */
-    private final Map<String, WebSocketSession> sessions = new HashMap<>();
+    private final ConcurrentMap<String, WebSocketSession> sessions = new ConcurrentHashMap<>();
+
+    /** Executor publishing outbound messages */
+    private ExecutorService executorService = DEFAULT_EXECUTOR;
 
     @Override
     public void afterConnectionEstablished(WebSocketSession session) throws Exception {
@@ -52,19 +79,19 @@ public class CitrusWebSocketHandler extends AbstractWebSocketHandler {
     @Override
     protected void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
         LOG.debug(String.format("WebSocket endpoint (%s) received text message", session.getId()));
-        inboundMessages.add(message);
+        addMessage(session, message);
     }
 
     @Override
     protected void handleBinaryMessage(WebSocketSession session, BinaryMessage message) throws Exception {
         LOG.debug(String.format("WebSocket endpoint (%s) received binary message", session.getId()));
-        inboundMessages.add(message);
+        addMessage(session, message);
     }
 
     @Override
     protected void handlePongMessage(WebSocketSession session, PongMessage message) throws Exception {
         LOG.debug(String.format("WebSocket endpoint (%s) received pong message", session.getId()));
-        inboundMessages.add(message);
+        addMessage(session, message);
     }
 
     @Override
@@ -78,35 +105,252 @@ public class CitrusWebSocketHandler extends AbstractWebSocketHandler {
         sessions.remove(session.getId());
     }
 
+    /**
+     * Adds inbound message to internal cache and notifies waiting consumers. Message is dropped
+     * when cache is full.
+     * @param session
+     * @param message
+     */
+    private void addMessage(WebSocketSession session, WebSocketMessage<?> message) {
+        InboundMessage inboundMessage = new InboundMessage(session.getId(), message);
+
+        synchronized (inboundMessages) {
+            if (inboundMessages.size() < queueCapacity) {
+                inboundMessages.add(inboundMessage);
+                inboundMessages.notifyAll();
+                return;
+            }
+        }
+
+        if (droppedCount.getAndIncrement() == 0) {
+            LOG.warn(String.format("WebSocket inbound queue is full - dropping messages (%s)", session.getId()));
+        }
+    }
+
     /**
      * Polls message from internal cache.
      * @return
      */
     public WebSocketMessage<?> getMessage() {
-        return inboundMessages.poll();
+        synchronized (inboundMessages) {
+            InboundMessage inboundMessage = inboundMessages.poll();
+            return inboundMessage != null ? inboundMessage.getMessage() : null;
+        }
+    }
+
+    /**
+     * Waits for first message in internal cache that matches all given header values. Session id is available as
+     * header {@link WebSocketMessageHeaders#WEB_SOCKET_ID}. Returns null when no matching message arrived
+     * within given timeout.
+     * @param selector header values to match, empty to match all messages
+     * @param timeout
+     * @return
+     * @throws InterruptedException
+     */
+    public InboundMessage receive(Map<String, String> selector, long timeout) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeout;
+
+        synchronized (inboundMessages) {
+            while (true) {
+                for (Iterator<InboundMessage> it = inboundMessages.iterator(); it.hasNext();) {
+                    InboundMessage inboundMessage = it.next();
+                    if (inboundMessage.matches(selector)) {
+                        it.remove();
+                        return inboundMessage;
+                    }
+                }
+
+                long timeLeft = deadline - System.currentTimeMillis();
+                if (timeLeft <= 0) {
+                    return null;
+                }
+
+                inboundMessages.wait(timeLeft);
+            }
+        }
     }
 
     /**
-     * Publish message to all sessions known to this handler.
+     * Publish message to all sessions known to this handler. Multiple sessions are served in parallel
+     * so slow sessions do not delay the others.
      * @param message
      * @return
      */
-    public boolean sendMessage(WebSocketMessage<?> message) {
-        boolean sentSuccessfully = false;
+    public boolean sendMessage(final WebSocketMessage<?> message) {
+        List<WebSocketSession> openSessions = new ArrayList<>();
+        for (WebSocketSession session : sessions.values()) {
+            if (session != null && session.isOpen()) {
+                openSessions.add(session);
+            }
+        }
+
         if (sessions.isEmpty()) {
             LOG.warn("No Web Socket session exists - message cannot be sent");
         }
 
-        for (WebSocketSession session : sessions.values()) {
-            if (session != null && session.isOpen()) {
-                try {
-                    session.sendMessage(message);
-                    sentSuccessfully = true;
-                } catch (IOException e) {
-                    LOG.error(String.format("(%s) error sending message", session.getId()), e);
+        if (openSessions.size() == 1) {
+            return send(openSessions.get(0), message);
+        }
+
+        List<Future<Boolean>> results = new ArrayList<>(openSessions.size());
+        for (final WebSocketSession session : openSessions) {
+            results.add(executorService.submit(new Callable<Boolean>() {
+                @Override
+                public Boolean call() throws Exception {
+                    return send(session, message);
                 }
+            }));
+        }
+
+        boolean sentSuccessfully = false;
+        for (Future<Boolean> result : results) {
+            try {
+                sentSuccessfully |= result.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                LOG.warn("Interrupted while sending message to Web Socket sessions");
+                return sentSuccessfully;
+            } catch (ExecutionException e) {
+                LOG.error("Error sending message", e.getCause());
             }
         }
+
         return sentSuccessfully;
     }
+
+    /**
+     * Sends message to single session. Sends to the same session are serialized as web socket
+     * sessions do not support concurrent writes.
+     * @param session
+     * @param message
+     * @return
+     */
+    private boolean send(WebSocketSession session, WebSocketMessage<?> message) {
+        try {
+            synchronized (session) {
+                session.sendMessage(message);
+            }
+            return true;
+        } catch (IOException e) {
+            LOG.error(String.format("(%s) error sending message", session.getId()), e);
+            return false;
+        }
+    }
+
+    /**
+     * Gets the number of buffered inbound messages.
+     * @return
+     */
+    public int getQueuedMessageCount() {
+        synchronized (inboundMessages) {
+            return inboundMessages.size();
+        }
+    }
+
+    /**
+     * Gets the number of buffered inbound messages of given session.
+     * @param sessionId
+     * @return
+     */
+    public int getQueuedMessageCount(String sessionId) {
+        int count = 0;
+        synchronized (inboundMessages) {
+            for (InboundMessage inboundMessage : inboundMessages) {
+                if (inboundMessage.getSessionId().equals(sessionId)) {
+                    count++;
+                }
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Gets the number of inbound messages dropped because the queue was full.
+     * @return
+     */
+    public long getDroppedMessageCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * Gets the inbound queue capacity.
+     * @return
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * Sets the inbound queue capacity.
+     * @param queueCapacity
+     */
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Sets the executor publishing outbound messages to multiple sessions.
+     * @param executorService
+     */
+    public void setExecutorService(ExecutorService executorService) {
+        this.executorService = executorService;
+    }
+
+    /**
+     * Inbound web socket message with session information.
+     */
+    public static class InboundMessage {
+        private final String sessionId;
+        private final WebSocketMessage<?> message;
+        private final Map<String, Object> headers = new HashMap<>();
+
+        InboundMessage(String sessionId, WebSocketMessage<?> message) {
+            this.sessionId = sessionId;
+            this.message = message;
+
+            headers.put(WebSocketMessageHeaders.WEB_SOCKET_ID, sessionId);
+            headers.put(WebSocketMessageHeaders.WEB_SOCKET_IS_LAST, message.isLast());
+        }
+
+        /**
+         * Checks if all header values in selector match this message.
+         * @param selector
+         * @return
+         */
+        boolean matches(Map<String, String> selector) {
+            for (Map.Entry<String, String> entry : selector.entrySet()) {
+                Object value = headers.get(entry.getKey());
+                if (value == null || !value.toString().equals(entry.getValue())) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        /**
+         * Gets the id of the session this message was received on.
+         * @return
+         */
+        public String getSessionId() {
+            return sessionId;
+        }
+
+        /**
+         * Gets the web socket message.
+         * @return
+         */
+        public WebSocketMessage<?> getMessage() {
+            return message;
+        }
+
+        /**
+         * Gets the message headers available for message selection.
+         * @return
+         */
+        public Map<String, Object> getHeaders() {
+            return Collections.unmodifiableMap(headers);
+        }
+    }
 }
@@ -19,9 +19,11 @@ package com.consol.citrus.websocket.endpoint;
 import com.consol.citrus.exceptions.ActionTimeoutException;
 import com.consol.citrus.message.DefaultMessage;
 import com.consol.citrus.message.Message;
+import com.consol.citrus.messaging.SelectiveConsumer;
 import com.consol.citrus.testng.AbstractTestNGUnitTest;
 import com.consol.citrus.websocket.handler.CitrusWebSocketHandler;
 import com.consol.citrus.websocket.message.WebSocketMessage;
+import com.consol.citrus.websocket.message.WebSocketMessageHeaders;
 import org.easymock.EasyMock;
 import org.easymock.IAnswer;
 import org.springframework.web.socket.*;
@@ -150,6 +152,53 @@ public class WebSocketEndpointTest extends AbstractTestNGUnitTest {
         verify(session, session2, session3);
     }
 
+    @Test
+    public void testWebSocketEndpointSelectiveReceive() throws Exception {
+        WebSocketServerEndpointConfiguration endpointConfiguration = new WebSocketServerEndpointConfiguration();
+        WebSocketEndpoint webSocketEndpoint = new WebSocketEndpoint(endpointConfiguration);
+
+        CitrusWebSocketHandler handler = new CitrusWebSocketHandler();
+        handler.setQueueCapacity(2);
+        endpointConfiguration.setHandler(handler);
+        endpointConfiguration.setEndpointUri("/test");
+
+        reset(session, session2);
+
+        expect(session.getId()).andReturn("test-socket-1").atLeastOnce();
+        expect(session2.getId()).andReturn("test-socket-2").atLeastOnce();
+
+        replay(session, session2);
+
+        handler.afterConnectionEstablished(session);
+        handler.afterConnectionEstablished(session2);
+
+        handler.handleMessage(session, new TextMessage("Hello from session 1"));
+        handler.handleMessage(session2, new TextMessage("Hello from session 2"));
+        handler.handleMessage(session2, new TextMessage("Dropped"));
+
+        Assert.assertEquals(handler.getQueuedMessageCount(), 2);
+        Assert.assertEquals(handler.getQueuedMessageCount("test-socket-2"), 1);
+        Assert.assertEquals(handler.getDroppedMessageCount(), 1L);
+
+        SelectiveConsumer consumer = (SelectiveConsumer) webSocketEndpoint.createConsumer();
+        Message received = consumer.receive(WebSocketMessageHeaders.WEB_SOCKET_ID + " = 'test-socket-2'", context, 1000L);
+        Assert.assertEquals(received.getPayload(), "Hello from session 2");
+        Assert.assertEquals(received.getHeader(WebSocketMessageHeaders.WEB_SOCKET_ID), "test-socket-2");
+
+        try {
+            consumer.receive(WebSocketMessageHeaders.WEB_SOCKET_ID + " = 'test-socket-2'", context, 100L);
+            Assert.fail("Missing timeout exception on web socket endpoint");
+        } catch (ActionTimeoutException e) {
+            Assert.assertTrue(e.getMessage().contains("/test"));
+        }
+
+        received = consumer.receive(context, 1000L);
+        Assert.assertEquals(received.getPayload(), "Hello from session 1");
+        Assert.assertEquals(received.getHeader(WebSocketMessageHeaders.WEB_SOCKET_ID), "test-socket-1");
+
+        verify(session, session2);
+    }
+
     @Test
     public void testWebSocketEndpointTimeout() throws Exception {
         WebSocketServerEndpointConfiguration endpointConfiguration = new WebSocketServerEndpointConfiguration();
@@ -72,6 +72,9 @@ public class WebServiceEndpointConfiguration extends AbstractPollableEndpointCon
     /** Should keep soap envelope when creating internal message */
     private boolean keepSoapEnvelope = false;
 
+    /** Should send attachments as MTOM/XOP package */
+    private boolean mtomEnabled = false;
+
     /**
      * Creates default web service template with settings in this configuration.
      * @return
@@ -281,4 +284,20 @@ public class WebServiceEndpointConfiguration extends AbstractPollableEndpointCon
         this.keepSoapEnvelope = keepSoapEnvelope;
     }
 
+    /**
+     * Gets the MTOM enabled flag.
+     * @return
+     */
+    public boolean isMtomEnabled() {
+        return mtomEnabled;
+    }
+
+    /**
+     * Sets the MTOM enabled flag. When enabled outbound messages with attachments are sent as XOP package.
+     * @param mtomEnabled
+     */
+    public void setMtomEnabled(boolean mtomEnabled) {
+        this.mtomEnabled = mtomEnabled;
+    }
+
 }
@@ -82,6 +82,7 @@ public class WebServiceClientParser extends AbstractEndpointParser {
                     ErrorHandlingStrategy.fromName(element.getAttribute("fault-strategy")));
         }
 
+        BeanDefinitionParserUtils.setPropertyValue(endpointConfiguration, element.getAttribute("mtom-enabled"), "mtomEnabled");
         BeanDefinitionParserUtils.setPropertyValue(endpointConfiguration, element.getAttribute("polling-interval"), "pollingInterval");
     }
 
@@ -22,6 +22,7 @@ import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.util.FileUtils;
 import org.apache.commons.codec.binary.Base64;
 import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.io.IOUtils;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.util.StringUtils;
@@ -63,8 +64,8 @@ public class SoapAttachment implements Attachment, Serializable {
     /** send mtom attachments inline as hex or base64 coded */
 	private boolean mtomInline = false;
 
-    /** Content data handler */
-	private DataHandler dataHandler = null;
+    /** Content data handler, not serialized as it usually holds a live message stream */
+	private transient DataHandler dataHandler = null;
 
     /** Optional MTOM encoding */
 	private String encodingType = ENCODING_BASE64_BINARY;
@@ -88,16 +89,8 @@ public class SoapAttachment implements Attachment, Serializable {
 		soapAttachment.setContentId(attachment.getContentId());
 		soapAttachment.setContentType(attachment.getContentType());
 
-		if (attachment.getContentType().startsWith("text")) {
-			try {
-				soapAttachment.setContent(FileUtils.readToString(attachment.getInputStream()).trim());
-			} catch (IOException e) {
-				throw new CitrusRuntimeException("Failed to read SOAP attachment content", e);
-			}
-		} else {
-			// Binary content
-			soapAttachment.setDataHandler(attachment.getDataHandler());
-		}
+		// Keep content as streamed data handler, text content is read lazily when requested
+		soapAttachment.setDataHandler(attachment.getDataHandler());
 
 		soapAttachment.setCharsetName(System.getProperty(CitrusConstants.CITRUS_FILE_ENCODING,
 				Charset.defaultCharset().displayName()));
@@ -135,7 +128,7 @@ public class SoapAttachment implements Attachment, Serializable {
 			if (StringUtils.hasText(contentResourcePath)) {
 				dataHandler = new DataHandler(new FileResourceDataSource(contentType, contentResourcePath));
 			} else {
-				dataHandler = new DataHandler(new ContentDataSource(contentType, content, charsetName, contentId));
+				dataHandler = new DataHandler(new ContentDataSource(contentType, content != null ? content : resolvedContent, charsetName, contentId));
 			}
 		}
 
@@ -170,9 +163,18 @@ public class SoapAttachment implements Attachment, Serializable {
 		}
 	}
 
+	/**
+	 * Checks if content data is of text type.
+	 * @return
+	 */
+	public boolean isTextContent() {
+		return getContentType() != null && getContentType().startsWith("text");
+	}
+
 	@Override
 	public String toString() {
-		return String.format("%s [contentId: %s, contentType: %s, content: %s]", getClass().getSimpleName().toUpperCase(), contentId, contentType, getContent());
+		String contentInfo = StringUtils.hasText(content) ? content : (resolvedContent != null ? resolvedContent : "<streamed>");
+		return String.format("%s [contentId: %s, contentType: %s, content: %s]", getClass().getSimpleName().toUpperCase(), contentId, contentType, contentInfo);
 	}
 
 	/**
@@ -190,13 +192,15 @@ public class SoapAttachment implements Attachment, Serializable {
 		
 		if (getDataHandler().getContentType().startsWith("text")) {
 			try {
-				return FileUtils.readToString(getDataHandler().getInputStream(), Charset.forName(charsetName));
+				// cache decoded text content so the data stream is read only once
+				resolvedContent = FileUtils.readToString(getDataHandler().getInputStream(), Charset.forName(charsetName));
+				return resolvedContent;
 			} catch (IOException e) {
 				throw new CitrusRuntimeException("Failed to read SOAP attachment file resource", e);
 			}
 		} else {
-			try {
-				byte[] binaryData = FileUtils.readToString(getDataHandler().getInputStream(), Charset.forName(charsetName)).getBytes(Charset.forName(charsetName));
+			try (InputStream is = getDataHandler().getInputStream()) {
+				byte[] binaryData = IOUtils.toByteArray(is);
                 if (encodingType.equals(SoapAttachment.ENCODING_BASE64_BINARY)) {
 					return Base64.encodeBase64String(binaryData);
                 } else if (encodingType.equals(SoapAttachment.ENCODING_HEX_BINARY)) {
@@ -331,16 +335,35 @@ public class SoapAttachment implements Attachment, Serializable {
 		}
 	}
 
+	/**
+	 * Reads streamed text content before serialization as the data handler itself is not serialized.
+	 * @param out
+	 * @throws IOException
+	 */
+	private void writeObject(ObjectOutputStream out) throws IOException {
+		if (dataHandler != null && resolvedContent == null && !StringUtils.hasText(content) && !StringUtils.hasText(contentResourcePath) && isTextContent()) {
+			getContent();
+		}
+
+		out.defaultWriteObject();
+	}
+
 	/**
 	 * Get size in bytes of the given input stream
 	 * @param is Read all data from stream to calculate size of the stream
 	 */
 	private static long getSizeOfContent(InputStream is) throws IOException {
-		long size = 0;
-		while (is.read() != -1) {
-			size++;
+		try {
+			long size = 0;
+			byte[] buffer = new byte[8192];
+			int read;
+			while ((read = is.read(buffer)) != -1) {
+				size += read;
+			}
+			return size;
+		} finally {
+			is.close();
 		}
-		return size;
 	}
 
 	/**
@@ -17,6 +17,7 @@
 package com.consol.citrus.ws.message;
 
 import com.consol.citrus.exceptions.CitrusRuntimeException;
+import com.consol.citrus.xml.TransformerCache;
 import org.springframework.beans.propertyeditors.LocaleEditor;
 import org.springframework.util.StringUtils;
 import org.springframework.ws.soap.SoapFaultDetailElement;
@@ -204,9 +205,7 @@ public class SoapFault extends SoapMessage {
         StringResult detailResult = new StringResult();
 
         try {
-            TransformerFactory transformerFactory = TransformerFactory.newInstance();
-            Transformer transformer = transformerFactory.newTransformer();
-
+            Transformer transformer = TransformerCache.getIdentityTransformer();
             transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
 
             transformer.transform(detail.getSource(), detailResult);
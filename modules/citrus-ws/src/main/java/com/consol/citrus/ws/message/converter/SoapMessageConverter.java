@@ -20,6 +20,7 @@ import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.message.*;
 import com.consol.citrus.ws.client.WebServiceEndpointConfiguration;
 import com.consol.citrus.ws.message.*;
+import com.consol.citrus.xml.TransformerCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.io.InputStreamSource;
@@ -39,6 +40,7 @@ import org.springframework.ws.transport.http.HttpServletConnection;
 import org.springframework.xml.namespace.QNameUtils;
 import org.springframework.xml.transform.StringResult;
 import org.springframework.xml.transform.StringSource;
+import org.w3c.dom.Document;
 import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
 
@@ -82,11 +84,8 @@ public class SoapMessageConverter implements WebServiceMessageConverter {
         }
 
         // Copy payload into soap-body:
-        TransformerFactory transformerFactory = TransformerFactory.newInstance();
-
         try {
-            Transformer transformer = transformerFactory.newTransformer();
-            transformer.transform(new StringSource(soapMessage.getPayload(String.class)), soapRequest.getSoapBody().getPayloadResult());
+            TransformerCache.transform(getPayloadSource(soapMessage), soapRequest.getSoapBody().getPayloadResult());
         } catch (TransformerException e) {
             throw new CitrusRuntimeException("Failed to write SOAP body payload", e);
         }
@@ -118,7 +117,7 @@ public class SoapMessageConverter implements WebServiceMessageConverter {
 
         for (String headerData : soapMessage.getHeaderData()) {
             try {
-                Transformer transformer = transformerFactory.newTransformer();
+                Transformer transformer = TransformerCache.getIdentityTransformer();
                 transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
                 transformer.transform(new StringSource(headerData),
                         soapRequest.getSoapHeader().getResult());
@@ -127,7 +126,7 @@ public class SoapMessageConverter implements WebServiceMessageConverter {
             }
         }
 
-        if (soapMessage.isMtomEnabled() && soapMessage.getAttachments().size() > 0) {
+        if ((soapMessage.isMtomEnabled() || endpointConfiguration.isMtomEnabled()) && soapMessage.getAttachments().size() > 0) {
             log.debug("Converting SOAP request to XOP package");
             soapRequest.convertToXopPackage();
         }
@@ -145,6 +144,29 @@ public class SoapMessageConverter implements WebServiceMessageConverter {
         }
     }
 
+    /**
+     * Gets message payload as source. DOM payloads and payloads already parsed to a DOM document are used directly
+     * so they do not get serialized and parsed again.
+     * @param soapMessage
+     * @return
+     */
+    private Source getPayloadSource(SoapMessage soapMessage) {
+        Object payload = soapMessage.getPayload();
+
+        if (payload instanceof Source) {
+            return (Source) payload;
+        } else if (payload instanceof Node) {
+            return new DOMSource((Node) payload);
+        }
+
+        Document document = soapMessage.getCachedPayload(Document.class);
+        if (document != null) {
+            return new DOMSource(document);
+        }
+
+        return new StringSource(soapMessage.getPayload(String.class));
+    }
+
     @Override
     public SoapMessage convertInbound(WebServiceMessage message, WebServiceEndpointConfiguration endpointConfiguration) {
         return convertInbound(message, null, endpointConfiguration);
@@ -161,10 +183,7 @@ public class SoapMessageConverter implements WebServiceMessageConverter {
                 payload = bos.toString();
             } else if (webServiceMessage.getPayloadSource() != null) {
                 StringResult payloadResult = new StringResult();
-
-                TransformerFactory transformerFactory = TransformerFactory.newInstance();
-                Transformer transformer = transformerFactory.newTransformer();
-                transformer.transform(webServiceMessage.getPayloadSource(), payloadResult);
+                TransformerCache.transform(webServiceMessage.getPayloadSource(), payloadResult);
 
                 payload = payloadResult.toString();
             }
@@ -292,9 +311,7 @@ public class SoapMessageConverter implements WebServiceMessageConverter {
 
                 if (soapHeader.getSource() != null) {
                     StringResult headerData = new StringResult();
-                    TransformerFactory transformerFactory = TransformerFactory.newInstance();
-                    Transformer transformer = transformerFactory.newTransformer();
-                    transformer.transform(soapHeader.getSource(), headerData);
+                    TransformerCache.transform(soapHeader.getSource(), headerData);
 
                     message.addHeaderData(headerData.toString());
                 }
@@ -21,8 +21,10 @@ import com.consol.citrus.endpoint.adapter.EmptyResponseEndpointAdapter;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.message.*;
 import com.consol.citrus.ws.client.WebServiceEndpointConfiguration;
+import com.consol.citrus.ws.message.SoapAttachment;
 import com.consol.citrus.ws.message.SoapFault;
 import com.consol.citrus.ws.message.SoapMessageHeaders;
+import com.consol.citrus.xml.TransformerCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.util.*;
@@ -108,6 +110,7 @@ public class WebServiceEndpoint implements MessageEndpoint {
             
             addSoapHeaders(response, replyMessage);
             addMimeHeaders(response, replyMessage);
+            addAttachments(response, replyMessage);
         } else {
             log.info("No reply message from endpoint adapter '" + endpointAdapter + "'");
             log.warn("No SOAP response for calling client");
@@ -168,6 +171,36 @@ public class WebServiceEndpoint implements MessageEndpoint {
         }
     }
 
+    /**
+     * Adds SOAP attachments of reply message to the SOAP response. Attachment data handlers are passed on
+     * as is so attachment content is streamed to the response. Response is converted to XOP package when MTOM is enabled.
+     * @param response
+     * @param replyMessage
+     */
+    private void addAttachments(SoapMessage response, Message replyMessage) {
+        if (!(replyMessage instanceof com.consol.citrus.ws.message.SoapMessage)) {
+            return;
+        }
+
+        com.consol.citrus.ws.message.SoapMessage soapReply = (com.consol.citrus.ws.message.SoapMessage) replyMessage;
+        if (soapReply.getAttachments().isEmpty()) {
+            return;
+        }
+
+        if (soapReply.isMtomEnabled() || endpointConfiguration.isMtomEnabled()) {
+            log.debug("Converting SOAP response to XOP package");
+            response.convertToXopPackage();
+        }
+
+        for (SoapAttachment attachment : soapReply.getAttachments()) {
+            if (log.isDebugEnabled()) {
+                log.debug(String.format("Adding attachment to SOAP response: '%s' ('%s')", attachment.getContentId(), attachment.getContentType()));
+            }
+
+            response.addAttachment(attachment.getContentId(), attachment.getDataHandler());
+        }
+    }
+
     /**
      * Add message payload as SOAP body element to the SOAP response.
      * @param response
@@ -177,11 +210,7 @@ public class WebServiceEndpoint implements MessageEndpoint {
         if (!(replyMessage.getPayload() instanceof String) || 
                 StringUtils.hasText(replyMessage.getPayload(String.class))) {
             Source responseSource = getPayloadAsSource(replyMessage.getPayload());
-            
-            TransformerFactory transformerFactory = TransformerFactory.newInstance();
-            Transformer transformer = transformerFactory.newTransformer();
-            
-            transformer.transform(responseSource, response.getPayloadResult());
+            TransformerCache.transform(responseSource, response.getPayloadResult());
         }
     }
     
@@ -219,10 +248,7 @@ public class WebServiceEndpoint implements MessageEndpoint {
         }
 
         for (String headerData : replyMessage.getHeaderData()) {
-            TransformerFactory transformerFactory = TransformerFactory.newInstance();
-            Transformer transformer = transformerFactory.newTransformer();
-
-            transformer.transform(new StringSource(headerData),
+            TransformerCache.transform(new StringSource(headerData),
                     response.getSoapHeader().getResult());
         }
     }
@@ -268,9 +294,7 @@ public class WebServiceEndpoint implements MessageEndpoint {
         
         List<String> soapFaultDetails = replyMessage.getFaultDetails();
         if (!soapFaultDetails.isEmpty()) {
-            TransformerFactory transformerFactory = TransformerFactory.newInstance();
-            Transformer transformer = transformerFactory.newTransformer();
-            
+            Transformer transformer = TransformerCache.getIdentityTransformer();
             transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
             
             SoapFaultDetail faultDetail = soapFault.addFaultDetail();
@@ -98,6 +98,9 @@ public class WebServiceServer extends AbstractServer implements ApplicationConte
     /** Should keep soap envelope when creating internal message */
     private boolean keepSoapEnvelope = false;
 
+    /** Should send response attachments as MTOM/XOP package */
+    private boolean mtomEnabled = false;
+
     /** Message converter implementation */
     private WebServiceMessageConverter messageConverter = new SoapMessageConverter();
 
@@ -555,6 +558,22 @@ public class WebServiceServer extends AbstractServer implements ApplicationConte
         this.keepSoapEnvelope = keepSoapEnvelope;
     }
 
+    /**
+     * Gets the MTOM enabled flag.
+     * @return
+     */
+    public boolean isMtomEnabled() {
+        return mtomEnabled;
+    }
+
+    /**
+     * Sets the MTOM enabled flag.
+     * @param mtomEnabled
+     */
+    public void setMtomEnabled(boolean mtomEnabled) {
+        this.mtomEnabled = mtomEnabled;
+    }
+
     /**
      * Gets the default soap header namespace.
      * @return
@@ -91,6 +91,7 @@ public class CitrusMessageDispatcherServlet extends MessageDispatcherServlet {
             WebServiceEndpointConfiguration endpointConfiguration = new WebServiceEndpointConfiguration();
             endpointConfiguration.setHandleMimeHeaders(webServiceServer.isHandleMimeHeaders());
             endpointConfiguration.setKeepSoapEnvelope(webServiceServer.isKeepSoapEnvelope());
+            endpointConfiguration.setMtomEnabled(webServiceServer.isMtomEnabled());
             endpointConfiguration.setMessageConverter(webServiceServer.getMessageConverter());
             messageEndpoint.setEndpointConfiguration(endpointConfiguration);
 
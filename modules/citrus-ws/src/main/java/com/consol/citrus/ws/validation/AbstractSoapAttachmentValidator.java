@@ -16,6 +16,7 @@
 
 package com.consol.citrus.ws.validation;
 
+import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.exceptions.ValidationException;
 import com.consol.citrus.ws.message.SoapAttachment;
 import com.consol.citrus.ws.message.SoapMessage;
@@ -25,6 +26,8 @@ import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 import org.springframework.ws.mime.Attachment;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 /**
@@ -41,6 +44,9 @@ public abstract class AbstractSoapAttachmentValidator implements SoapAttachmentV
      * Logger
      */
     private static Logger log = LoggerFactory.getLogger(AbstractSoapAttachmentValidator.class);
+
+    /** Chunk size used when comparing attachment content streams */
+    private static final int CHUNK_SIZE = 8192;
     
     @Override
     public void validateAttachment(SoapMessage soapMessage, List<SoapAttachment> controlAttachments) {
@@ -155,6 +161,92 @@ public abstract class AbstractSoapAttachmentValidator implements SoapAttachmentV
         }
     }
     
+    /**
+     * Validates SOAP attachment content data by comparing received and control content streams chunk by chunk. Content
+     * is never held in memory as a whole, so this is suitable for very large attachments.
+     * @param receivedAttachment
+     * @param controlAttachment
+     */
+    protected void validateAttachmentData(SoapAttachment receivedAttachment, SoapAttachment controlAttachment) {
+        try (InputStream received = receivedAttachment.getInputStream();
+             InputStream control = controlAttachment.getInputStream()) {
+            byte[] receivedChunk = new byte[CHUNK_SIZE];
+            byte[] controlChunk = new byte[CHUNK_SIZE];
+            long position = 0L;
+
+            while (true) {
+                int receivedLength = readChunk(received, receivedChunk);
+                int controlLength = readChunk(control, controlChunk);
+
+                int length = Math.min(receivedLength, controlLength);
+                for (int i = 0; i < length; i++) {
+                    if (receivedChunk[i] != controlChunk[i]) {
+                        throw new IllegalArgumentException("Values not equal for attachment content '" +
+                                controlAttachment.getContentId() + "' at byte position " + (position + i));
+                    }
+                }
+
+                position += length;
+
+                if (receivedLength != controlLength) {
+                    // one of the streams has ended early - count remaining bytes of the other stream for a meaningful error message
+                    long receivedSize = position + (receivedLength - length) + (receivedLength == CHUNK_SIZE ? skipRemaining(received) : 0L);
+                    long controlSize = position + (controlLength - length) + (controlLength == CHUNK_SIZE ? skipRemaining(control) : 0L);
+
+                    throw new IllegalArgumentException(buildValidationErrorMessage("Values not equal for attachment content size '" + controlAttachment.getContentId() + "'",
+                            controlSize, receivedSize));
+                }
+
+                if (length < CHUNK_SIZE) {
+                    break;
+                }
+            }
+
+            if (log.isDebugEnabled()) {
+                log.debug("Validating attachment content data: " + position + " bytes: OK.");
+            }
+        } catch (IOException e) {
+            throw new CitrusRuntimeException("Failed to read SOAP attachment content", e);
+        }
+    }
+
+    /**
+     * Reads from stream until chunk is filled or end of stream is reached.
+     * @param is
+     * @param chunk
+     * @return number of bytes read, less than chunk size only at end of stream
+     * @throws IOException
+     */
+    private int readChunk(InputStream is, byte[] chunk) throws IOException {
+        int length = 0;
+        while (length < chunk.length) {
+            int read = is.read(chunk, length, chunk.length - length);
+            if (read == -1) {
+                break;
+            }
+
+            length += read;
+        }
+
+        return length;
+    }
+
+    /**
+     * Reads remaining bytes of stream and returns the number of bytes read.
+     * @param is
+     * @return
+     * @throws IOException
+     */
+    private long skipRemaining(InputStream is) throws IOException {
+        long count = 0L;
+        byte[] buffer = new byte[CHUNK_SIZE];
+        int read;
+        while ((read = is.read(buffer)) != -1) {
+            count += read;
+        }
+        return count;
+    }
+
     /**
      * Constructs proper error message with expected value and actual value.
      * @param message the base error message.
@@ -16,17 +16,13 @@
 
 package com.consol.citrus.ws.validation;
 
-import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.ws.message.SoapAttachment;
-import org.apache.commons.io.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.util.Assert;
-
-import java.io.IOException;
 
 /**
- * Soap attachment validator performs binary content validation by comparing attachment content binary input streams.
+ * Soap attachment validator performs binary content validation by comparing attachment content binary input streams chunk by chunk.
+ * Content streams are read in chunks so large attachments are not loaded into memory.
  *
  * @author Christoph Deppisch
  * @since 2.1
@@ -42,13 +38,7 @@ public class BinarySoapAttachmentValidator extends AbstractSoapAttachmentValidat
             log.debug("Validating binary SOAP attachment content ...");
         }
 
-        try {
-            Assert.isTrue(IOUtils.contentEquals(receivedAttachment.getInputStream(), controlAttachment.getInputStream()),
-                    "Values not equal for binary attachment content '"
-                            + controlAttachment.getContentId() + "'");
-        } catch(IOException e) {
-            throw new CitrusRuntimeException("Binary SOAP attachment validation failed", e);
-        }
+        validateAttachmentData(receivedAttachment, controlAttachment);
 
         if (log.isDebugEnabled()) {
             log.debug("Validating binary SOAP attachment content: OK");
@@ -23,7 +23,8 @@ import org.springframework.util.StringUtils;
 
 /**
  * Simple implementation of a {@link AbstractSoapAttachmentValidator}.
- * Attachment content body is validated through simple string equals assertion.
+ * Attachment content body is validated through simple string equals assertion. Binary control attachments loaded from
+ * file resource are validated by comparing content streams.
  *
  * @author Christoph Deppisch
  */
@@ -37,6 +38,12 @@ public class SimpleSoapAttachmentValidator extends AbstractSoapAttachmentValidat
 
     @Override
     protected void validateAttachmentContent(SoapAttachment receivedAttachment, SoapAttachment controlAttachment) {
+        if (!controlAttachment.isTextContent() && StringUtils.hasText(controlAttachment.getContentResourcePath())) {
+            // binary file resource content is compared on data streams rather than encoded content strings
+            validateAttachmentData(receivedAttachment, controlAttachment);
+            return;
+        }
+
         String receivedContent = StringUtils.trimWhitespace(receivedAttachment.getContent());
         String controlContent = StringUtils.trimWhitespace(controlAttachment.getContent());
 
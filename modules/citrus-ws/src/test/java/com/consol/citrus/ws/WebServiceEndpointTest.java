@@ -40,10 +40,10 @@ import org.springframework.xml.transform.StringSource;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import javax.activation.DataHandler;
 import javax.xml.namespace.QName;
 import javax.xml.soap.MimeHeaders;
 import javax.xml.soap.SOAPMessage;
-import java.io.ByteArrayInputStream;
 import java.util.*;
 
 import static org.easymock.EasyMock.*;
@@ -710,7 +710,7 @@ public class WebServiceEndpointTest {
 
         expect(soapResponse.getPayloadResult()).andReturn(soapResponsePayload).once();
         
-        expect(attachment.getInputStream()).andReturn(new ByteArrayInputStream("AttachmentBody".getBytes())).once();
+        expect(attachment.getDataHandler()).andReturn(new DataHandler("AttachmentBody", "text/xml")).once();
 
         replay(messageContext, soapEnvelope, soapRequest, soapRequestHeader, soapResponse, attachment);
         
@@ -720,6 +720,66 @@ public class WebServiceEndpointTest {
         
         verify(messageContext, soapEnvelope, soapRequest, soapRequestHeader, soapResponse, attachment);
     }
+
+    @Test
+    public void testMessageProcessingWithSoapResponseAttachment() throws Exception {
+        WebServiceEndpoint endpoint = new WebServiceEndpoint();
+
+        WebServiceEndpointConfiguration endpointConfiguration = new WebServiceEndpointConfiguration();
+        endpointConfiguration.setMtomEnabled(true);
+        endpoint.setEndpointConfiguration(endpointConfiguration);
+
+        SoapAttachment responseAttachment = new SoapAttachment();
+        responseAttachment.setContentId("myContentId");
+        responseAttachment.setContentType("text/plain");
+        responseAttachment.setContent("AttachmentBody");
+
+        final SoapMessage responseMessage = new SoapMessage("<TestResponse><Message>Hello World!</Message></TestResponse>");
+        responseMessage.addAttachment(responseAttachment);
+
+        endpoint.setEndpointAdapter(new StaticEndpointAdapter() {
+            public Message handleMessageInternal(Message message) {
+                return responseMessage;
+            }
+        });
+
+        StringResult soapResponsePayload = new StringResult();
+
+        reset(messageContext, soapEnvelope, soapRequest, soapRequestHeader, soapResponse);
+
+        expect(messageContext.getRequest()).andReturn(soapRequest).anyTimes();
+        expect(soapRequest.getEnvelope()).andReturn(soapEnvelope).once();
+        expect(soapEnvelope.getSource()).andReturn(new StringSource(getSoapRequestPayload())).once();
+
+        expect(soapRequest.getPayloadSource()).andReturn(new StringSource(requestPayload)).times(2);
+
+        expect(messageContext.getPropertyNames()).andReturn(new String[]{}).once();
+
+        expect(soapRequest.getSoapHeader()).andReturn(soapRequestHeader).once();
+        expect(soapRequestHeader.getSource()).andReturn(null).once();
+
+        Set<SoapHeaderElement> emptyHeaderSet = Collections.emptySet();
+        expect(soapRequestHeader.examineAllHeaderElements()).andReturn(emptyHeaderSet.iterator()).once();
+
+        expect(soapRequest.getSoapAction()).andReturn(null).anyTimes();
+
+        Set<Attachment> emptyAttachmentSet = Collections.emptySet();
+        expect(soapRequest.getAttachments()).andReturn(emptyAttachmentSet.iterator()).once();
+
+        expect(messageContext.getResponse()).andReturn(soapResponse).once();
+
+        expect(soapResponse.getPayloadResult()).andReturn(soapResponsePayload).once();
+        expect(soapResponse.convertToXopPackage()).andReturn(true).once();
+        expect(soapResponse.addAttachment("myContentId", responseAttachment.getDataHandler())).andReturn(null).once();
+
+        replay(messageContext, soapEnvelope, soapRequest, soapRequestHeader, soapResponse);
+
+        endpoint.invoke(messageContext);
+
+        Assert.assertEquals(soapResponsePayload.toString(), "<?xml version=\"1.0\" encoding=\"UTF-8\"?>" + responseMessage.getPayload());
+
+        verify(messageContext, soapEnvelope, soapRequest, soapRequestHeader, soapResponse);
+    }
     
     @Test
     public void testMessageProcessingWithServerSoapFaultInResponse() throws Exception {
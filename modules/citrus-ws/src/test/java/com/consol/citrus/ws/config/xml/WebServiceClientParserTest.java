@@ -51,6 +51,7 @@ public class WebServiceClientParserTest extends AbstractBeanDefinitionParserTest
         Assert.assertEquals(client.getEndpointConfiguration().getErrorHandlingStrategy(), ErrorHandlingStrategy.THROWS_EXCEPTION);
         Assert.assertEquals(client.getEndpointConfiguration().getTimeout(), 5000L);
         Assert.assertNotNull(client.getEndpointConfiguration().getWebServiceTemplate());
+        Assert.assertFalse(client.getEndpointConfiguration().isMtomEnabled());
 
         // 2nd message sender
         client = messageSenders.get("soapClient2");
@@ -62,6 +63,7 @@ public class WebServiceClientParserTest extends AbstractBeanDefinitionParserTest
         Assert.assertEquals(client.getEndpointConfiguration().getTimeout(), 10000L);
         Assert.assertNotNull(client.getEndpointConfiguration().getWebServiceTemplate());
         Assert.assertEquals(client.getEndpointConfiguration().getWebServiceTemplate().getMessageFactory(), beanDefinitionContext.getBean("soapMessageFactory"));
+        Assert.assertTrue(client.getEndpointConfiguration().isMtomEnabled());
 
         // 3rd message sender
         client = messageSenders.get("soapClient3");
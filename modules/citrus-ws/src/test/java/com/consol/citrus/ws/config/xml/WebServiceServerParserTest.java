@@ -50,6 +50,7 @@ public class WebServiceServerParserTest extends AbstractBeanDefinitionParserTest
         Assert.assertNull(server.getConnector());
         Assert.assertFalse(server.isHandleMimeHeaders());
         Assert.assertFalse(server.isKeepSoapEnvelope());
+        Assert.assertFalse(server.isMtomEnabled());
         Assert.assertNull(server.getSoapHeaderNamespace());
         Assert.assertEquals(server.getSoapHeaderPrefix(), "");
         Assert.assertEquals(server.getMessageFactoryName(), MessageDispatcherServlet.DEFAULT_MESSAGE_FACTORY_BEAN_NAME);
@@ -71,6 +72,7 @@ public class WebServiceServerParserTest extends AbstractBeanDefinitionParserTest
         Assert.assertNull(server.getConnector());
         Assert.assertTrue(server.isHandleMimeHeaders());
         Assert.assertTrue(server.isKeepSoapEnvelope());
+        Assert.assertTrue(server.isMtomEnabled());
         Assert.assertEquals(server.getSoapHeaderNamespace(), "http://citrusframework.org");
         Assert.assertEquals(server.getSoapHeaderPrefix(), "CITRUS");
         Assert.assertEquals(server.getMessageConverter(), beanDefinitionContext.getBean("messageConverter"));
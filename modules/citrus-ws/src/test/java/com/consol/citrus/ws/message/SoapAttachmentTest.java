@@ -16,6 +16,7 @@
 
 package com.consol.citrus.ws.message;
 
+import com.consol.citrus.util.FileUtils;
 import org.apache.commons.codec.binary.Base64;
 import org.apache.commons.codec.binary.Hex;
 import org.easymock.EasyMock;
@@ -42,8 +43,8 @@ public class SoapAttachmentTest {
         reset(attachment);
 
         expect(attachment.getContentId()).andReturn("mail").once();
-        expect(attachment.getContentType()).andReturn("text/plain").times(2);
-        expect(attachment.getInputStream()).andReturn(new StaticTextDataSource("This is mail text content!", "text/plain", "UTF-8", "mail").getInputStream()).once();
+        expect(attachment.getContentType()).andReturn("text/plain").once();
+        expect(attachment.getDataHandler()).andReturn(new DataHandler(new StaticTextDataSource("This is mail text content!", "text/plain", "UTF-8", "mail"))).once();
 
         replay(attachment);
 
@@ -64,7 +65,7 @@ public class SoapAttachmentTest {
         reset(attachment);
 
         expect(attachment.getContentId()).andReturn("img").once();
-        expect(attachment.getContentType()).andReturn("application/octet-stream").times(2);
+        expect(attachment.getContentType()).andReturn("application/octet-stream").once();
 
         expect(attachment.getDataHandler()).andReturn(new DataHandler(new StaticTextDataSource("This is img text content!", "application/octet-stream", "UTF-8", "img")));
 
@@ -88,6 +89,42 @@ public class SoapAttachmentTest {
         verify(attachment);
     }
 
+    @Test
+    public void testFromAttachmentCachesTextContent() throws Exception {
+        reset(attachment);
+
+        final DataSource dataSource = createMock(DataSource.class);
+        expect(attachment.getContentId()).andReturn("mail").once();
+        expect(attachment.getContentType()).andReturn("text/plain").once();
+        expect(attachment.getDataHandler()).andReturn(new DataHandler(dataSource)).once();
+
+        expect(dataSource.getName()).andReturn("mail").anyTimes();
+        expect(dataSource.getContentType()).andReturn("text/plain").anyTimes();
+        expect(dataSource.getInputStream()).andReturn(new ByteArrayInputStream("This is mail text content!".getBytes("UTF-8"))).once();
+
+        replay(attachment, dataSource);
+
+        SoapAttachment soapAttachment = SoapAttachment.from(attachment);
+
+        Assert.assertEquals(soapAttachment.getContent(), "This is mail text content!");
+        Assert.assertEquals(soapAttachment.getContent(), "This is mail text content!");
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(soapAttachment);
+        }
+
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            SoapAttachment deserialized = (SoapAttachment) in.readObject();
+            Assert.assertEquals(deserialized.getContentId(), "mail");
+            Assert.assertEquals(deserialized.getContentType(), "text/plain");
+            Assert.assertEquals(deserialized.getContent(), "This is mail text content!");
+            Assert.assertEquals(FileUtils.readToString(deserialized.getInputStream(), Charset.forName("UTF-8")), "This is mail text content!");
+        }
+
+        verify(attachment, dataSource);
+    }
+
     @Test
     public void testFileResourceTextContent() throws Exception {
         SoapAttachment soapAttachment = new SoapAttachment();
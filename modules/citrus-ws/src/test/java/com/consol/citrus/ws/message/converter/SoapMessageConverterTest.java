@@ -359,6 +359,35 @@ public class SoapMessageConverterTest {
         verify(soapRequest, soapBody);
     }
 
+    @Test
+    public void testOutboundSoapAttachmentMtomEnabled() throws TransformerException, IOException {
+        SoapAttachment attachment = new SoapAttachment();
+        attachment.setContentId("attContentId");
+        attachment.setContent("This is a SOAP attachment");
+        attachment.setContentType("plain/text");
+
+        SoapMessage testMessage = new SoapMessage(payload);
+        testMessage.addAttachment(attachment);
+
+        WebServiceEndpointConfiguration endpointConfiguration = new WebServiceEndpointConfiguration();
+        endpointConfiguration.setMtomEnabled(true);
+
+        SoapMessageConverter soapMessageConverter = new SoapMessageConverter();
+
+        reset(soapRequest, soapBody);
+
+        expect(soapRequest.getSoapBody()).andReturn(soapBody).once();
+        expect(soapBody.getPayloadResult()).andReturn(new StringResult()).once();
+        expect(soapRequest.convertToXopPackage()).andReturn(true).once();
+        expect(soapRequest.addAttachment(eq(attachment.getContentId()), (InputStreamSource)anyObject(), eq(attachment.getContentType()))).andReturn(null).once();
+
+        replay(soapRequest, soapBody);
+
+        soapMessageConverter.convertOutbound(soapRequest, testMessage, endpointConfiguration);
+
+        verify(soapRequest, soapBody);
+    }
+
     @Test
     public void testInboundSoapBody() throws TransformerException, IOException {
         SoapMessageConverter soapMessageConverter = new SoapMessageConverter();
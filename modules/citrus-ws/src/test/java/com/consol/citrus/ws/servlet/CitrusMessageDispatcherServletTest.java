@@ -88,6 +88,7 @@ public class CitrusMessageDispatcherServletTest extends AbstractTestNGUnitTest {
         expect(webServiceServer.getMessageConverter()).andReturn(new SoapMessageConverter()).once();
         expect(webServiceServer.isHandleMimeHeaders()).andReturn(false).once();
         expect(webServiceServer.isKeepSoapEnvelope()).andReturn(false).once();
+        expect(webServiceServer.isMtomEnabled()).andReturn(false).once();
         expect(webServiceServer.getSoapHeaderNamespace()).andReturn(null).once();
         expect(webServiceServer.getSoapHeaderPrefix()).andReturn("").once();
 
@@ -103,6 +104,7 @@ public class CitrusMessageDispatcherServletTest extends AbstractTestNGUnitTest {
         Assert.assertEquals(webServiceEndpoint.getEndpointConfiguration().getMessageConverter().getClass(), SoapMessageConverter.class);
         Assert.assertFalse(webServiceEndpoint.getEndpointConfiguration().isHandleMimeHeaders());
         Assert.assertFalse(webServiceEndpoint.getEndpointConfiguration().isKeepSoapEnvelope());
+        Assert.assertFalse(webServiceEndpoint.getEndpointConfiguration().isMtomEnabled());
         Assert.assertNull(webServiceEndpoint.getDefaultNamespaceUri());
         Assert.assertEquals(webServiceEndpoint.getDefaultPrefix(), "");
 
@@ -118,6 +120,7 @@ public class CitrusMessageDispatcherServletTest extends AbstractTestNGUnitTest {
         expect(webServiceServer.getMessageConverter()).andReturn(new WsAddressingMessageConverter(new WsAddressingHeaders())).once();
         expect(webServiceServer.isHandleMimeHeaders()).andReturn(true).once();
         expect(webServiceServer.isKeepSoapEnvelope()).andReturn(true).once();
+        expect(webServiceServer.isMtomEnabled()).andReturn(true).once();
         expect(webServiceServer.getSoapHeaderNamespace()).andReturn("http://citrusframework.org").times(2);
         expect(webServiceServer.getSoapHeaderPrefix()).andReturn("CITRUS").times(2);
 
@@ -130,6 +133,7 @@ public class CitrusMessageDispatcherServletTest extends AbstractTestNGUnitTest {
         Assert.assertEquals(webServiceEndpoint.getEndpointConfiguration().getMessageConverter().getClass(), WsAddressingMessageConverter.class);
         Assert.assertTrue(webServiceEndpoint.getEndpointConfiguration().isHandleMimeHeaders());
         Assert.assertTrue(webServiceEndpoint.getEndpointConfiguration().isKeepSoapEnvelope());
+        Assert.assertTrue(webServiceEndpoint.getEndpointConfiguration().isMtomEnabled());
         Assert.assertEquals(webServiceEndpoint.getDefaultNamespaceUri(), "http://citrusframework.org");
         Assert.assertEquals(webServiceEndpoint.getDefaultPrefix(), "CITRUS");
 
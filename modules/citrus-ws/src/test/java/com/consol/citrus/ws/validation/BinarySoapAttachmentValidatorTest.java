@@ -0,0 +1,133 @@
+/*
+ * Copyright 2006-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.ws.validation;
+
+import com.consol.citrus.ws.message.SoapAttachment;
+import com.consol.citrus.ws.message.SoapMessage;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class BinarySoapAttachmentValidatorTest {
+
+    private static final String ATTACHMENT_RESOURCE = "classpath:com/consol/citrus/ws/actions/test-attachment.xml";
+
+    @Test
+    public void testBinaryValidation() {
+        SoapAttachment receivedAttachment = new SoapAttachment();
+        receivedAttachment.setContentId("soapAttachmentId");
+        receivedAttachment.setContentType("application/octet-stream");
+        receivedAttachment.setContent("<TestAttachment><Message>Hello World!</Message></TestAttachment>");
+
+        SoapMessage testMessage = new SoapMessage("Some Payload")
+                                    .addAttachment(receivedAttachment);
+
+        SoapAttachment controlAttachment = new SoapAttachment();
+        controlAttachment.setContentId("soapAttachmentId");
+        controlAttachment.setContentType("application/octet-stream");
+        controlAttachment.setContentResourcePath(ATTACHMENT_RESOURCE);
+
+        BinarySoapAttachmentValidator validator = new BinarySoapAttachmentValidator();
+        validator.validateAttachment(testMessage, Collections.singletonList(controlAttachment));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class, expectedExceptionsMessageRegExp = ".*content size .*, expected '64' but was '81'")
+    public void testBinaryValidationWrongSize() {
+        SoapAttachment receivedAttachment = new SoapAttachment();
+        receivedAttachment.setContentId("soapAttachmentId");
+        receivedAttachment.setContentType("application/octet-stream");
+        receivedAttachment.setContent("<TestAttachment><Message>Hello World!</Message></TestAttachment><!-- trailing -->");
+
+        SoapMessage testMessage = new SoapMessage("Some Payload")
+                                    .addAttachment(receivedAttachment);
+
+        SoapAttachment controlAttachment = new SoapAttachment();
+        controlAttachment.setContentId("soapAttachmentId");
+        controlAttachment.setContentType("application/octet-stream");
+        controlAttachment.setContentResourcePath(ATTACHMENT_RESOURCE);
+
+        BinarySoapAttachmentValidator validator = new BinarySoapAttachmentValidator();
+        validator.validateAttachment(testMessage, Collections.singletonList(controlAttachment));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class, expectedExceptionsMessageRegExp = ".*content .* at byte position 31")
+    public void testBinaryValidationWrongContent() {
+        SoapAttachment receivedAttachment = new SoapAttachment();
+        receivedAttachment.setContentId("soapAttachmentId");
+        receivedAttachment.setContentType("application/octet-stream");
+        receivedAttachment.setContent("<TestAttachment><Message>Hello Earth!</Message></TestAttachment>");
+
+        SoapMessage testMessage = new SoapMessage("Some Payload")
+                                    .addAttachment(receivedAttachment);
+
+        SoapAttachment controlAttachment = new SoapAttachment();
+        controlAttachment.setContentId("soapAttachmentId");
+        controlAttachment.setContentType("application/octet-stream");
+        controlAttachment.setContentResourcePath(ATTACHMENT_RESOURCE);
+
+        BinarySoapAttachmentValidator validator = new BinarySoapAttachmentValidator();
+        validator.validateAttachment(testMessage, Collections.singletonList(controlAttachment));
+    }
+
+    @Test
+    public void testBinaryValidationLargeContent() {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            content.append((char) ('a' + i % 26));
+        }
+
+        SoapAttachment controlAttachment = new SoapAttachment();
+        controlAttachment.setContentId("soapAttachmentId");
+        controlAttachment.setContentType("application/octet-stream");
+        controlAttachment.setContent(content.toString());
+
+        BinarySoapAttachmentValidator validator = new BinarySoapAttachmentValidator();
+        validator.validateAttachment(createMessage(content.toString()), Collections.singletonList(controlAttachment));
+
+        content.setCharAt(10000, '#');
+
+        try {
+            validator.validateAttachment(createMessage(content.toString()), Collections.singletonList(controlAttachment));
+            Assert.fail("Missing validation exception due to content mismatch");
+        } catch (IllegalArgumentException e) {
+            Assert.assertTrue(e.getMessage().endsWith("at byte position 10000"));
+        }
+
+        content.setCharAt(10000, (char) ('a' + 10000 % 26));
+        content.append("tail");
+
+        try {
+            validator.validateAttachment(createMessage(content.toString()), Collections.singletonList(controlAttachment));
+            Assert.fail("Missing validation exception due to content size mismatch");
+        } catch (IllegalArgumentException e) {
+            Assert.assertTrue(e.getMessage().endsWith("expected '20000' but was '20004'"));
+        }
+    }
+
+    private SoapMessage createMessage(String content) {
+        SoapAttachment receivedAttachment = new SoapAttachment();
+        receivedAttachment.setContentId("soapAttachmentId");
+        receivedAttachment.setContentType("application/octet-stream");
+        receivedAttachment.setContent(content);
+
+        return new SoapMessage("Some Payload").addAttachment(receivedAttachment);
+    }
+}